@@ -0,0 +1,31 @@
+package com.quarkus.config;
+
+import com.quarkus.storage.ObjectStorage;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class ObjectStorageStartup {
+
+    private static final Logger LOG = Logger.getLogger(ObjectStorageStartup.class);
+
+    @Inject
+    ObjectStorage objectStorage;
+
+    @ConfigProperty(name = "app.minio.bucket")
+    String bucket;
+
+    void onStart(@Observes StartupEvent event) {
+        try {
+            objectStorage.initialize().await().indefinitely();
+            LOG.infof("Object storage bucket ready: %s", bucket);
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to initialize object storage bucket: %s", bucket);
+            throw new RuntimeException("Failed to initialize object storage bucket", e);
+        }
+    }
+}
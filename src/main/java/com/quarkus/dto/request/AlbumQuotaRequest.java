@@ -0,0 +1,13 @@
+package com.quarkus.dto.request;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Schema(description = "Request body for setting the storage quota of an album")
+public record AlbumQuotaRequest(
+    @Schema(description = "Maximum bytes the album's images may take; null falls back to the default quota",
+        examples = {"10737418240"})
+    @PositiveOrZero(message = "Quota must be greater than or equal to 0")
+    Long quotaBytes
+) {
+}
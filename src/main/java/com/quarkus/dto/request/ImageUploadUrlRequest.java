@@ -0,0 +1,15 @@
+package com.quarkus.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Schema(description = "Request body for starting a direct upload to storage")
+public record ImageUploadUrlRequest(
+    @Schema(description = "Original filename, used for the extension of the stored object", examples = {"cover.jpg"})
+    String filename,
+
+    @Schema(description = "MIME type the image will be uploaded with (JPEG, PNG, or WebP)", examples = {"image/jpeg"}, required = true)
+    @NotBlank(message = "Content type is required")
+    String contentType
+) {
+}
@@ -0,0 +1,24 @@
+package com.quarkus.dto.response;
+
+import com.quarkus.entity.AlbumStorageUsage;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Schema(description = "Storage taken by the images of an album")
+public record AlbumStorageUsageResponse(
+    @Schema(description = "Album ID", examples = {"1"})
+    Long albumId,
+
+    @Schema(description = "Number of ready images", examples = {"12"})
+    long imageCount,
+
+    @Schema(description = "Total size of the images in bytes, counting shared content once per image", examples = {"2949120"})
+    long bytes,
+
+    @Schema(description = "Maximum bytes the album may take: its own quota, else the default; null when unlimited",
+        examples = {"10737418240"})
+    Long quotaBytes
+) {
+    public static AlbumStorageUsageResponse from(AlbumStorageUsage usage, Long quotaBytes) {
+        return new AlbumStorageUsageResponse(usage.getAlbumId(), usage.getImageCount(), usage.getBytes(), quotaBytes);
+    }
+}
@@ -0,0 +1,19 @@
+package com.quarkus.dto.response;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Schema(description = "Storage taken by the image objects of a bucket")
+public record BucketUsageResponse(
+    @Schema(description = "Bucket name", examples = {"album-images"})
+    String bucket,
+
+    @Schema(description = "Number of stored objects, each counted once however many images share it", examples = {"340"})
+    long objectCount,
+
+    @Schema(description = "Total size of the stored objects in bytes", examples = {"83886080"})
+    long bytes
+) {
+    public static BucketUsageResponse of(String bucket, long objectCount, long bytes) {
+        return new BucketUsageResponse(bucket, objectCount, bytes);
+    }
+}
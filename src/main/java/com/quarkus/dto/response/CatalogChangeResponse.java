@@ -0,0 +1,40 @@
+package com.quarkus.dto.response;
+
+import com.quarkus.entity.CatalogChange;
+import com.quarkus.entity.CatalogEntityType;
+import com.quarkus.entity.ChangeOperation;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Single entry of the catalog change feed")
+public record CatalogChangeResponse(
+    @Schema(description = "Monotonic sequence number of the change", examples = {"42"})
+    Long seq,
+
+    @Schema(description = "Type of the changed entity", examples = {"ALBUM"})
+    CatalogEntityType entityType,
+
+    @Schema(description = "ID of the changed entity (the owning album ID for images)", examples = {"1"})
+    Long entityId,
+
+    @Schema(description = "Image hash for IMAGE changes, null otherwise", examples = {"2026/02/02/550e8400-e29b-41d4-a716-446655440000.jpg"})
+    String entityKey,
+
+    @Schema(description = "Operation applied to the entity", examples = {"UPDATED"})
+    ChangeOperation operation,
+
+    @Schema(description = "Timestamp of the change", examples = {"2026-02-02T10:30:00"})
+    LocalDateTime changedAt
+) {
+    public static CatalogChangeResponse from(CatalogChange change) {
+        return new CatalogChangeResponse(
+            change.getSeq(),
+            change.getEntityType(),
+            change.getEntityId(),
+            change.getEntityKey(),
+            change.getOperation(),
+            change.getChangedAt()
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package com.quarkus.dto.response;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Page of the catalog change feed")
+public record ChangeFeedResponse(
+    @Schema(description = "Changes after the requested sequence number, oldest first")
+    List<CatalogChangeResponse> changes,
+
+    @Schema(description = "Sequence number to pass as 'since' on the next request", examples = {"42"})
+    long nextSince,
+
+    @Schema(description = "Whether more changes are immediately available", examples = {"false"})
+    boolean hasMore
+) {
+    public static ChangeFeedResponse of(List<CatalogChangeResponse> changes, long since, int limit) {
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).seq();
+        return new ChangeFeedResponse(changes, nextSince, changes.size() == limit);
+    }
+}
@@ -0,0 +1,42 @@
+package com.quarkus.dto.response;
+
+import com.quarkus.entity.AlbumImage;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Album image metadata with a presigned URL")
+public record ImageResponse(
+    @Schema(description = "Image hash identifier", examples = {"2026/02/02/550e8400-e29b-41d4-a716-446655440000.jpg"})
+    String hash,
+
+    @Schema(description = "MIME type of the image", examples = {"image/jpeg"})
+    String contentType,
+
+    @Schema(description = "Size of the original image in bytes", examples = {"245760"})
+    Long size,
+
+    @Schema(description = "Width of the original image in pixels, null while unknown", examples = {"1200"})
+    Integer width,
+
+    @Schema(description = "Height of the original image in pixels, null while unknown", examples = {"800"})
+    Integer height,
+
+    @Schema(description = "BlurHash placeholder to render while the image loads, null while unknown",
+        examples = {"LEHV6nWB2yk8pyo0adR*.7kCMdnj"})
+    String blurhash,
+
+    @Schema(description = "Dominant color of the image, null while unknown", examples = {"#3b5a7f"})
+    String dominantColor,
+
+    @Schema(description = "Presigned URL for accessing the image, or a variant of it when a width was requested")
+    String url,
+
+    @Schema(description = "Instant the URL stops being valid", examples = {"2026-02-02T12:30:00Z"})
+    Instant expiresAt
+) {
+    public static ImageResponse from(AlbumImage image, String url, Instant expiresAt) {
+        return new ImageResponse(image.getHash(), image.getContentType(), image.getSize(),
+            image.getWidth(), image.getHeight(), image.getBlurhash(), image.getDominantColor(), url, expiresAt);
+    }
+}
@@ -0,0 +1,21 @@
+package com.quarkus.dto.response;
+
+import com.quarkus.entity.ImageStatus;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Schema(description = "Status of an image upload, e.g. one accepted for background processing")
+public record ImageUploadStatusResponse(
+    @Schema(description = "Image hash identifier", examples = {"2026/02/02/550e8400-e29b-41d4-a716-446655440000.jpg"})
+    String hash,
+
+    @Schema(description = "PENDING until a direct upload is completed, PROCESSING while an accepted upload is stored, "
+        + "then READY or FAILED", examples = {"PROCESSING"})
+    ImageStatus status,
+
+    @Schema(description = "Why processing failed; only set when the status is FAILED", examples = {"Failed to upload image"})
+    String failureReason
+) {
+    public static ImageUploadStatusResponse of(String hash, ImageStatus status, String failureReason) {
+        return new ImageUploadStatusResponse(hash, status, failureReason);
+    }
+}
@@ -0,0 +1,21 @@
+package com.quarkus.dto.response;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Presigned PUT URL for uploading an image straight to storage")
+public record ImageUploadUrlResponse(
+    @Schema(description = "Image hash identifier, used to complete the upload", examples = {"2026/02/02/550e8400-e29b-41d4-a716-446655440000.jpg"})
+    String hash,
+
+    @Schema(description = "Presigned URL to PUT the image bytes to, with the requested Content-Type header")
+    String uploadUrl,
+
+    @Schema(description = "Instant the upload URL stops being valid", examples = {"2026-02-02T12:15:00Z"})
+    Instant expiresAt
+) {
+    public static ImageUploadUrlResponse of(String hash, String uploadUrl, Instant expiresAt) {
+        return new ImageUploadUrlResponse(hash, uploadUrl, expiresAt);
+    }
+}
@@ -2,18 +2,25 @@ package com.quarkus.dto.response;
 
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 
+import java.time.Duration;
+import java.time.Instant;
+
 @Schema(description = "Image URL response containing presigned URL")
 public record ImageUrlResponse(
     @Schema(description = "Image hash identifier", examples = {"2026/02/02/550e8400-e29b-41d4-a716-446655440000.jpg"})
     String hash,
 
-    @Schema(description = "Presigned URL for accessing the image (valid for 30 minutes)")
+    @Schema(description = "Presigned URL for accessing the image (valid for up to 30 minutes)")
     String url,
 
-    @Schema(description = "URL expiry time in minutes", examples = {"30"})
-    int expiresInMinutes
+    @Schema(description = "Whole minutes the URL remains valid", examples = {"30"})
+    int expiresInMinutes,
+
+    @Schema(description = "Instant the URL stops being valid", examples = {"2026-02-02T12:30:00Z"})
+    Instant expiresAt
 ) {
-    public static ImageUrlResponse of(String hash, String url, int expiresInMinutes) {
-        return new ImageUrlResponse(hash, url, expiresInMinutes);
+    public static ImageUrlResponse of(String hash, String url, Instant expiresAt) {
+        long remaining = Duration.between(Instant.now(), expiresAt).toMinutes();
+        return new ImageUrlResponse(hash, url, (int) Math.max(remaining, 0), expiresAt);
     }
 }
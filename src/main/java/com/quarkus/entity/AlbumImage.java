@@ -2,6 +2,8 @@ package com.quarkus.entity;
 
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "album_images")
 public class AlbumImage {
@@ -24,17 +26,71 @@ public class AlbumImage {
     private String contentType;
 
     @Column(nullable = false)
-    private Integer size;
+    private Long size;
+
+    /**
+     * Key of the MinIO object holding the bytes; several images may share it
+     * (see {@link StoredObject}). {@link #hash} stays the image's own identifier.
+     */
+    @Column(name = "object_key", nullable = false, length = 255)
+    private String objectKey;
+
+    /**
+     * {@link ImageStatus#PENDING} while a direct upload to MinIO has not been completed and
+     * {@link ImageStatus#PROCESSING} while an accepted upload is being stored in the background;
+     * only {@link ImageStatus#READY} images are visible to the read paths.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImageStatus status;
+
+    /**
+     * Why background processing failed; set on {@link ImageStatus#FAILED} images only.
+     */
+    @Column(name = "failure_reason", length = 255)
+    private String failureReason;
+
+    /**
+     * When background processing failed; failed images are kept for a while after that.
+     */
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Pixel dimensions, read from the file header during upload; null while unknown.
+     */
+    private Integer width;
+
+    private Integer height;
+
+    /**
+     * Loading placeholder, computed after upload when the format can be decoded; null until then.
+     */
+    @Column(length = 64)
+    private String blurhash;
+
+    @Column(name = "dominant_color", length = 7)
+    private String dominantColor;
 
     public AlbumImage() {
     }
 
-    public AlbumImage(Album album, String bucket, String hash, String contentType, Integer size) {
+    public AlbumImage(Album album, String bucket, String hash, String contentType, long size) {
+        this(album, bucket, hash, contentType, size, hash);
+    }
+
+    public AlbumImage(Album album, String bucket, String hash, String contentType, long size, String objectKey) {
         this.album = album;
         this.bucket = bucket;
         this.hash = hash;
         this.contentType = contentType;
         this.size = size;
+        this.objectKey = objectKey;
+        this.status = ImageStatus.READY;
+        this.createdAt = LocalDateTime.now();
     }
 
     public Long getId() {
@@ -77,11 +133,83 @@ public class AlbumImage {
         this.contentType = contentType;
     }
 
-    public Integer getSize() {
+    public Long getSize() {
         return size;
     }
 
-    public void setSize(Integer size) {
+    public void setSize(Long size) {
         this.size = size;
     }
+
+    public String getObjectKey() {
+        return objectKey;
+    }
+
+    public void setObjectKey(String objectKey) {
+        this.objectKey = objectKey;
+    }
+
+    public ImageStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImageStatus status) {
+        this.status = status;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public LocalDateTime getFailedAt() {
+        return failedAt;
+    }
+
+    public void setFailedAt(LocalDateTime failedAt) {
+        this.failedAt = failedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public String getBlurhash() {
+        return blurhash;
+    }
+
+    public void setBlurhash(String blurhash) {
+        this.blurhash = blurhash;
+    }
+
+    public String getDominantColor() {
+        return dominantColor;
+    }
+
+    public void setDominantColor(String dominantColor) {
+        this.dominantColor = dominantColor;
+    }
 }
@@ -0,0 +1,64 @@
+package com.quarkus.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Ready images of an album and the bytes they take, maintained as images are recorded and
+ * deleted. Images sharing a stored object are each counted with their full size, since that
+ * is what the album would take on its own. The row is created on the album's first image.
+ */
+@Entity
+@Table(name = "album_storage_usage")
+public class AlbumStorageUsage {
+
+    @Id
+    @Column(name = "album_id")
+    private Long albumId;
+
+    @Column(name = "image_count", nullable = false)
+    private Long imageCount;
+
+    @Column(nullable = false)
+    private Long bytes;
+
+    /**
+     * Maximum bytes the album may take; null falls back to {@code app.images.quota.album-max-bytes}.
+     */
+    @Column(name = "quota_bytes")
+    private Long quotaBytes;
+
+    public AlbumStorageUsage() {
+    }
+
+    public Long getAlbumId() {
+        return albumId;
+    }
+
+    public void setAlbumId(Long albumId) {
+        this.albumId = albumId;
+    }
+
+    public Long getImageCount() {
+        return imageCount;
+    }
+
+    public void setImageCount(Long imageCount) {
+        this.imageCount = imageCount;
+    }
+
+    public Long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(Long bytes) {
+        this.bytes = bytes;
+    }
+
+    public Long getQuotaBytes() {
+        return quotaBytes;
+    }
+
+    public void setQuotaBytes(Long quotaBytes) {
+        this.quotaBytes = quotaBytes;
+    }
+}
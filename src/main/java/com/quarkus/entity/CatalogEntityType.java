@@ -0,0 +1,7 @@
+package com.quarkus.entity;
+
+public enum CatalogEntityType {
+    ALBUM,
+    ARTIST,
+    IMAGE
+}
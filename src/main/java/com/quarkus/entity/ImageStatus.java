@@ -0,0 +1,8 @@
+package com.quarkus.entity;
+
+public enum ImageStatus {
+    PENDING,
+    PROCESSING,
+    READY,
+    FAILED
+}
@@ -0,0 +1,91 @@
+package com.quarkus.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * A downscaled copy of an album image, stored in MinIO under a key derived from
+ * the image's object key and the variant width.
+ */
+@Entity
+@Table(name = "image_variants")
+public class ImageVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "album_image_id", nullable = false)
+    private AlbumImage albumImage;
+
+    @Column(nullable = false)
+    private Integer width;
+
+    @Column(name = "object_key", nullable = false, length = 255)
+    private String objectKey;
+
+    @Column(name = "content_type", nullable = false, length = 255)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Integer size;
+
+    public ImageVariant() {
+    }
+
+    public ImageVariant(AlbumImage albumImage, Integer width, String objectKey, String contentType, Integer size) {
+        this.albumImage = albumImage;
+        this.width = width;
+        this.objectKey = objectKey;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public AlbumImage getAlbumImage() {
+        return albumImage;
+    }
+
+    public void setAlbumImage(AlbumImage albumImage) {
+        this.albumImage = albumImage;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public String getObjectKey() {
+        return objectKey;
+    }
+
+    public void setObjectKey(String objectKey) {
+        this.objectKey = objectKey;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+}
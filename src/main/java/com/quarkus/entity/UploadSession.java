@@ -0,0 +1,177 @@
+package com.quarkus.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A resumable upload of an image: how many of its bytes have arrived and the storage
+ * multipart upload they went to. Bytes that do not fill a whole part yet are kept in a
+ * pending object next to {@link #objectKey}, so {@link #uploadOffset} may run ahead of
+ * the uploaded {@link #parts}.
+ */
+@Entity
+@Table(name = "upload_sessions")
+public class UploadSession {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "album_id", nullable = false)
+    private Long albumId;
+
+    @Column(length = 255)
+    private String filename;
+
+    @Column(name = "content_type", nullable = false, length = 255)
+    private String contentType;
+
+    @Column(name = "upload_length", nullable = false)
+    private Long uploadLength;
+
+    @Column(name = "upload_offset", nullable = false)
+    private Long uploadOffset;
+
+    /**
+     * Temporary object the multipart upload assembles; imported as the image once complete.
+     */
+    @Column(name = "object_key", nullable = false, length = 255)
+    private String objectKey;
+
+    @Column(name = "storage_upload_id", nullable = false, length = 1024)
+    private String storageUploadId;
+
+    /**
+     * Hash of the image recorded from the upload; null until the upload is complete.
+     */
+    @Column(name = "image_hash", length = 255)
+    private String imageHash;
+
+    /**
+     * Set while a request is appending to the upload, so only one does at a time; a lease
+     * left behind by a crashed instance lapses at this instant.
+     */
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "upload_session_parts", joinColumns = @JoinColumn(name = "session_id"))
+    @OrderBy("partNumber")
+    private List<UploadSessionPart> parts = new ArrayList<>();
+
+    public UploadSession() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getAlbumId() {
+        return albumId;
+    }
+
+    public void setAlbumId(Long albumId) {
+        this.albumId = albumId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getUploadLength() {
+        return uploadLength;
+    }
+
+    public void setUploadLength(Long uploadLength) {
+        this.uploadLength = uploadLength;
+    }
+
+    public Long getUploadOffset() {
+        return uploadOffset;
+    }
+
+    public void setUploadOffset(Long uploadOffset) {
+        this.uploadOffset = uploadOffset;
+    }
+
+    public String getObjectKey() {
+        return objectKey;
+    }
+
+    public void setObjectKey(String objectKey) {
+        this.objectKey = objectKey;
+    }
+
+    public String getStorageUploadId() {
+        return storageUploadId;
+    }
+
+    public void setStorageUploadId(String storageUploadId) {
+        this.storageUploadId = storageUploadId;
+    }
+
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public List<UploadSessionPart> getParts() {
+        return parts;
+    }
+
+    public void setParts(List<UploadSessionPart> parts) {
+        this.parts = parts;
+    }
+}
@@ -0,0 +1,53 @@
+package com.quarkus.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Part of a resumable upload that has been uploaded to storage.
+ */
+@Embeddable
+public class UploadSessionPart {
+
+    @Column(name = "part_number", nullable = false)
+    private Integer partNumber;
+
+    @Column(nullable = false, length = 255)
+    private String etag;
+
+    @Column(nullable = false)
+    private Long size;
+
+    public UploadSessionPart() {
+    }
+
+    public UploadSessionPart(Integer partNumber, String etag, Long size) {
+        this.partNumber = partNumber;
+        this.etag = etag;
+        this.size = size;
+    }
+
+    public Integer getPartNumber() {
+        return partNumber;
+    }
+
+    public void setPartNumber(Integer partNumber) {
+        this.partNumber = partNumber;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,26 @@
+package com.quarkus.health;
+
+import com.quarkus.storage.ObjectStorage;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+@Readiness
+@ApplicationScoped
+public class ObjectStorageHealthCheck implements HealthCheck {
+
+    @Inject
+    ObjectStorage objectStorage;
+
+    @Override
+    public HealthCheckResponse call() {
+        try {
+            objectStorage.ping().await().indefinitely();
+            return HealthCheckResponse.up("Object storage connection");
+        } catch (Exception e) {
+            return HealthCheckResponse.down("Object storage connection");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.quarkus.imaging;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Keeps a copy of the first bytes read through a stream, so the file header can be inspected
+ * after the stream was consumed by an upload, without reading the content twice.
+ */
+public class HeaderCapturingInputStream extends FilterInputStream {
+
+    private final byte[] header;
+    private int length;
+
+    public HeaderCapturingInputStream(InputStream in, int capacity) {
+        super(in);
+        this.header = new byte[capacity];
+    }
+
+    /**
+     * @return Copy of the bytes captured so far, at most the capacity
+     */
+    public byte[] header() {
+        return Arrays.copyOf(header, length);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1 && length < header.length) {
+            header[length++] = (byte) b;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0 && length < header.length) {
+            int captured = Math.min(n, header.length - length);
+            System.arraycopy(b, off, header, length, captured);
+            length += captured;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes would leave a gap in the header, so read them instead
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+}
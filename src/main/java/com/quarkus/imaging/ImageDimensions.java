@@ -0,0 +1,122 @@
+package com.quarkus.imaging;
+
+import java.util.Optional;
+
+/**
+ * Pixel dimensions of an image as stored, read from the first bytes of the file without
+ * decoding it. EXIF orientation is not applied.
+ *
+ * @param width Width in pixels
+ * @param height Height in pixels
+ */
+public record ImageDimensions(int width, int height) {
+
+    /**
+     * Bytes of the file that are kept to find the dimensions. Enough for PNG and WebP by far;
+     * a JPEG whose metadata segments push its frame header further out stays unknown.
+     */
+    public static final int HEADER_BYTES = 64 * 1024;
+
+    /**
+     * @param header First bytes of a PNG, JPEG or WebP file
+     * @param length Number of valid bytes in {@code header}
+     * @return Dimensions, or empty if the format is not recognized or the header is cut short
+     */
+    public static Optional<ImageDimensions> read(byte[] header, int length) {
+        return ImageFormat.sniff(header, length).flatMap(format -> switch (format) {
+            case PNG -> length >= 24 && startsWith(header, 12, 'I', 'H', 'D', 'R')
+                ? of(int32(header, 16), int32(header, 20))
+                : Optional.empty();
+            case JPEG -> readJpeg(header, length);
+            case WEBP -> length >= 30 ? readWebp(header) : Optional.empty();
+        });
+    }
+
+    /**
+     * Walk the marker segments up to the first start-of-frame header.
+     */
+    private static Optional<ImageDimensions> readJpeg(byte[] header, int length) {
+        int offset = 2;
+        while (offset + 3 < length) {
+            if ((header[offset] & 0xFF) != 0xFF) {
+                return Optional.empty();
+            }
+            int marker = header[offset + 1] & 0xFF;
+            if (marker == 0xFF) {
+                // Fill byte before a marker
+                offset++;
+                continue;
+            }
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                // Markers without a segment
+                offset += 2;
+                continue;
+            }
+            int segmentLength = uint16(header, offset + 2);
+            boolean startOfFrame = marker >= 0xC0 && marker <= 0xCF
+                && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+            if (startOfFrame) {
+                if (offset + 9 > length) {
+                    return Optional.empty();
+                }
+                return of(uint16(header, offset + 7), uint16(header, offset + 5));
+            }
+            if (marker == 0xDA || segmentLength < 2) {
+                // Scan data before any frame header: not a valid JPEG
+                return Optional.empty();
+            }
+            offset += 2 + segmentLength;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Read the first chunk, which is the lossy, lossless or extended format header.
+     */
+    private static Optional<ImageDimensions> readWebp(byte[] header) {
+        if (startsWith(header, 12, 'V', 'P', '8', ' ') && startsWith(header, 23, 0x9D, 0x01, 0x2A)) {
+            return of(uint16le(header, 26) & 0x3FFF, uint16le(header, 28) & 0x3FFF);
+        }
+        if (startsWith(header, 12, 'V', 'P', '8', 'L') && (header[20] & 0xFF) == 0x2F) {
+            int bits = (header[21] & 0xFF) | (header[22] & 0xFF) << 8 | (header[23] & 0xFF) << 16 | (header[24] & 0xFF) << 24;
+            return of((bits & 0x3FFF) + 1, ((bits >> 14) & 0x3FFF) + 1);
+        }
+        if (startsWith(header, 12, 'V', 'P', '8', 'X')) {
+            return of(uint24le(header, 24) + 1, uint24le(header, 27) + 1);
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<ImageDimensions> of(int width, int height) {
+        return width > 0 && height > 0 ? Optional.of(new ImageDimensions(width, height)) : Optional.empty();
+    }
+
+    private static boolean startsWith(byte[] data, int offset, int... expected) {
+        if (offset + expected.length > data.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if ((data[offset + i] & 0xFF) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int int32(byte[] data, int offset) {
+        return (data[offset] & 0xFF) << 24 | (data[offset + 1] & 0xFF) << 16
+            | (data[offset + 2] & 0xFF) << 8 | (data[offset + 3] & 0xFF);
+    }
+
+    private static int uint16(byte[] data, int offset) {
+        return (data[offset] & 0xFF) << 8 | (data[offset + 1] & 0xFF);
+    }
+
+    private static int uint16le(byte[] data, int offset) {
+        return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8;
+    }
+
+    private static int uint24le(byte[] data, int offset) {
+        return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8 | (data[offset + 2] & 0xFF) << 16;
+    }
+}
@@ -0,0 +1,90 @@
+package com.quarkus.imaging;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Image formats accepted for upload, recognized by their content type and by the magic
+ * bytes the file starts with. The declared content type is only trusted once the bytes agree.
+ */
+public enum ImageFormat {
+
+    JPEG("image/jpeg", ".jpg"),
+    PNG("image/png", ".png"),
+    WEBP("image/webp", ".webp");
+
+    /**
+     * Leading bytes needed to tell every format apart.
+     */
+    public static final int SIGNATURE_BYTES = 12;
+
+    private final String contentType;
+    private final String extension;
+
+    ImageFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * @return File extension including the dot, e.g. {@code .jpg}
+     */
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * @param contentType MIME type, compared case-insensitively
+     * @return Format of the content type, or empty if it is not accepted
+     */
+    public static Optional<ImageFormat> fromContentType(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        String normalized = contentType.trim().toLowerCase(Locale.ROOT);
+        return Arrays.stream(values()).filter(format -> format.contentType.equals(normalized)).findFirst();
+    }
+
+    /**
+     * @param header First bytes of a file
+     * @param length Number of valid bytes in {@code header}
+     * @return Format the signature belongs to, or empty if none matches
+     */
+    public static Optional<ImageFormat> sniff(byte[] header, int length) {
+        if (matches(header, length, 0, 0xFF, 0xD8, 0xFF)) {
+            return Optional.of(JPEG);
+        }
+        if (matches(header, length, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return Optional.of(PNG);
+        }
+        if (matches(header, length, 0, 'R', 'I', 'F', 'F') && matches(header, length, 8, 'W', 'E', 'B', 'P')) {
+            return Optional.of(WEBP);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return Accepted content types for error messages, e.g. {@code image/jpeg, image/png, image/webp}
+     */
+    public static String allowedContentTypes() {
+        return Arrays.stream(values()).map(ImageFormat::contentType).collect(Collectors.joining(", "));
+    }
+
+    private static boolean matches(byte[] data, int length, int offset, int... expected) {
+        if (offset + expected.length > length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if ((data[offset + i] & 0xFF) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
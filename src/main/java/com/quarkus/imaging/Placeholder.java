@@ -0,0 +1,155 @@
+package com.quarkus.imaging;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * What a client shows while an image loads: a BlurHash (see blurha.sh) and the dominant color.
+ * Both are computed from a small downscaled copy, so their cost does not grow with the image.
+ *
+ * @param blurhash BlurHash with {@value #COMPONENTS_X}x{@value #COMPONENTS_Y} components
+ * @param dominantColor Dominant color as {@code #rrggbb}
+ */
+public record Placeholder(String blurhash, String dominantColor) {
+
+    static final int COMPONENTS_X = 4;
+    static final int COMPONENTS_Y = 3;
+
+    private static final int SAMPLE_SIZE = 32;
+
+    private static final String BASE83 =
+        "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    /**
+     * @param image Decoded image, possibly subsampled
+     * @return Placeholder of the image
+     */
+    public static Placeholder of(BufferedImage image) {
+        BufferedImage sample = downscale(image);
+        int width = sample.getWidth();
+        int height = sample.getHeight();
+        int[] pixels = sample.getRGB(0, 0, width, height, null, 0, width);
+        return new Placeholder(blurhash(pixels, width, height), dominantColor(pixels));
+    }
+
+    private static BufferedImage downscale(BufferedImage image) {
+        double scale = Math.min(1.0, (double) SAMPLE_SIZE / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage sample = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = sample.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return sample;
+    }
+
+    /**
+     * Encode the DCT components of the image as described by the BlurHash specification.
+     */
+    static String blurhash(int[] pixels, int width, int height) {
+        double[][] factors = new double[COMPONENTS_X * COMPONENTS_Y][3];
+        for (int j = 0; j < COMPONENTS_Y; j++) {
+            for (int i = 0; i < COMPONENTS_X; i++) {
+                double normalisation = i == 0 && j == 0 ? 1 : 2;
+                double[] factor = factors[j * COMPONENTS_X + i];
+                for (int y = 0; y < height; y++) {
+                    for (int x = 0; x < width; x++) {
+                        double basis = normalisation
+                            * Math.cos(Math.PI * i * x / width)
+                            * Math.cos(Math.PI * j * y / height);
+                        int rgb = pixels[y * width + x];
+                        factor[0] += basis * srgbToLinear((rgb >> 16) & 0xFF);
+                        factor[1] += basis * srgbToLinear((rgb >> 8) & 0xFF);
+                        factor[2] += basis * srgbToLinear(rgb & 0xFF);
+                    }
+                }
+                double scale = 1.0 / (width * height);
+                factor[0] *= scale;
+                factor[1] *= scale;
+                factor[2] *= scale;
+            }
+        }
+
+        StringBuilder hash = new StringBuilder();
+        encode83((COMPONENTS_X - 1) + (COMPONENTS_Y - 1) * 9, 1, hash);
+
+        double actualMaximum = 0;
+        for (int k = 1; k < factors.length; k++) {
+            for (double value : factors[k]) {
+                actualMaximum = Math.max(actualMaximum, Math.abs(value));
+            }
+        }
+        int quantisedMaximum = (int) Math.max(0, Math.min(82, Math.floor(actualMaximum * 166 - 0.5)));
+        double maximum = (quantisedMaximum + 1) / 166.0;
+        encode83(quantisedMaximum, 1, hash);
+
+        double[] dc = factors[0];
+        encode83((linearToSrgb(dc[0]) << 16) + (linearToSrgb(dc[1]) << 8) + linearToSrgb(dc[2]), 4, hash);
+        for (int k = 1; k < factors.length; k++) {
+            double[] ac = factors[k];
+            encode83(quantiseAc(ac[0], maximum) * 19 * 19 + quantiseAc(ac[1], maximum) * 19 + quantiseAc(ac[2], maximum), 2, hash);
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Most frequent color after reducing every channel to 4 bits, averaged over its pixels;
+     * mostly transparent pixels do not count.
+     */
+    static String dominantColor(int[] pixels) {
+        int[] counts = new int[4096];
+        long[][] sums = new long[4096][3];
+        for (int argb : pixels) {
+            if ((argb >>> 24) < 128) {
+                continue;
+            }
+            int r = (argb >> 16) & 0xFF;
+            int g = (argb >> 8) & 0xFF;
+            int b = argb & 0xFF;
+            int bucket = (r >> 4) << 8 | (g >> 4) << 4 | (b >> 4);
+            counts[bucket]++;
+            sums[bucket][0] += r;
+            sums[bucket][1] += g;
+            sums[bucket][2] += b;
+        }
+        int dominant = 0;
+        for (int bucket = 1; bucket < counts.length; bucket++) {
+            if (counts[bucket] > counts[dominant]) {
+                dominant = bucket;
+            }
+        }
+        if (counts[dominant] == 0) {
+            return "#000000";
+        }
+        int n = counts[dominant];
+        return String.format("#%02x%02x%02x", sums[dominant][0] / n, sums[dominant][1] / n, sums[dominant][2] / n);
+    }
+
+    private static int quantiseAc(double value, double maximum) {
+        return (int) Math.max(0, Math.min(18, Math.floor(Math.signum(value) * Math.pow(Math.abs(value / maximum), 0.5) * 9 + 9.5)));
+    }
+
+    private static double srgbToLinear(int value) {
+        double v = value / 255.0;
+        return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+    }
+
+    private static int linearToSrgb(double value) {
+        double v = Math.max(0, Math.min(1, value));
+        return v <= 0.0031308
+            ? (int) (v * 12.92 * 255 + 0.5)
+            : (int) ((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255 + 0.5);
+    }
+
+    private static void encode83(int value, int length, StringBuilder out) {
+        for (int i = 1; i <= length; i++) {
+            int digit = (value / (int) Math.pow(83, length - i)) % 83;
+            out.append(BASE83.charAt(digit));
+        }
+    }
+}
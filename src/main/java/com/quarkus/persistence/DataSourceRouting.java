@@ -0,0 +1,36 @@
+package com.quarkus.persistence;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * Per-request routing state consulted when the Hibernate session is opened.
+ */
+@RequestScoped
+public class DataSourceRouting {
+
+    private int readOnlyDepth;
+    private boolean pinnedToPrimary;
+
+    void enterReadOnly() {
+        readOnlyDepth++;
+    }
+
+    void exitReadOnly() {
+        readOnlyDepth--;
+    }
+
+    public boolean isReadOnly() {
+        return readOnlyDepth > 0;
+    }
+
+    /**
+     * Force every query of the current request to the primary, e.g. right after the caller wrote.
+     */
+    public void pinToPrimary() {
+        pinnedToPrimary = true;
+    }
+
+    public boolean isPinnedToPrimary() {
+        return pinnedToPrimary;
+    }
+}
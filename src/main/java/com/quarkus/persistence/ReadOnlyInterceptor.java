@@ -0,0 +1,58 @@
+package com.quarkus.persistence;
+
+import io.quarkus.arc.Arc;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
+/**
+ * Runs {@link ReadOnly} methods against the replica with a read-only session: entities are
+ * loaded without dirty-checking snapshots and the session never flushes. The replica
+ * connections are read-only at the JDBC level as well (see the datasource configuration).
+ */
+@ReadOnly
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class ReadOnlyInterceptor {
+
+    @Inject
+    DataSourceRouting routing;
+
+    @Inject
+    TransactionManager transactionManager;
+
+    @Inject
+    Session session;
+
+    @AroundInvoke
+    Object routeToReplica(InvocationContext context) throws Exception {
+        if (!Arc.container().requestContext().isActive() || inTransaction()) {
+            return context.proceed();
+        }
+
+        // Routing must be set before the session is touched, since that is when the tenant is resolved
+        routing.enterReadOnly();
+        boolean previousReadOnly = session.isDefaultReadOnly();
+        FlushMode previousFlushMode = session.getHibernateFlushMode();
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+        try {
+            return context.proceed();
+        } finally {
+            session.setHibernateFlushMode(previousFlushMode);
+            session.setDefaultReadOnly(previousReadOnly);
+            routing.exitReadOnly();
+        }
+    }
+
+    private boolean inTransaction() throws SystemException {
+        return transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION;
+    }
+}
@@ -0,0 +1,54 @@
+package com.quarkus.persistence;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Routes Hibernate sessions between the primary and the read replica datasources.
+ * Each datasource is exposed as a DATABASE tenant; the tenant is resolved once, when
+ * the session is opened, so sessions opened inside {@link ReadOnly} methods read from
+ * the replica and every transactional session writes to the primary.
+ */
+@PersistenceUnitExtension
+@RequestScoped
+public class ReadReplicaTenantResolver implements TenantResolver {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    @Inject
+    DataSourceRouting routing;
+
+    @Inject
+    TransactionManager transactionManager;
+
+    @ConfigProperty(name = "app.datasource.replica.enabled", defaultValue = "true")
+    boolean replicaEnabled;
+
+    @Override
+    public String getDefaultTenantId() {
+        return PRIMARY;
+    }
+
+    @Override
+    public String resolveTenantId() {
+        if (replicaEnabled && routing.isReadOnly() && !routing.isPinnedToPrimary() && !inTransaction()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+
+    private boolean inTransaction() {
+        try {
+            return transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION;
+        } catch (SystemException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.quarkus.persistence;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Pins the reads of callers that wrote within the sticky window to the primary.
+ */
+@Provider
+@Priority(Priorities.AUTHENTICATION + 2)
+public class ReadYourWritesFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    @Inject
+    ReadYourWritesTracker tracker;
+
+    @Inject
+    DataSourceRouting routing;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        Principal principal = requestContext.getSecurityContext().getUserPrincipal();
+        if (principal != null && tracker.isSticky(principal.getName())) {
+            routing.pinToPrimary();
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (SAFE_METHODS.contains(requestContext.getMethod())
+                || responseContext.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL) {
+            return;
+        }
+        Principal principal = requestContext.getSecurityContext().getUserPrincipal();
+        if (principal != null) {
+            tracker.markWrite(principal.getName());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.quarkus.persistence;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers callers that wrote recently so their reads stay on the primary until the
+ * replica has had time to catch up. State is kept per instance.
+ */
+@ApplicationScoped
+public class ReadYourWritesTracker {
+
+    private final Map<String, Instant> stickyUntil = new ConcurrentHashMap<>();
+
+    @ConfigProperty(name = "app.datasource.replica.sticky-window", defaultValue = "5s")
+    Duration stickyWindow;
+
+    public void markWrite(String caller) {
+        if (stickyWindow.isZero()) {
+            return;
+        }
+        stickyUntil.put(caller, Instant.now().plus(stickyWindow));
+    }
+
+    public boolean isSticky(String caller) {
+        Instant until = stickyUntil.get(caller);
+        if (until == null) {
+            return false;
+        }
+        if (until.isBefore(Instant.now())) {
+            stickyUntil.remove(caller, until);
+            return false;
+        }
+        return true;
+    }
+
+    @Scheduled(every = "1m")
+    void evictExpired() {
+        Instant now = Instant.now();
+        stickyUntil.values().removeIf(until -> until.isBefore(now));
+    }
+}
@@ -1,9 +1,14 @@
 package com.quarkus.repository;
 
 import com.quarkus.entity.AlbumImage;
+import com.quarkus.entity.ImageStatus;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,12 +20,127 @@ public class AlbumImageRepository implements PanacheRepository<AlbumImage> {
      *
      * @param albumId Album ID
      * @param hash Image hash
-     * @return Optional containing the AlbumImage if found
+     * @return Optional containing the AlbumImage if found and not pending
      */
     public Optional<AlbumImage> findByAlbumIdAndHash(Long albumId, String hash) {
+        return find("album.id = ?1 and hash = ?2 and status = ?3", albumId, hash, ImageStatus.READY)
+            .firstResultOptional();
+    }
+
+    /**
+     * Find and lock a pending direct upload, so concurrent completions finalize it only once.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash
+     * @return Optional containing the pending AlbumImage
+     */
+    public Optional<AlbumImage> findPendingForUpdate(Long albumId, String hash) {
+        return find("album.id = ?1 and hash = ?2 and status = ?3", albumId, hash, ImageStatus.PENDING)
+            .withLock(LockModeType.PESSIMISTIC_WRITE)
+            .firstResultOptional();
+    }
+
+    /**
+     * Find an image by album ID and hash whatever its status, to report upload progress.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash
+     * @return Optional containing the AlbumImage if found
+     */
+    public Optional<AlbumImage> findAnyByAlbumIdAndHash(Long albumId, String hash) {
         return find("album.id = ?1 and hash = ?2", albumId, hash).firstResultOptional();
     }
 
+    /**
+     * Find and lock an upload that is being processed in the background, so it is finalized only once.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash
+     * @return Optional containing the processing AlbumImage
+     */
+    public Optional<AlbumImage> findProcessingForUpdate(Long albumId, String hash) {
+        return find("album.id = ?1 and hash = ?2 and status = ?3", albumId, hash, ImageStatus.PROCESSING)
+            .withLock(LockModeType.PESSIMISTIC_WRITE)
+            .firstResultOptional();
+    }
+
+    /**
+     * Find images in the given status created before a cutoff.
+     *
+     * @param status Image status
+     * @param createdBefore Cutoff for the creation time
+     * @param limit Maximum number of images to return
+     * @return AlbumImages, oldest first
+     */
+    public List<AlbumImage> findByStatusCreatedBefore(ImageStatus status, LocalDateTime createdBefore, int limit) {
+        return find("status = ?1 and createdAt < ?2", Sort.by("createdAt"), status, createdBefore)
+            .page(0, limit)
+            .list();
+    }
+
+    /**
+     * Find uploads whose background processing failed before a cutoff.
+     *
+     * @param failedBefore Cutoff for the time processing failed
+     * @param limit Maximum number of images to return
+     * @return AlbumImages, earliest failure first
+     */
+    public List<AlbumImage> findFailedBefore(LocalDateTime failedBefore, int limit) {
+        return find("status = ?1 and failedAt < ?2", Sort.by("failedAt"), ImageStatus.FAILED, failedBefore)
+            .page(0, limit)
+            .list();
+    }
+
+    /**
+     * Find direct uploads that are still pending long after their upload URL expired.
+     *
+     * @param createdBefore Cutoff for the creation time
+     * @param limit Maximum number of uploads to return
+     * @return Pending AlbumImages, oldest first
+     */
+    public List<AlbumImage> findPendingCreatedBefore(LocalDateTime createdBefore, int limit) {
+        return find("status = ?1 and createdAt < ?2", Sort.by("createdAt"), ImageStatus.PENDING, createdBefore)
+            .page(0, limit)
+            .list();
+    }
+
+    /**
+     * Find an image of an album stored under the given object key.
+     *
+     * @param albumId Album ID
+     * @param objectKey Content-addressed object key
+     * @return Optional containing the AlbumImage if the album already has these bytes
+     */
+    public Optional<AlbumImage> findByAlbumIdAndObjectKey(Long albumId, String objectKey) {
+        return find("album.id = ?1 and objectKey = ?2", albumId, objectKey).firstResultOptional();
+    }
+
+    /**
+     * Find ready images whose object is not stored under a content-addressed key.
+     * The key prefix is inlined so the partial index over such images applies.
+     *
+     * @param afterId Only images with a greater ID are returned
+     * @param createdBefore Cutoff for the creation time
+     * @param limit Maximum number of images to return
+     * @return AlbumImages in ID order
+     */
+    public List<AlbumImage> findNotContentAddressed(Long afterId, LocalDateTime createdBefore, int limit) {
+        return find("objectKey not like 'sha256/%' and id > ?1 and status = ?2 and createdAt < ?3",
+                Sort.by("id"), afterId, ImageStatus.READY, createdBefore)
+            .page(0, limit)
+            .list();
+    }
+
+    /**
+     * Find an image with the given content whose placeholder has been computed.
+     *
+     * @param objectKey Content-addressed object key
+     * @return Optional containing any such AlbumImage
+     */
+    public Optional<AlbumImage> findWithPlaceholder(String objectKey) {
+        return find("objectKey = ?1 and blurhash is not null", objectKey).firstResultOptional();
+    }
+
     /**
      * Find all images for a specific album.
      *
@@ -31,6 +151,27 @@ public class AlbumImageRepository implements PanacheRepository<AlbumImage> {
         return find("album.id", albumId).list();
     }
 
+    /**
+     * Find one page of the images of an album, oldest first, leaving out pending uploads.
+     *
+     * @param albumId Album ID
+     * @param page Page to load
+     * @return List of AlbumImage
+     */
+    public List<AlbumImage> findByAlbumId(Long albumId, Page page) {
+        return find("album.id = ?1 and status = ?2", Sort.by("id"), albumId, ImageStatus.READY).page(page).list();
+    }
+
+    /**
+     * Count the images of an album, leaving out pending uploads.
+     *
+     * @param albumId Album ID
+     * @return Number of images
+     */
+    public long countByAlbumId(Long albumId) {
+        return count("album.id = ?1 and status = ?2", albumId, ImageStatus.READY);
+    }
+
     /**
      * Delete all images for a specific album.
      *
@@ -0,0 +1,163 @@
+package com.quarkus.repository;
+
+import com.quarkus.dto.response.AlbumResponse;
+import com.quarkus.dto.response.ArtistResponse;
+import com.quarkus.entity.ArtistType;
+import com.quarkus.persistence.DataSourceRouting;
+import com.quarkus.persistence.ReadReplicaTenantResolver;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking album reads on the Vert.x Postgres client.
+ * Albums and their artists are fetched with two statements per page, so the event loop
+ * never waits on a lazy association; writes keep going through {@link AlbumRepository}.
+ */
+@ApplicationScoped
+public class AlbumReadRepository {
+
+    private static final String ARTIST_TYPE_FILTER =
+        " WHERE EXISTS (SELECT 1 FROM album_artist aa JOIN artists ar ON ar.id = aa.artist_id"
+            + " WHERE aa.album_id = a.id AND ar.type = $1)";
+
+    private static final String ARTISTS_OF_ALBUMS =
+        "SELECT aa.album_id, ar.id, ar.name, ar.type FROM album_artist aa"
+            + " JOIN artists ar ON ar.id = aa.artist_id WHERE aa.album_id = ANY($1) ORDER BY ar.id";
+
+    @Inject
+    @ReactiveDataSource(ReadReplicaTenantResolver.PRIMARY)
+    Pool primary;
+
+    @Inject
+    @ReactiveDataSource(ReadReplicaTenantResolver.REPLICA)
+    Pool replica;
+
+    @Inject
+    DataSourceRouting routing;
+
+    @ConfigProperty(name = "app.datasource.replica.enabled", defaultValue = "true")
+    boolean replicaEnabled;
+
+    /**
+     * Find a page of albums with their artists, optionally filtered by artist type.
+     *
+     * @param pageIndex Page number (0-based)
+     * @param pageSize Page size
+     * @param sort Sorting criteria, limited to the title and year columns
+     * @param artistType Optional artist type filter (SINGER or BAND)
+     * @return Albums of the requested page
+     */
+    public Uni<List<AlbumResponse>> findWithFilters(int pageIndex, int pageSize, Sort sort, ArtistType artistType) {
+        Pool pool = pool();
+        StringBuilder sql = new StringBuilder("SELECT a.id, a.title, a.year FROM albums a");
+        List<Object> params = new ArrayList<>();
+        if (artistType != null) {
+            sql.append(ARTIST_TYPE_FILTER);
+            params.add(artistType.name());
+        }
+        sql.append(orderBy(sort));
+        params.add(pageSize);
+        sql.append(" LIMIT $").append(params.size());
+        params.add((long) pageIndex * pageSize);
+        sql.append(" OFFSET $").append(params.size());
+
+        return pool.preparedQuery(sql.toString())
+            .execute(Tuple.from(params))
+            .flatMap(rows -> withArtists(pool, rows));
+    }
+
+    /**
+     * Count albums with optional filter by artist type.
+     *
+     * @param artistType Optional artist type filter
+     * @return Total number of albums matching the criteria
+     */
+    public Uni<Long> countWithFilters(ArtistType artistType) {
+        if (artistType == null) {
+            return pool().query("SELECT COUNT(*) FROM albums a").execute()
+                .map(rows -> rows.iterator().next().getLong(0));
+        }
+        return pool().preparedQuery("SELECT COUNT(*) FROM albums a" + ARTIST_TYPE_FILTER)
+            .execute(Tuple.of(artistType.name()))
+            .map(rows -> rows.iterator().next().getLong(0));
+    }
+
+    /**
+     * Find an album with its artists by ID.
+     *
+     * @param id Album ID
+     * @return The album, or empty if it does not exist
+     */
+    public Uni<Optional<AlbumResponse>> findById(Long id) {
+        Pool pool = pool();
+        return pool.preparedQuery("SELECT a.id, a.title, a.year FROM albums a WHERE a.id = $1")
+            .execute(Tuple.of(id))
+            .flatMap(rows -> withArtists(pool, rows))
+            .map(albums -> albums.stream().findFirst());
+    }
+
+    private Uni<List<AlbumResponse>> withArtists(Pool pool, RowSet<Row> albumRows) {
+        Map<Long, Row> albums = new LinkedHashMap<>();
+        for (Row row : albumRows) {
+            albums.put(row.getLong("id"), row);
+        }
+        if (albums.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+
+        return pool.preparedQuery(ARTISTS_OF_ALBUMS)
+            .execute(Tuple.of(albums.keySet().toArray(Long[]::new)))
+            .map(artistRows -> {
+                Map<Long, List<ArtistResponse>> artistsByAlbum = new HashMap<>();
+                for (Row row : artistRows) {
+                    artistsByAlbum.computeIfAbsent(row.getLong("album_id"), key -> new ArrayList<>())
+                        .add(new ArtistResponse(
+                            row.getLong("id"),
+                            row.getString("name"),
+                            ArtistType.valueOf(row.getString("type"))
+                        ));
+                }
+                return albums.values().stream()
+                    .map(row -> new AlbumResponse(
+                        row.getLong("id"),
+                        row.getString("title"),
+                        row.getInteger("year"),
+                        artistsByAlbum.getOrDefault(row.getLong("id"), List.of())
+                    ))
+                    .toList();
+            });
+    }
+
+    /**
+     * Same routing rule as {@link ReadReplicaTenantResolver}: replica unless disabled or the
+     * caller was pinned to the primary after a recent write.
+     */
+    private Pool pool() {
+        return replicaEnabled && !routing.isPinnedToPrimary() ? replica : primary;
+    }
+
+    private static String orderBy(Sort sort) {
+        // Column names come from AlbumService's whitelist; fall back to title for anything else
+        String columns = sort.getColumns().stream()
+            .map(column -> ("year".equals(column.getName()) ? "a.year" : "a.title")
+                + (column.getDirection() == Sort.Direction.Descending ? " DESC" : " ASC"))
+            .collect(Collectors.joining(", "));
+        return " ORDER BY " + columns + ", a.id";
+    }
+}
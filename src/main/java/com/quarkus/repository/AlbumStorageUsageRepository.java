@@ -0,0 +1,81 @@
+package com.quarkus.repository;
+
+import com.quarkus.entity.AlbumStorageUsage;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+
+import java.util.List;
+
+@ApplicationScoped
+public class AlbumStorageUsageRepository implements PanacheRepositoryBase<AlbumStorageUsage, Long> {
+
+    /**
+     * Count an image against its album, unless that would take the album over its quota.
+     * The update locks the album's row until the transaction ends, so concurrent uploads
+     * to the album are checked one after the other.
+     *
+     * @param albumId Album ID
+     * @param size Image size in bytes
+     * @param defaultQuota Quota of albums without one of their own
+     * @return false if the image does not fit in the album's quota
+     */
+    public boolean addImage(Long albumId, long size, long defaultQuota) {
+        insertIfMissing(albumId);
+        return getEntityManager()
+            .createNativeQuery("""
+                UPDATE album_storage_usage SET image_count = image_count + 1, bytes = bytes + :size
+                WHERE album_id = :albumId AND bytes + :size <= COALESCE(quota_bytes, :defaultQuota)
+                """)
+            .setParameter("albumId", albumId)
+            .setParameter("size", size)
+            .setParameter("defaultQuota", defaultQuota)
+            .executeUpdate() > 0;
+    }
+
+    /**
+     * Stop counting a deleted image against its album.
+     *
+     * @param albumId Album ID
+     * @param size Image size in bytes
+     */
+    public void removeImage(Long albumId, long size) {
+        getEntityManager()
+            .createNativeQuery("""
+                UPDATE album_storage_usage SET image_count = image_count - 1, bytes = bytes - :size
+                WHERE album_id = :albumId
+                """)
+            .setParameter("albumId", albumId)
+            .setParameter("size", size)
+            .executeUpdate();
+    }
+
+    /**
+     * Find and lock the usage of an album, creating it for albums without images.
+     *
+     * @param albumId ID of an existing album
+     * @return Usage of the album
+     */
+    public AlbumStorageUsage findOrCreateForUpdate(Long albumId) {
+        insertIfMissing(albumId);
+        return findById(albumId, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    /**
+     * @param limit Maximum number of albums to return
+     * @return Usage of the albums taking the most bytes, largest first
+     */
+    public List<AlbumStorageUsage> findLargest(int limit) {
+        return findAll(Sort.descending("bytes").and("albumId"))
+            .page(0, limit)
+            .list();
+    }
+
+    private void insertIfMissing(Long albumId) {
+        getEntityManager()
+            .createNativeQuery("INSERT INTO album_storage_usage (album_id) VALUES (:albumId) ON CONFLICT (album_id) DO NOTHING")
+            .setParameter("albumId", albumId)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,43 @@
+package com.quarkus.repository;
+
+import com.quarkus.entity.CatalogChange;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.List;
+
+@ApplicationScoped
+public class CatalogChangeRepository implements PanacheRepository<CatalogChange> {
+
+    /**
+     * Arbitrary key for the transaction-level advisory lock that serializes feed writers.
+     */
+    private static final long FEED_LOCK_KEY = 0x4361_7443_6867_4665L;
+
+    /**
+     * Find changes with a sequence number greater than the given one, in sequence order.
+     *
+     * @param since Last sequence number already seen by the consumer
+     * @param limit Maximum number of changes to return
+     * @return Changes after {@code since}, oldest first
+     */
+    public List<CatalogChange> findSince(long since, int limit) {
+        return find("seq > ?1", Sort.by("seq").ascending(), since)
+            .page(Page.ofSize(limit))
+            .list();
+    }
+
+    /**
+     * Serialize change feed writers until the current transaction ends.
+     * Without it, a transaction holding a lower sequence number could commit after
+     * a consumer has already read past it, and that change would never be seen.
+     */
+    public void lockFeed() {
+        getEntityManager()
+            .createNativeQuery("SELECT pg_advisory_xact_lock(:key)")
+            .setParameter("key", FEED_LOCK_KEY)
+            .getSingleResult();
+    }
+}
@@ -0,0 +1,68 @@
+package com.quarkus.repository;
+
+import com.quarkus.entity.ImageVariant;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@ApplicationScoped
+public class ImageVariantRepository implements PanacheRepository<ImageVariant> {
+
+    /**
+     * Find the smallest variant of an image that is at least the requested width.
+     *
+     * @param albumImageId Album image ID
+     * @param width Requested width in pixels
+     * @return Optional containing the best matching variant
+     */
+    public Optional<ImageVariant> findSmallestAtLeast(Long albumImageId, int width) {
+        return find("albumImage.id = ?1 and width >= ?2", Sort.by("width").ascending(), albumImageId, width)
+            .firstResultOptional();
+    }
+
+    /**
+     * Find the smallest variant at least the requested width for several images in one query.
+     *
+     * @param albumImageIds Album image IDs
+     * @param width Requested width in pixels
+     * @return Object key of the best matching variant by image ID; images without one are absent
+     */
+    public Map<Long, String> findSmallestKeysAtLeast(Collection<Long> albumImageIds, int width) {
+        Map<Long, String> keys = new HashMap<>();
+        if (albumImageIds.isEmpty()) {
+            return keys;
+        }
+        List<ImageVariant> variants = find("albumImage.id in ?1 and width >= ?2",
+            Sort.by("width").ascending(), albumImageIds, width).list();
+        for (ImageVariant variant : variants) {
+            keys.putIfAbsent(variant.getAlbumImage().getId(), variant.getObjectKey());
+        }
+        return keys;
+    }
+
+    /**
+     * Find the variants already generated for an object, by any image sharing it.
+     *
+     * @param sourceObjectKey Object key of the source image
+     * @return Variants of that object, possibly several per width
+     */
+    public List<ImageVariant> findBySourceObjectKey(String sourceObjectKey) {
+        return find("albumImage.objectKey", sourceObjectKey).list();
+    }
+
+    /**
+     * Delete the variants recorded for an image.
+     *
+     * @param albumImageId Album image ID
+     * @return Number of deleted variants
+     */
+    public long deleteByAlbumImageId(Long albumImageId) {
+        return delete("albumImage.id", albumImageId);
+    }
+}
@@ -0,0 +1,59 @@
+package com.quarkus.repository;
+
+import com.quarkus.entity.ObjectRemovalFailure;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Collection;
+import java.util.List;
+
+@ApplicationScoped
+public class ObjectRemovalFailureRepository implements PanacheRepositoryBase<ObjectRemovalFailure, String> {
+
+    /**
+     * Record a failed removal, counting the attempts made for an object that failed before.
+     *
+     * @param objectKey Object key
+     * @param bucket Bucket holding the object
+     * @param attempts Attempts made in this round
+     * @param error Last error reported for the object
+     */
+    public void record(String objectKey, String bucket, int attempts, String error) {
+        getEntityManager()
+            .createNativeQuery("""
+                INSERT INTO object_removal_failures (object_key, bucket, attempts, last_error, failed_at)
+                VALUES (:key, :bucket, :attempts, :error, CURRENT_TIMESTAMP)
+                ON CONFLICT (object_key) DO UPDATE SET
+                    attempts = object_removal_failures.attempts + EXCLUDED.attempts,
+                    last_error = EXCLUDED.last_error,
+                    failed_at = EXCLUDED.failed_at
+                """)
+            .setParameter("key", objectKey)
+            .setParameter("bucket", bucket)
+            .setParameter("attempts", attempts)
+            .setParameter("error", error)
+            .executeUpdate();
+    }
+
+    /**
+     * @param limit Maximum number of dead letters to return
+     * @return Keys of the objects whose removal failed longest ago
+     */
+    public List<String> findOldestKeys(int limit) {
+        return getEntityManager()
+            .createQuery("SELECT f.objectKey FROM ObjectRemovalFailure f ORDER BY f.failedAt", String.class)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    /**
+     * @param objectKeys Keys of objects that have been removed
+     * @return Number of dead letters cleared
+     */
+    public long clear(Collection<String> objectKeys) {
+        if (objectKeys.isEmpty()) {
+            return 0;
+        }
+        return delete("objectKey in ?1", objectKeys);
+    }
+}
@@ -0,0 +1,246 @@
+package com.quarkus.repository;
+
+import com.quarkus.entity.StoredObject;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+@ApplicationScoped
+public class StoredObjectRepository implements PanacheRepositoryBase<StoredObject, String> {
+
+    /**
+     * Rows the usage of each bucket is spread over; each update locks one of them until commit.
+     */
+    private static final int USAGE_SLOTS = 16;
+
+    /**
+     * Add a reference to an object, registering it on first use.
+     * The upsert locks the row until the transaction ends, so a concurrent release
+     * cannot remove the object between this call and the commit.
+     *
+     * @param objectKey Content-addressed object key
+     * @param bucket Bucket holding the object
+     * @param contentType MIME type of the object
+     * @param size Object size in bytes
+     * @return Reference count after the increment; 1 means the object is new and must be stored,
+     *         and it is counted in the usage of its bucket
+     */
+    public int acquire(String objectKey, String bucket, String contentType, long size) {
+        Number refCount = (Number) getEntityManager()
+            .createNativeQuery("""
+                INSERT INTO stored_objects (object_key, bucket, content_type, size, ref_count)
+                VALUES (:key, :bucket, :contentType, :size, 1)
+                ON CONFLICT (object_key) DO UPDATE SET ref_count = stored_objects.ref_count + 1
+                RETURNING ref_count
+                """)
+            .setParameter("key", objectKey)
+            .setParameter("bucket", bucket)
+            .setParameter("contentType", contentType)
+            .setParameter("size", size)
+            .getSingleResult();
+        if (refCount.intValue() == 1) {
+            addBucketUsage(bucket, 1, size);
+        }
+        return refCount.intValue();
+    }
+
+    /**
+     * Drop a reference to an object and forget the object, taking it out of the usage of its
+     * bucket, once nothing references it.
+     *
+     * @param objectKey Content-addressed object key
+     * @return Reference count after the decrement; 0 means the object must be removed from storage
+     */
+    public int release(String objectKey) {
+        Object[] row = (Object[]) getEntityManager()
+            .createNativeQuery("""
+                UPDATE stored_objects SET ref_count = ref_count - 1
+                WHERE object_key = :key AND ref_count > 0
+                RETURNING ref_count, bucket, size
+                """)
+            .setParameter("key", objectKey)
+            .getResultStream()
+            .findFirst()
+            .orElse(null);
+        int refCount = row == null ? 0 : ((Number) row[0]).intValue();
+        if (refCount == 0) {
+            delete("objectKey = ?1 and refCount = 0", objectKey);
+            if (row != null) {
+                addBucketUsage((String) row[1], -1, -((Number) row[2]).longValue());
+            }
+        }
+        return refCount;
+    }
+
+    /**
+     * Forget an object that an upload stored but never referenced, unless another upload has
+     * referenced it meanwhile. The row is upserted first so this waits for, and then sees,
+     * any concurrent {@link #acquire}.
+     *
+     * @param objectKey Content-addressed object key
+     * @param bucket Bucket holding the object
+     * @param contentType MIME type of the object
+     * @param size Object size in bytes
+     * @return true if nothing references the object and it must be removed from storage
+     */
+    public boolean forgetIfUnreferenced(String objectKey, String bucket, String contentType, long size) {
+        Number refCount = (Number) getEntityManager()
+            .createNativeQuery("""
+                INSERT INTO stored_objects (object_key, bucket, content_type, size, ref_count)
+                VALUES (:key, :bucket, :contentType, :size, 0)
+                ON CONFLICT (object_key) DO UPDATE SET ref_count = stored_objects.ref_count
+                RETURNING ref_count
+                """)
+            .setParameter("key", objectKey)
+            .setParameter("bucket", bucket)
+            .setParameter("contentType", contentType)
+            .setParameter("size", size)
+            .getSingleResult();
+        if (refCount.intValue() > 0) {
+            return false;
+        }
+        delete("objectKey", objectKey);
+        return true;
+    }
+
+    /**
+     * Lock an object that is about to be removed from storage, unless something references it.
+     * A placeholder row with no references is upserted, so a concurrent {@link #acquire} waits
+     * until the transaction ends; {@link #forgetUnreferenced} drops the placeholder again.
+     *
+     * @param objectKey Content-addressed object key
+     * @param bucket Bucket holding the object
+     * @return true if no stored object references the key and it may be removed
+     */
+    public boolean lockUnreferenced(String objectKey, String bucket) {
+        Number refCount = (Number) getEntityManager()
+            .createNativeQuery("""
+                INSERT INTO stored_objects (object_key, bucket, content_type, size, ref_count)
+                VALUES (:key, :bucket, 'application/octet-stream', 0, 0)
+                ON CONFLICT (object_key) DO UPDATE SET ref_count = stored_objects.ref_count
+                RETURNING ref_count
+                """)
+            .setParameter("key", objectKey)
+            .setParameter("bucket", bucket)
+            .getSingleResult();
+        return refCount.intValue() == 0;
+    }
+
+    /**
+     * @param objectKeys Object keys locked with {@link #lockUnreferenced}
+     */
+    public void forgetUnreferenced(Collection<String> objectKeys) {
+        if (!objectKeys.isEmpty()) {
+            delete("objectKey in ?1 and refCount = 0", objectKeys);
+        }
+    }
+
+    /**
+     * @return Objects stored in each bucket and their bytes, by bucket name
+     */
+    @SuppressWarnings("unchecked")
+    public List<BucketUsage> usageByBucket() {
+        List<Object[]> rows = getEntityManager()
+            .createNativeQuery("""
+                SELECT bucket, SUM(object_count), SUM(bytes) FROM bucket_storage_usage
+                GROUP BY bucket
+                ORDER BY bucket
+                """)
+            .getResultList();
+        return rows.stream()
+            .map(row -> new BucketUsage((String) row[0], ((Number) row[1]).longValue(), ((Number) row[2]).longValue()))
+            .toList();
+    }
+
+    /**
+     * Adjust the usage of a bucket in a random slot, so concurrent uploads rarely wait for each other.
+     */
+    private void addBucketUsage(String bucket, long objects, long bytes) {
+        getEntityManager()
+            .createNativeQuery("""
+                INSERT INTO bucket_storage_usage (bucket, slot, object_count, bytes)
+                VALUES (:bucket, :slot, :objects, :bytes)
+                ON CONFLICT (bucket, slot) DO UPDATE SET
+                    object_count = bucket_storage_usage.object_count + EXCLUDED.object_count,
+                    bytes = bucket_storage_usage.bytes + EXCLUDED.bytes
+                """)
+            .setParameter("bucket", bucket)
+            .setParameter("slot", ThreadLocalRandom.current().nextInt(USAGE_SLOTS))
+            .setParameter("objects", objects)
+            .setParameter("bytes", bytes)
+            .executeUpdate();
+    }
+
+    /**
+     * Stream every object key the database refers to, in UTF-8 byte order ({@code COLLATE "C"}),
+     * which is the order MinIO lists keys in. Rows are fetched in chunks through a cursor, so
+     * this must run inside a transaction and the stream must be closed.
+     *
+     * @return Referenced keys; {@code required} is false for keys that only pending direct
+     *         uploads refer to, whose objects may legitimately not exist yet
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<ReferencedKey> streamReferencedKeys() {
+        Stream<Object[]> rows = getEntityManager()
+            .createNativeQuery("""
+                SELECT object_key, bool_or(required) FROM (
+                    SELECT object_key, TRUE AS required FROM stored_objects
+                    UNION ALL
+                    SELECT object_key, TRUE FROM image_variants
+                    UNION ALL
+                    SELECT object_key, status = 'READY' FROM album_images
+                ) referenced
+                GROUP BY object_key
+                ORDER BY object_key COLLATE "C"
+                """)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+            .getResultStream();
+        return rows.map(row -> new ReferencedKey((String) row[0], (Boolean) row[1]));
+    }
+
+    /**
+     * @param objectKeys Object keys to check
+     * @return The given keys that a stored object, album image or variant refers to right now
+     */
+    @SuppressWarnings("unchecked")
+    public Set<String> findReferenced(Collection<String> objectKeys) {
+        if (objectKeys.isEmpty()) {
+            return Set.of();
+        }
+        List<String> referenced = getEntityManager()
+            .createNativeQuery("""
+                SELECT object_key FROM stored_objects WHERE object_key IN (:keys) AND ref_count > 0
+                UNION
+                SELECT object_key FROM image_variants WHERE object_key IN (:keys)
+                UNION
+                SELECT object_key FROM album_images WHERE object_key IN (:keys)
+                """)
+            .setParameter("keys", objectKeys)
+            .getResultList();
+        return new HashSet<>(referenced);
+    }
+
+    /**
+     * An object key the database refers to.
+     *
+     * @param objectKey Object key
+     * @param required Whether the object must exist in storage
+     */
+    public record ReferencedKey(String objectKey, boolean required) {}
+
+    /**
+     * Objects stored in a bucket, each counted once however many images share it.
+     *
+     * @param bucket Bucket name
+     * @param objectCount Number of stored objects
+     * @param bytes Total size of the stored objects
+     */
+    public record BucketUsage(String bucket, long objectCount, long bytes) {}
+}
@@ -0,0 +1,55 @@
+package com.quarkus.repository;
+
+import com.quarkus.entity.UploadSession;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@ApplicationScoped
+public class UploadSessionRepository implements PanacheRepositoryBase<UploadSession, String> {
+
+    /**
+     * Take the lease of an unexpired session unless another request holds it.
+     *
+     * @param id Session ID
+     * @param now Current time
+     * @param leaseUntil End of the lease
+     * @return true if the lease was taken
+     */
+    public boolean claim(String id, LocalDateTime now, LocalDateTime leaseUntil) {
+        return update("leaseUntil = ?1 where id = ?2 and expiresAt > ?3 and (leaseUntil is null or leaseUntil < ?3)",
+            leaseUntil, id, now) == 1;
+    }
+
+    /**
+     * @param id Session ID
+     */
+    public void release(String id) {
+        update("leaseUntil = null where id = ?1", id);
+    }
+
+    /**
+     * @param now Current time
+     * @param limit Maximum number of sessions to return
+     * @return Sessions that expired and are not being appended to, oldest first
+     */
+    public List<UploadSession> findExpired(LocalDateTime now, int limit) {
+        return find("expiresAt <= ?1 and (leaseUntil is null or leaseUntil < ?1) order by expiresAt", now)
+            .page(0, limit)
+            .list();
+    }
+
+    /**
+     * @param ids Session IDs
+     * @return Number of sessions deleted
+     */
+    public long deleteByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return delete("id in ?1", ids);
+    }
+}
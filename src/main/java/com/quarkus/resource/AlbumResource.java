@@ -5,6 +5,9 @@ import com.quarkus.dto.response.AlbumResponse;
 import com.quarkus.dto.response.PageResponse;
 import com.quarkus.entity.ArtistType;
 import com.quarkus.service.AlbumService;
+import io.smallrye.common.annotation.NonBlocking;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Uni;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
@@ -28,6 +31,7 @@ public class AlbumResource {
     AlbumService albumService;
 
     @GET
+    @NonBlocking
     @RolesAllowed({"USER", "ADMIN"})
     @Operation(
         summary = "List all albums",
@@ -42,7 +46,7 @@ public class AlbumResource {
         responseCode = "401",
         description = "Unauthorized - Authentication required"
     )
-    public Response listAlbums(
+    public Uni<PageResponse<AlbumResponse>> listAlbums(
         @Parameter(description = "Page number (0-based)")
         @QueryParam("page") @DefaultValue("0") int page,
 
@@ -55,12 +59,12 @@ public class AlbumResource {
         @Parameter(description = "Filter by artist type (SINGER or BAND)")
         @QueryParam("artistType") ArtistType artistType
     ) {
-        PageResponse<AlbumResponse> result = albumService.findAll(page, size, sort, artistType);
-        return Response.ok(result).build();
+        return albumService.findAllAsync(page, size, sort, artistType);
     }
 
     @GET
     @Path("/{id}")
+    @NonBlocking
     @RolesAllowed({"USER", "ADMIN"})
     @Operation(
         summary = "Get album by ID",
@@ -79,15 +83,15 @@ public class AlbumResource {
         responseCode = "404",
         description = "Album not found"
     )
-    public Response getAlbum(
+    public Uni<AlbumResponse> getAlbum(
         @Parameter(description = "Album ID", required = true)
         @PathParam("id") Long id
     ) {
-        AlbumResponse album = albumService.findById(id);
-        return Response.ok(album).build();
+        return albumService.findByIdAsync(id);
     }
 
     @POST
+    @RunOnVirtualThread
     @RolesAllowed("ADMIN")
     @Operation(
         summary = "Create new album",
@@ -121,6 +125,7 @@ public class AlbumResource {
 
     @PUT
     @Path("/{id}")
+    @RunOnVirtualThread
     @RolesAllowed("ADMIN")
     @Operation(
         summary = "Update album",
@@ -158,6 +163,7 @@ public class AlbumResource {
 
     @DELETE
     @Path("/{id}")
+    @RunOnVirtualThread
     @RolesAllowed("ADMIN")
     @Operation(
         summary = "Delete album",
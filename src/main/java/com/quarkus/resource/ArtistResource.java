@@ -3,6 +3,7 @@ package com.quarkus.resource;
 import com.quarkus.dto.request.ArtistRequest;
 import com.quarkus.dto.response.ArtistResponse;
 import com.quarkus.service.ArtistService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
@@ -21,6 +22,7 @@ import java.util.List;
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Artists", description = "Artist management endpoints")
+@RunOnVirtualThread
 public class ArtistResource {
 
     @Inject
@@ -0,0 +1,58 @@
+package com.quarkus.resource;
+
+import com.quarkus.dto.response.ChangeFeedResponse;
+import com.quarkus.service.ChangeFeedService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+@Path("/api/v1/changes")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Changes", description = "Incremental catalog change feed")
+@RunOnVirtualThread
+public class ChangeResource {
+
+    @Inject
+    ChangeFeedService changeFeedService;
+
+    @GET
+    @RolesAllowed({"USER", "ADMIN"})
+    @Operation(
+        summary = "List catalog changes",
+        description = "Get album, artist and image changes after a sequence number, oldest first. "
+            + "When 'wait' is set and no change is available, the request is held open until one is committed "
+            + "or the wait elapses. Album payloads embed their artists, so an ARTIST change also affects "
+            + "the albums that reference it"
+    )
+    @APIResponse(
+        responseCode = "200",
+        description = "Success",
+        content = @Content(schema = @Schema(implementation = ChangeFeedResponse.class))
+    )
+    @APIResponse(
+        responseCode = "401",
+        description = "Unauthorized - Authentication required"
+    )
+    public Response listChanges(
+        @Parameter(description = "Last sequence number already processed (0 to start from the beginning)")
+        @QueryParam("since") @DefaultValue("0") long since,
+
+        @Parameter(description = "Maximum number of changes to return (max 1000)")
+        @QueryParam("limit") @DefaultValue("100") int limit,
+
+        @Parameter(description = "Seconds to wait for new changes when none are available (max 30)")
+        @QueryParam("wait") @DefaultValue("0") int wait
+    ) {
+        ChangeFeedResponse result = changeFeedService.changesSince(since, limit, wait);
+        return Response.ok(result).build();
+    }
+}
@@ -1,13 +1,27 @@
 package com.quarkus.resource;
 
+import com.quarkus.dto.request.ImageUploadUrlRequest;
+import com.quarkus.dto.response.ImageResponse;
 import com.quarkus.dto.response.ImageUploadResponse;
+import com.quarkus.dto.response.ImageUploadStatusResponse;
+import com.quarkus.dto.response.ImageUploadUrlResponse;
 import com.quarkus.dto.response.ImageUrlResponse;
+import com.quarkus.dto.response.PageResponse;
+import com.quarkus.imaging.ImageFormat;
+import com.quarkus.entity.ImageStatus;
+import com.quarkus.service.AsyncUploadService;
 import com.quarkus.service.ImageService;
+import com.quarkus.storage.ByteRange;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
+import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -17,46 +31,68 @@ import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.resteasy.reactive.PartType;
+import org.jboss.resteasy.reactive.PathPart;
 import org.jboss.resteasy.reactive.RestForm;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
 
 @Path("/api/v1/albums/{albumId}/images")
 @Produces(MediaType.APPLICATION_JSON)
 @Tag(name = "Images", description = "Album image management endpoints")
+@RunOnVirtualThread
 public class ImageResource {
 
     @Inject
     ImageService imageService;
 
-    @ConfigProperty(name = "app.minio.presigned-url.expiry")
-    int presignedUrlExpiry;
+    @Inject
+    AsyncUploadService asyncUploadService;
 
     @ConfigProperty(name = "app.minio.max-file-size")
     long maxFileSize;
 
-    private static final Set<String> ALLOWED_CONTENT_TYPES = Set.of(
-            "image/jpeg",
-            "image/png",
-            "image/webp"
-    );
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+
+    private static final String CONTENT_RANGE = "Content-Range";
+
+    private static final String PREFER = "Prefer";
+
+    private static final String RESPOND_ASYNC = "respond-async";
+
+    /**
+     * Seconds clients are asked to wait before polling a processing upload again.
+     */
+    private static final int STATUS_RETRY_AFTER = 1;
+
+    /**
+     * Image bytes behind a hash never change, but access is per user.
+     */
+    private static final String CONTENT_CACHE_CONTROL = "private, max-age=86400";
 
     @POST
     @Consumes(MediaType.MULTIPART_FORM_DATA)
     @RolesAllowed("ADMIN")
     @Operation(
             summary = "Upload album image",
-            description = "Upload an image for an album (JPEG, PNG, or WebP). Maximum file size: 50MB"
+            description = "Upload an image for an album (JPEG, PNG, or WebP). Maximum file size: 50MB. "
+                    + "With 'Prefer: respond-async' the image is stored in the background and the response "
+                    + "points to its status"
     )
     @APIResponse(
             responseCode = "201",
             description = "Image uploaded successfully",
             content = @Content(schema = @Schema(implementation = ImageUploadResponse.class))
     )
+    @APIResponse(
+            responseCode = "202",
+            description = "Image accepted for processing; its status URL is in the Location header",
+            content = @Content(schema = @Schema(implementation = ImageUploadStatusResponse.class))
+    )
     @APIResponse(
             responseCode = "400",
             description = "Invalid file format or size exceeds limit"
@@ -73,9 +109,13 @@ public class ImageResource {
             responseCode = "404",
             description = "Album not found"
     )
+    @APIResponse(
+            responseCode = "413",
+            description = "The image does not fit in the album's storage quota"
+    )
     @APIResponse(
             responseCode = "503",
-            description = "MinIO service unavailable"
+            description = "Upload capacity exhausted (retry after the Retry-After seconds) or storage unavailable"
     )
     public Response uploadImage(
             @Parameter(description = "Album ID", required = true)
@@ -86,7 +126,12 @@ public class ImageResource {
                     required = true,
                     content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA)
             )
-            ImageUploadForm form
+            ImageUploadForm form,
+
+            @Parameter(description = "'respond-async' to return once the image is received and store it in the background")
+            @HeaderParam(PREFER) String prefer,
+
+            @Context UriInfo uriInfo
     ) {
         if (form == null || form.file == null) {
             return Response.status(Response.Status.BAD_REQUEST)
@@ -96,7 +141,7 @@ public class ImageResource {
         }
         String contentType = form.file.contentType();
         long size = form.file.size();
-        if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType)) {
+        if (ImageFormat.fromContentType(contentType).isEmpty()) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .type(MediaType.APPLICATION_JSON)
                     .entity(Map.of("message", "Invalid content type"))
@@ -109,11 +154,22 @@ public class ImageResource {
                     .build();
         }
 
-        try {
+        try (InputStream inputStream = Files.newInputStream(form.file.filePath())) {
+            if (respondAsync(prefer)) {
+                String hash = asyncUploadService.accept(
+                        albumId,
+                        form.file.fileName(),
+                        inputStream,
+                        form.file.size(),
+                        form.file.contentType()
+                );
+                return accepted(uriInfo, hash);
+            }
+
             String hash = imageService.uploadImage(
                     albumId,
                     form.file.fileName(),
-                    Files.newInputStream(form.file.filePath()),
+                    inputStream,
                     form.file.size(),
                     form.file.contentType()
             );
@@ -126,18 +182,382 @@ public class ImageResource {
         }
     }
 
+    @POST
+    @Consumes({"image/jpeg", "image/png", "image/webp"})
+    @RolesAllowed("ADMIN")
+    @Operation(
+            summary = "Upload album image as a stream",
+            description = "Upload the raw image bytes as the request body (JPEG, PNG, or WebP). "
+                    + "The body is streamed to storage without being buffered to disk. Maximum file size: 50MB. "
+                    + "With 'Prefer: respond-async' the body is spooled, the image stored in the background "
+                    + "and the response points to its status"
+    )
+    @APIResponse(
+            responseCode = "201",
+            description = "Image uploaded successfully",
+            content = @Content(schema = @Schema(implementation = ImageUploadResponse.class))
+    )
+    @APIResponse(
+            responseCode = "202",
+            description = "Image accepted for processing; its status URL is in the Location header",
+            content = @Content(schema = @Schema(implementation = ImageUploadStatusResponse.class))
+    )
+    @APIResponse(
+            responseCode = "400",
+            description = "Empty body, content not matching its type, or size exceeds limit"
+    )
+    @APIResponse(
+            responseCode = "401",
+            description = "Unauthorized - Authentication required"
+    )
+    @APIResponse(
+            responseCode = "403",
+            description = "Forbidden - Admin role required"
+    )
+    @APIResponse(
+            responseCode = "404",
+            description = "Album not found"
+    )
+    @APIResponse(
+            responseCode = "413",
+            description = "The image does not fit in the album's storage quota"
+    )
+    @APIResponse(
+            responseCode = "503",
+            description = "Upload capacity exhausted (retry after the Retry-After seconds) or storage unavailable"
+    )
+    public Response uploadImageStream(
+            @Parameter(description = "Album ID", required = true)
+            @PathParam("albumId") Long albumId,
+
+            @Parameter(description = "Original filename, used for the extension of the stored object")
+            @QueryParam("filename") String filename,
+
+            @Parameter(description = "'respond-async' to return once the image is received and store it in the background")
+            @HeaderParam(PREFER) String prefer,
+
+            @Context HttpHeaders headers,
+
+            @Context UriInfo uriInfo,
+
+            @RequestBody(description = "Raw image bytes", required = true)
+            InputStream body
+    ) {
+        MediaType mediaType = headers.getMediaType();
+        String contentType = mediaType.getType() + "/" + mediaType.getSubtype();
+
+        if (respondAsync(prefer)) {
+            return accepted(uriInfo, asyncUploadService.accept(albumId, filename, body, headers.getLength(), contentType));
+        }
+
+        // Without Content-Length (chunked) the size is only known once the body has been read
+        String hash = imageService.uploadImage(albumId, filename, body, headers.getLength(), contentType);
+
+        ImageUploadResponse response = ImageUploadResponse.of(hash);
+        return Response.status(Response.Status.CREATED).entity(response).build();
+    }
+
+    @POST
+    @Path("/upload-url")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @RolesAllowed("ADMIN")
+    @Operation(
+            summary = "Start a direct upload",
+            description = "Reserve an image and get a presigned PUT URL to upload its bytes straight to storage. "
+                    + "The image becomes visible once the upload is completed. URL is valid for 15 minutes"
+    )
+    @APIResponse(
+            responseCode = "201",
+            description = "Upload URL generated successfully",
+            content = @Content(schema = @Schema(implementation = ImageUploadUrlResponse.class))
+    )
+    @APIResponse(
+            responseCode = "400",
+            description = "Invalid content type"
+    )
+    @APIResponse(
+            responseCode = "401",
+            description = "Unauthorized - Authentication required"
+    )
+    @APIResponse(
+            responseCode = "403",
+            description = "Forbidden - Admin role required"
+    )
+    @APIResponse(
+            responseCode = "404",
+            description = "Album not found"
+    )
+    @APIResponse(
+            responseCode = "503",
+            description = "MinIO service unavailable"
+    )
+    public Response createUploadUrl(
+            @Parameter(description = "Album ID", required = true)
+            @PathParam("albumId") Long albumId,
+
+            @Valid ImageUploadUrlRequest request
+    ) {
+        ImageService.UploadUrl uploadUrl = imageService.createUploadUrl(albumId, request.filename(), request.contentType());
+        ImageUploadUrlResponse response = ImageUploadUrlResponse.of(uploadUrl.hash(), uploadUrl.url(), uploadUrl.expiresAt());
+        return Response.status(Response.Status.CREATED).entity(response).build();
+    }
+
+    @POST
+    @Path("/{hash:.+}/complete")
+    @RolesAllowed("ADMIN")
+    @Operation(
+            summary = "Complete a direct upload",
+            description = "Verify the size and content type of an image uploaded through a presigned PUT URL "
+                    + "and make it visible. Completing an upload twice has no further effect"
+    )
+    @APIResponse(
+            responseCode = "200",
+            description = "Upload completed successfully",
+            content = @Content(schema = @Schema(implementation = ImageUploadResponse.class))
+    )
+    @APIResponse(
+            responseCode = "400",
+            description = "Image not uploaded yet, invalid content type or size exceeds limit"
+    )
+    @APIResponse(
+            responseCode = "401",
+            description = "Unauthorized - Authentication required"
+    )
+    @APIResponse(
+            responseCode = "403",
+            description = "Forbidden - Admin role required"
+    )
+    @APIResponse(
+            responseCode = "404",
+            description = "Upload not found"
+    )
+    @APIResponse(
+            responseCode = "413",
+            description = "The image does not fit in the album's storage quota"
+    )
+    @APIResponse(
+            responseCode = "503",
+            description = "MinIO service unavailable"
+    )
+    public Response completeUpload(
+            @Parameter(description = "Album ID", required = true)
+            @PathParam("albumId") Long albumId,
+
+            @Parameter(
+                    description = "Image hash identifier returned with the upload URL",
+                    required = true
+            )
+            @PathParam("hash") String hash
+    ) {
+        imageService.completeUpload(albumId, hash);
+        return Response.ok(ImageUploadResponse.of(hash)).build();
+    }
+
+    @GET
+    @Path("/{hash:.+}/status")
+    @RolesAllowed("ADMIN")
+    @Operation(
+            summary = "Get image upload status",
+            description = "Poll an upload accepted with 'Prefer: respond-async', or a direct upload: PROCESSING "
+                    + "until the image is stored, then READY, or FAILED with the reason. Ready images are also "
+                    + "announced in the change feed"
+    )
+    @APIResponse(
+            responseCode = "200",
+            description = "Upload status; while processing, Retry-After suggests when to poll again",
+            content = @Content(schema = @Schema(implementation = ImageUploadStatusResponse.class))
+    )
+    @APIResponse(
+            responseCode = "401",
+            description = "Unauthorized - Authentication required"
+    )
+    @APIResponse(
+            responseCode = "403",
+            description = "Forbidden - Admin role required"
+    )
+    @APIResponse(
+            responseCode = "404",
+            description = "Album or image not found"
+    )
+    public Response getUploadStatus(
+            @Parameter(description = "Album ID", required = true)
+            @PathParam("albumId") Long albumId,
+
+            @Parameter(
+                    description = "Image hash identifier (e.g. ab/cd/uuid.ext)",
+                    required = true
+            )
+            @PathParam("hash") String hash
+    ) {
+        ImageService.UploadProgress progress = imageService.getUploadProgress(albumId, hash);
+        Response.ResponseBuilder builder = Response.ok(
+                        ImageUploadStatusResponse.of(progress.hash(), progress.status(), progress.failureReason()))
+                .header(HttpHeaders.CACHE_CONTROL, "no-store");
+        if (progress.status() == ImageStatus.PROCESSING) {
+            builder.header(HttpHeaders.RETRY_AFTER, STATUS_RETRY_AFTER);
+        }
+        return builder.build();
+    }
+
+    @GET
+    @RolesAllowed({"USER", "ADMIN"})
+    @Operation(
+            summary = "List album images",
+            description = "List the images of an album with their metadata and a presigned URL for each, "
+                    + "oldest first. URLs are valid for up to 30 minutes"
+    )
+    @APIResponse(
+            responseCode = "200",
+            description = "Images retrieved successfully",
+            content = @Content(schema = @Schema(implementation = PageResponse.class))
+    )
+    @APIResponse(
+            responseCode = "400",
+            description = "Width must be greater than 0"
+    )
+    @APIResponse(
+            responseCode = "401",
+            description = "Unauthorized - Authentication required"
+    )
+    @APIResponse(
+            responseCode = "404",
+            description = "Album not found"
+    )
+    @APIResponse(
+            responseCode = "503",
+            description = "MinIO service unavailable"
+    )
+    public PageResponse<ImageResponse> listImages(
+            @Parameter(description = "Album ID", required = true)
+            @PathParam("albumId") Long albumId,
+
+            @Parameter(description = "Page number (0-based)")
+            @QueryParam("page") @DefaultValue("0") int page,
+
+            @Parameter(description = "Page size (max 100)")
+            @QueryParam("size") @DefaultValue("20") int size,
+
+            @Parameter(description = "Display width in pixels; URLs point to the smallest variant at least that wide")
+            @QueryParam("width") Integer width
+    ) {
+        return imageService.listImages(albumId, page, size, width);
+    }
+
+    @GET
+    @Path("/{hash:.+}/content")
+    @Produces({"image/jpeg", "image/png", "image/webp"})
+    @RolesAllowed({"USER", "ADMIN"})
+    @Operation(
+            summary = "Download image bytes",
+            description = "Stream the bytes of an album image, or of a downscaled variant of it when a width is given, "
+                    + "for clients that cannot follow presigned URLs. Supports single byte ranges and conditional requests"
+    )
+    @APIResponse(
+            responseCode = "200",
+            description = "Image bytes"
+    )
+    @APIResponse(
+            responseCode = "206",
+            description = "Requested byte range of the image"
+    )
+    @APIResponse(
+            responseCode = "304",
+            description = "Image not modified since the given ETag"
+    )
+    @APIResponse(
+            responseCode = "400",
+            description = "Width must be greater than 0"
+    )
+    @APIResponse(
+            responseCode = "401",
+            description = "Unauthorized - Authentication required"
+    )
+    @APIResponse(
+            responseCode = "404",
+            description = "Album or image not found"
+    )
+    @APIResponse(
+            responseCode = "416",
+            description = "Requested range not satisfiable"
+    )
+    @APIResponse(
+            responseCode = "503",
+            description = "MinIO service unavailable"
+    )
+    public Response getImageContent(
+            @Parameter(description = "Album ID", required = true)
+            @PathParam("albumId") Long albumId,
+
+            @Parameter(
+                    description = "Image hash identifier (e.g. ab/cd/uuid.ext)",
+                    required = true
+            )
+            @PathParam("hash") String hash,
+
+            @Parameter(description = "Display width in pixels; serves the smallest variant at least that wide")
+            @QueryParam("width") Integer width,
+
+            @HeaderParam("Range") String range,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @HeaderParam("If-Range") String ifRange
+    ) {
+        ImageService.ImageContent content = imageService.getImageContent(albumId, hash, width);
+
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(content.etag()))) {
+            return Response.notModified()
+                    .header(HttpHeaders.ETAG, content.etag())
+                    .header(HttpHeaders.CACHE_CONTROL, CONTENT_CACHE_CONTROL)
+                    .build();
+        }
+
+        // A range is only honoured while the client's copy is still the same object
+        Optional<ByteRange> requested;
+        try {
+            requested = ifRange == null || ifRange.equals(content.etag())
+                    ? ByteRange.parse(range, content.size())
+                    : Optional.empty();
+        } catch (ByteRange.NotSatisfiableException e) {
+            return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(CONTENT_RANGE, "bytes */" + content.size())
+                    .build();
+        }
+        ByteRange served = requested.orElse(ByteRange.full(content.size()));
+
+        Response.ResponseBuilder builder = requested.isPresent()
+                ? Response.status(Response.Status.PARTIAL_CONTENT).header(CONTENT_RANGE, served.contentRange(content.size()))
+                : Response.ok();
+        builder.type(content.contentType())
+                .header(ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.ETAG, content.etag())
+                .header(HttpHeaders.CACHE_CONTROL, CONTENT_CACHE_CONTROL);
+
+        // Local files (cached or stored on disk) are sent with sendfile, the rest is streamed from storage
+        Optional<java.nio.file.Path> file = imageService.cachedContent(content);
+        if (file.isPresent()) {
+            return builder.entity(new PathPart(file.get(), served.start(), served.length())).build();
+        }
+        return builder.entity(imageService.streamContent(content, served))
+                .header(HttpHeaders.CONTENT_LENGTH, served.length())
+                .build();
+    }
+
     @GET
     @Path("/{hash:.+}")
     @RolesAllowed({"USER", "ADMIN"})
     @Operation(
             summary = "Get image URL",
-            description = "Get a presigned URL to access an album image. URL is valid for 30 minutes"
+            description = "Get a presigned URL to access an album image, or a downscaled variant of it "
+                    + "when a width is given. URL is valid for up to 30 minutes"
     )
     @APIResponse(
             responseCode = "200",
             description = "Presigned URL generated successfully",
             content = @Content(schema = @Schema(implementation = ImageUrlResponse.class))
     )
+    @APIResponse(
+            responseCode = "400",
+            description = "Width must be greater than 0"
+    )
     @APIResponse(
             responseCode = "401",
             description = "Unauthorized - Authentication required"
@@ -155,13 +575,16 @@ public class ImageResource {
             @PathParam("albumId") Long albumId,
 
             @Parameter(
-                    description = "Image hash identifier (format: yyyy/MM/dd/uuid.ext)",
+                    description = "Image hash identifier (e.g. ab/cd/uuid.ext)",
                     required = true
             )
-            @PathParam("hash") String hash
+            @PathParam("hash") String hash,
+
+            @Parameter(description = "Display width in pixels; serves the smallest variant at least that wide")
+            @QueryParam("width") Integer width
     ) {
-        String url = imageService.getPresignedUrl(albumId, hash);
-        ImageUrlResponse response = ImageUrlResponse.of(hash, url, presignedUrlExpiry);
+        ImageService.PresignedUrl url = imageService.getPresignedUrl(albumId, hash, width);
+        ImageUrlResponse response = ImageUrlResponse.of(hash, url.url(), url.expiresAt());
 
         return Response.ok(response).build();
     }
@@ -198,7 +621,7 @@ public class ImageResource {
             @PathParam("albumId") Long albumId,
 
             @Parameter(
-                    description = "Image hash identifier (format: yyyy/MM/dd/uuid.ext)",
+                    description = "Image hash identifier (e.g. ab/cd/uuid.ext)",
                     required = true
             )
             @PathParam("hash") String hash
@@ -207,6 +630,31 @@ public class ImageResource {
         return Response.noContent().build();
     }
 
+    /**
+     * @return true if the client asked for the upload to be processed in the background (RFC 7240)
+     */
+    private static boolean respondAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            if (preference.split(";")[0].trim().equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Answer an upload accepted for processing with its status URL.
+     */
+    private static Response accepted(UriInfo uriInfo, String hash) {
+        return Response.accepted(ImageUploadStatusResponse.of(hash, ImageStatus.PROCESSING, null))
+                .location(uriInfo.getAbsolutePathBuilder().path(hash).path("status").build())
+                .header("Preference-Applied", RESPOND_ASYNC)
+                .build();
+    }
+
     /**
      * Form for multipart file upload.
      */
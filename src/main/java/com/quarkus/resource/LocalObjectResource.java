@@ -0,0 +1,110 @@
+package com.quarkus.resource;
+
+import com.quarkus.storage.ByteRange;
+import com.quarkus.storage.LocalObjectStorage;
+import com.quarkus.storage.ObjectInfo;
+import com.quarkus.storage.ObjectNotFoundException;
+import com.quarkus.storage.ObjectStorage;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.security.PermitAll;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.PathPart;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Serves the presigned URLs of {@link LocalObjectStorage}, standing in for the MinIO endpoint
+ * when objects are kept on local disk. Access is granted by the URL signature alone.
+ */
+@Path("/storage/{objectKey: .+}")
+@Tag(name = "Storage", description = "Presigned object access of the local storage backend")
+@IfBuildProperty(name = "app.storage.backend", stringValue = "local")
+@PermitAll
+@RunOnVirtualThread
+public class LocalObjectResource {
+
+    @Inject
+    LocalObjectStorage objectStorage;
+
+    @GET
+    @Operation(summary = "Download an object through a presigned URL")
+    @APIResponse(responseCode = "200", description = "Object content")
+    @APIResponse(responseCode = "206", description = "Requested byte range of the object")
+    @APIResponse(responseCode = "403", description = "Signature invalid or expired")
+    @APIResponse(responseCode = "404", description = "Object not found")
+    @APIResponse(responseCode = "416", description = "Range not satisfiable")
+    public Response get(
+            @PathParam("objectKey") String objectKey,
+            @QueryParam("expires") long expires,
+            @QueryParam("signature") String signature,
+            @HeaderParam("Range") String range
+    ) {
+        requireSignature(objectKey, ObjectStorage.Method.GET, expires, signature);
+
+        Optional<java.nio.file.Path> file = objectStorage.localFile(objectKey);
+        if (file.isEmpty()) {
+            throw new NotFoundException("Object not found: " + objectKey);
+        }
+        ObjectInfo info = await(objectStorage.stat(objectKey), objectKey);
+
+        Optional<ByteRange> requested;
+        try {
+            requested = ByteRange.parse(range, info.size());
+        } catch (ByteRange.NotSatisfiableException e) {
+            return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header("Content-Range", "bytes */" + info.size())
+                    .build();
+        }
+        ByteRange served = requested.orElse(ByteRange.full(info.size()));
+        Response.ResponseBuilder builder = requested.isPresent()
+                ? Response.status(Response.Status.PARTIAL_CONTENT).header("Content-Range", served.contentRange(info.size()))
+                : Response.ok();
+        return builder.type(info.contentType())
+                .header("Accept-Ranges", "bytes")
+                .entity(new PathPart(file.get(), served.start(), served.length()))
+                .build();
+    }
+
+    @PUT
+    @Consumes(MediaType.WILDCARD)
+    @Operation(summary = "Upload an object through a presigned URL")
+    @APIResponse(responseCode = "200", description = "Object stored")
+    @APIResponse(responseCode = "403", description = "Signature invalid or expired")
+    public Response put(
+            @PathParam("objectKey") String objectKey,
+            @QueryParam("expires") long expires,
+            @QueryParam("signature") String signature,
+            @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        requireSignature(objectKey, ObjectStorage.Method.PUT, expires, signature);
+        await(objectStorage.upload(objectKey, body, contentType), objectKey);
+        return Response.ok().build();
+    }
+
+    private void requireSignature(String objectKey, ObjectStorage.Method method, long expires, String signature) {
+        if (!objectStorage.verify(objectKey, method, expires, signature)) {
+            throw new ForbiddenException("Invalid or expired signature");
+        }
+    }
+
+    private static <T> T await(Uni<T> operation, String objectKey) {
+        try {
+            return operation.await().indefinitely();
+        } catch (ObjectNotFoundException e) {
+            throw new NotFoundException("Object not found: " + objectKey);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.quarkus.resource;
 
 import com.quarkus.dto.response.RegionalResponse;
 import com.quarkus.dto.response.SyncResult;
+import com.quarkus.persistence.ReadOnly;
 import com.quarkus.repository.RegionalRepository;
 import com.quarkus.service.RegionalSyncService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
@@ -19,6 +21,7 @@ import java.util.stream.Collectors;
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Regionals", description = "Regional management endpoints")
+@RunOnVirtualThread
 public class RegionalResource {
 
     @Inject
@@ -28,6 +31,7 @@ public class RegionalResource {
     RegionalSyncService syncService;
 
     @GET
+    @ReadOnly
     @RolesAllowed({"USER", "ADMIN"})
     @Operation(summary = "List all active regionals", description = "Returns a list of all active regionals")
     @APIResponse(responseCode = "200", description = "List of active regionals")
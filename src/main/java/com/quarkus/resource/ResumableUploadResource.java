@@ -0,0 +1,220 @@
+package com.quarkus.resource;
+
+import com.quarkus.service.ResumableUploadService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.annotation.security.PermitAll;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resumable image uploads following the core, creation, termination and expiration parts of
+ * the tus 1.0.0 protocol, so off-the-shelf tus clients can drive them: {@code POST} creates
+ * an upload of known length, {@code PATCH} appends a chunk at {@code Upload-Offset},
+ * {@code HEAD} reports the offset to resume from and {@code DELETE} abandons the upload.
+ * The request completing the upload answers with the image hash in {@code X-Image-Hash}.
+ */
+@Path("/api/v1/albums/{albumId}/images/uploads")
+@Tag(name = "Resumable uploads", description = "Chunked image uploads that survive interrupted connections (tus 1.0.0)")
+@RolesAllowed("ADMIN")
+@RunOnVirtualThread
+public class ResumableUploadResource {
+
+    static final String TUS_RESUMABLE = "Tus-Resumable";
+
+    static final String TUS_VERSION = "1.0.0";
+
+    static final String UPLOAD_LENGTH = "Upload-Length";
+
+    static final String UPLOAD_OFFSET = "Upload-Offset";
+
+    static final String UPLOAD_METADATA = "Upload-Metadata";
+
+    static final String UPLOAD_EXPIRES = "Upload-Expires";
+
+    static final String IMAGE_HASH = "X-Image-Hash";
+
+    static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+    @Inject
+    ResumableUploadService resumableUploadService;
+
+    @ConfigProperty(name = "app.minio.max-file-size")
+    long maxFileSize;
+
+    @OPTIONS
+    @PermitAll
+    @Operation(summary = "Discover the supported tus protocol version and extensions")
+    @APIResponse(responseCode = "204", description = "Protocol support in the Tus-* headers")
+    public Response options() {
+        return Response.noContent()
+                .header(TUS_RESUMABLE, TUS_VERSION)
+                .header("Tus-Version", TUS_VERSION)
+                .header("Tus-Extension", "creation,termination,expiration")
+                .header("Tus-Max-Size", maxFileSize)
+                .build();
+    }
+
+    @POST
+    @Operation(
+            summary = "Create a resumable upload",
+            description = "Start an upload of Upload-Length bytes. Upload-Metadata carries the base64 encoded "
+                    + "filetype (JPEG, PNG, or WebP) and optionally the filename. The upload expires after 12 hours"
+    )
+    @APIResponse(responseCode = "201", description = "Upload created; its URL is in the Location header")
+    @APIResponse(responseCode = "400", description = "Missing length or filetype, invalid content type or size exceeds limit")
+    @APIResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+    @APIResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    @APIResponse(responseCode = "404", description = "Album not found")
+    @APIResponse(responseCode = "413", description = "Upload-Length does not fit in the album's storage quota")
+    public Response create(
+            @Parameter(description = "Album ID", required = true)
+            @PathParam("albumId") Long albumId,
+
+            @Parameter(description = "Total size of the image in bytes", required = true)
+            @HeaderParam(UPLOAD_LENGTH) Long length,
+
+            @Parameter(description = "Comma separated key and base64 value pairs: filetype, filename")
+            @HeaderParam(UPLOAD_METADATA) String metadata,
+
+            @Context UriInfo uriInfo
+    ) {
+        if (length == null) {
+            throw new BadRequestException(UPLOAD_LENGTH + " header is required");
+        }
+        Map<String, String> values = parseMetadata(metadata);
+        String contentType = values.get("filetype");
+        if (contentType == null) {
+            throw new BadRequestException("filetype is required in " + UPLOAD_METADATA);
+        }
+
+        ResumableUploadService.UploadStatus status =
+                resumableUploadService.create(albumId, values.get("filename"), contentType, length);
+        return Response.created(uriInfo.getAbsolutePathBuilder().path(status.id()).build())
+                .header(TUS_RESUMABLE, TUS_VERSION)
+                .header(UPLOAD_OFFSET, status.offset())
+                .header(UPLOAD_EXPIRES, httpDate(status))
+                .build();
+    }
+
+    @HEAD
+    @Path("/{uploadId}")
+    @Operation(summary = "Get the offset to resume a resumable upload from")
+    @APIResponse(responseCode = "200", description = "Progress in the Upload-Offset and Upload-Length headers")
+    @APIResponse(responseCode = "404", description = "Upload not found or expired")
+    public Response status(
+            @PathParam("albumId") Long albumId,
+            @PathParam("uploadId") String uploadId
+    ) {
+        return progress(Response.ok(), resumableUploadService.status(albumId, uploadId))
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .build();
+    }
+
+    @PATCH
+    @Path("/{uploadId}")
+    @Consumes(OFFSET_OCTET_STREAM)
+    @Operation(
+            summary = "Append a chunk to a resumable upload",
+            description = "Send the bytes from Upload-Offset on. After an interruption, ask for the offset "
+                    + "with HEAD and continue from there. The chunk completing the upload records the image; "
+                    + "if that fails with a server error, an empty chunk at the full offset retries it"
+    )
+    @APIResponse(responseCode = "204", description = "Chunk stored; the new offset is in Upload-Offset, "
+            + "and the image hash in X-Image-Hash once the upload is complete")
+    @APIResponse(responseCode = "400", description = "Chunk exceeds the upload length or content is not of the declared type")
+    @APIResponse(responseCode = "404", description = "Upload not found or expired")
+    @APIResponse(responseCode = "409", description = "Upload-Offset does not match the offset of the upload")
+    @APIResponse(responseCode = "413", description = "The completed image does not fit in the album's storage quota")
+    @APIResponse(responseCode = "423", description = "Another request is appending to the upload")
+    @APIResponse(responseCode = "503", description = "Upload capacity exhausted (retry after the Retry-After seconds)")
+    public Response append(
+            @PathParam("albumId") Long albumId,
+            @PathParam("uploadId") String uploadId,
+
+            @Parameter(description = "Offset the chunk starts at", required = true)
+            @HeaderParam(UPLOAD_OFFSET) Long offset,
+
+            @Context HttpHeaders headers,
+
+            @RequestBody(description = "Chunk bytes", required = true)
+            InputStream body
+    ) {
+        if (offset == null || offset < 0) {
+            throw new BadRequestException(UPLOAD_OFFSET + " header is required");
+        }
+        ResumableUploadService.UploadStatus status =
+                resumableUploadService.append(albumId, uploadId, offset, body, headers.getLength());
+        return progress(Response.noContent(), status).build();
+    }
+
+    @DELETE
+    @Path("/{uploadId}")
+    @Operation(summary = "Abandon a resumable upload")
+    @APIResponse(responseCode = "204", description = "Upload removed")
+    @APIResponse(responseCode = "404", description = "Upload not found or expired")
+    @APIResponse(responseCode = "423", description = "Another request is appending to the upload")
+    public Response terminate(
+            @PathParam("albumId") Long albumId,
+            @PathParam("uploadId") String uploadId
+    ) {
+        resumableUploadService.terminate(albumId, uploadId);
+        return Response.noContent().header(TUS_RESUMABLE, TUS_VERSION).build();
+    }
+
+    private static Response.ResponseBuilder progress(Response.ResponseBuilder builder,
+                                                     ResumableUploadService.UploadStatus status) {
+        builder.header(TUS_RESUMABLE, TUS_VERSION)
+                .header(UPLOAD_OFFSET, status.offset())
+                .header(UPLOAD_LENGTH, status.length())
+                .header(UPLOAD_EXPIRES, httpDate(status));
+        if (status.imageHash() != null) {
+            builder.header(IMAGE_HASH, status.imageHash());
+        }
+        return builder;
+    }
+
+    private static String httpDate(ResumableUploadService.UploadStatus status) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                status.expiresAt().atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneId.of("GMT")));
+    }
+
+    /**
+     * Parse {@code Upload-Metadata}: comma separated pairs of a key and its base64 encoded value.
+     */
+    static Map<String, String> parseMetadata(String metadata) {
+        Map<String, String> values = new HashMap<>();
+        if (metadata == null || metadata.isBlank()) {
+            return values;
+        }
+        for (String pair : metadata.split(",")) {
+            String[] parts = pair.trim().split(" ", 2);
+            try {
+                values.put(parts[0], parts.length == 2
+                        ? new String(Base64.getDecoder().decode(parts[1].trim()), StandardCharsets.UTF_8)
+                        : "");
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid " + UPLOAD_METADATA + " value for " + parts[0]);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,153 @@
+package com.quarkus.resource;
+
+import com.quarkus.dto.request.AlbumQuotaRequest;
+import com.quarkus.dto.response.AlbumStorageUsageResponse;
+import com.quarkus.dto.response.BucketUsageResponse;
+import com.quarkus.service.StorageUsageService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+
+@Path("/api/v1/storage/usage")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(name = "Storage", description = "Storage usage and album quotas")
+@RunOnVirtualThread
+@RolesAllowed("ADMIN")
+public class StorageUsageResource {
+
+    @Inject
+    StorageUsageService storageUsageService;
+
+    @GET
+    @Operation(
+        summary = "Get bucket usage",
+        description = "Get the number of stored objects and their bytes in each bucket. "
+            + "Content shared by several images is stored, and counted, once"
+    )
+    @APIResponse(
+        responseCode = "200",
+        description = "Success",
+        content = @Content(schema = @Schema(implementation = BucketUsageResponse.class, type = SchemaType.ARRAY))
+    )
+    @APIResponse(
+        responseCode = "401",
+        description = "Unauthorized - Authentication required"
+    )
+    @APIResponse(
+        responseCode = "403",
+        description = "Forbidden - Admin role required"
+    )
+    public Response getBucketUsage() {
+        List<BucketUsageResponse> usage = storageUsageService.getBucketUsage();
+        return Response.ok(usage).build();
+    }
+
+    @GET
+    @Path("/albums")
+    @Operation(
+        summary = "List the largest albums",
+        description = "Get the storage usage of the albums taking the most bytes, largest first"
+    )
+    @APIResponse(
+        responseCode = "200",
+        description = "Success",
+        content = @Content(schema = @Schema(implementation = AlbumStorageUsageResponse.class, type = SchemaType.ARRAY))
+    )
+    @APIResponse(
+        responseCode = "401",
+        description = "Unauthorized - Authentication required"
+    )
+    @APIResponse(
+        responseCode = "403",
+        description = "Forbidden - Admin role required"
+    )
+    public Response listLargestAlbums(
+        @Parameter(description = "Maximum number of albums to return (max 100)")
+        @QueryParam("limit") @DefaultValue("20") int limit
+    ) {
+        List<AlbumStorageUsageResponse> usage = storageUsageService.listLargestAlbums(limit);
+        return Response.ok(usage).build();
+    }
+
+    @GET
+    @Path("/albums/{albumId}")
+    @Operation(
+        summary = "Get album usage",
+        description = "Get the number of images of an album, their bytes and the album's quota"
+    )
+    @APIResponse(
+        responseCode = "200",
+        description = "Success",
+        content = @Content(schema = @Schema(implementation = AlbumStorageUsageResponse.class))
+    )
+    @APIResponse(
+        responseCode = "401",
+        description = "Unauthorized - Authentication required"
+    )
+    @APIResponse(
+        responseCode = "403",
+        description = "Forbidden - Admin role required"
+    )
+    @APIResponse(
+        responseCode = "404",
+        description = "Album not found"
+    )
+    public Response getAlbumUsage(
+        @Parameter(description = "Album ID", required = true)
+        @PathParam("albumId") Long albumId
+    ) {
+        AlbumStorageUsageResponse usage = storageUsageService.getAlbumUsage(albumId);
+        return Response.ok(usage).build();
+    }
+
+    @PUT
+    @Path("/albums/{albumId}/quota")
+    @Operation(
+        summary = "Set album quota",
+        description = "Set the maximum bytes the images of an album may take, or clear it to fall back to the default quota. "
+            + "Images already stored are kept; uploads that do not fit are rejected with 413"
+    )
+    @APIResponse(
+        responseCode = "200",
+        description = "Quota set",
+        content = @Content(schema = @Schema(implementation = AlbumStorageUsageResponse.class))
+    )
+    @APIResponse(
+        responseCode = "400",
+        description = "Invalid request data"
+    )
+    @APIResponse(
+        responseCode = "401",
+        description = "Unauthorized - Authentication required"
+    )
+    @APIResponse(
+        responseCode = "403",
+        description = "Forbidden - Admin role required"
+    )
+    @APIResponse(
+        responseCode = "404",
+        description = "Album not found"
+    )
+    public Response setAlbumQuota(
+        @Parameter(description = "Album ID", required = true)
+        @PathParam("albumId") Long albumId,
+        @Valid AlbumQuotaRequest request
+    ) {
+        AlbumStorageUsageResponse usage = storageUsageService.setQuota(albumId, request.quotaBytes());
+        return Response.ok(usage).build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.quarkus.scheduler;
+
+import com.quarkus.service.ObjectGarbageCollector;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+/**
+ * Periodically removes objects of the image bucket that no row refers to anymore,
+ * and reports rows whose object is missing.
+ */
+@ApplicationScoped
+public class ObjectGarbageCollectionJob {
+
+    private static final Logger LOG = Logger.getLogger(ObjectGarbageCollectionJob.class);
+
+    @Inject
+    ObjectGarbageCollector collector;
+
+    @Scheduled(every = "6h", delayed = "30m", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void collect() {
+        try {
+            ObjectGarbageCollector.Summary summary = collector.collect();
+            LOG.infof("Scanned %d objects: %d orphans, %d removed, %d missing",
+                summary.objects(), summary.orphans(), summary.removed(), summary.missing());
+        } catch (Exception e) {
+            LOG.error("Failed to collect orphaned objects", e);
+        }
+    }
+}
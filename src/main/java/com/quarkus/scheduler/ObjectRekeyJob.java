@@ -0,0 +1,72 @@
+package com.quarkus.scheduler;
+
+import com.quarkus.service.ImageService;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves objects stored under their image identifier, e.g. {@code yyyy/MM/dd/uuid.ext}, or
+ * completed direct uploads under {@code direct/} (formerly {@code uploads/}), to their
+ * content-addressed key, which spreads them over 256 prefixes. At most {@code app.images.rekey.max-per-run} images are handled per run,
+ * one at a time, so the migration trickles along beside regular traffic. Images created within
+ * {@code app.images.rekey.min-age} are left for a later run, while their variants are generated.
+ */
+@ApplicationScoped
+public class ObjectRekeyJob {
+
+    private static final Logger LOG = Logger.getLogger(ObjectRekeyJob.class);
+
+    private static final int BATCH_SIZE = 50;
+
+    @Inject
+    ImageService imageService;
+
+    @ConfigProperty(name = "app.images.rekey.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.images.rekey.max-per-run", defaultValue = "500")
+    int maxPerRun;
+
+    @ConfigProperty(name = "app.images.rekey.min-age", defaultValue = "PT1H")
+    Duration minAge;
+
+    @Scheduled(every = "1h", delayed = "10m", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void rekeyObjects() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime createdBefore = LocalDateTime.now().minus(minAge);
+        long afterId = 0;
+        int processed = 0;
+        int rekeyed = 0;
+        try {
+            // Images that cannot be re-keyed now are skipped by ID and retried on the next run
+            while (processed < maxPerRun) {
+                List<ImageService.LegacyObject> batch =
+                    imageService.findLegacyObjects(afterId, createdBefore, Math.min(BATCH_SIZE, maxPerRun - processed));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (ImageService.LegacyObject legacy : batch) {
+                    if (imageService.rekeyObject(legacy)) {
+                        rekeyed++;
+                    }
+                    afterId = legacy.imageId();
+                }
+                processed += batch.size();
+            }
+        } catch (Exception e) {
+            LOG.error("Failed to re-key objects", e);
+        }
+        if (processed > 0) {
+            LOG.infof("Re-keyed %d of %d objects stored under their image identifier", rekeyed, processed);
+        }
+    }
+}
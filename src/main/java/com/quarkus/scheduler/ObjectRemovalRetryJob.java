@@ -0,0 +1,40 @@
+package com.quarkus.scheduler;
+
+import com.quarkus.service.ObjectRemovalService;
+import com.quarkus.service.ObjectRemover;
+import com.quarkus.storage.ObjectStorage;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+/**
+ * Retries the removal of objects recorded as dead letters, one batch per run.
+ * Objects that still cannot be removed stay dead letters with their attempts counted.
+ */
+@ApplicationScoped
+public class ObjectRemovalRetryJob {
+
+    private static final Logger LOG = Logger.getLogger(ObjectRemovalRetryJob.class);
+
+    @Inject
+    ObjectRemovalService removalService;
+
+    @Inject
+    ObjectRemover remover;
+
+    @Scheduled(every = "1h", delayed = "10m")
+    void retryDeadLetters() {
+        try {
+            List<String> objectKeys = removalService.deadLetters(ObjectStorage.MAX_BATCH_SIZE);
+            if (!objectKeys.isEmpty()) {
+                LOG.infof("Retrying removal of %d objects", objectKeys.size());
+                remover.remove(objectKeys);
+            }
+        } catch (Exception e) {
+            LOG.error("Failed to retry object removals", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.quarkus.scheduler;
+
+import com.quarkus.service.ImageService;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Removes direct uploads that were started but never completed. An upload is abandoned
+ * once it is older than {@code app.minio.presigned-upload.reap-after}, which must leave
+ * clients time to complete after their upload URL expires.
+ */
+@ApplicationScoped
+public class PendingUploadReaper {
+
+    private static final Logger LOG = Logger.getLogger(PendingUploadReaper.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    @Inject
+    ImageService imageService;
+
+    @ConfigProperty(name = "app.minio.presigned-upload.reap-after", defaultValue = "PT1H")
+    Duration reapAfter;
+
+    @Scheduled(every = "15m", delayed = "5m")
+    void reapPendingUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(reapAfter);
+        int total = 0;
+        try {
+            // One transaction per batch keeps locks short when many uploads were abandoned
+            int reaped;
+            do {
+                reaped = imageService.reapPendingUploads(cutoff, BATCH_SIZE);
+                total += reaped;
+            } while (reaped == BATCH_SIZE);
+        } catch (Exception e) {
+            LOG.error("Failed to reap pending uploads", e);
+        }
+        if (total > 0) {
+            LOG.infof("Removed %d abandoned direct uploads", total);
+        }
+    }
+}
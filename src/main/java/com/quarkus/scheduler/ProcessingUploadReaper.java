@@ -0,0 +1,52 @@
+package com.quarkus.scheduler;
+
+import com.quarkus.service.ImageService;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Fails uploads accepted for background processing that are still processing after
+ * {@code app.images.async.stale-after}, e.g. because the instance holding their spool file
+ * stopped, and removes failed uploads after {@code app.images.async.failed-retention}.
+ */
+@ApplicationScoped
+public class ProcessingUploadReaper {
+
+    private static final Logger LOG = Logger.getLogger(ProcessingUploadReaper.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    @Inject
+    ImageService imageService;
+
+    @ConfigProperty(name = "app.images.async.stale-after", defaultValue = "PT1H")
+    Duration staleAfter;
+
+    @ConfigProperty(name = "app.images.async.failed-retention", defaultValue = "PT24H")
+    Duration failedRetention;
+
+    @Scheduled(every = "15m", delayed = "5m")
+    void reapProcessingUploads() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        try {
+            // One transaction per batch keeps locks short when many uploads are affected
+            int reaped;
+            do {
+                reaped = imageService.reapProcessingUploads(now.minus(staleAfter), now.minus(failedRetention), BATCH_SIZE);
+                total += reaped;
+            } while (reaped > 0);
+        } catch (Exception e) {
+            LOG.error("Failed to reap processing uploads", e);
+        }
+        if (total > 0) {
+            LOG.infof("Failed or removed %d unfinished background uploads", total);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.quarkus.scheduler;
+
+import com.quarkus.service.ResumableUploadService;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+
+/**
+ * Removes resumable upload sessions past their {@code app.images.resumable.expire-after},
+ * aborting the multipart uploads of those that were never completed.
+ */
+@ApplicationScoped
+public class UploadSessionReaper {
+
+    private static final Logger LOG = Logger.getLogger(UploadSessionReaper.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    @Inject
+    ResumableUploadService resumableUploadService;
+
+    @Scheduled(every = "15m", delayed = "5m")
+    void reapExpiredSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        try {
+            int reaped;
+            do {
+                reaped = resumableUploadService.reapExpired(now, BATCH_SIZE);
+                total += reaped;
+            } while (reaped == BATCH_SIZE);
+        } catch (Exception e) {
+            LOG.error("Failed to reap expired upload sessions", e);
+        }
+        if (total > 0) {
+            LOG.infof("Removed %d expired resumable uploads", total);
+        }
+    }
+}
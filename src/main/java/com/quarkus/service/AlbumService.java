@@ -4,14 +4,20 @@ import com.quarkus.dto.request.AlbumRequest;
 import com.quarkus.dto.response.AlbumResponse;
 import com.quarkus.dto.response.PageResponse;
 import com.quarkus.entity.Album;
+import com.quarkus.entity.AlbumImage;
 import com.quarkus.entity.Artist;
 import com.quarkus.entity.ArtistType;
+import com.quarkus.entity.CatalogEntityType;
+import com.quarkus.entity.ChangeOperation;
+import com.quarkus.entity.ImageStatus;
+import com.quarkus.repository.AlbumReadRepository;
 import com.quarkus.repository.AlbumRepository;
 import com.quarkus.repository.ArtistRepository;
 import com.quarkus.websocket.AlbumNotificationSocket;
-import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
@@ -26,14 +32,27 @@ public class AlbumService {
     @Inject
     AlbumRepository albumRepository;
 
+    @Inject
+    AlbumReadRepository albumReadRepository;
+
     @Inject
     ArtistRepository artistRepository;
 
     @Inject
     AlbumNotificationSocket notificationSocket;
 
+    @Inject
+    ChangeFeedService changeFeedService;
+
+    @Inject
+    ImageService imageService;
+
+    @Inject
+    Event<PresignedUrlCache.Evict> presignedUrlEvict;
+
     /**
-     * Find all albums with pagination, sorting and optional artist type filter.
+     * Find all albums with pagination, sorting and optional artist type filter, without
+     * blocking the event loop.
      *
      * @param page Page number (0-based)
      * @param size Page size (max 100)
@@ -41,45 +60,28 @@ public class AlbumService {
      * @param artistType Optional artist type filter
      * @return Paginated album response
      */
-    public PageResponse<AlbumResponse> findAll(int page, int size, String sortParam, ArtistType artistType) {
-        // Validate and cap page size
-        if (size > 100) {
-            size = 100;
-        }
-        if (size <= 0) {
-            size = 20;
-        }
-        if (page < 0) {
-            page = 0;
-        }
-
-        // Parse sort parameter
+    public Uni<PageResponse<AlbumResponse>> findAllAsync(int page, int size, String sortParam, ArtistType artistType) {
+        int pageSize = normalizeSize(size);
+        int pageIndex = Math.max(page, 0);
         Sort sort = parseSortParam(sortParam);
 
-        // Query with filters
-        Page pageRequest = Page.of(page, size);
-        List<Album> albums = albumRepository.findWithFilters(pageRequest, sort, artistType);
-        long totalElements = albumRepository.countWithFilters(artistType);
-
-        // Convert to response DTOs
-        List<AlbumResponse> content = albums.stream()
-            .map(AlbumResponse::from)
-            .toList();
-
-        return PageResponse.of(content, page, size, totalElements);
+        return Uni.combine().all()
+            .unis(
+                albumReadRepository.findWithFilters(pageIndex, pageSize, sort, artistType),
+                albumReadRepository.countWithFilters(artistType)
+            )
+            .with((content, totalElements) -> PageResponse.of(content, pageIndex, pageSize, totalElements));
     }
 
     /**
-     * Find album by ID.
+     * Find album by ID without blocking the event loop.
      *
      * @param id Album ID
-     * @return Album response
-     * @throws NotFoundException if album not found
+     * @return Album response, failing with NotFoundException if album not found
      */
-    public AlbumResponse findById(Long id) {
-        Album album = albumRepository.findByIdOptional(id)
-            .orElseThrow(() -> new NotFoundException("Album not found with id: " + id));
-        return AlbumResponse.from(album);
+    public Uni<AlbumResponse> findByIdAsync(Long id) {
+        return albumReadRepository.findById(id)
+            .map(album -> album.orElseThrow(() -> new NotFoundException("Album not found with id: " + id)));
     }
 
     /**
@@ -99,6 +101,7 @@ public class AlbumService {
         album.setArtists(artists);
 
         albumRepository.persist(album);
+        changeFeedService.record(CatalogEntityType.ALBUM, album.getId(), null, ChangeOperation.CREATED);
 
         // Notify WebSocket clients
         notificationSocket.notifyNewAlbum(album);
@@ -126,6 +129,7 @@ public class AlbumService {
         album.setTitle(request.title());
         album.setYear(request.year());
         album.setArtists(artists);
+        changeFeedService.record(CatalogEntityType.ALBUM, album.getId(), null, ChangeOperation.UPDATED);
 
         return AlbumResponse.from(album);
     }
@@ -140,7 +144,20 @@ public class AlbumService {
     public void delete(Long id) {
         Album album = albumRepository.findByIdOptional(id)
             .orElseThrow(() -> new NotFoundException("Album not found with id: " + id));
+
+        // Images are removed by the cascade, record them so consumers can drop them too
+        for (AlbumImage image : album.getImages()) {
+            if (image.getStatus() == ImageStatus.READY) {
+                changeFeedService.record(CatalogEntityType.IMAGE, id, image.getHash(), ChangeOperation.DELETED);
+            }
+        }
+        changeFeedService.record(CatalogEntityType.ALBUM, id, null, ChangeOperation.DELETED);
+        presignedUrlEvict.fire(new PresignedUrlCache.Evict(id, null));
+
         albumRepository.delete(album);
+
+        // Drop the stored objects that no other album references anymore, and any pending uploads
+        imageService.releaseStoredObjects(album.getImages().stream().map(AlbumImage::getObjectKey).toList());
     }
 
     /**
@@ -160,6 +177,22 @@ public class AlbumService {
         return artists;
     }
 
+    /**
+     * Cap the page size at 100 and default non-positive sizes to 20.
+     *
+     * @param size Requested page size
+     * @return Page size to query with
+     */
+    private int normalizeSize(int size) {
+        if (size > 100) {
+            return 100;
+        }
+        if (size <= 0) {
+            return 20;
+        }
+        return size;
+    }
+
     /**
      * Parse sort parameter string into Sort object.
      * Format: "field:direction" (e.g., "title:asc", "year:desc")
@@ -3,6 +3,9 @@ package com.quarkus.service;
 import com.quarkus.dto.request.ArtistRequest;
 import com.quarkus.dto.response.ArtistResponse;
 import com.quarkus.entity.Artist;
+import com.quarkus.entity.CatalogEntityType;
+import com.quarkus.entity.ChangeOperation;
+import com.quarkus.persistence.ReadOnly;
 import com.quarkus.repository.ArtistRepository;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -19,6 +22,9 @@ public class ArtistService {
     @Inject
     ArtistRepository artistRepository;
 
+    @Inject
+    ChangeFeedService changeFeedService;
+
     /**
      * List all artists with optional name filter and sorting.
      *
@@ -26,6 +32,7 @@ public class ArtistService {
      * @param sortParam Sort parameter in format "field:direction" (e.g., "name:asc")
      * @return List of artist responses
      */
+    @ReadOnly
     public List<ArtistResponse> listArtists(String name, String sortParam) {
         Sort sort = parseSortParameter(sortParam);
         return artistRepository.findByNameContaining(name, sort)
@@ -41,6 +48,7 @@ public class ArtistService {
      * @return Artist response
      * @throws NotFoundException if artist not found
      */
+    @ReadOnly
     public ArtistResponse findById(Long id) {
         Artist artist = artistRepository.findByIdOptional(id)
             .orElseThrow(() -> new NotFoundException("Artist not found with id: " + id));
@@ -57,6 +65,7 @@ public class ArtistService {
     public ArtistResponse createArtist(ArtistRequest request) {
         Artist artist = new Artist(request.name(), request.type());
         artistRepository.persist(artist);
+        changeFeedService.record(CatalogEntityType.ARTIST, artist.getId(), null, ChangeOperation.CREATED);
         return ArtistResponse.from(artist);
     }
 
@@ -75,6 +84,7 @@ public class ArtistService {
 
         artist.setName(request.name());
         artist.setType(request.type());
+        changeFeedService.record(CatalogEntityType.ARTIST, artist.getId(), null, ChangeOperation.UPDATED);
 
         return ArtistResponse.from(artist);
     }
@@ -91,6 +101,7 @@ public class ArtistService {
         if (!deleted) {
             throw new NotFoundException("Artist not found with id: " + id);
         }
+        changeFeedService.record(CatalogEntityType.ARTIST, id, null, ChangeOperation.DELETED);
     }
 
     /**
@@ -0,0 +1,74 @@
+package com.quarkus.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
+import org.jboss.logging.Logger;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Stores one upload accepted by {@link AsyncUploadService} on a worker thread of its pool.
+ */
+@ApplicationScoped
+public class AsyncUploadProcessor {
+
+    private static final Logger LOG = Logger.getLogger(AsyncUploadProcessor.class);
+
+    @Inject
+    ImageService imageService;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private Timer processing;
+
+    private Counter failures;
+
+    @PostConstruct
+    void start() {
+        processing = meterRegistry.timer("images.processing");
+        failures = meterRegistry.counter("images.processing.failed");
+    }
+
+    /**
+     * Store a spooled upload, marking its image failed if that does not work out, and delete
+     * the spool file. Runs with its own request context, which the Hibernate tenant resolver needs.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash handed out when the upload was accepted
+     * @param spooled Spool file holding the validated upload
+     * @param contentType MIME type
+     */
+    @ActivateRequestContext
+    public void process(Long albumId, String hash, Path spooled, String contentType) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (InputStream inputStream = Files.newInputStream(spooled)) {
+            imageService.processUpload(albumId, hash, inputStream, Files.size(spooled), contentType);
+            LOG.infof("Image processed: %s", hash);
+        } catch (NotFoundException e) {
+            // The album was deleted, or the upload reaped, in the meantime
+            LOG.infof("Dropped processing of removed image: %s", hash);
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to process image: %s", hash);
+            failures.increment();
+            String reason = e instanceof WebApplicationException ? e.getMessage() : "Failed to process image";
+            try {
+                imageService.failProcessing(albumId, hash, reason);
+            } catch (RuntimeException failure) {
+                LOG.errorf(failure, "Failed to mark image processing failed: %s", hash);
+            }
+        } finally {
+            AsyncUploadService.deleteQuietly(spooled);
+            sample.stop(processing);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.quarkus.service;
+
+import com.quarkus.entity.ImageStatus;
+import com.quarkus.imaging.ImageFormat;
+import com.quarkus.storage.SizeLimitedInputStream;
+import com.quarkus.storage.SizeLimitedInputStream.SizeLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.InternalServerErrorException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.ServiceUnavailableException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Accepts uploads for background processing, so the request returns as soon as the bytes
+ * have been received instead of waiting for storage. The body is validated while it is
+ * spooled to a local file, the image is recorded as {@link ImageStatus#PROCESSING}, and a
+ * small bounded pool stores it through {@link AsyncUploadProcessor}. Clients poll the
+ * upload status, or follow the change feed, which records the image once it is ready.
+ * <p>
+ * When the processing queue is full, further uploads are rejected with {@code 503} before
+ * their body is read. Spool files only live on the instance that accepted the upload; uploads
+ * whose processing never finishes are marked failed by the reaper.
+ */
+@ApplicationScoped
+public class AsyncUploadService {
+
+    private static final Logger LOG = Logger.getLogger(AsyncUploadService.class);
+
+    @Inject
+    ImageService imageService;
+
+    @Inject
+    ImageUploadTransactions uploadTransactions;
+
+    @Inject
+    AsyncUploadProcessor processor;
+
+    @Inject
+    StorageUsageService storageUsageService;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "app.images.async.workers", defaultValue = "2")
+    int workers;
+
+    @ConfigProperty(name = "app.images.async.queue-capacity", defaultValue = "50")
+    int queueCapacity;
+
+    @ConfigProperty(name = "app.images.async.spool-directory", defaultValue = "${java.io.tmpdir}/album-image-spool")
+    String spoolDirectory;
+
+    @ConfigProperty(name = "app.images.upload.retry-after", defaultValue = "PT5S")
+    Duration retryAfter;
+
+    @ConfigProperty(name = "app.minio.max-file-size")
+    long maxFileSize;
+
+    private Path root;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+            workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "image-processing-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        meterRegistry.gauge("images.processing.queued", executor, pool -> pool.getQueue().size());
+
+        // Leftovers belong to uploads processed by an earlier run, which the reaper fails
+        root = Path.of(spoolDirectory);
+        try {
+            Files.createDirectories(root);
+            try (Stream<Path> leftovers = Files.list(root)) {
+                leftovers.forEach(AsyncUploadService::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Upload spool directory " + root + " unusable", e);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Accept an upload for background processing. The album, content type, size limit and
+     * magic bytes are checked while the request is still open, so invalid uploads are
+     * rejected right away; storing the bytes may still fail later.
+     *
+     * @param albumId Album ID
+     * @param filename Original filename, may be null when the extension follows the content type
+     * @param inputStream Image data stream
+     * @param size File size in bytes, or -1 if unknown
+     * @param contentType MIME type
+     * @return Image hash, whose status is {@link ImageStatus#PROCESSING} until the image is stored
+     * @throws NotFoundException if album not found
+     * @throws BadRequestException if file validation fails, including content that is not of the declared type
+     * @throws ClientErrorException with 413 if a declared size does not fit in the album's storage quota
+     * @throws ServiceUnavailableException with {@code Retry-After} if the processing queue is full
+     */
+    public String accept(Long albumId, String filename, InputStream inputStream, long size, String contentType) {
+        uploadTransactions.requireAlbum(albumId);
+        ImageFormat format = imageService.validateContentType(contentType);
+        if (size >= 0) {
+            imageService.validateFileSize(size);
+            storageUsageService.checkQuota(albumId, size);
+        }
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw busy();
+        }
+
+        Path spooled = spool(imageService.requireFormat(inputStream, format));
+        try {
+            String hash = imageService.reserveProcessing(albumId, filename, contentType);
+            try {
+                executor.execute(() -> processor.process(albumId, hash, spooled, contentType));
+            } catch (RejectedExecutionException e) {
+                imageService.failProcessing(albumId, hash, "Processing queue full");
+                throw busy();
+            }
+            LOG.infof("Image accepted for processing: %s", hash);
+            return hash;
+        } catch (RuntimeException e) {
+            deleteQuietly(spooled);
+            throw e;
+        }
+    }
+
+    /**
+     * Write a validated upload to a spool file, enforcing the size limit on the way.
+     */
+    private Path spool(InputStream inputStream) {
+        Path file = root.resolve(UUID.randomUUID() + ".upload");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            new SizeLimitedInputStream(inputStream, maxFileSize).transferTo(out);
+            return file;
+        } catch (SizeLimitExceededException e) {
+            deleteQuietly(file);
+            throw imageService.fileTooLarge();
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new InternalServerErrorException("Failed to receive uploaded file", e);
+        }
+    }
+
+    private ServiceUnavailableException busy() {
+        return new ServiceUnavailableException("Processing capacity exhausted, retry later", Math.max(1, retryAfter.toSeconds()));
+    }
+
+    static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.warnf(e, "Failed to delete spool file %s", path);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.quarkus.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Wakes up long-polling change feed consumers once a change has been committed.
+ * Only changes committed on this instance are signalled; consumers waiting on other
+ * instances pick them up when their wait times out.
+ */
+@ApplicationScoped
+public class ChangeFeedNotifier {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private long latestSeq;
+
+    void onChangeCommitted(@Observes(during = TransactionPhase.AFTER_SUCCESS) ChangeFeedService.ChangeRecorded event) {
+        lock.lock();
+        try {
+            if (event.seq() > latestSeq) {
+                latestSeq = event.seq();
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Block until a change newer than {@code seq} is committed or the timeout elapses.
+     *
+     * @param seq Last sequence number seen by the caller
+     * @param timeout Maximum time to wait
+     * @return true if a newer change was signalled
+     */
+    public boolean awaitChangeAfter(long seq, Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (latestSeq <= seq) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = changed.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.quarkus.service;
+
+import com.quarkus.dto.response.CatalogChangeResponse;
+import com.quarkus.dto.response.ChangeFeedResponse;
+import com.quarkus.entity.CatalogChange;
+import com.quarkus.entity.CatalogEntityType;
+import com.quarkus.entity.ChangeOperation;
+import com.quarkus.repository.CatalogChangeRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.List;
+
+@ApplicationScoped
+public class ChangeFeedService {
+
+    @Inject
+    CatalogChangeRepository changeRepository;
+
+    @Inject
+    ChangeFeedNotifier notifier;
+
+    @Inject
+    Event<ChangeRecorded> changeRecorded;
+
+    @ConfigProperty(name = "app.changes.max-limit", defaultValue = "1000")
+    int maxLimit;
+
+    @ConfigProperty(name = "app.changes.max-wait", defaultValue = "30")
+    int maxWaitSeconds;
+
+    /**
+     * Fired for every recorded change; observed after commit to wake long-polling consumers.
+     */
+    public record ChangeRecorded(long seq) {}
+
+    /**
+     * Append a change to the feed. Must run inside the transaction that applies the change,
+     * so that the feed entry is committed or rolled back together with it.
+     *
+     * @param entityType Type of the changed entity
+     * @param entityId ID of the changed entity (the owning album ID for images)
+     * @param entityKey Image hash for image changes, null otherwise
+     * @param operation Operation applied
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void record(CatalogEntityType entityType, Long entityId, String entityKey, ChangeOperation operation) {
+        changeRepository.lockFeed();
+
+        CatalogChange change = new CatalogChange(entityType, entityId, entityKey, operation);
+        changeRepository.persist(change);
+
+        changeRecorded.fire(new ChangeRecorded(change.getSeq()));
+    }
+
+    /**
+     * Read changes after the given sequence number, optionally long-polling until one arrives.
+     *
+     * @param since Last sequence number seen by the consumer (0 to read from the beginning)
+     * @param limit Maximum number of changes to return (capped at app.changes.max-limit)
+     * @param waitSeconds Seconds to wait for new changes when none are available (capped at app.changes.max-wait)
+     * @return Page of changes with the cursor for the next request
+     */
+    public ChangeFeedResponse changesSince(long since, int limit, int waitSeconds) {
+        if (since < 0) {
+            since = 0;
+        }
+        if (limit <= 0 || limit > maxLimit) {
+            limit = maxLimit;
+        }
+        int wait = Math.min(Math.max(waitSeconds, 0), maxWaitSeconds);
+
+        List<CatalogChangeResponse> changes = findSince(since, limit);
+        if (changes.isEmpty() && wait > 0) {
+            // Re-read even on timeout: changes committed on other instances are not signalled here
+            awaitChange(since, Duration.ofSeconds(wait));
+            changes = findSince(since, limit);
+        }
+
+        return ChangeFeedResponse.of(changes, since, limit);
+    }
+
+    private List<CatalogChangeResponse> findSince(long since, int limit) {
+        return changeRepository.findSince(since, limit).stream()
+            .map(CatalogChangeResponse::from)
+            .toList();
+    }
+
+    private void awaitChange(long since, Duration timeout) {
+        try {
+            notifier.awaitChangeAfter(since, timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
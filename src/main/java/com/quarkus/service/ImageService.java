@@ -1,44 +1,96 @@
 package com.quarkus.service;
 
+import com.quarkus.dto.response.ImageResponse;
+import com.quarkus.dto.response.PageResponse;
 import com.quarkus.entity.Album;
 import com.quarkus.entity.AlbumImage;
+import com.quarkus.entity.CatalogEntityType;
+import com.quarkus.entity.ChangeOperation;
+import com.quarkus.entity.ImageStatus;
+import com.quarkus.entity.ImageVariant;
+import com.quarkus.imaging.HeaderCapturingInputStream;
+import com.quarkus.imaging.ImageDimensions;
+import com.quarkus.imaging.ImageFormat;
+import com.quarkus.persistence.ReadOnly;
 import com.quarkus.repository.AlbumImageRepository;
 import com.quarkus.repository.AlbumRepository;
-import io.minio.GetPresignedObjectUrlArgs;
-import io.minio.MinioClient;
-import io.minio.PutObjectArgs;
-import io.minio.RemoveObjectArgs;
-import io.minio.http.Method;
+import com.quarkus.repository.ImageVariantRepository;
+import com.quarkus.repository.StoredObjectRepository;
+import com.quarkus.storage.ByteRange;
+import com.quarkus.storage.DiskObjectCache;
+import com.quarkus.storage.ImageKeyLayout;
+import com.quarkus.storage.ObjectInfo;
+import com.quarkus.storage.ObjectNotFoundException;
+import com.quarkus.storage.ObjectStorage;
+import com.quarkus.storage.SizeLimitedInputStream;
+import com.quarkus.storage.SizeLimitedInputStream.SizeLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.panache.common.Page;
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
 import jakarta.ws.rs.InternalServerErrorException;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.Set;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @ApplicationScoped
 public class ImageService {
 
     private static final Logger LOG = Logger.getLogger(ImageService.class);
 
-    private static final Set<String> ALLOWED_CONTENT_TYPES = Set.of(
-        "image/jpeg",
-        "image/png",
-        "image/webp"
-    );
+    private static final String CONTENT_PREFIX = "sha256/";
+
+    private static final String TEMP_PREFIX = "tmp/";
+
+    private static final String UPLOAD_PREFIX = "uploads/";
+
+    private static final String DIRECT_PREFIX = "direct/";
+
+    private static final String PROCESSING_PREFIX = "processing/";
+
+    private static final int MAX_STORE_ATTEMPTS = 3;
 
     @Inject
-    MinioClient minioClient;
+    ObjectStorage objectStorage;
+
+    @Inject
+    ImageUploadTransactions uploadTransactions;
+
+    @Inject
+    UploadAdmission uploadAdmission;
 
     @Inject
     AlbumRepository albumRepository;
@@ -46,109 +98,760 @@ public class ImageService {
     @Inject
     AlbumImageRepository albumImageRepository;
 
+    @Inject
+    StoredObjectRepository storedObjectRepository;
+
+    @Inject
+    ChangeFeedService changeFeedService;
+
+    @Inject
+    StorageUsageService storageUsageService;
+
+    @Inject
+    ImageVariantRepository imageVariantRepository;
+
+    @Inject
+    ImageVariantService imageVariantService;
+
+    @Inject
+    Event<ImageUploaded> imageUploaded;
+
+    @Inject
+    PresignedUrlCache presignedUrlCache;
+
+    @Inject
+    Event<PresignedUrlCache.Evict> presignedUrlEvict;
+
+    @Inject
+    DiskObjectCache diskObjectCache;
+
+    @Inject
+    Event<ObjectRemovalService.Requested> objectRemoval;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
     @ConfigProperty(name = "app.minio.bucket")
     String bucket;
 
     @ConfigProperty(name = "app.minio.presigned-url.expiry")
     int presignedUrlExpiry;
 
+    @ConfigProperty(name = "app.minio.presigned-upload.expiry", defaultValue = "15")
+    int presignedUploadExpiry;
+
     @ConfigProperty(name = "app.minio.max-file-size")
     long maxFileSize;
 
+    @ConfigProperty(name = "app.minio.multipart.threshold", defaultValue = "16777216")
+    long multipartThreshold;
+
+    @ConfigProperty(name = "app.images.key-layout", defaultValue = "hashed")
+    ImageKeyLayout keyLayout;
+
+    /**
+     * Fired inside the transaction recording an upload; variant generation observes it after commit.
+     */
+    public record ImageUploaded(Long imageId, String objectKey, String contentType) {}
+
+    /**
+     * Presigned URL together with the instant it stops being valid.
+     */
+    public record PresignedUrl(String url, Instant expiresAt) {}
+
+    /**
+     * Target of a direct upload: the image hash and the presigned PUT URL to send the bytes to.
+     */
+    public record UploadUrl(String hash, String url, Instant expiresAt) {}
+
+    /**
+     * Stored object behind an image, as served by the content endpoint.
+     * Objects never change once stored, so the ETag is derived from the key alone.
+     */
+    public record ImageContent(String objectKey, String contentType, long size, String etag) {}
+
+    /**
+     * Progress of an upload: its status and, once processing failed, why.
+     */
+    public record UploadProgress(String hash, ImageStatus status, String failureReason) {}
+
+    /**
+     * Image whose object is not stored under its content key yet.
+     */
+    public record LegacyObject(Long imageId, String objectKey, String contentType) {}
+
     /**
      * Upload an image for an album.
+     * The content is hashed with SHA-256 while it is read and stored once per digest, so
+     * images with identical bytes share a stored object. Files of unknown size (-1) or at least
+     * {@code app.minio.multipart.threshold} bytes go through a parallel multipart upload,
+     * and the size limit is enforced while the bytes arrive. The pixel dimensions are read
+     * from the first bytes on the way; the placeholder follows with the variants.
+     * <p>
+     * The bytes are validated in the same single pass: the magic bytes must match the
+     * declared content type before anything is sent to storage, and the size limit applies
+     * while they arrive, so invalid uploads are rejected without being transferred.
+     * <p>
+     * No transaction is open while the bytes are transferred: the album is validated and
+     * the image recorded in short transactions of {@link ImageUploadTransactions} before and
+     * after the transfer, and an object stored for an upload that then fails is removed again.
+     * <p>
+     * The transfer only starts once {@link UploadAdmission} admits it, so a burst of uploads
+     * queues up briefly and is then turned away instead of overloading storage. A declared
+     * size is checked against the album's storage quota first.
      *
      * @param albumId Album ID
-     * @param filename Original filename
+     * @param filename Original filename, may be null when the extension follows the content type
      * @param inputStream Image data stream
-     * @param size File size in bytes
+     * @param size File size in bytes, or -1 if unknown
      * @param contentType MIME type
      * @return Image hash
      * @throws NotFoundException if album not found
-     * @throws BadRequestException if file validation fails
+     * @throws BadRequestException if file validation fails, including content that is not of the declared type
+     * @throws ClientErrorException with 413 if the image does not fit in the album's storage quota
+     * @throws ServiceUnavailableException with {@code Retry-After} if upload capacity is exhausted
      */
-    @Transactional
     public String uploadImage(Long albumId, String filename, InputStream inputStream,
                              long size, String contentType) {
         // Validate album exists
+        uploadTransactions.requireAlbum(albumId);
+
+        // Validate content type and a declared file size
+        ImageFormat format = validateContentType(contentType);
+        if (size >= 0) {
+            validateFileSize(size);
+            storageUsageService.checkQuota(albumId, size);
+        }
+
+        try (UploadAdmission.Permit permit = uploadAdmission.acquire(size)) {
+            return transferImage(albumId, filename, inputStream, size, contentType, format);
+        }
+    }
+
+    /**
+     * Validate, hash, store and record an admitted upload.
+     */
+    private String transferImage(Long albumId, String filename, InputStream inputStream,
+                                 long size, String contentType, ImageFormat format) {
+        String hash = generateHash(albumId, getExtension(filename, format));
+        return storeImage(hash, inputStream, contentType, format, stager(size, contentType),
+            (objectKey, storedSize, dimensions, requireStored) -> uploadTransactions.record(albumId, hash, bucket,
+                objectKey, contentType, storedSize, dimensions, requireStored));
+    }
+
+    /**
+     * Hash the bytes while they stream; small files in memory, large ones to a temporary object.
+     */
+    private Stager stager(long size, String contentType) {
+        return limitedStream -> size >= 0 && size < multipartThreshold
+            ? stageInMemory(limitedStream, contentType)
+            : stageInTemporaryObject(limitedStream, contentType);
+    }
+
+    /**
+     * Record an image whose bytes a resumable upload has assembled in storage. The object is
+     * validated like any upload and copied to its content key; it is removed once the image
+     * is recorded. On failure it is kept, so the caller can retry the import or remove it.
+     *
+     * @param albumId Album ID
+     * @param filename Original filename, may be null when the extension follows the content type
+     * @param objectKey Key of the assembled object
+     * @param contentType MIME type
+     * @return Image hash
+     * @throws NotFoundException if album not found
+     * @throws BadRequestException if file validation fails, including content that is not of the declared type
+     */
+    public String importUpload(Long albumId, String filename, String objectKey, String contentType) {
+        uploadTransactions.requireAlbum(albumId);
+        ImageFormat format = validateContentType(contentType);
+
+        InputStream content;
+        try {
+            content = await(objectStorage.get(objectKey));
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to read uploaded image: %s", objectKey);
+            throw new InternalServerErrorException("Failed to read uploaded image", e);
+        }
+        String hash = generateHash(albumId, getExtension(filename, format));
+        String result;
+        try (content) {
+            result = storeImage(hash, content, contentType, format,
+                limitedStream -> stageStoredObject(limitedStream, objectKey, contentType),
+                (storedKey, size, dimensions, requireStored) -> uploadTransactions.record(albumId, hash, bucket,
+                    storedKey, contentType, size, dimensions, requireStored));
+        } catch (IOException e) {
+            LOG.warnf(e, "Failed to close uploaded image: %s", objectKey);
+            throw new InternalServerErrorException("Failed to read uploaded image", e);
+        }
+        removeQuietly(objectKey);
+        return result;
+    }
+
+    /**
+     * Record an image for an upload accepted for background processing: the image is
+     * {@link ImageStatus#PROCESSING}, invisible to the read paths, until {@link #processUpload}
+     * has stored its bytes. The hash handed out here stays the image's identifier.
+     *
+     * @param albumId Album ID
+     * @param filename Original filename, may be null when the extension follows the content type
+     * @param contentType MIME type
+     * @return Image hash
+     * @throws NotFoundException if album not found
+     * @throws BadRequestException if the content type is not allowed
+     */
+    @Transactional
+    public String reserveProcessing(Long albumId, String filename, String contentType) {
         Album album = albumRepository.findByIdOptional(albumId)
             .orElseThrow(() -> new NotFoundException("Album not found with id: " + albumId));
+        ImageFormat format = validateContentType(contentType);
+
+        String hash = generateHash(albumId, getExtension(filename, format));
+
+        // The object key and size are only known once the bytes have been stored
+        AlbumImage albumImage = new AlbumImage(album, bucket, hash, format.contentType(), 0, PROCESSING_PREFIX + hash);
+        albumImage.setStatus(ImageStatus.PROCESSING);
+        album.addImage(albumImage);
+        albumImageRepository.persist(albumImage);
+        return hash;
+    }
+
+    /**
+     * Store the bytes of an upload reserved with {@link #reserveProcessing} and make its image
+     * visible. The bytes are validated, hashed and stored like those of {@link #uploadImage};
+     * a failure leaves the image processing, for the caller to mark it failed.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash returned by {@link #reserveProcessing}
+     * @param inputStream Image data stream
+     * @param size File size in bytes
+     * @param contentType MIME type
+     * @throws NotFoundException if the upload is no longer processing
+     * @throws BadRequestException if file validation fails, including content that is not of the declared type
+     */
+    public void processUpload(Long albumId, String hash, InputStream inputStream, long size, String contentType) {
+        ImageFormat format = validateContentType(contentType);
+        storeImage(hash, inputStream, contentType, format, stager(size, contentType),
+            (objectKey, storedSize, dimensions, requireStored) -> uploadTransactions.completeProcessing(albumId, hash,
+                bucket, objectKey, storedSize, dimensions, requireStored));
+    }
+
+    /**
+     * Mark an upload whose background processing failed; clients polling its status learn why.
+     * Uploads that are no longer processing are left alone.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash returned by {@link #reserveProcessing}
+     * @param reason Failure reason reported to clients
+     */
+    @Transactional
+    public void failProcessing(Long albumId, String hash, String reason) {
+        albumImageRepository.findProcessingForUpdate(albumId, hash).ifPresent(albumImage -> {
+            albumImage.setStatus(ImageStatus.FAILED);
+            albumImage.setFailureReason(reason == null || reason.length() <= 255 ? reason : reason.substring(0, 255));
+            albumImage.setFailedAt(LocalDateTime.now());
+            LOG.warnf("Image processing failed: %s (%s)", hash, reason);
+        });
+    }
 
-        // Validate content type
-        validateContentType(contentType);
+    /**
+     * Report the status of an upload, also while it is pending, processing or failed.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash
+     * @return Status of the upload
+     * @throws NotFoundException if album or image not found
+     */
+    @ReadOnly
+    public UploadProgress getUploadProgress(Long albumId, String hash) {
+        AlbumImage albumImage = albumImageRepository.findAnyByAlbumIdAndHash(albumId, hash)
+            .orElseThrow(() -> new NotFoundException("Image not found for album: " + hash));
+        return new UploadProgress(hash, albumImage.getStatus(), albumImage.getFailureReason());
+    }
 
-        // Validate file size
-        validateFileSize(size);
+    /**
+     * Give up on uploads whose background processing never finished, e.g. because the
+     * instance processing them stopped, and forget failed uploads once clients had time
+     * to learn about the failure. Neither holds a stored object.
+     *
+     * @param processingBefore Processing uploads created before this are marked failed
+     * @param failedBefore Uploads that failed before this are removed
+     * @param limit Maximum number of uploads of each kind to handle in this batch
+     * @return Number of uploads marked failed or removed
+     */
+    @Transactional
+    public int reapProcessingUploads(LocalDateTime processingBefore, LocalDateTime failedBefore, int limit) {
+        List<AlbumImage> stale = albumImageRepository.findByStatusCreatedBefore(ImageStatus.PROCESSING, processingBefore, limit);
+        LocalDateTime now = LocalDateTime.now();
+        stale.forEach(albumImage -> {
+            albumImage.setStatus(ImageStatus.FAILED);
+            albumImage.setFailureReason("Processing did not finish");
+            albumImage.setFailedAt(now);
+        });
+        List<AlbumImage> failed = albumImageRepository.findFailedBefore(failedBefore, limit);
+        failed.forEach(albumImageRepository::delete);
+        return stale.size() + failed.size();
+    }
 
-        // Generate hash using new pattern: yyyy/MM/dd/uuid.ext
-        String extension = getExtension(filename);
-        String hash = generateHash(extension);
+    /**
+     * Validate, hash, store and record image bytes, staged and recorded by the given strategies.
+     */
+    private String storeImage(String hash, InputStream inputStream, String contentType, ImageFormat format,
+                              Stager stager, Recorder recorder) {
+        // The first bytes must be those of the declared format before any byte is stored
+        inputStream = requireFormat(inputStream, format);
 
+        HeaderCapturingInputStream headerStream = new HeaderCapturingInputStream(inputStream, ImageDimensions.HEADER_BYTES);
+        SizeLimitedInputStream limitedStream = new SizeLimitedInputStream(headerStream, maxFileSize);
+        StagedContent staged = null;
+        boolean stored = false;
         try {
-            // Upload to MinIO
-            minioClient.putObject(
-                PutObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(hash)
-                    .stream(inputStream, size, -1)
-                    .contentType(contentType)
-                    .build()
-            );
-
-            // Create and persist AlbumImage entity
-            AlbumImage albumImage = new AlbumImage(
-                album,
-                bucket,
-                hash,
-                contentType,
-                (int) size
-            );
-            album.addImage(albumImage);
-            albumImageRepository.persist(albumImage);
-
-            LOG.infof("Image uploaded successfully: %s", hash);
-            return hash;
+            staged = stager.stage(limitedStream);
+
+            // Content already registered for another image is not uploaded again
+            if (!uploadTransactions.isStored(staged.objectKey())) {
+                storeObject(staged, contentType);
+                stored = true;
+            }
+
+            byte[] header = headerStream.header();
+            ImageDimensions dimensions = ImageDimensions.read(header, header.length).orElse(null);
+
+            StagedContent content = staged;
+            String result;
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    result = recorder.record(content.objectKey(), content.size(), dimensions,
+                        () -> requireStored(content));
+                    break;
+                } catch (ObjectNotFoundException e) {
+                    storeAgain(content, contentType, e, attempt);
+                    stored = true;
+                }
+            }
+
+            LOG.infof("Image uploaded successfully: %s", result);
+            return result;
 
         } catch (Exception e) {
-            LOG.errorf(e, "Failed to upload image to MinIO: %s", hash);
+            if (stored) {
+                discardStoredObject(staged, contentType);
+            }
+            if (e instanceof WebApplicationException webApplicationException) {
+                throw webApplicationException;
+            }
+            if (isSizeLimitExceeded(e)) {
+                LOG.warnf("Rejected image upload exceeding %d bytes: %s", maxFileSize, hash);
+                throw fileTooLarge();
+            }
+            LOG.errorf(e, "Failed to upload image to storage: %s", hash);
             throw new InternalServerErrorException("Failed to upload image", e);
+        } finally {
+            if (staged != null && staged.temporary()) {
+                removeQuietly(staged.sourceKey());
+            }
+        }
+    }
+
+    /**
+     * Start a direct upload: record a pending image and presign a PUT URL for its object,
+     * so the bytes go from the client straight to storage. The image stays invisible until
+     * {@link #completeUpload} has verified the object.
+     *
+     * @param albumId Album ID
+     * @param filename Original filename, may be null when the extension follows the content type
+     * @param contentType MIME type the client will upload with
+     * @return Image hash and presigned PUT URL
+     * @throws NotFoundException if album not found
+     * @throws BadRequestException if the content type is not allowed
+     */
+    @Transactional
+    public UploadUrl createUploadUrl(Long albumId, String filename, String contentType) {
+        Album album = albumRepository.findByIdOptional(albumId)
+            .orElseThrow(() -> new NotFoundException("Album not found with id: " + albumId));
+        ImageFormat format = validateContentType(contentType);
+
+        String hash = generateHash(albumId, getExtension(filename, format));
+        String objectKey = UPLOAD_PREFIX + hash;
+
+        // The size is only known once the object has been uploaded
+        AlbumImage albumImage = new AlbumImage(album, bucket, hash, format.contentType(), 0, objectKey);
+        albumImage.setStatus(ImageStatus.PENDING);
+        album.addImage(albumImage);
+        albumImageRepository.persist(albumImage);
+
+        try {
+            Instant expiresAt = Instant.now().plus(Duration.ofMinutes(presignedUploadExpiry));
+            String url = await(objectStorage.presign(objectKey, ObjectStorage.Method.PUT, presignedUploadExpiry));
+
+            LOG.infof("Issued direct upload URL for image: %s", hash);
+            return new UploadUrl(hash, url, expiresAt);
+
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to generate upload URL for image: %s", hash);
+            throw new InternalServerErrorException("Failed to generate upload URL", e);
+        }
+    }
+
+    /**
+     * Finalize a direct upload once the client has sent the bytes to storage.
+     * The upload URL stays valid after completion, so the object is first copied to a key of its
+     * own that the URL cannot overwrite, and the copy is what gets checked and recorded. Its
+     * size and content type are checked with a stat call and its magic bytes with a ranged read,
+     * which also yields the dimensions; an upload that fails the checks is removed so the client
+     * can upload again while the URL is valid. The checks run before the pending image is locked,
+     * so the lock is only held while the image is recorded. Completing an upload twice is a no-op.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash returned by {@link #createUploadUrl}
+     * @throws NotFoundException if no such upload exists
+     * @throws BadRequestException if the object is missing or fails validation
+     * @throws ClientErrorException with 413 if the image does not fit in the album's storage quota
+     */
+    public void completeUpload(Long albumId, String hash) {
+        AlbumImage upload = uploadTransactions.findUpload(albumId, hash)
+            .orElseThrow(() -> new NotFoundException("Upload not found for album: " + hash));
+        if (upload.getStatus() == ImageStatus.READY) {
+            LOG.debugf("Upload already completed: %s", hash);
+            return;
+        }
+        if (upload.getStatus() != ImageStatus.PENDING) {
+            throw new NotFoundException("Upload not found for album: " + hash);
+        }
+        String uploadKey = upload.getObjectKey();
+        String contentType = upload.getContentType();
+
+        // A key per attempt, so concurrent completions never overwrite each other's copy
+        String objectKey = DIRECT_PREFIX + UUID.randomUUID();
+        ObjectInfo stat;
+        try {
+            await(objectStorage.copy(objectKey, uploadKey));
+            stat = await(objectStorage.stat(objectKey));
+        } catch (ObjectNotFoundException e) {
+            throw new BadRequestException("Image has not been uploaded yet");
+        } catch (Exception e) {
+            removeQuietly(objectKey);
+            LOG.errorf(e, "Failed to check uploaded image: %s", hash);
+            throw new InternalServerErrorException("Failed to check uploaded image", e);
+        }
+
+        try {
+            String uploadedType = stat.contentType() == null ? null : stat.contentType().split(";")[0].trim().toLowerCase();
+            if (!contentType.equals(uploadedType)) {
+                throw new BadRequestException("Uploaded content type does not match " + contentType);
+            }
+            if (stat.size() > maxFileSize) {
+                throw fileTooLarge();
+            }
+            if (stat.size() <= 0) {
+                throw new BadRequestException("File size must be greater than 0");
+            }
+
+            byte[] header = readHeader(objectKey, stat.size());
+            if (ImageFormat.sniff(header, header.length).map(ImageFormat::contentType)
+                    .filter(contentType::equals).isEmpty()) {
+                throw new BadRequestException("Uploaded content is not a " + contentType + " image");
+            }
+
+            if (!uploadTransactions.completeDirectUpload(albumId, hash, bucket, objectKey, stat.size(),
+                    ImageDimensions.read(header, header.length).orElse(null))) {
+                removeQuietly(objectKey);
+                LOG.debugf("Upload already completed: %s", hash);
+                return;
+            }
+        } catch (ClientErrorException e) {
+            // Invalid, over quota, or removed in the meantime
+            removeQuietly(objectKey);
+            removeQuietly(uploadKey);
+            throw e;
+        } catch (RuntimeException e) {
+            removeQuietly(objectKey);
+            throw e;
+        }
+
+        // Bytes the URL still sends after this only create an orphan, which garbage collection removes
+        removeQuietly(uploadKey);
+        LOG.infof("Direct upload completed: %s", hash);
+    }
+
+    /**
+     * Remove direct uploads that were never completed, together with whatever the client
+     * managed to upload for them.
+     *
+     * @param createdBefore Pending uploads created before this are abandoned
+     * @param limit Maximum number of uploads to remove in this batch
+     * @return Number of uploads removed
+     */
+    @Transactional
+    public int reapPendingUploads(LocalDateTime createdBefore, int limit) {
+        List<AlbumImage> abandoned = albumImageRepository.findPendingCreatedBefore(createdBefore, limit);
+        abandoned.forEach(albumImageRepository::delete);
+        if (!abandoned.isEmpty()) {
+            objectRemoval.fire(new ObjectRemovalService.Requested(
+                abandoned.stream().map(AlbumImage::getObjectKey).toList()));
+        }
+        return abandoned.size();
+    }
+
+    /**
+     * Find images whose object predates content addressing: objects stored under the image
+     * identifier, and completed direct uploads. Their keys follow the identifier layout, which
+     * concentrated all uploads of a day under one prefix.
+     *
+     * @param afterId Only images with a greater ID are returned, to page through them
+     * @param createdBefore Only images created before this are returned, leaving recent ones
+     *                      time to have their variants generated
+     * @param limit Maximum number of images to return
+     * @return Images in ID order
+     */
+    @ReadOnly
+    public List<LegacyObject> findLegacyObjects(Long afterId, LocalDateTime createdBefore, int limit) {
+        return albumImageRepository.findNotContentAddressed(afterId, createdBefore, limit).stream()
+            .map(image -> new LegacyObject(image.getId(), image.getObjectKey(), image.getContentType()))
+            .toList();
+    }
+
+    /**
+     * Move the object of an image to its content key. The object is read once to hash it,
+     * copied on the server side unless the content is already stored, and the image switched
+     * over; the old object and its variants are removed once no image refers to them, and the
+     * variants are generated again for the new key. No transaction is open while the object
+     * is read or copied. Images changed or deleted in the meantime are left alone.
+     *
+     * @param legacy Image to re-key, as returned by {@link #findLegacyObjects}
+     * @return true if the image now refers to its content key
+     */
+    public boolean rekeyObject(LegacyObject legacy) {
+        String objectKey = legacy.objectKey();
+        StagedContent staged;
+        try (InputStream content = await(objectStorage.get(objectKey))) {
+            staged = stageStoredObject(new SizeLimitedInputStream(content, Long.MAX_VALUE), objectKey, legacy.contentType());
+        } catch (ObjectNotFoundException e) {
+            LOG.warnf("Object of image %d is missing, not re-keyed: %s", legacy.imageId(), objectKey);
+            return false;
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to read object to re-key: %s", objectKey);
+            return false;
+        }
+
+        boolean stored = false;
+        try {
+            if (!uploadTransactions.isStored(staged.objectKey())) {
+                storeObject(staged, legacy.contentType());
+                stored = true;
+            }
+            StagedContent content = staged;
+            boolean rekeyed;
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    rekeyed = uploadTransactions.rekey(legacy.imageId(), objectKey, bucket, content.objectKey(),
+                        content.size(), () -> requireStored(content), () -> releaseStoredObjects(List.of(objectKey)));
+                    break;
+                } catch (ObjectNotFoundException e) {
+                    storeAgain(content, legacy.contentType(), e, attempt);
+                    stored = true;
+                }
+            }
+            if (rekeyed) {
+                LOG.debugf("Re-keyed object of image %d: %s -> %s", legacy.imageId(), objectKey, content.objectKey());
+            } else if (stored) {
+                discardStoredObject(staged, legacy.contentType());
+            }
+            return rekeyed;
+        } catch (Exception e) {
+            if (stored) {
+                discardStoredObject(staged, legacy.contentType());
+            }
+            LOG.errorf(e, "Failed to re-key object of image %d: %s", legacy.imageId(), objectKey);
+            return false;
         }
     }
 
     /**
      * Generate a presigned URL for accessing an image.
+     * With a width, the URL points to the smallest generated variant at least that wide;
+     * the master image is served when no such variant exists (yet). URLs are served from
+     * {@link PresignedUrlCache} unless they expire within its minimum remaining lifetime.
      *
      * @param albumId Album ID
      * @param hash Image hash
-     * @return Presigned URL valid for configured expiry time
+     * @param width Optional display width in pixels
+     * @return Presigned URL valid until its expiry instant
      * @throws NotFoundException if album or image not found
+     * @throws BadRequestException if the width is not positive
      */
-    public String getPresignedUrl(Long albumId, String hash) {
+    @ReadOnly
+    public PresignedUrl getPresignedUrl(Long albumId, String hash, Integer width) {
+        if (width != null && width <= 0) {
+            throw new BadRequestException("Width must be greater than 0");
+        }
+        return presignedUrlCache.get(albumId, hash, width, () -> signPresignedUrl(albumId, hash, width));
+    }
+
+    /**
+     * List the images of an album with a presigned URL for each of them.
+     * The page is loaded with at most two queries and its URLs are signed in parallel,
+     * reusing cached URLs where possible.
+     *
+     * @param albumId Album ID
+     * @param page Page number (0-based)
+     * @param size Page size (max 100)
+     * @param width Optional display width in pixels, as for {@link #getPresignedUrl}
+     * @return Paginated image response
+     * @throws NotFoundException if album not found
+     * @throws BadRequestException if the width is not positive
+     */
+    @ReadOnly
+    public PageResponse<ImageResponse> listImages(Long albumId, int page, int size, Integer width) {
+        if (width != null && width <= 0) {
+            throw new BadRequestException("Width must be greater than 0");
+        }
+        if (size > 100) {
+            size = 100;
+        } else if (size <= 0) {
+            size = 20;
+        }
+        page = Math.max(page, 0);
+
+        if (albumRepository.findByIdOptional(albumId).isEmpty()) {
+            throw new NotFoundException("Album not found with id: " + albumId);
+        }
+        List<AlbumImage> images = albumImageRepository.findByAlbumId(albumId, Page.of(page, size));
+        long totalElements = albumImageRepository.countByAlbumId(albumId);
+
+        Map<Long, String> variantKeys = width == null
+            ? Map.of()
+            : imageVariantRepository.findSmallestKeysAtLeast(images.stream().map(AlbumImage::getId).toList(), width);
+
+        // Everything the signing needs is loaded, so no task touches the persistence context
+        List<ImageResponse> content;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<ImageResponse>> signed = images.stream()
+                .map(image -> {
+                    String objectKey = variantKeys.getOrDefault(image.getId(), image.getObjectKey());
+                    return CompletableFuture.supplyAsync(() -> {
+                        PresignedUrl url = presignedUrlCache.get(albumId, image.getHash(), width,
+                            () -> presign(image.getHash(), objectKey));
+                        return ImageResponse.from(image, url.url(), url.expiresAt());
+                    }, executor);
+                })
+                .toList();
+            content = signed.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        return PageResponse.of(content, page, size, totalElements);
+    }
+
+    /**
+     * Look up the object to serve for an image, or for a variant of it when a width is given.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash
+     * @param width Optional display width in pixels, as for {@link #getPresignedUrl}
+     * @return Object key, content type, size and ETag of the bytes to serve
+     * @throws NotFoundException if album or image not found
+     * @throws BadRequestException if the width is not positive
+     */
+    @ReadOnly
+    public ImageContent getImageContent(Long albumId, String hash, Integer width) {
+        if (width != null && width <= 0) {
+            throw new BadRequestException("Width must be greater than 0");
+        }
+        AlbumImage albumImage = albumImageRepository.findByAlbumIdAndHash(albumId, hash)
+            .orElseThrow(() -> new NotFoundException("Image not found for album: " + hash));
+
+        Optional<ImageVariant> variant = width == null
+            ? Optional.empty()
+            : imageVariantRepository.findSmallestAtLeast(albumImage.getId(), width);
+        String objectKey = variant.map(ImageVariant::getObjectKey).orElse(albumImage.getObjectKey());
+        String contentType = variant.map(ImageVariant::getContentType).orElse(albumImage.getContentType());
+        long size = variant.isPresent() ? variant.get().getSize() : albumImage.getSize();
+
+        byte[] digest = sha256().digest(objectKey.getBytes(StandardCharsets.UTF_8));
+        String etag = "\"" + HexFormat.of().formatHex(digest) + "\"";
+        return new ImageContent(objectKey, contentType, size, etag);
+    }
+
+    /**
+     * Return a local file of an object: the stored file itself when the storage backend keeps
+     * objects on local disk, otherwise a copy from {@link DiskObjectCache}, downloaded on a miss.
+     *
+     * @param content Object to serve
+     * @return Local file, or empty if the object is not cacheable or could not be cached
+     */
+    public Optional<Path> cachedContent(ImageContent content) {
+        Optional<Path> stored = objectStorage.localFile(content.objectKey());
+        if (stored.isPresent()) {
+            return stored;
+        }
+        try {
+            return diskObjectCache.get(content.objectKey(), content.size(),
+                () -> await(objectStorage.get(content.objectKey(), ByteRange.full(content.size()))));
+        } catch (IOException e) {
+            // The object is still served, just straight from storage
+            LOG.warnf(e, "Failed to cache image locally: %s", content.objectKey());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Open a byte range of an object in storage; the caller closes the stream.
+     *
+     * @param content Object to serve
+     * @param range Bytes to read
+     * @return Stream of the requested bytes
+     * @throws NotFoundException if the object is missing from storage
+     */
+    public InputStream streamContent(ImageContent content, ByteRange range) {
+        try {
+            return await(objectStorage.get(content.objectKey(), range));
+        } catch (ObjectNotFoundException e) {
+            throw new NotFoundException("Image content not found: " + content.objectKey());
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to read image from storage: %s", content.objectKey());
+            throw new InternalServerErrorException("Failed to read image", e);
+        }
+    }
+
+    private PresignedUrl signPresignedUrl(Long albumId, String hash, Integer width) {
         // Validate album exists and owns the image
         AlbumImage albumImage = albumImageRepository.findByAlbumIdAndHash(albumId, hash)
             .orElseThrow(() -> new NotFoundException("Image not found for album: " + hash));
 
+        String objectKey = albumImage.getObjectKey();
+        if (width != null) {
+            objectKey = imageVariantRepository.findSmallestAtLeast(albumImage.getId(), width)
+                .map(ImageVariant::getObjectKey)
+                .orElse(objectKey);
+        }
+        return presign(hash, objectKey);
+    }
+
+    private PresignedUrl presign(String hash, String objectKey) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            String url = minioClient.getPresignedObjectUrl(
-                GetPresignedObjectUrlArgs.builder()
-                    .bucket(bucket)
-                    .object(hash)
-                    .method(Method.GET)
-                    .expiry(presignedUrlExpiry, TimeUnit.MINUTES)
-                    .build()
-            );
+            // Take the expiry before signing so it never lies after the URL's real one
+            Instant expiresAt = Instant.now().plus(Duration.ofMinutes(presignedUrlExpiry));
+            String url = await(objectStorage.presign(objectKey, ObjectStorage.Method.GET, presignedUrlExpiry));
 
             LOG.debugf("Generated presigned URL for image: %s", hash);
-            return url;
+            return new PresignedUrl(url, expiresAt);
 
         } catch (Exception e) {
             LOG.errorf(e, "Failed to generate presigned URL for image: %s", hash);
             throw new InternalServerErrorException("Failed to generate presigned URL", e);
+        } finally {
+            sample.stop(meterRegistry.timer("images.presign"));
         }
     }
 
     /**
-     * Delete an image from both MinIO and the database.
+     * Delete an image from the database, and its object from storage after commit unless
+     * another image still shares it.
      *
      * @param albumId Album ID
      * @param hash Image hash
@@ -160,23 +863,162 @@ public class ImageService {
         AlbumImage albumImage = albumImageRepository.findByAlbumIdAndHash(albumId, hash)
             .orElseThrow(() -> new NotFoundException("Image not found for album: " + hash));
 
+        // Remove from database
+        albumImageRepository.delete(albumImage);
+        storageUsageService.removeImage(albumId, albumImage.getSize());
+        changeFeedService.record(CatalogEntityType.IMAGE, albumId, hash, ChangeOperation.DELETED);
+        presignedUrlEvict.fire(new PresignedUrlCache.Evict(albumId, hash));
+
+        // Remove from storage once no other image shares the object
+        releaseStoredObjects(List.of(albumImage.getObjectKey()));
+
+        LOG.infof("Image deleted successfully: %s", hash);
+    }
+
+    /**
+     * Drop one reference to each object. Objects that lost their last reference are removed
+     * from storage, together with their variants, in batches once the transaction has committed.
+     *
+     * @param objectKeys Keys of the objects behind album images that are being deleted
+     */
+    @Transactional
+    public void releaseStoredObjects(Collection<String> objectKeys) {
+        List<String> unreferenced = new ArrayList<>();
+        for (String objectKey : objectKeys) {
+            if (storedObjectRepository.release(objectKey) > 0) {
+                LOG.debugf("Stored object still referenced: %s", objectKey);
+                continue;
+            }
+            unreferenced.add(objectKey);
+            // Variants are derived from the object, missing ones are simply not there
+            unreferenced.addAll(imageVariantService.variantKeys(objectKey));
+        }
+        if (!unreferenced.isEmpty()) {
+            objectRemoval.fire(new ObjectRemovalService.Requested(List.copyOf(unreferenced)));
+        }
+    }
+
+    /**
+     * Read a small upload into memory and hash it.
+     */
+    private StagedContent stageInMemory(InputStream inputStream, String contentType) throws IOException {
+        byte[] data = inputStream.readAllBytes();
+        String objectKey = contentKey(sha256().digest(data), contentType);
+        return new StagedContent(objectKey, data.length, data, null, false);
+    }
+
+    /**
+     * Upload a large or unbounded stream to a temporary object, hashing it on the way.
+     * The temporary object is copied to its content key on the server side, or simply
+     * dropped when the content is already stored.
+     */
+    private StagedContent stageInTemporaryObject(SizeLimitedInputStream inputStream, String contentType)
+            throws Exception {
+        String tempKey = TEMP_PREFIX + UUID.randomUUID();
+        MessageDigest digest = sha256();
+        await(objectStorage.upload(tempKey, new DigestInputStream(inputStream, digest), contentType));
+        String objectKey = contentKey(digest.digest(), contentType);
+        return new StagedContent(objectKey, inputStream.getCount(), null, tempKey, true);
+    }
+
+    /**
+     * Hash an object that is already in storage. Its bytes are read once more for the digest:
+     * a resumable upload arrives over several requests, and the state of a running digest
+     * cannot be kept between them.
+     */
+    private StagedContent stageStoredObject(SizeLimitedInputStream inputStream, String objectKey, String contentType)
+            throws IOException {
+        MessageDigest digest = sha256();
+        new DigestInputStream(inputStream, digest).transferTo(OutputStream.nullOutputStream());
+        return new StagedContent(contentKey(digest.digest(), contentType), inputStream.getCount(), null, objectKey, false);
+    }
+
+    /**
+     * Store staged content under its content key.
+     */
+    private void storeObject(StagedContent staged, String contentType) throws Exception {
+        if (staged.data() != null) {
+            await(objectStorage.put(staged.objectKey(), staged.data(), contentType));
+        } else {
+            await(objectStorage.copy(staged.objectKey(), staged.sourceKey()));
+        }
+    }
+
+    /**
+     * Check that staged content is stored; runs while the first reference to the object is
+     * being recorded. A concurrent release may have removed it, in which case the
+     * {@link ObjectNotFoundException} rolls that transaction back.
+     */
+    private void requireStored(StagedContent staged) {
         try {
-            // Remove from MinIO
-            minioClient.removeObject(
-                RemoveObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(hash)
-                    .build()
-            );
+            await(objectStorage.stat(staged.objectKey()));
+        } catch (ObjectNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InternalServerErrorException("Failed to check stored image", e);
+        }
+    }
 
-            // Remove from database
-            albumImageRepository.delete(albumImage);
+    /**
+     * Store staged content again after a transaction found its object missing, outside of
+     * that transaction, so it can be retried. Other missing objects, or content that keeps
+     * going missing, fail the upload.
+     */
+    private void storeAgain(StagedContent staged, String contentType, ObjectNotFoundException missing, int attempt)
+            throws Exception {
+        if (!staged.objectKey().equals(missing.getObjectKey()) || attempt >= MAX_STORE_ATTEMPTS) {
+            throw missing;
+        }
+        LOG.infof("Storing image content removed during upload: %s", staged.objectKey());
+        storeObject(staged, contentType);
+    }
 
-            LOG.infof("Image deleted successfully: %s", hash);
+    /**
+     * Compensate an upload that stored its object but failed to record the image.
+     */
+    private void discardStoredObject(StagedContent staged, String contentType) {
+        try {
+            uploadTransactions.discardIfUnreferenced(bucket, staged.objectKey(), contentType, staged.size(),
+                () -> removeQuietly(staged.objectKey()));
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to discard object of failed upload: %s", staged.objectKey());
+        }
+    }
 
+    /**
+     * Read the first bytes of a stored object, enough for its signature and dimensions.
+     */
+    private byte[] readHeader(String objectKey, long size) {
+        ByteRange range = new ByteRange(0, Math.min(size, ImageDimensions.HEADER_BYTES) - 1);
+        try (InputStream in = await(objectStorage.get(objectKey, range))) {
+            return in.readAllBytes();
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to read uploaded image: %s", objectKey);
+            throw new InternalServerErrorException("Failed to check uploaded image", e);
+        }
+    }
+
+    private void removeQuietly(String objectKey) {
+        try {
+            await(objectStorage.remove(objectKey));
         } catch (Exception e) {
-            LOG.errorf(e, "Failed to delete image from MinIO: %s", hash);
-            throw new InternalServerErrorException("Failed to delete image", e);
+            LOG.warnf(e, "Failed to remove object: %s", objectKey);
+        }
+    }
+
+    /**
+     * Wait for a storage operation. On the virtual threads serving requests this parks the
+     * thread without holding its carrier, so no platform thread waits for storage. Failures are
+     * rethrown unwrapped, so failures such as {@link ObjectNotFoundException} can be told apart.
+     */
+    private static <T> T await(Uni<T> operation) throws Exception {
+        try {
+            return operation.await().indefinitely();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
         }
     }
 
@@ -184,14 +1026,13 @@ public class ImageService {
      * Validate content type is allowed.
      *
      * @param contentType MIME type to validate
+     * @return Format of the content type
      * @throws BadRequestException if content type not allowed
      */
-    private void validateContentType(String contentType) {
-        if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType.toLowerCase())) {
-            throw new BadRequestException(
-                "Invalid content type. Allowed types: " + String.join(", ", ALLOWED_CONTENT_TYPES)
-            );
-        }
+    ImageFormat validateContentType(String contentType) {
+        return ImageFormat.fromContentType(contentType).orElseThrow(() -> new BadRequestException(
+            "Invalid content type. Allowed types: " + ImageFormat.allowedContentTypes()
+        ));
     }
 
     /**
@@ -200,42 +1041,137 @@ public class ImageService {
      * @param size File size in bytes
      * @throws BadRequestException if file size exceeds limit
      */
-    private void validateFileSize(long size) {
+    void validateFileSize(long size) {
         if (size > maxFileSize) {
-            throw new BadRequestException(
-                String.format("File size exceeds maximum allowed size of %d bytes (%.2f MB)",
-                    maxFileSize, maxFileSize / (1024.0 * 1024.0))
-            );
+            throw fileTooLarge();
         }
         if (size <= 0) {
             throw new BadRequestException("File size must be greater than 0");
         }
     }
 
+    BadRequestException fileTooLarge() {
+        return new BadRequestException(
+            String.format("File size exceeds maximum allowed size of %d bytes (%.2f MB)",
+                maxFileSize, maxFileSize / (1024.0 * 1024.0))
+        );
+    }
+
     /**
-     * Extract file extension from filename.
+     * Read ahead the signature of an upload and check it against the declared format, so
+     * empty, foreign or mislabeled content is rejected after a few bytes instead of after
+     * the whole payload went to storage.
+     *
+     * @param inputStream Image data stream
+     * @param declared Format of the declared content type
+     * @return Stream positioned at its first byte
+     * @throws BadRequestException if the stream is empty or its content is not of the declared format
+     */
+    InputStream requireFormat(InputStream inputStream, ImageFormat declared) {
+        PushbackInputStream pushback = new PushbackInputStream(inputStream, ImageFormat.SIGNATURE_BYTES);
+        try {
+            byte[] signature = pushback.readNBytes(ImageFormat.SIGNATURE_BYTES);
+            if (signature.length == 0) {
+                throw new BadRequestException("File size must be greater than 0");
+            }
+            Optional<ImageFormat> sniffed = ImageFormat.sniff(signature, signature.length);
+            if (sniffed.isEmpty()) {
+                throw new BadRequestException("File content is not an image. Allowed types: " + ImageFormat.allowedContentTypes());
+            }
+            if (sniffed.get() != declared) {
+                throw new BadRequestException("File content is " + sniffed.get().contentType()
+                    + " but was declared as " + declared.contentType());
+            }
+            pushback.unread(signature);
+            return pushback;
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Failed to read uploaded file", e);
+        }
+    }
+
+    /**
+     * The storage backend may wrap the failure of the source stream, so look through the causes.
+     */
+    private boolean isSizeLimitExceeded(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SizeLimitExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extract file extension from filename, falling back to the one of the content type.
      *
      * @param fileName Original filename
-     * @return File extension (including dot) or empty string if no extension
+     * @param format Format of the content
+     * @return File extension (including dot)
      */
-    private String getExtension(String fileName) {
+    private String getExtension(String fileName, ImageFormat format) {
         if (fileName == null || !fileName.contains(".")) {
-            return "";
+            return format.extension();
         }
         return fileName.substring(fileName.lastIndexOf("."));
     }
 
     /**
-     * Generate hash for MinIO storage using date-based pattern.
-     * Format: yyyy/MM/dd/uuid.ext
+     * Build the content-addressed object key of a SHA-256 digest, e.g. {@code sha256/ab/ab12...ef.jpg}.
+     * The extension follows the content type so the same bytes always map to the same key.
      *
+     * @param digest SHA-256 digest of the content
+     * @param contentType MIME type
+     * @return Object key
+     */
+    private String contentKey(byte[] digest, String contentType) {
+        String hex = HexFormat.of().formatHex(digest);
+        String extension = ImageFormat.fromContentType(contentType).map(ImageFormat::extension).orElse("");
+        return CONTENT_PREFIX + hex.substring(0, 2) + "/" + hex + extension;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Upload hashed but not yet stored under its content key; holds either the bytes
+     * themselves or the key of the object they are in. A temporary object the bytes were
+     * streamed to is removed once the upload is over; an object that was already stored
+     * belongs to the caller.
+     */
+    private record StagedContent(String objectKey, long size, byte[] data, String sourceKey, boolean temporary) {
+    }
+
+    /**
+     * Hashes the validated bytes of an upload and stages them for storage.
+     */
+    @FunctionalInterface
+    private interface Stager {
+        StagedContent stage(SizeLimitedInputStream inputStream) throws Exception;
+    }
+
+    /**
+     * Records the image of staged content once it is stored; {@code requireStored} fails if it
+     * went missing, as in {@link ImageUploadTransactions#record}.
+     */
+    @FunctionalInterface
+    private interface Recorder {
+        String record(String objectKey, long size, ImageDimensions dimensions, Runnable requireStored);
+    }
+
+    /**
+     * Generate the image identifier exposed by the API in the configured {@link ImageKeyLayout},
+     * e.g. {@code ab/cd/uuid.ext}.
+     *
+     * @param albumId Album ID
      * @param extension File extension (including dot)
      * @return Generated hash
      */
-    private String generateHash(String extension) {
-        LocalDate now = LocalDate.now();
-        String datePath = now.format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-        String uuid = UUID.randomUUID().toString();
-        return String.format("%s/%s%s", datePath, uuid, extension);
+    private String generateHash(Long albumId, String extension) {
+        return keyLayout.generate(albumId, extension);
     }
 }
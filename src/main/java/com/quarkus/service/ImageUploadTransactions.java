@@ -0,0 +1,281 @@
+package com.quarkus.service;
+
+import com.quarkus.entity.Album;
+import com.quarkus.entity.AlbumImage;
+import com.quarkus.entity.CatalogEntityType;
+import com.quarkus.entity.ChangeOperation;
+import com.quarkus.entity.ImageStatus;
+import com.quarkus.imaging.ImageDimensions;
+import com.quarkus.repository.AlbumImageRepository;
+import com.quarkus.repository.AlbumRepository;
+import com.quarkus.repository.ImageVariantRepository;
+import com.quarkus.repository.StoredObjectRepository;
+import com.quarkus.storage.ObjectNotFoundException;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.NotFoundException;
+import org.jboss.logging.Logger;
+
+import java.util.Optional;
+
+/**
+ * The short transactions around an upload in {@link ImageService}. The bytes are streamed
+ * to storage between these calls, so no transaction (and no JDBC connection) is held for
+ * the duration of a transfer. Where a transaction takes the first reference to an object, it
+ * only checks that the object exists and rolls back if it does not, for the caller to store
+ * the object again and retry.
+ */
+@ApplicationScoped
+public class ImageUploadTransactions {
+
+    private static final Logger LOG = Logger.getLogger(ImageUploadTransactions.class);
+
+    @Inject
+    AlbumRepository albumRepository;
+
+    @Inject
+    AlbumImageRepository albumImageRepository;
+
+    @Inject
+    StoredObjectRepository storedObjectRepository;
+
+    @Inject
+    ImageVariantRepository imageVariantRepository;
+
+    @Inject
+    ChangeFeedService changeFeedService;
+
+    @Inject
+    StorageUsageService storageUsageService;
+
+    @Inject
+    Event<ImageService.ImageUploaded> imageUploaded;
+
+    @Inject
+    Event<PresignedUrlCache.Evict> presignedUrlEvict;
+
+    /**
+     * @param albumId Album ID
+     * @throws NotFoundException if album not found
+     */
+    @Transactional
+    public void requireAlbum(Long albumId) {
+        if (albumRepository.findByIdOptional(albumId).isEmpty()) {
+            throw new NotFoundException("Album not found with id: " + albumId);
+        }
+    }
+
+    /**
+     * @param objectKey Content-addressed object key
+     * @return true if the object is registered, i.e. already stored for another image
+     */
+    @Transactional
+    public boolean isStored(String objectKey) {
+        return storedObjectRepository.findByIdOptional(objectKey).isPresent();
+    }
+
+    /**
+     * Record an uploaded image whose content has been staged under its content key.
+     * When this takes the first reference to the object, {@code requireStored} runs before
+     * the commit, because a concurrent release may have removed an object that was stored
+     * while no reference was held.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash generated for the upload
+     * @param bucket Bucket holding the object
+     * @param objectKey Content-addressed object key
+     * @param contentType MIME type
+     * @param size Size in bytes
+     * @param dimensions Pixel dimensions read from the file header, or null if unknown
+     * @param requireStored Checks that the object exists, failing with {@link ObjectNotFoundException} if not
+     * @return Hash of the new image, or of the album's existing image with the same content
+     * @throws NotFoundException if the album was deleted during the upload
+     * @throws ClientErrorException with 413 if the image does not fit in the album's storage quota
+     * @throws ObjectNotFoundException if the object went missing; nothing has been recorded
+     */
+    @Transactional
+    public String record(Long albumId, String hash, String bucket, String objectKey,
+                         String contentType, long size, ImageDimensions dimensions, Runnable requireStored) {
+        Album album = albumRepository.findByIdOptional(albumId)
+            .orElseThrow(() -> new NotFoundException("Album not found with id: " + albumId));
+
+        // Uploading the same bytes to the same album again returns the existing image
+        Optional<AlbumImage> existing = albumImageRepository.findByAlbumIdAndObjectKey(albumId, objectKey);
+        if (existing.isPresent()) {
+            LOG.infof("Image already stored for album %d: %s", albumId, existing.get().getHash());
+            return existing.get().getHash();
+        }
+
+        storageUsageService.addImage(albumId, size);
+        if (storedObjectRepository.acquire(objectKey, bucket, contentType, size) == 1) {
+            requireStored.run();
+        } else {
+            LOG.debugf("Deduplicated image content: %s", objectKey);
+        }
+
+        AlbumImage albumImage = new AlbumImage(album, bucket, hash, contentType, size, objectKey);
+        if (dimensions != null) {
+            albumImage.setWidth(dimensions.width());
+            albumImage.setHeight(dimensions.height());
+        }
+        album.addImage(albumImage);
+        albumImageRepository.persist(albumImage);
+        changeFeedService.record(CatalogEntityType.IMAGE, albumId, hash, ChangeOperation.CREATED);
+        imageUploaded.fire(new ImageService.ImageUploaded(albumImage.getId(), objectKey, contentType));
+        return hash;
+    }
+
+    /**
+     * Finalize an upload accepted for background processing once its content has been staged
+     * under its content key. The image keeps the hash handed out when it was accepted, so it
+     * is not merged with an image of the album that has the same content.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash handed out when the upload was accepted
+     * @param bucket Bucket holding the object
+     * @param objectKey Content-addressed object key
+     * @param size Size in bytes
+     * @param dimensions Pixel dimensions read from the file header, or null if unknown
+     * @param requireStored Checks that the object exists, failing with {@link ObjectNotFoundException} if not
+     * @return Hash of the image
+     * @throws NotFoundException if the upload is no longer processing, e.g. because its album was deleted
+     * @throws ClientErrorException with 413 if the image does not fit in the album's storage quota
+     * @throws ObjectNotFoundException if the object went missing; nothing has been recorded
+     */
+    @Transactional
+    public String completeProcessing(Long albumId, String hash, String bucket, String objectKey,
+                                     long size, ImageDimensions dimensions, Runnable requireStored) {
+        AlbumImage albumImage = albumImageRepository.findProcessingForUpdate(albumId, hash)
+            .orElseThrow(() -> new NotFoundException("Upload not processing for album: " + hash));
+
+        storageUsageService.addImage(albumId, size);
+        if (storedObjectRepository.acquire(objectKey, bucket, albumImage.getContentType(), size) == 1) {
+            requireStored.run();
+        } else {
+            LOG.debugf("Deduplicated image content: %s", objectKey);
+        }
+
+        albumImage.setObjectKey(objectKey);
+        albumImage.setSize(size);
+        if (dimensions != null) {
+            albumImage.setWidth(dimensions.width());
+            albumImage.setHeight(dimensions.height());
+        }
+        albumImage.setStatus(ImageStatus.READY);
+        changeFeedService.record(CatalogEntityType.IMAGE, albumId, hash, ChangeOperation.CREATED);
+        imageUploaded.fire(new ImageService.ImageUploaded(albumImage.getId(), objectKey, albumImage.getContentType()));
+        return hash;
+    }
+
+    /**
+     * @param albumId Album ID
+     * @param hash Image hash returned when the direct upload was started
+     * @return The album's image with this hash, whatever its status
+     */
+    @Transactional
+    public Optional<AlbumImage> findUpload(Long albumId, String hash) {
+        return albumImageRepository.findAnyByAlbumIdAndHash(albumId, hash);
+    }
+
+    /**
+     * Record a direct upload whose object has been checked. The pending image is locked, so
+     * concurrent completions finalize it only once.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash returned when the direct upload was started
+     * @param bucket Bucket holding the object
+     * @param objectKey Key of the checked copy of the uploaded object
+     * @param size Size in bytes
+     * @param dimensions Pixel dimensions read from the file header, or null if unknown
+     * @return false if the upload had already been completed
+     * @throws NotFoundException if the upload was removed in the meantime
+     * @throws ClientErrorException with 413 if the image does not fit in the album's storage quota
+     */
+    @Transactional
+    public boolean completeDirectUpload(Long albumId, String hash, String bucket, String objectKey, long size,
+                                        ImageDimensions dimensions) {
+        Optional<AlbumImage> pending = albumImageRepository.findPendingForUpdate(albumId, hash);
+        if (pending.isEmpty()) {
+            if (albumImageRepository.findByAlbumIdAndHash(albumId, hash).isPresent()) {
+                return false;
+            }
+            throw new NotFoundException("Upload not found for album: " + hash);
+        }
+        AlbumImage albumImage = pending.get();
+
+        storageUsageService.addImage(albumId, size);
+        // Direct uploads are not content-addressed, so the image holds the only reference
+        storedObjectRepository.acquire(objectKey, bucket, albumImage.getContentType(), size);
+        albumImage.setObjectKey(objectKey);
+        albumImage.setSize(size);
+        if (dimensions != null) {
+            albumImage.setWidth(dimensions.width());
+            albumImage.setHeight(dimensions.height());
+        }
+        albumImage.setStatus(ImageStatus.READY);
+        changeFeedService.record(CatalogEntityType.IMAGE, albumId, hash, ChangeOperation.CREATED);
+        imageUploaded.fire(new ImageService.ImageUploaded(albumImage.getId(), objectKey, albumImage.getContentType()));
+        return true;
+    }
+
+    /**
+     * Switch an image over to the content key its object has been copied to. Its variants
+     * were derived from the old key, so they are dropped and generated again after commit,
+     * and cached URLs to the old object are evicted. {@code release} drops the reference to
+     * the old object within this transaction.
+     *
+     * @param imageId Album image ID
+     * @param oldKey Object key the image referred to when the copy started
+     * @param bucket Bucket holding the object
+     * @param objectKey Content-addressed object key
+     * @param size Size in bytes
+     * @param requireStored Checks that the object exists, failing with {@link ObjectNotFoundException} if not
+     * @param release Releases the old object
+     * @return false if the image was deleted or changed in the meantime
+     * @throws ObjectNotFoundException if the object went missing; the image has not been switched over
+     */
+    @Transactional
+    public boolean rekey(Long imageId, String oldKey, String bucket, String objectKey, long size,
+                         Runnable requireStored, Runnable release) {
+        AlbumImage albumImage = albumImageRepository.findById(imageId, LockModeType.PESSIMISTIC_WRITE);
+        if (albumImage == null || albumImage.getStatus() != ImageStatus.READY || !oldKey.equals(albumImage.getObjectKey())) {
+            LOG.debugf("Image %d changed while its object was re-keyed", imageId);
+            return false;
+        }
+
+        if (storedObjectRepository.acquire(objectKey, bucket, albumImage.getContentType(), size) == 1) {
+            requireStored.run();
+        } else {
+            LOG.debugf("Deduplicated image content: %s", objectKey);
+        }
+
+        albumImage.setObjectKey(objectKey);
+        imageVariantRepository.deleteByAlbumImageId(imageId);
+        release.run();
+        presignedUrlEvict.fire(new PresignedUrlCache.Evict(albumImage.getAlbum().getId(), albumImage.getHash()));
+        imageUploaded.fire(new ImageService.ImageUploaded(imageId, objectKey, albumImage.getContentType()));
+        return true;
+    }
+
+    /**
+     * Compensate a failed upload that stored an object: remove it unless another image
+     * has referenced it in the meantime. {@code remove} runs while the row is locked.
+     *
+     * @param bucket Bucket holding the object
+     * @param objectKey Content-addressed object key
+     * @param contentType MIME type
+     * @param size Size in bytes
+     * @param remove Removes the object from storage
+     */
+    @Transactional
+    public void discardIfUnreferenced(String bucket, String objectKey, String contentType, long size, Runnable remove) {
+        if (storedObjectRepository.forgetIfUnreferenced(objectKey, bucket, contentType, size)) {
+            remove.run();
+            LOG.infof("Removed object of failed upload: %s", objectKey);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.quarkus.service;
+
+import com.quarkus.entity.ImageVariant;
+import com.quarkus.imaging.Placeholder;
+import com.quarkus.storage.ObjectStorage;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Renders the variants and the placeholder of one image on a worker thread of
+ * {@link ImageVariantService}. The source is decoded once, subsampled while decoding when it
+ * is much larger than the biggest variant, and never upscaled. Formats ImageIO cannot decode
+ * (e.g. WebP) get no variants or placeholder and are always served as the master image.
+ */
+@ApplicationScoped
+public class ImageVariantGenerator {
+
+    private static final Logger LOG = Logger.getLogger(ImageVariantGenerator.class);
+
+    @Inject
+    ObjectStorage objectStorage;
+
+    @Inject
+    ImageVariantService variantService;
+
+    /**
+     * Generate, store and record the variants and the placeholder of an image.
+     * Runs with its own request context, which the Hibernate tenant resolver needs.
+     *
+     * @param albumImageId Album image ID
+     * @param objectKey Object key of the source image
+     * @param contentType MIME type of the source image
+     */
+    @ActivateRequestContext
+    public void generate(Long albumImageId, String objectKey, String contentType) {
+        try {
+            boolean variantsReused = variantService.recordExistingVariants(albumImageId, objectKey);
+            boolean placeholderReused = variantService.recordExistingPlaceholder(albumImageId, objectKey);
+            if (variantsReused && placeholderReused) {
+                LOG.debugf("Reused existing variants of %s", objectKey);
+                return;
+            }
+
+            String format = "image/png".equals(contentType) ? "png" : "jpeg";
+            List<Integer> widths = variantService.widths();
+            int largest = widths.get(widths.size() - 1);
+
+            Decoded source;
+            try (InputStream in = objectStorage.get(objectKey).await().indefinitely()) {
+                source = decode(in, largest);
+            }
+            if (source == null) {
+                LOG.debugf("No variants for %s: format not supported", objectKey);
+                return;
+            }
+            if (!placeholderReused) {
+                variantService.recordPlaceholder(albumImageId, source.originalWidth(), source.originalHeight(),
+                    Placeholder.of(source.image()));
+            }
+            if (variantsReused) {
+                return;
+            }
+
+            List<ImageVariant> variants = new ArrayList<>();
+            for (int width : widths) {
+                if (width >= source.originalWidth()) {
+                    break;
+                }
+                byte[] data = encode(scale(source.image(), width, "png".equals(format)), format);
+                String variantKey = variantService.variantKey(objectKey, width);
+                objectStorage.put(variantKey, data, contentType).await().indefinitely();
+                variants.add(new ImageVariant(null, width, variantKey, contentType, data.length));
+            }
+
+            if (!variants.isEmpty()) {
+                variantService.recordVariants(albumImageId, variants);
+                LOG.infof("Generated %d variants of %s", variants.size(), objectKey);
+            }
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to generate variants of %s", objectKey);
+        }
+    }
+
+    private record Decoded(BufferedImage image, int originalWidth, int originalHeight) {
+    }
+
+    /**
+     * Decode an image, skipping source pixels when it is far larger than needed.
+     *
+     * @param in Encoded image
+     * @param largestWidth Widest variant that will be rendered from it
+     * @return Decoded image, or null if no ImageIO reader supports the format
+     */
+    private Decoded decode(InputStream in, int largestWidth) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int originalWidth = reader.getWidth(0);
+
+                // Keep at least twice the largest width so downscaling still has pixels to average
+                int subsampling = Math.max(1, originalWidth / (largestWidth * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return new Decoded(reader.read(0, param), originalWidth, reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, int width, boolean keepAlpha) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage target = new BufferedImage(width, height,
+            keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format, out)) {
+            throw new IOException("No ImageIO writer for " + format);
+        }
+        return out.toByteArray();
+    }
+}
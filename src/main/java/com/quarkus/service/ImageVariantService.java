@@ -0,0 +1,209 @@
+package com.quarkus.service;
+
+import com.quarkus.entity.AlbumImage;
+import com.quarkus.entity.ImageVariant;
+import com.quarkus.imaging.Placeholder;
+import com.quarkus.repository.AlbumImageRepository;
+import com.quarkus.repository.ImageVariantRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Schedules thumbnail and responsive variant generation once an upload has been committed.
+ * Generation runs on a small bounded pool so bursts of uploads cannot starve request threads;
+ * when the queue is full the variants are skipped and clients keep getting the master image.
+ */
+@ApplicationScoped
+public class ImageVariantService {
+
+    private static final Logger LOG = Logger.getLogger(ImageVariantService.class);
+
+    private static final String VARIANT_PREFIX = "variants/";
+
+    @Inject
+    ImageVariantGenerator generator;
+
+    @Inject
+    AlbumImageRepository albumImageRepository;
+
+    @Inject
+    ImageVariantRepository imageVariantRepository;
+
+    @Inject
+    Event<PresignedUrlCache.Evict> presignedUrlEvict;
+
+    @ConfigProperty(name = "app.images.variants.widths", defaultValue = "64,256,1024")
+    List<Integer> widths;
+
+    @ConfigProperty(name = "app.images.variants.workers", defaultValue = "2")
+    int workers;
+
+    @ConfigProperty(name = "app.images.variants.queue-capacity", defaultValue = "100")
+    int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+            workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    void onImageUploaded(@Observes(during = TransactionPhase.AFTER_SUCCESS) ImageService.ImageUploaded event) {
+        try {
+            executor.execute(() -> generator.generate(event.imageId(), event.objectKey(), event.contentType()));
+        } catch (RejectedExecutionException e) {
+            LOG.warnf("Variant queue full, skipping variants of image %d", event.imageId());
+        }
+    }
+
+    /**
+     * @return Configured variant widths in pixels, smallest first
+     */
+    public List<Integer> widths() {
+        return widths.stream().sorted().toList();
+    }
+
+    /**
+     * Derive the object key of a variant from the key of its source object.
+     *
+     * @param sourceObjectKey Object key of the source image
+     * @param width Variant width in pixels
+     * @return Variant object key, e.g. {@code variants/256/sha256/ab/ab12...ef.jpg}
+     */
+    public String variantKey(String sourceObjectKey, int width) {
+        return VARIANT_PREFIX + width + "/" + sourceObjectKey;
+    }
+
+    /**
+     * @param sourceObjectKey Object key of the source image
+     * @return Keys of every variant that may exist for the source object
+     */
+    public List<String> variantKeys(String sourceObjectKey) {
+        return widths().stream().map(width -> variantKey(sourceObjectKey, width)).toList();
+    }
+
+    /**
+     * Record the variants of another image with the same content for this image, so
+     * deduplicated uploads do not render and store the same variants again.
+     *
+     * @param albumImageId Album image ID
+     * @param sourceObjectKey Object key of the image
+     * @return true if existing variants were found and recorded
+     */
+    @Transactional
+    public boolean recordExistingVariants(Long albumImageId, String sourceObjectKey) {
+        Map<Integer, ImageVariant> byWidth = new LinkedHashMap<>();
+        for (ImageVariant variant : imageVariantRepository.findBySourceObjectKey(sourceObjectKey)) {
+            byWidth.putIfAbsent(variant.getWidth(), variant);
+        }
+        if (byWidth.isEmpty()) {
+            return false;
+        }
+
+        List<ImageVariant> copies = new ArrayList<>();
+        for (ImageVariant variant : byWidth.values()) {
+            copies.add(new ImageVariant(null, variant.getWidth(), variant.getObjectKey(),
+                variant.getContentType(), variant.getSize()));
+        }
+        recordVariants(albumImageId, copies);
+        return true;
+    }
+
+    /**
+     * Copy the placeholder of another image with the same content, so deduplicated uploads
+     * do not decode the same bytes again.
+     *
+     * @param albumImageId Album image ID
+     * @param sourceObjectKey Object key of the image
+     * @return true if a placeholder was found and recorded
+     */
+    @Transactional
+    public boolean recordExistingPlaceholder(Long albumImageId, String sourceObjectKey) {
+        Optional<AlbumImage> source = albumImageRepository.findWithPlaceholder(sourceObjectKey);
+        if (source.isEmpty()) {
+            return false;
+        }
+        AlbumImage image = source.get();
+        recordPlaceholder(albumImageId, image.getWidth(), image.getHeight(),
+            new Placeholder(image.getBlurhash(), image.getDominantColor()));
+        return true;
+    }
+
+    /**
+     * Store the decoded dimensions and the placeholder of an image, unless it was deleted
+     * in the meantime. Decoded dimensions replace those read from the header.
+     *
+     * @param albumImageId Album image ID
+     * @param width Width in pixels
+     * @param height Height in pixels
+     * @param placeholder Placeholder computed from the decoded image
+     */
+    @Transactional
+    public void recordPlaceholder(Long albumImageId, int width, int height, Placeholder placeholder) {
+        AlbumImage albumImage = albumImageRepository.findById(albumImageId);
+        if (albumImage == null) {
+            LOG.debugf("Image %d was deleted before its placeholder was recorded", albumImageId);
+            return;
+        }
+        albumImage.setWidth(width);
+        albumImage.setHeight(height);
+        albumImage.setBlurhash(placeholder.blurhash());
+        albumImage.setDominantColor(placeholder.dominantColor());
+    }
+
+    /**
+     * Persist generated variants for an image, unless the image was deleted in the meantime,
+     * and evict the image's cached URLs once they are committed.
+     *
+     * @param albumImageId Album image ID
+     * @param variants Variants to record; their image is set here
+     */
+    @Transactional
+    public void recordVariants(Long albumImageId, Collection<ImageVariant> variants) {
+        AlbumImage albumImage = albumImageRepository.findById(albumImageId);
+        if (albumImage == null) {
+            LOG.debugf("Image %d was deleted before its variants were recorded", albumImageId);
+            return;
+        }
+        for (ImageVariant variant : variants) {
+            variant.setAlbumImage(albumImage);
+            imageVariantRepository.persist(variant);
+        }
+        // Sized URLs cached before now point to the master image
+        presignedUrlEvict.fire(new PresignedUrlCache.Evict(albumImage.getAlbum().getId(), albumImage.getHash()));
+    }
+}
@@ -0,0 +1,198 @@
+package com.quarkus.service;
+
+import com.quarkus.repository.StoredObjectRepository;
+import com.quarkus.repository.StoredObjectRepository.ReferencedKey;
+import com.quarkus.storage.ObjectInfo;
+import com.quarkus.storage.ObjectStorage;
+import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Reconciles the image bucket with the database. The bucket listing and the keys the database
+ * refers to are both read in key order and merge-joined, so memory stays constant whatever
+ * the size of either side:
+ * <ul>
+ *     <li>an object no row refers to, last modified before {@code app.minio.gc.grace-period},
+ *     is an orphan and is removed through {@link ObjectRemover} in batches;</li>
+ *     <li>a row whose object must exist but does not is counted and logged, never repaired.</li>
+ * </ul>
+ * The grace period covers uploads whose object is written before their row commits. Every
+ * batch is checked against the database again right before removal, so a key referenced
+ * while the scan ran is kept. With {@code app.minio.gc.dry-run} orphans are only counted.
+ */
+@ApplicationScoped
+public class ObjectGarbageCollector {
+
+    private static final Logger LOG = Logger.getLogger(ObjectGarbageCollector.class);
+
+    private static final int MISSING_SAMPLES = 10;
+
+    @Inject
+    ObjectStorage objectStorage;
+
+    @Inject
+    StoredObjectRepository storedObjectRepository;
+
+    @Inject
+    ObjectRemover remover;
+
+    @ConfigProperty(name = "app.minio.gc.grace-period", defaultValue = "PT24H")
+    Duration gracePeriod;
+
+    @ConfigProperty(name = "app.minio.gc.dry-run", defaultValue = "false")
+    boolean dryRun;
+
+    /**
+     * Outcome of a collection.
+     *
+     * @param objects Objects listed in the bucket
+     * @param orphans Objects found without a row and older than the grace period
+     * @param removed Orphans handed to the remover; zero on a dry run
+     * @param missing Rows whose object does not exist
+     */
+    public record Summary(long objects, long orphans, long removed, long missing) {}
+
+    /**
+     * Run one collection. The database cursor needs a transaction for the whole scan;
+     * it only reads, so it holds no locks, and removals settle in their own transactions.
+     *
+     * @return Counts of the collection
+     */
+    @Transactional
+    @TransactionConfiguration(timeout = 3600)
+    public Summary collect() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        Scan scan = new Scan();
+        // Open the cursor before listing: a row committed after it is newer than any
+        // object that could be an orphan, and the re-check before removal sees it anyway
+        try (Stream<ReferencedKey> rows = storedObjectRepository.streamReferencedKeys()) {
+            Iterator<ReferencedKey> referenced = ordered(rows.iterator(), ReferencedKey::objectKey, "database");
+            Iterator<ObjectInfo> objects = ordered(objectStorage.list(), ObjectInfo::objectKey, "bucket");
+
+            ReferencedKey row = next(referenced);
+            ObjectInfo object = next(objects);
+            while (row != null || object != null) {
+                int order = row == null ? 1 : object == null ? -1 : compare(row.objectKey(), object.objectKey());
+                if (order < 0) {
+                    if (row.required()) {
+                        scan.missing(row.objectKey());
+                    }
+                    row = next(referenced);
+                } else if (order > 0) {
+                    scan.objects++;
+                    if (object.lastModified().isBefore(cutoff)) {
+                        scan.orphan(object.objectKey());
+                    }
+                    object = next(objects);
+                } else {
+                    scan.objects++;
+                    row = next(referenced);
+                    object = next(objects);
+                }
+            }
+        }
+        scan.flush();
+
+        if (scan.missing > 0) {
+            LOG.warnf("%d referenced objects are missing from the bucket, e.g. %s", scan.missing, scan.missingSamples);
+        }
+        return new Summary(scan.objects, scan.orphans, scan.removed, scan.missing);
+    }
+
+    /**
+     * Running counts and the pending orphan batch of a collection.
+     */
+    private final class Scan {
+
+        long objects;
+        long orphans;
+        long removed;
+        long missing;
+        final List<String> missingSamples = new ArrayList<>();
+        private final List<String> batch = new ArrayList<>();
+
+        void missing(String objectKey) {
+            missing++;
+            if (missingSamples.size() < MISSING_SAMPLES) {
+                missingSamples.add(objectKey);
+            }
+        }
+
+        void orphan(String objectKey) {
+            batch.add(objectKey);
+            if (batch.size() == ObjectStorage.MAX_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            Set<String> referenced = storedObjectRepository.findReferenced(batch);
+            List<String> unreferenced = batch.stream().filter(objectKey -> !referenced.contains(objectKey)).toList();
+            batch.clear();
+            orphans += unreferenced.size();
+            if (unreferenced.isEmpty()) {
+                return;
+            }
+            if (dryRun) {
+                LOG.infof("Dry run, keeping %d orphaned objects, e.g. %s", unreferenced.size(), unreferenced.get(0));
+                return;
+            }
+            remover.remove(unreferenced);
+            removed += unreferenced.size();
+        }
+    }
+
+    /**
+     * Compare keys the way both sides are sorted: by their UTF-8 bytes, unsigned.
+     */
+    static int compare(String a, String b) {
+        return Arrays.compareUnsigned(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Guard the merge-join: out-of-order input would make referenced objects look orphaned.
+     */
+    private static <T> Iterator<T> ordered(Iterator<T> source, Function<T, String> key, String side) {
+        return new Iterator<>() {
+            private String previous;
+
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public T next() {
+                T element = source.next();
+                String current = key.apply(element);
+                if (previous != null && compare(previous, current) >= 0) {
+                    throw new IllegalStateException("Keys of the " + side + " are not in order: '" + previous + "' before '" + current + "'");
+                }
+                previous = current;
+                return element;
+            }
+        };
+    }
+
+    private static <T> T next(Iterator<T> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
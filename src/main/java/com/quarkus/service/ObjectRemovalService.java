@@ -0,0 +1,149 @@
+package com.quarkus.service;
+
+import com.quarkus.repository.ObjectRemovalFailureRepository;
+import com.quarkus.repository.StoredObjectRepository;
+import com.quarkus.storage.DiskObjectCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Removes MinIO objects that lost their last reference once the deleting transaction has
+ * committed, so a rollback never leaves rows pointing at removed objects. Removal runs on a
+ * background worker through {@link ObjectRemover}; objects that cannot be removed end up as
+ * dead letters in {@code object_removal_failures} and are retried by a scheduled job.
+ */
+@ApplicationScoped
+public class ObjectRemovalService {
+
+    private static final Logger LOG = Logger.getLogger(ObjectRemovalService.class);
+
+    @Inject
+    ObjectRemover remover;
+
+    @Inject
+    ObjectRemovalFailureRepository failureRepository;
+
+    @Inject
+    StoredObjectRepository storedObjectRepository;
+
+    @Inject
+    DiskObjectCache diskObjectCache;
+
+    @ConfigProperty(name = "app.minio.bucket")
+    String bucket;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Fired inside the transaction that dropped the last reference to the objects.
+     */
+    public record Requested(List<String> objectKeys) {}
+
+    @PostConstruct
+    void start() {
+        // One worker: removals are cheap batch requests, and ordering keeps retries simple
+        executor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "object-removal");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOG.warnf("Stopped with %d object removals pending", executor.getQueue().size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void onRequested(@Observes(during = TransactionPhase.AFTER_SUCCESS) Requested event) {
+        event.objectKeys().forEach(diskObjectCache::evict);
+        try {
+            executor.execute(() -> remover.remove(event.objectKeys()));
+        } catch (RejectedExecutionException e) {
+            LOG.warnf("Shutting down, not removing %d objects", event.objectKeys().size());
+        }
+    }
+
+    /**
+     * Record the outcome of a removal batch: clear the dead letters of removed objects and
+     * add or update those of objects that could not be removed. Commits on its own, also when
+     * the caller runs a transaction, such as the long scan of {@link ObjectGarbageCollector}.
+     *
+     * @param removed Keys of removed objects, or of objects kept because they are referenced again
+     * @param failures Error message per object that could not be removed
+     * @param attempts Attempts made for the failed objects
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void settle(Collection<String> removed, Map<String, String> failures, int attempts) {
+        failureRepository.clear(removed);
+        failures.forEach((objectKey, error) -> failureRepository.record(objectKey, bucket, attempts, error));
+    }
+
+    /**
+     * Remove objects from storage while their {@code stored_objects} rows are locked, skipping
+     * those that are referenced again, e.g. because the same content was uploaded after its
+     * last reference was dropped. An upload taking a new reference to one of the objects waits
+     * for this transaction and then stores the object again. Commits on its own, also when the
+     * caller runs a transaction, such as the long scan of {@link ObjectGarbageCollector}.
+     *
+     * @param objectKeys Keys about to be removed
+     * @param remove Removes the given keys from storage, returning an error message per key it could not remove
+     * @return Error message per object that could not be removed
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public Map<String, String> removeIfUnreferenced(List<String> objectKeys,
+                                                    Function<List<String>, Map<String, String>> remove) {
+        // Keys are locked in a fixed order, so concurrent removals cannot deadlock
+        List<String> locked = objectKeys.stream().sorted().distinct()
+            .filter(objectKey -> storedObjectRepository.lockUnreferenced(objectKey, bucket))
+            .toList();
+        Set<String> referenced = storedObjectRepository.findReferenced(locked);
+        List<String> unreferenced = objectKeys.stream()
+            .filter(objectKey -> locked.contains(objectKey) && !referenced.contains(objectKey))
+            .toList();
+        if (unreferenced.size() < objectKeys.size()) {
+            LOG.infof("Keeping %d objects referenced again", objectKeys.size() - unreferenced.size());
+        }
+
+        Map<String, String> failures = unreferenced.isEmpty() ? Map.of() : remove.apply(unreferenced);
+        storedObjectRepository.forgetUnreferenced(locked);
+        return failures;
+    }
+
+    /**
+     * @param limit Maximum number of keys to return
+     * @return Keys of dead-lettered objects, oldest failure first
+     */
+    @Transactional
+    public List<String> deadLetters(int limit) {
+        return failureRepository.findOldestKeys(limit);
+    }
+}
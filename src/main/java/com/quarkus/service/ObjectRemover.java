@@ -0,0 +1,100 @@
+package com.quarkus.service;
+
+import com.quarkus.storage.ObjectStorage;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Removes objects from MinIO with the batch delete API on a worker of {@link ObjectRemovalService}.
+ * Keys are sent in batches of at most {@link ObjectStorage#MAX_BATCH_SIZE}; the keys a batch
+ * could not remove are retried up to {@code app.minio.removal.max-attempts} times with a growing
+ * backoff before they are recorded as dead letters.
+ * <p>
+ * Keys are content-addressed, so the same bytes uploaded again after their last reference was
+ * dropped refer to the same object. Every attempt therefore removes the objects through
+ * {@link ObjectRemovalService#removeIfUnreferenced}, which locks their references and keeps
+ * the objects that are in use again.
+ */
+@ApplicationScoped
+public class ObjectRemover {
+
+    private static final Logger LOG = Logger.getLogger(ObjectRemover.class);
+
+    @Inject
+    ObjectStorage objectStorage;
+
+    @Inject
+    ObjectRemovalService removalService;
+
+    @ConfigProperty(name = "app.minio.removal.max-attempts", defaultValue = "3")
+    int maxAttempts;
+
+    @ConfigProperty(name = "app.minio.removal.retry-backoff", defaultValue = "PT1S")
+    Duration retryBackoff;
+
+    /**
+     * Remove objects and record the outcome of every batch.
+     * Runs with its own request context, which the Hibernate tenant resolver needs.
+     *
+     * @param objectKeys Keys of objects nothing referenced when their last reference was dropped
+     */
+    @ActivateRequestContext
+    public void remove(List<String> objectKeys) {
+        List<String> distinct = objectKeys.stream().distinct().toList();
+        for (int from = 0; from < distinct.size(); from += ObjectStorage.MAX_BATCH_SIZE) {
+            List<String> batch = distinct.subList(from, Math.min(from + ObjectStorage.MAX_BATCH_SIZE, distinct.size()));
+            Map<String, String> failures = removeWithRetries(batch);
+            List<String> removed = batch.stream().filter(objectKey -> !failures.containsKey(objectKey)).toList();
+            try {
+                removalService.settle(removed, failures, maxAttempts);
+            } catch (RuntimeException e) {
+                LOG.errorf(e, "Failed to record removal of %d objects", batch.size());
+            }
+            if (failures.isEmpty()) {
+                LOG.debugf("Removed %d objects", batch.size());
+            } else {
+                LOG.warnf("Could not remove %d of %d objects, recorded as dead letters", failures.size(), batch.size());
+            }
+        }
+    }
+
+    /**
+     * @return Error message per object still not removed after the last attempt
+     */
+    private Map<String, String> removeWithRetries(List<String> batch) {
+        List<String> remaining = batch;
+        Map<String, String> failures = Map.of();
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                failures = removalService.removeIfUnreferenced(remaining,
+                    objectKeys -> objectStorage.removeBatch(objectKeys).await().indefinitely());
+            } catch (RuntimeException e) {
+                // The reference check or the whole request failed, e.g. MinIO or the database is unreachable
+                String error = String.valueOf(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                Map<String, String> all = new LinkedHashMap<>();
+                remaining.forEach(objectKey -> all.put(objectKey, error));
+                failures = all;
+            }
+            if (failures.isEmpty() || attempt == maxAttempts) {
+                return failures;
+            }
+            remaining = List.copyOf(failures.keySet());
+            try {
+                Thread.sleep(retryBackoff.multipliedBy(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return failures;
+            }
+        }
+        return failures;
+    }
+}
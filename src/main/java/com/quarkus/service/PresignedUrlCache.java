@@ -0,0 +1,85 @@
+package com.quarkus.service;
+
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheException;
+import io.quarkus.cache.CacheName;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of presigned image URLs, keyed by album, image hash and requested width.
+ * Entries live for {@code quarkus.cache.caffeine."presigned-urls".expire-after-write}, but an
+ * entry whose URL expires within {@code app.minio.presigned-url.min-remaining} is signed again,
+ * so a handed out URL stays valid for at least that long whatever the two expiries are set to.
+ * Entries are evicted once a deletion or new variants of an image have been committed.
+ */
+@ApplicationScoped
+public class PresignedUrlCache {
+
+    @Inject
+    @CacheName("presigned-urls")
+    Cache cache;
+
+    @ConfigProperty(name = "app.minio.presigned-url.min-remaining", defaultValue = "PT5M")
+    Duration minRemaining;
+
+    /**
+     * Fired inside the transaction that changes what the URLs of an image point to.
+     * A null hash evicts every image of the album.
+     */
+    public record Evict(Long albumId, String hash) {}
+
+    private record Key(Long albumId, String hash, Integer width) {}
+
+    /**
+     * Return the cached URL of an image, or sign one and cache it. A cached URL expiring
+     * within the minimum remaining lifetime is replaced by a newly signed one.
+     * Failures of the signer are rethrown as is and nothing is cached.
+     *
+     * @param albumId Album ID
+     * @param hash Image hash
+     * @param width Requested width, or null for the master image
+     * @param signer Looks the image up and signs a new URL
+     * @return Presigned URL
+     */
+    public ImageService.PresignedUrl get(Long albumId, String hash, Integer width,
+                                         Supplier<ImageService.PresignedUrl> signer) {
+        Key key = new Key(albumId, hash, width);
+        ImageService.PresignedUrl url = load(key, signer);
+        if (url.expiresAt().isBefore(Instant.now().plus(minRemaining))) {
+            cache.invalidate(key).await().indefinitely();
+            url = load(key, signer);
+        }
+        return url;
+    }
+
+    private ImageService.PresignedUrl load(Key key, Supplier<ImageService.PresignedUrl> signer) {
+        try {
+            return cache.<Key, ImageService.PresignedUrl>get(key, ignored -> signer.get())
+                .await()
+                .indefinitely();
+        } catch (CompletionException | CacheException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    void onEvict(@Observes(during = TransactionPhase.AFTER_SUCCESS) Evict event) {
+        cache.invalidateIf(key -> key instanceof Key cached
+                && cached.albumId().equals(event.albumId())
+                && (event.hash() == null || Objects.equals(cached.hash(), event.hash())))
+            .await()
+            .indefinitely();
+    }
+}
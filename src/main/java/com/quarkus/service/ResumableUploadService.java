@@ -0,0 +1,405 @@
+package com.quarkus.service;
+
+import com.quarkus.entity.UploadSession;
+import com.quarkus.entity.UploadSessionPart;
+import com.quarkus.storage.ObjectNotFoundException;
+import com.quarkus.storage.ObjectStorage;
+import com.quarkus.storage.SizeLimitedInputStream;
+import com.quarkus.storage.SizeLimitedInputStream.SizeLimitExceededException;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.InternalServerErrorException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.ServiceUnavailableException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resumable uploads in the style of the tus protocol: a client creates an upload session
+ * for an image of known length, appends its bytes in as many requests as it needs, each at
+ * the offset the session has reached, and asks for that offset after an interruption to
+ * continue where it stopped.
+ * <p>
+ * The bytes go to a storage multipart upload as they arrive. Appended chunks are cut into
+ * parts of {@code app.minio.multipart.part-size} bytes; bytes that do not fill a whole part
+ * are kept in a pending object and prepended to the next chunk, since every part but the
+ * last must have a minimum size. The session, with the parts uploaded so far, lives in the
+ * database, so any instance can serve the next chunk. A lease on the session keeps
+ * concurrent requests from appending to the same upload.
+ * <p>
+ * Once the last byte has arrived the multipart upload is completed and the object imported
+ * through {@link ImageService#importUpload}, which validates, deduplicates and records it
+ * like any other upload. Sessions expire {@code app.images.resumable.expire-after} after
+ * they were created; {@link #reapExpired} discards them together with their storage.
+ */
+@ApplicationScoped
+public class ResumableUploadService {
+
+    private static final Logger LOG = Logger.getLogger(ResumableUploadService.class);
+
+    private static final String OBJECT_PREFIX = "tmp/resumable/";
+
+    private static final String PENDING_SUFFIX = ".pending";
+
+    @Inject
+    ObjectStorage objectStorage;
+
+    @Inject
+    UploadSessionTransactions sessions;
+
+    @Inject
+    ImageService imageService;
+
+    @Inject
+    ImageUploadTransactions uploadTransactions;
+
+    @Inject
+    UploadAdmission uploadAdmission;
+
+    @Inject
+    StorageUsageService storageUsageService;
+
+    @ConfigProperty(name = "app.minio.multipart.part-size", defaultValue = "8388608")
+    long partSize;
+
+    @ConfigProperty(name = "app.images.resumable.expire-after", defaultValue = "PT12H")
+    Duration expireAfter;
+
+    @ConfigProperty(name = "app.images.resumable.lease", defaultValue = "PT10M")
+    Duration lease;
+
+    /**
+     * Progress of an upload session.
+     *
+     * @param id Session ID
+     * @param offset Bytes received so far
+     * @param length Total length of the upload
+     * @param expiresAt Instant the session expires
+     * @param imageHash Hash of the recorded image once the upload is complete, null before
+     */
+    public record UploadStatus(String id, long offset, long length, LocalDateTime expiresAt, String imageHash) {
+
+        static UploadStatus of(UploadSession session) {
+            return new UploadStatus(session.getId(), session.getUploadOffset(), session.getUploadLength(),
+                session.getExpiresAt(), session.getImageHash());
+        }
+    }
+
+    /**
+     * Create an upload session and the multipart upload behind it.
+     *
+     * @param albumId Album ID
+     * @param filename Original filename, may be null when the extension follows the content type
+     * @param contentType MIME type of the image
+     * @param length Total length of the upload in bytes
+     * @return Status of the new session, at offset 0
+     * @throws NotFoundException if album not found
+     * @throws BadRequestException if the content type is not allowed or the length exceeds the limit
+     * @throws ClientErrorException with 413 if the length does not fit in the album's storage quota
+     */
+    public UploadStatus create(Long albumId, String filename, String contentType, long length) {
+        uploadTransactions.requireAlbum(albumId);
+        imageService.validateContentType(contentType);
+        imageService.validateFileSize(length);
+        storageUsageService.checkQuota(albumId, length);
+
+        String id = UUID.randomUUID().toString();
+        String objectKey = OBJECT_PREFIX + id;
+        String uploadId = await(objectStorage.createMultipartUpload(objectKey, contentType));
+
+        UploadSession session = new UploadSession();
+        session.setId(id);
+        session.setAlbumId(albumId);
+        session.setFilename(filename);
+        session.setContentType(contentType);
+        session.setUploadLength(length);
+        session.setUploadOffset(0L);
+        session.setObjectKey(objectKey);
+        session.setStorageUploadId(uploadId);
+        session.setCreatedAt(LocalDateTime.now());
+        session.setExpiresAt(session.getCreatedAt().plus(expireAfter));
+        try {
+            sessions.create(session);
+        } catch (RuntimeException e) {
+            abortQuietly(objectKey, uploadId);
+            throw e;
+        }
+        LOG.debugf("Created resumable upload %s of %d bytes for album %d", id, length, albumId);
+        return UploadStatus.of(session);
+    }
+
+    /**
+     * @param albumId Album ID
+     * @param id Session ID
+     * @return Status of the session
+     * @throws NotFoundException if there is no such session or it expired
+     */
+    public UploadStatus status(Long albumId, String id) {
+        return UploadStatus.of(sessions.find(albumId, id));
+    }
+
+    /**
+     * Append a chunk at the offset the session has reached. Whole parts are recorded as soon
+     * as storage has them, so when the chunk breaks off midway the bytes up to the last whole
+     * part are kept and the client resumes from there. The chunk that completes the upload
+     * imports it as an image. When that fails on the server side, the session stays at its
+     * full length, and an empty chunk at that offset retries the import.
+     *
+     * @param albumId Album ID
+     * @param id Session ID
+     * @param offset Offset the chunk starts at, which must be the one of the session
+     * @param chunk Chunk bytes
+     * @param size Chunk size in bytes, or -1 if unknown
+     * @return Status of the session after the chunk
+     * @throws NotFoundException if there is no such session or it expired
+     * @throws ClientErrorException with 409 if the offset does not match, or 423 while another request appends
+     * @throws BadRequestException if the chunk runs past the length of the upload or the
+     *         content is not of the declared type
+     * @throws ServiceUnavailableException with {@code Retry-After} if upload capacity is exhausted
+     */
+    public UploadStatus append(Long albumId, String id, long offset, InputStream chunk, long size) {
+        UploadSession session = sessions.claim(albumId, id, offset, LocalDateTime.now().plus(lease));
+        try {
+            long remaining = session.getUploadLength() - offset;
+            if (size > remaining) {
+                throw exceedsLength(session);
+            }
+            try (UploadAdmission.Permit permit = uploadAdmission.acquire(size >= 0 ? size : remaining)) {
+                boolean retry = offset == session.getUploadLength();
+                write(session, chunk);
+                if (session.getUploadOffset().equals(session.getUploadLength())) {
+                    finish(session, retry);
+                }
+            }
+            return UploadStatus.of(session);
+        } finally {
+            if (session.getImageHash() == null) {
+                sessions.release(id);
+            }
+        }
+    }
+
+    /**
+     * Discard an upload session and what it has stored.
+     *
+     * @param albumId Album ID
+     * @param id Session ID
+     * @throws NotFoundException if there is no such session or it expired
+     * @throws ClientErrorException with 423 while another request appends
+     */
+    public void terminate(Long albumId, String id) {
+        UploadSession session = sessions.find(albumId, id);
+        if (session.getImageHash() == null) {
+            // A completed upload already is an image; only the session is left to remove
+            session = sessions.claim(albumId, id, session.getUploadOffset(), LocalDateTime.now().plus(lease));
+            discard(session);
+        }
+        sessions.delete(List.of(id));
+        LOG.debugf("Terminated resumable upload %s", id);
+    }
+
+    /**
+     * Discard expired sessions and their storage, skipping sessions a request is appending to.
+     *
+     * @param now Current time
+     * @param limit Maximum number of sessions to reap
+     * @return Number of sessions reaped
+     */
+    public int reapExpired(LocalDateTime now, int limit) {
+        List<UploadSession> expired = sessions.findExpired(now, limit);
+        List<String> ids = new ArrayList<>(expired.size());
+        for (UploadSession session : expired) {
+            if (session.getImageHash() == null) {
+                discard(session);
+            }
+            ids.add(session.getId());
+        }
+        sessions.delete(ids);
+        return ids.size();
+    }
+
+    /**
+     * Cut the pending bytes and the chunk into parts; whatever does not fill the last part
+     * becomes the new pending object, unless it ends the upload.
+     */
+    private void write(UploadSession session, InputStream chunk) {
+        int size = (int) Math.max(partSize, ObjectStorage.MIN_PART_SIZE);
+        long partStart = session.getParts().stream().mapToLong(UploadSessionPart::getSize).sum();
+        long pending = session.getUploadOffset() - partStart;
+        long remaining = session.getUploadLength() - session.getUploadOffset();
+
+        InputStream body = new SizeLimitedInputStream(chunk, remaining);
+        if (session.getUploadOffset() == 0) {
+            // The first bytes must be those of the declared format before any byte is stored
+            body = imageService.requireFormat(body, imageService.validateContentType(session.getContentType()));
+        }
+        try (InputStream in = pending > 0 ? new SequenceInputStream(readPending(session, pending), body) : body) {
+            int partNumber = session.getParts().size() + 1;
+            while (true) {
+                byte[] data = in.readNBytes(size);
+                long end = partStart + data.length;
+                if (data.length < size && end < session.getUploadLength()) {
+                    // The chunk ended inside a part: keep its bytes until the next chunk fills it
+                    if (end > session.getUploadOffset()) {
+                        await(objectStorage.put(pendingKey(session), data, session.getContentType()));
+                        sessions.recordOffset(session.getId(), end);
+                        session.setUploadOffset(end);
+                    }
+                    return;
+                }
+                if (data.length == 0) {
+                    return;
+                }
+                String etag = await(objectStorage.uploadPart(session.getObjectKey(), session.getStorageUploadId(),
+                    partNumber, data));
+                UploadSessionPart part = new UploadSessionPart(partNumber, etag, (long) data.length);
+                sessions.recordPart(session.getId(), part, end, LocalDateTime.now().plus(lease));
+                session.getParts().add(part);
+                session.setUploadOffset(end);
+                partStart = end;
+                partNumber++;
+                if (end == session.getUploadLength()) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            if (isSizeLimitExceeded(e)) {
+                throw exceedsLength(session);
+            }
+            // The client went away; the parts stored so far stay recorded
+            LOG.debugf("Resumable upload %s interrupted at offset %d: %s", session.getId(),
+                session.getUploadOffset(), e.getMessage());
+            throw new BadRequestException("Failed to read upload chunk", e);
+        }
+    }
+
+    /**
+     * Complete the multipart upload, unless an earlier attempt did, and record the image.
+     * A rejection of the upload itself, such as content that is not of the declared type or
+     * does not fit in the album's quota, ends the session; after any other failure the
+     * assembled object and the session are kept for a retry.
+     */
+    private void finish(UploadSession session, boolean retry) {
+        if (!retry || !assembled(session)) {
+            List<ObjectStorage.Part> parts = session.getParts().stream()
+                .map(part -> new ObjectStorage.Part(part.getPartNumber(), part.getEtag()))
+                .toList();
+            await(objectStorage.completeMultipartUpload(session.getObjectKey(), session.getStorageUploadId(), parts));
+            removeQuietly(pendingKey(session));
+        }
+
+        String hash;
+        try {
+            hash = imageService.importUpload(session.getAlbumId(), session.getFilename(), session.getObjectKey(),
+                session.getContentType());
+        } catch (ClientErrorException e) {
+            removeQuietly(session.getObjectKey());
+            sessions.delete(List.of(session.getId()));
+            throw e;
+        }
+        sessions.complete(session.getId(), hash);
+        session.setImageHash(hash);
+        LOG.infof("Resumable upload %s completed as image %s", session.getId(), hash);
+    }
+
+    /**
+     * @return true if the multipart upload has been completed, which creates its object
+     */
+    private boolean assembled(UploadSession session) {
+        try {
+            objectStorage.stat(session.getObjectKey()).await().indefinitely();
+            return true;
+        } catch (ObjectNotFoundException e) {
+            return false;
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Failed to check assembled upload %s", session.getId());
+            throw new InternalServerErrorException("Failed to store upload", e);
+        }
+    }
+
+    /**
+     * Read the bytes kept from earlier chunks; less than a part, so they fit in memory.
+     */
+    private InputStream readPending(UploadSession session, long pending) {
+        byte[] data;
+        try (InputStream in = await(objectStorage.get(pendingKey(session)))) {
+            data = in.readNBytes((int) pending);
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Failed to read pending bytes of upload " + session.getId(), e);
+        }
+        if (data.length < pending) {
+            throw new InternalServerErrorException("Pending bytes of upload " + session.getId() + " are incomplete");
+        }
+        return new ByteArrayInputStream(data);
+    }
+
+    /**
+     * Remove the multipart upload and the pending object of an unfinished session, and the
+     * object it assembled if recording the image failed.
+     */
+    private void discard(UploadSession session) {
+        abortQuietly(session.getObjectKey(), session.getStorageUploadId());
+        removeQuietly(pendingKey(session));
+        if (session.getUploadOffset().equals(session.getUploadLength())) {
+            removeQuietly(session.getObjectKey());
+        }
+    }
+
+    private void abortQuietly(String objectKey, String uploadId) {
+        try {
+            objectStorage.abortMultipartUpload(objectKey, uploadId).await().indefinitely();
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to abort multipart upload %s of %s", uploadId, objectKey);
+        }
+    }
+
+    private void removeQuietly(String objectKey) {
+        try {
+            objectStorage.remove(objectKey).await().indefinitely();
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to remove object: %s", objectKey);
+        }
+    }
+
+    private static String pendingKey(UploadSession session) {
+        return session.getObjectKey() + PENDING_SUFFIX;
+    }
+
+    private static BadRequestException exceedsLength(UploadSession session) {
+        return new BadRequestException("Chunk exceeds the Upload-Length of " + session.getUploadLength() + " bytes");
+    }
+
+    private static boolean isSizeLimitExceeded(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SizeLimitExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wait for a storage operation, turning a failure into a server error.
+     */
+    private static <T> T await(Uni<T> operation) {
+        try {
+            return operation.await().indefinitely();
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Storage operation of a resumable upload failed");
+            throw new InternalServerErrorException("Failed to store upload", e);
+        }
+    }
+}
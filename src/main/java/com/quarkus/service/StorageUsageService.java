@@ -0,0 +1,159 @@
+package com.quarkus.service;
+
+import com.quarkus.dto.response.AlbumStorageUsageResponse;
+import com.quarkus.dto.response.BucketUsageResponse;
+import com.quarkus.entity.AlbumStorageUsage;
+import com.quarkus.persistence.ReadOnly;
+import com.quarkus.repository.AlbumRepository;
+import com.quarkus.repository.AlbumStorageUsageRepository;
+import com.quarkus.repository.StoredObjectRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage usage of albums and buckets, read from counters maintained as images are recorded
+ * and deleted rather than summed over all images. Albums count the size of each of their
+ * ready images; buckets count each stored object once, however many images share it.
+ * <p>
+ * Albums may be given a quota, falling back to {@code app.images.quota.album-max-bytes}.
+ * Uploads of a declared size are checked against it before their bytes are read, and every
+ * image is checked again when it is recorded, which is what keeps albums within their quota.
+ */
+@ApplicationScoped
+public class StorageUsageService {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Inject
+    AlbumStorageUsageRepository albumUsageRepository;
+
+    @Inject
+    AlbumRepository albumRepository;
+
+    @Inject
+    StoredObjectRepository storedObjectRepository;
+
+    @ConfigProperty(name = "app.images.quota.album-max-bytes")
+    Optional<Long> albumMaxBytes;
+
+    /**
+     * Count a recorded image against its album. Must run inside the transaction recording the
+     * image, so the counter is committed or rolled back together with it.
+     *
+     * @param albumId Album ID
+     * @param size Image size in bytes
+     * @throws ClientErrorException with 413 if the image does not fit in the album's quota
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void addImage(Long albumId, long size) {
+        if (!albumUsageRepository.addImage(albumId, size, albumMaxBytes.orElse(Long.MAX_VALUE))) {
+            throw quotaExceeded(albumId);
+        }
+    }
+
+    /**
+     * Stop counting a deleted image against its album. Must run inside the transaction
+     * deleting the image.
+     *
+     * @param albumId Album ID
+     * @param size Image size in bytes
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void removeImage(Long albumId, long size) {
+        albumUsageRepository.removeImage(albumId, size);
+    }
+
+    /**
+     * Reject an upload of a known size that would take its album over its quota, before any
+     * byte is transferred. Concurrent uploads may still pass together; recording the image
+     * checks again.
+     *
+     * @param albumId Album ID
+     * @param size Declared upload size in bytes
+     * @throws ClientErrorException with 413 if the upload does not fit in the album's quota
+     */
+    @ReadOnly
+    public void checkQuota(Long albumId, long size) {
+        Optional<AlbumStorageUsage> usage = albumUsageRepository.findByIdOptional(albumId);
+        Long quota = usage.map(AlbumStorageUsage::getQuotaBytes).or(() -> albumMaxBytes).orElse(null);
+        long bytes = usage.map(AlbumStorageUsage::getBytes).orElse(0L);
+        if (quota != null && size > quota - bytes) {
+            throw quotaExceeded(albumId);
+        }
+    }
+
+    /**
+     * @param albumId Album ID
+     * @return Storage usage of the album
+     * @throws NotFoundException if album not found
+     */
+    @ReadOnly
+    public AlbumStorageUsageResponse getAlbumUsage(Long albumId) {
+        if (albumRepository.findByIdOptional(albumId).isEmpty()) {
+            throw new NotFoundException("Album not found with id: " + albumId);
+        }
+        return albumUsageRepository.findByIdOptional(albumId)
+            .map(this::toResponse)
+            .orElseGet(() -> new AlbumStorageUsageResponse(albumId, 0, 0, albumMaxBytes.orElse(null)));
+    }
+
+    /**
+     * @param limit Maximum number of albums to return (max 100)
+     * @return Storage usage of the albums taking the most bytes, largest first
+     */
+    @ReadOnly
+    public List<AlbumStorageUsageResponse> listLargestAlbums(int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            limit = MAX_LIMIT;
+        }
+        return albumUsageRepository.findLargest(limit).stream()
+            .map(this::toResponse)
+            .toList();
+    }
+
+    /**
+     * Set the quota of an album. Images already stored are kept when it drops below their
+     * size; further uploads are rejected until the album fits again.
+     *
+     * @param albumId Album ID
+     * @param quotaBytes Maximum bytes the album may take, or null to fall back to the default quota
+     * @return Storage usage of the album with its new quota
+     * @throws NotFoundException if album not found
+     */
+    @Transactional
+    public AlbumStorageUsageResponse setQuota(Long albumId, Long quotaBytes) {
+        if (albumRepository.findByIdOptional(albumId).isEmpty()) {
+            throw new NotFoundException("Album not found with id: " + albumId);
+        }
+        AlbumStorageUsage usage = albumUsageRepository.findOrCreateForUpdate(albumId);
+        usage.setQuotaBytes(quotaBytes);
+        return toResponse(usage);
+    }
+
+    /**
+     * @return Storage usage of each bucket holding image objects
+     */
+    @ReadOnly
+    public List<BucketUsageResponse> getBucketUsage() {
+        return storedObjectRepository.usageByBucket().stream()
+            .map(usage -> BucketUsageResponse.of(usage.bucket(), usage.objectCount(), usage.bytes()))
+            .toList();
+    }
+
+    private AlbumStorageUsageResponse toResponse(AlbumStorageUsage usage) {
+        Long quota = usage.getQuotaBytes() != null ? usage.getQuotaBytes() : albumMaxBytes.orElse(null);
+        return AlbumStorageUsageResponse.from(usage, quota);
+    }
+
+    private ClientErrorException quotaExceeded(Long albumId) {
+        return new ClientErrorException("Storage quota exceeded for album: " + albumId, Response.Status.REQUEST_ENTITY_TOO_LARGE);
+    }
+}
@@ -0,0 +1,185 @@
+package com.quarkus.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ServiceUnavailableException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control for uploads streamed through the application to storage. At most
+ * {@code app.images.upload.max-concurrent} uploads and {@code max-in-flight-bytes} bytes are
+ * transferred at once; further uploads wait in a FIFO queue of {@code max-queued} entries for
+ * up to {@code max-wait}, and are rejected with {@code 503} and a {@code Retry-After} header
+ * when the queue is full or the wait runs out. A burst of uploads therefore degrades into
+ * queueing and fast rejections instead of piling requests up on a slow storage backend.
+ * <p>
+ * Uploads of unknown size reserve {@code app.minio.max-file-size} bytes, the most they can
+ * transfer; no upload reserves more than the whole budget, so a single one always fits.
+ * Queue depth, active uploads, reserved bytes, admission wait and rejections are exported
+ * as metrics.
+ */
+@ApplicationScoped
+public class UploadAdmission {
+
+    private static final Logger LOG = Logger.getLogger(UploadAdmission.class);
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "app.images.upload.max-concurrent", defaultValue = "16")
+    int maxConcurrent;
+
+    @ConfigProperty(name = "app.images.upload.max-in-flight-bytes", defaultValue = "268435456")
+    long maxInFlightBytes;
+
+    @ConfigProperty(name = "app.images.upload.max-queued", defaultValue = "64")
+    int maxQueued;
+
+    @ConfigProperty(name = "app.images.upload.max-wait", defaultValue = "PT10S")
+    Duration maxWait;
+
+    @ConfigProperty(name = "app.images.upload.retry-after", defaultValue = "PT5S")
+    Duration retryAfter;
+
+    @ConfigProperty(name = "app.minio.max-file-size")
+    long maxFileSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition released = lock.newCondition();
+
+    /** Waiting uploads in arrival order; only the head may be admitted. */
+    private final ArrayDeque<Object> queue = new ArrayDeque<>();
+
+    private int active;
+
+    private long inFlightBytes;
+
+    private Timer waits;
+
+    private Counter rejections;
+
+    @PostConstruct
+    void init() {
+        meterRegistry.gauge("images.uploads.queued", this, admission -> admission.read(() -> admission.queue.size()));
+        meterRegistry.gauge("images.uploads.active", this, admission -> admission.read(() -> admission.active));
+        meterRegistry.gauge("images.uploads.in-flight-bytes", this, admission -> admission.read(() -> admission.inFlightBytes));
+        waits = meterRegistry.timer("images.uploads.admission-wait");
+        rejections = meterRegistry.counter("images.uploads.rejected");
+    }
+
+    /**
+     * Wait until an upload may transfer its bytes; the caller closes the permit once done.
+     * The calling (virtual) thread blocks while the upload is queued.
+     *
+     * @param size Upload size in bytes, or -1 if unknown
+     * @return Permit to close when the transfer has finished
+     * @throws ServiceUnavailableException with {@code Retry-After} if the queue is full or the
+     *         upload was not admitted within {@code max-wait}
+     */
+    public Permit acquire(long size) {
+        long bytes = Math.min(size >= 0 ? size : maxFileSize, maxInFlightBytes);
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            if (queue.isEmpty() && fits(bytes)) {
+                return admit(bytes, start);
+            }
+            if (queue.size() >= maxQueued) {
+                throw reject("queue full");
+            }
+            Object ticket = new Object();
+            queue.addLast(ticket);
+            try {
+                long remaining = maxWait.toNanos();
+                while (queue.peekFirst() != ticket || !fits(bytes)) {
+                    if (remaining <= 0) {
+                        throw reject("timed out after " + maxWait);
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject("interrupted");
+            } finally {
+                queue.remove(ticket);
+                // The next upload in line may fit now
+                released.signalAll();
+            }
+            return admit(bytes, start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean fits(long bytes) {
+        return active < maxConcurrent && inFlightBytes + bytes <= maxInFlightBytes;
+    }
+
+    private Permit admit(long bytes, long start) {
+        active++;
+        inFlightBytes += bytes;
+        waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new Permit(bytes);
+    }
+
+    private ServiceUnavailableException reject(String reason) {
+        rejections.increment();
+        LOG.debugf("Rejected upload: %s (%d active, %d queued, %d bytes in flight)", reason, active, queue.size(), inFlightBytes);
+        return new ServiceUnavailableException("Upload capacity exhausted, retry later", Math.max(1, retryAfter.toSeconds()));
+    }
+
+    private void release(long bytes) {
+        lock.lock();
+        try {
+            active--;
+            inFlightBytes -= bytes;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double read(LongSupplier value) {
+        lock.lock();
+        try {
+            return value.getAsLong();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Admission of one upload; closing it more than once has no further effect.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final long bytes;
+
+        private boolean closed;
+
+        private Permit(long bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.quarkus.service;
+
+import com.quarkus.entity.UploadSession;
+import com.quarkus.entity.UploadSessionPart;
+import com.quarkus.repository.UploadSessionRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The short transactions around a resumable upload in {@link ResumableUploadService}. Chunks
+ * are streamed to storage between these calls, so no transaction (and no JDBC connection) is
+ * held while bytes arrive.
+ */
+@ApplicationScoped
+public class UploadSessionTransactions {
+
+    /**
+     * Status of a request to a session another request is appending to.
+     */
+    static final int LOCKED = 423;
+
+    @Inject
+    UploadSessionRepository uploadSessionRepository;
+
+    /**
+     * @param session New session
+     */
+    @Transactional
+    public void create(UploadSession session) {
+        uploadSessionRepository.persist(session);
+    }
+
+    /**
+     * @param albumId Album ID
+     * @param id Session ID
+     * @return Unexpired session of the album
+     * @throws NotFoundException if there is no such session or it expired
+     */
+    @Transactional
+    public UploadSession find(Long albumId, String id) {
+        return uploadSessionRepository.findByIdOptional(id)
+            .filter(session -> session.getAlbumId().equals(albumId))
+            .filter(session -> session.getExpiresAt().isAfter(LocalDateTime.now()))
+            .orElseThrow(() -> new NotFoundException("Upload not found: " + id));
+    }
+
+    /**
+     * Take the lease of a session to append bytes at the given offset. Failed checks roll
+     * back the lease with the transaction.
+     *
+     * @param albumId Album ID
+     * @param id Session ID
+     * @param offset Offset the client appends at
+     * @param leaseUntil End of the lease
+     * @return Leased session
+     * @throws NotFoundException if there is no such session or it expired
+     * @throws ClientErrorException with 423 if another request is appending, or 409 if the
+     *         offset is not the one of the session or the upload is complete
+     */
+    @Transactional
+    public UploadSession claim(Long albumId, String id, long offset, LocalDateTime leaseUntil) {
+        boolean claimed = uploadSessionRepository.claim(id, LocalDateTime.now(), leaseUntil);
+        UploadSession session = find(albumId, id);
+        if (!claimed) {
+            throw new ClientErrorException("Upload is in progress in another request: " + id, LOCKED);
+        }
+        if (session.getImageHash() != null) {
+            throw new ClientErrorException("Upload is already complete: " + id, Response.Status.CONFLICT);
+        }
+        if (session.getUploadOffset() != offset) {
+            throw new ClientErrorException("Upload-Offset " + offset + " does not match the offset "
+                + session.getUploadOffset() + " of upload " + id, Response.Status.CONFLICT);
+        }
+        return session;
+    }
+
+    /**
+     * Record a part uploaded to storage and extend the lease, so a slow chunk keeps it.
+     *
+     * @param id Session ID
+     * @param part Uploaded part
+     * @param offset Offset of the session after the part
+     * @param leaseUntil New end of the lease
+     */
+    @Transactional
+    public void recordPart(String id, UploadSessionPart part, long offset, LocalDateTime leaseUntil) {
+        UploadSession session = uploadSessionRepository.findById(id);
+        session.getParts().add(part);
+        session.setUploadOffset(offset);
+        session.setLeaseUntil(leaseUntil);
+    }
+
+    /**
+     * Record bytes kept in the pending object.
+     *
+     * @param id Session ID
+     * @param offset Offset of the session including the pending bytes
+     */
+    @Transactional
+    public void recordOffset(String id, long offset) {
+        uploadSessionRepository.findById(id).setUploadOffset(offset);
+    }
+
+    /**
+     * Record the image the upload became and release the lease.
+     *
+     * @param id Session ID
+     * @param imageHash Hash of the recorded image
+     */
+    @Transactional
+    public void complete(String id, String imageHash) {
+        UploadSession session = uploadSessionRepository.findById(id);
+        session.setImageHash(imageHash);
+        session.setUploadOffset(session.getUploadLength());
+        session.setLeaseUntil(null);
+    }
+
+    /**
+     * @param id Session ID
+     */
+    @Transactional
+    public void release(String id) {
+        uploadSessionRepository.release(id);
+    }
+
+    /**
+     * @param now Current time
+     * @param limit Maximum number of sessions to return
+     * @return Expired sessions no request is appending to
+     */
+    @Transactional
+    public List<UploadSession> findExpired(LocalDateTime now, int limit) {
+        return uploadSessionRepository.findExpired(now, limit);
+    }
+
+    /**
+     * @param ids Session IDs
+     */
+    @Transactional
+    public void delete(Collection<String> ids) {
+        uploadSessionRepository.deleteByIds(ids);
+    }
+}
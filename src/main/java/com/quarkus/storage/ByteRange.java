@@ -0,0 +1,91 @@
+package com.quarkus.storage;
+
+import java.util.Optional;
+
+/**
+ * A single satisfiable byte range of an object, parsed from an HTTP {@code Range} header.
+ *
+ * @param start First byte, inclusive
+ * @param end Last byte, inclusive
+ */
+public record ByteRange(long start, long end) {
+
+    private static final String UNIT = "bytes=";
+
+    /**
+     * @param size Object size in bytes
+     * @return Range covering the whole object
+     */
+    public static ByteRange full(long size) {
+        return new ByteRange(0, size - 1);
+    }
+
+    /**
+     * Parse a {@code Range} header against the size of an object.
+     * Only single ranges are supported; a missing or malformed header and multiple ranges
+     * are ignored, so the whole object is served as allowed by RFC 9110.
+     *
+     * @param header Value of the Range header, may be null
+     * @param size Object size in bytes
+     * @return The requested range, clamped to the object, or empty to serve the whole object
+     * @throws NotSatisfiableException if the range lies entirely outside the object
+     */
+    public static Optional<ByteRange> parse(String header, long size) {
+        if (header == null || !header.startsWith(UNIT) || header.indexOf(',') >= 0) {
+            return Optional.empty();
+        }
+        String spec = header.substring(UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return Optional.empty();
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    throw new NotSatisfiableException();
+                }
+                return Optional.of(new ByteRange(Math.max(0, size - suffix), size - 1));
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return Optional.empty();
+            }
+            if (start >= size) {
+                throw new NotSatisfiableException();
+            }
+            return Optional.of(new ByteRange(start, Math.min(end, size - 1)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return Number of bytes in the range
+     */
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * @param size Object size in bytes
+     * @return Value of the Content-Range header for this range
+     */
+    public String contentRange(long size) {
+        return "bytes " + start + "-" + end + "/" + size;
+    }
+
+    /**
+     * The requested range does not overlap the object; answered with 416.
+     */
+    public static class NotSatisfiableException extends RuntimeException {
+
+        public NotSatisfiableException() {
+            super("Requested range not satisfiable");
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.quarkus.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded local disk copy of recently served objects, so hot images are sent from a
+ * local file (with sendfile) instead of being fetched from MinIO on every request.
+ * Files are evicted least recently used first once {@code app.images.disk-cache.max-bytes}
+ * is exceeded; objects above {@code max-object-bytes} are never cached so a single large
+ * object cannot flush the cache. Objects are immutable per key, so entries never go stale.
+ * <p>
+ * The index lives in memory only; files left over from a previous run are deleted on startup.
+ */
+@ApplicationScoped
+public class DiskObjectCache {
+
+    private static final Logger LOG = Logger.getLogger(DiskObjectCache.class);
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "app.images.disk-cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.images.disk-cache.directory", defaultValue = "${java.io.tmpdir}/album-image-cache")
+    String directory;
+
+    @ConfigProperty(name = "app.images.disk-cache.max-bytes", defaultValue = "1073741824")
+    long maxBytes;
+
+    @ConfigProperty(name = "app.images.disk-cache.max-object-bytes", defaultValue = "16777216")
+    long maxObjectBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Access-ordered, so iteration starts at the least recently used entry. */
+    private final LinkedHashMap<String, CachedFile> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    private Path root;
+
+    private Counter hits;
+
+    private Counter misses;
+
+    private record CachedFile(Path path, long size) {}
+
+    /**
+     * Opens an object in storage when it is not cached yet.
+     */
+    @FunctionalInterface
+    public interface ObjectLoader {
+        InputStream open() throws Exception;
+    }
+
+    @PostConstruct
+    void init() {
+        hits = meterRegistry.counter("images.disk-cache.requests", "result", "hit");
+        misses = meterRegistry.counter("images.disk-cache.requests", "result", "miss");
+        meterRegistry.gauge("images.disk-cache.bytes", this, cache -> cache.totalBytes);
+        if (!enabled) {
+            return;
+        }
+        root = Path.of(directory);
+        try {
+            Files.createDirectories(root);
+            try (Stream<Path> leftovers = Files.list(root)) {
+                leftovers.forEach(DiskObjectCache::deleteQuietly);
+            }
+        } catch (IOException e) {
+            LOG.warnf(e, "Disk cache directory %s unusable, serving all objects from storage", root);
+            enabled = false;
+        }
+    }
+
+    /**
+     * Return the local file of an object, loading it into the cache on a miss.
+     * The file may be evicted after it is returned; with LRU eviction that takes
+     * {@code max-bytes} of newer objects, so callers open it right away.
+     *
+     * @param objectKey Object key in storage
+     * @param size Object size in bytes
+     * @param loader Opens the object in storage on a miss
+     * @return Local file holding the object, or empty if the object is not cacheable
+     * @throws IOException if the object could not be loaded into the cache
+     */
+    public Optional<Path> get(String objectKey, long size, ObjectLoader loader) throws IOException {
+        if (!enabled || size > maxObjectBytes) {
+            return Optional.empty();
+        }
+
+        lock.lock();
+        try {
+            CachedFile cached = entries.get(objectKey);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached.path());
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+
+        // Download outside the lock; concurrent misses for the same key both load and one copy wins
+        Path temp = Files.createTempFile(root, "load-", ".tmp");
+        try (InputStream in = loader.open()) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            deleteQuietly(temp);
+            throw e instanceof IOException io ? io : new IOException("Failed to load " + objectKey, e);
+        }
+        long loaded = Files.size(temp);
+        Path target = root.resolve(fileName(objectKey));
+
+        lock.lock();
+        try {
+            CachedFile cached = entries.get(objectKey);
+            if (cached != null) {
+                deleteQuietly(temp);
+                return Optional.of(cached.path());
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            entries.put(objectKey, new CachedFile(target, loaded));
+            totalBytes += loaded;
+            evictOverflow(objectKey);
+        } finally {
+            lock.unlock();
+        }
+        return Optional.of(target);
+    }
+
+    /**
+     * Drop an object from the cache, e.g. because it was removed from storage.
+     *
+     * @param objectKey Object key in storage
+     */
+    public void evict(String objectKey) {
+        lock.lock();
+        try {
+            CachedFile removed = entries.remove(objectKey);
+            if (removed != null) {
+                totalBytes -= removed.size();
+                deleteQuietly(removed.path());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Bytes currently held on disk
+     */
+    public long size() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evict least recently used files until the cache fits again, keeping the file just added.
+     * Must be called with the lock held.
+     */
+    private void evictOverflow(String keep) {
+        Iterator<Map.Entry<String, CachedFile>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, CachedFile> entry = eldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            eldest.remove();
+            totalBytes -= entry.getValue().size();
+            // Readers that already opened the file keep reading it after the unlink
+            deleteQuietly(entry.getValue().path());
+            LOG.debugf("Evicted %s from disk cache", entry.getKey());
+        }
+    }
+
+    /**
+     * Object keys contain slashes; name the files after a digest of the key instead.
+     */
+    private static String fileName(String objectKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.warnf(e, "Failed to delete cached file %s", path);
+        }
+    }
+}
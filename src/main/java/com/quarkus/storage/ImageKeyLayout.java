@@ -0,0 +1,60 @@
+package com.quarkus.storage;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Layout of the identifiers generated for new images. Direct uploads are stored under their
+ * identifier until they are re-keyed, so the layout decides how their writes and listings
+ * spread over the bucket. Identifiers are opaque once generated: images keep the one they
+ * were created with whatever the configured layout.
+ */
+public enum ImageKeyLayout {
+
+    /**
+     * {@code yyyy/MM/dd/uuid.ext}: every image of a day shares one prefix.
+     */
+    DATE {
+        @Override
+        String prefix(Long albumId, String uuid) {
+            return LocalDate.now().format(DAY) + "/";
+        }
+    },
+
+    /**
+     * {@code ab/cd/uuid.ext}: fanned out over 65536 prefixes by the leading digits of the random UUID.
+     */
+    HASHED {
+        @Override
+        String prefix(Long albumId, String uuid) {
+            return uuid.substring(0, 2) + "/" + uuid.substring(2, 4) + "/";
+        }
+    },
+
+    /**
+     * {@code albums/42/uuid.ext}: the images of an album share a prefix, different albums do not.
+     */
+    ALBUM {
+        @Override
+        String prefix(Long albumId, String uuid) {
+            return "albums/" + albumId + "/";
+        }
+    };
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+
+    /**
+     * Generate a new image identifier.
+     *
+     * @param albumId Album the image belongs to
+     * @param extension File extension (including dot)
+     * @return Identifier, unique through its random UUID
+     */
+    public String generate(Long albumId, String extension) {
+        String uuid = UUID.randomUUID().toString();
+        return prefix(albumId, uuid) + uuid + extension;
+    }
+
+    abstract String prefix(Long albumId, String uuid);
+}
@@ -0,0 +1,665 @@
+package com.quarkus.storage;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the image bucket on the local file system, for single-node deployments and development
+ * without MinIO. Objects live under {@code app.storage.local.directory}/{bucket}/{key}; their
+ * content types are kept in a parallel {@code .meta} tree so listings only see objects.
+ * <p>
+ * Writes go to a staging file that is moved into place atomically, so readers never see a
+ * partial object. Bytes move with {@link FileChannel} transfers and ranged reads map the file
+ * into memory, so neither copies data through the heap. Presigned URLs point at
+ * {@code com.quarkus.resource.LocalObjectResource} and carry an HMAC of the key, method and
+ * expiry; without {@code app.storage.local.signing-key} a random key is used, which invalidates
+ * handed-out URLs on restart.
+ * <p>
+ * Parts of multipart uploads are kept as one file per part under {@code .multipart/{uploadId}}
+ * until the upload is completed, which concatenates them into a staged object, or aborted.
+ * <p>
+ * Operations do blocking file I/O on the subscribing thread, which is a virtual thread for the
+ * request paths that use them.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "app.storage.backend", stringValue = "local")
+public class LocalObjectStorage implements ObjectStorage {
+
+    private static final Logger LOG = Logger.getLogger(LocalObjectStorage.class);
+
+    /**
+     * Largest region mapped at once; longer ranges are mapped window by window while read.
+     */
+    static final long MAP_WINDOW = 64L * 1024 * 1024;
+
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private static final String SIGNING_ALGORITHM = "HmacSHA256";
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private static final String CONTENT_TYPE_FILE = "content-type";
+
+    @ConfigProperty(name = "app.storage.local.directory", defaultValue = "data/objects")
+    String directory;
+
+    @ConfigProperty(name = "app.storage.local.public-url", defaultValue = "http://localhost:8080")
+    String publicUrl;
+
+    @ConfigProperty(name = "app.storage.local.signing-key")
+    Optional<String> signingKey;
+
+    @ConfigProperty(name = "app.minio.bucket")
+    String bucket;
+
+    private Path objects;
+
+    private Path metadata;
+
+    private Path staging;
+
+    private Path multipart;
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    void init() {
+        Path root = Path.of(directory).toAbsolutePath().normalize();
+        objects = root.resolve(bucket);
+        metadata = root.resolve(".meta").resolve(bucket);
+        staging = root.resolve(".staging");
+        multipart = root.resolve(".multipart");
+
+        byte[] secret;
+        if (signingKey.isPresent()) {
+            secret = signingKey.get().getBytes(StandardCharsets.UTF_8);
+        } else {
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            LOG.warn("No app.storage.local.signing-key set, presigned URLs become invalid on restart");
+        }
+        key = new SecretKeySpec(secret, SIGNING_ALGORITHM);
+    }
+
+    @Override
+    public Uni<Void> initialize() {
+        return call(() -> {
+            Files.createDirectories(objects);
+            Files.createDirectories(metadata);
+            Files.createDirectories(staging);
+            Files.createDirectories(multipart);
+            LOG.infof("Storing objects in %s", objects);
+            return null;
+        });
+    }
+
+    @Override
+    public Uni<Void> ping() {
+        return call(() -> {
+            if (!Files.isDirectory(objects) || !Files.isWritable(objects)) {
+                throw new IOException("Object directory is not writable: " + objects);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Uni<Void> put(String objectKey, byte[] data, String contentType) {
+        return call(() -> {
+            store(objectKey, contentType, channel -> {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            });
+            return null;
+        });
+    }
+
+    /**
+     * The stream is transferred into the staging file through its channel, without an
+     * intermediate buffer of the caller's.
+     */
+    @Override
+    public Uni<Void> upload(String objectKey, InputStream inputStream, String contentType) {
+        return call(() -> {
+            store(objectKey, contentType, channel -> {
+                ReadableByteChannel source = Channels.newChannel(inputStream);
+                long position = 0;
+                long transferred;
+                while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                    position += transferred;
+                }
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public Uni<String> createMultipartUpload(String objectKey, String contentType) {
+        return call(() -> {
+            objectPath(objectKey);
+            String uploadId = UUID.randomUUID().toString();
+            Path upload = Files.createDirectories(multipart.resolve(uploadId));
+            Files.writeString(upload.resolve(CONTENT_TYPE_FILE), contentType == null ? DEFAULT_CONTENT_TYPE : contentType);
+            return uploadId;
+        });
+    }
+
+    /**
+     * The part is staged and moved into place, so a part file is always complete.
+     */
+    @Override
+    public Uni<String> uploadPart(String objectKey, String uploadId, int partNumber, byte[] data) {
+        return call(() -> {
+            Path upload = uploadPath(uploadId);
+            if (!Files.isDirectory(upload)) {
+                throw new NoSuchFileException(upload.toString(), null, "No such multipart upload");
+            }
+            Path staged = Files.createTempFile(staging, "part-", ".tmp");
+            try {
+                Files.write(staged, data);
+                moveIntoPlace(staged, upload.resolve(Integer.toString(partNumber)));
+            } finally {
+                Files.deleteIfExists(staged);
+            }
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+        });
+    }
+
+    /**
+     * Concatenates the part files with {@link FileChannel#transferTo} into a staged object.
+     */
+    @Override
+    public Uni<Void> completeMultipartUpload(String objectKey, String uploadId, List<Part> parts) {
+        return call(() -> {
+            Path upload = uploadPath(uploadId);
+            String contentType = Files.readString(upload.resolve(CONTENT_TYPE_FILE)).trim();
+            store(objectKey, contentType, channel -> {
+                for (Part part : parts) {
+                    try (FileChannel in = FileChannel.open(upload.resolve(Integer.toString(part.number())), StandardOpenOption.READ)) {
+                        long size = in.size();
+                        long position = 0;
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, channel);
+                        }
+                    }
+                }
+            });
+            deleteUpload(upload);
+            return null;
+        });
+    }
+
+    @Override
+    public Uni<Void> abortMultipartUpload(String objectKey, String uploadId) {
+        return call(() -> {
+            deleteUpload(uploadPath(uploadId));
+            return null;
+        });
+    }
+
+    /**
+     * Copies with {@link FileChannel#transferTo}, which the kernel does without passing the
+     * bytes through user space where supported.
+     */
+    @Override
+    public Uni<Void> copy(String objectKey, String sourceKey) {
+        return call(() -> {
+            Path source = objectPath(sourceKey);
+            String contentType = readContentType(sourceKey);
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+                store(objectKey, contentType, channel -> {
+                    long size = in.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, channel);
+                    }
+                });
+            }
+            return null;
+        }, sourceKey);
+    }
+
+    @Override
+    public Uni<ObjectInfo> stat(String objectKey) {
+        return call(() -> {
+            BasicFileAttributes attributes = Files.readAttributes(objectPath(objectKey), BasicFileAttributes.class);
+            return new ObjectInfo(objectKey, attributes.size(), readContentType(objectKey),
+                attributes.lastModifiedTime().toInstant());
+        }, objectKey);
+    }
+
+    @Override
+    public Uni<InputStream> get(String objectKey) {
+        return call(() -> open(objectKey, 0, Long.MAX_VALUE), objectKey);
+    }
+
+    /**
+     * The range is mapped into memory and read from the page cache; the file is never copied
+     * onto the heap.
+     */
+    @Override
+    public Uni<InputStream> get(String objectKey, ByteRange range) {
+        return call(() -> open(objectKey, range.start(), range.length()), objectKey);
+    }
+
+    @Override
+    public Uni<Void> remove(String objectKey) {
+        return call(() -> {
+            delete(objectKey);
+            return null;
+        });
+    }
+
+    @Override
+    public Uni<Map<String, String>> removeBatch(List<String> objectKeys) {
+        if (objectKeys.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " objects per batch, got " + objectKeys.size());
+        }
+        return call(() -> {
+            Map<String, String> failures = new LinkedHashMap<>();
+            for (String objectKey : objectKeys) {
+                try {
+                    delete(objectKey);
+                } catch (IOException | IllegalArgumentException e) {
+                    failures.put(objectKey, e.getClass().getSimpleName() + ": " + e.getMessage());
+                }
+            }
+            return failures;
+        });
+    }
+
+    /**
+     * Walks the bucket depth first, one directory listing in memory at a time. Entries of a
+     * directory are ordered by their UTF-8 bytes with a trailing {@code /} on directory names,
+     * which yields the keys in the same order as S3.
+     */
+    @Override
+    public Iterator<ObjectInfo> list() {
+        return new Iterator<>() {
+            private final Deque<Iterator<Entry>> pending = new ArrayDeque<>(List.of(children(objects, "")));
+
+            private ObjectInfo next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && !pending.isEmpty()) {
+                    Iterator<Entry> current = pending.peek();
+                    if (!current.hasNext()) {
+                        pending.pop();
+                        continue;
+                    }
+                    Entry entry = current.next();
+                    if (entry.directory()) {
+                        pending.push(children(entry.path(), entry.key()));
+                    } else {
+                        next = info(entry);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public ObjectInfo next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ObjectInfo item = next;
+                next = null;
+                return item;
+            }
+        };
+    }
+
+    @Override
+    public Uni<String> presign(String objectKey, Method method, int expiryMinutes) {
+        return call(() -> {
+            objectPath(objectKey);
+            long expires = Instant.now().plusSeconds(expiryMinutes * 60L).getEpochSecond();
+            String path = Arrays.stream(objectKey.split("/"))
+                .map(segment -> URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20"))
+                .collect(Collectors.joining("/"));
+            return publicUrl + "/storage/" + path + "?expires=" + expires + "&signature=" + sign(objectKey, method, expires);
+        });
+    }
+
+    /**
+     * Check a URL handed out by {@link #presign}.
+     *
+     * @param objectKey Object key of the request
+     * @param method HTTP method of the request
+     * @param expires Expiry of the URL in epoch seconds
+     * @param signature Signature of the URL
+     * @return Whether the URL was signed for this object and method and has not expired
+     */
+    public boolean verify(String objectKey, Method method, long expires, String signature) {
+        if (signature == null || Instant.now().getEpochSecond() > expires) {
+            return false;
+        }
+        byte[] expected = sign(objectKey, method, expires).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public Optional<Path> localFile(String objectKey) {
+        try {
+            Path path = objectPath(objectKey);
+            return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Resolve the file of an object, refusing keys that would leave the bucket directory.
+     */
+    Path objectPath(String objectKey) {
+        return resolve(objects, objectKey);
+    }
+
+    private Path metadataPath(String objectKey) {
+        return resolve(metadata, objectKey);
+    }
+
+    private static Path resolve(Path base, String objectKey) {
+        if (objectKey == null || objectKey.isEmpty() || objectKey.startsWith("/") || objectKey.endsWith("/")
+                || objectKey.indexOf('\\') >= 0 || objectKey.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException("Invalid object key: " + objectKey);
+        }
+        for (String segment : objectKey.split("/")) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..")) {
+                throw new IllegalArgumentException("Invalid object key: " + objectKey);
+            }
+        }
+        Path path = base.resolve(objectKey).normalize();
+        if (!path.startsWith(base)) {
+            throw new IllegalArgumentException("Invalid object key: " + objectKey);
+        }
+        return path;
+    }
+
+    private void store(String objectKey, String contentType, ChannelWriter writer) throws IOException {
+        Path target = objectPath(objectKey);
+        Path stagedObject = Files.createTempFile(staging, "object-", ".tmp");
+        Path stagedType = Files.createTempFile(staging, "meta-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(stagedObject, StandardOpenOption.WRITE)) {
+                writer.write(channel);
+            }
+            Files.writeString(stagedType, contentType == null ? DEFAULT_CONTENT_TYPE : contentType);
+            // The content type lands first, so a visible object always has one
+            moveIntoPlace(stagedType, metadataPath(objectKey));
+            moveIntoPlace(stagedObject, target);
+        } finally {
+            Files.deleteIfExists(stagedObject);
+            Files.deleteIfExists(stagedType);
+        }
+    }
+
+    /**
+     * Move a staged file to its place, recreating the parent directory if a concurrent removal
+     * pruned it in between.
+     */
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                return;
+            } catch (NoSuchFileException e) {
+                if (attempt == 3) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Path uploadPath(String uploadId) {
+        try {
+            return multipart.resolve(UUID.fromString(uploadId).toString());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid upload ID: " + uploadId, e);
+        }
+    }
+
+    private static void deleteUpload(Path upload) throws IOException {
+        try (Stream<Path> files = Files.list(upload)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        Files.deleteIfExists(upload);
+    }
+
+    private void delete(String objectKey) throws IOException {
+        Path path = objectPath(objectKey);
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(metadataPath(objectKey));
+        prune(path.getParent(), objects);
+        prune(metadataPath(objectKey).getParent(), metadata);
+    }
+
+    /**
+     * Remove directories left empty by a removal, up to the bucket directory.
+     */
+    private static void prune(Path directory, Path base) {
+        while (directory != null && directory.startsWith(base) && !directory.equals(base)) {
+            try {
+                Files.deleteIfExists(directory);
+            } catch (DirectoryNotEmptyException e) {
+                return;
+            } catch (IOException e) {
+                LOG.debugf(e, "Failed to remove empty directory %s", directory);
+                return;
+            }
+            directory = directory.getParent();
+        }
+    }
+
+    private String readContentType(String objectKey) throws IOException {
+        try {
+            return Files.readString(metadataPath(objectKey)).trim();
+        } catch (NoSuchFileException e) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+    }
+
+    private InputStream open(String objectKey, long start, long length) throws IOException {
+        FileChannel channel = FileChannel.open(objectPath(objectKey), StandardOpenOption.READ);
+        try {
+            long end = Math.min(channel.size(), start + Math.min(length, Long.MAX_VALUE - start));
+            return new MappedInputStream(channel, Math.min(start, end), end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private String sign(String objectKey, Method method, long expires) {
+        try {
+            Mac mac = Mac.getInstance(SIGNING_ALGORITHM);
+            mac.init(key);
+            byte[] signature = mac.doFinal((method + "\n" + objectKey + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign URL", e);
+        }
+    }
+
+    private record Entry(Path path, String key, boolean directory) {}
+
+    private static final Comparator<String> UTF8_ORDER = (a, b) ->
+        Arrays.compareUnsigned(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+
+    private static Iterator<Entry> children(Path directory, String prefix) {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths
+                .map(path -> {
+                    boolean isDirectory = Files.isDirectory(path);
+                    return new Entry(path, prefix + path.getFileName() + (isDirectory ? "/" : ""), isDirectory);
+                })
+                .sorted(Comparator.comparing(Entry::key, UTF8_ORDER))
+                .toList()
+                .iterator();
+        } catch (NoSuchFileException e) {
+            // Pruned by a concurrent removal
+            return List.<Entry>of().iterator();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to list " + directory, e);
+        }
+    }
+
+    private ObjectInfo info(Entry entry) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(entry.path(), BasicFileAttributes.class);
+            return new ObjectInfo(entry.key(), attributes.size(), null, attributes.lastModifiedTime().toInstant());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to list " + entry.path(), e);
+        }
+    }
+
+    private static <T> Uni<T> call(IoCall<T> call) {
+        return call(call, null);
+    }
+
+    /**
+     * Run file I/O on subscription, mapping a missing object file to {@link ObjectNotFoundException}.
+     */
+    private static <T> Uni<T> call(IoCall<T> call, String objectKey) {
+        return Uni.createFrom().emitter(emitter -> {
+            try {
+                emitter.complete(call.run());
+            } catch (NoSuchFileException e) {
+                emitter.fail(objectKey != null ? new ObjectNotFoundException(objectKey, e) : e);
+            } catch (Exception e) {
+                emitter.fail(e);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface IoCall<T> {
+        T run() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface ChannelWriter {
+        void write(FileChannel channel) throws IOException;
+    }
+
+    /**
+     * Reads a region of a file through memory maps of at most {@link #MAP_WINDOW} bytes.
+     * The channel is closed with the stream; mappings are released once unreachable.
+     */
+    static final class MappedInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+        private MappedByteBuffer window;
+
+        MappedInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            position++;
+            return window.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(len, window.remaining());
+            window.get(b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, end - position));
+            position += skipped;
+            window = null;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+
+        @Override
+        public void close() throws IOException {
+            window = null;
+            channel.close();
+        }
+
+        private boolean fill() throws IOException {
+            if (window != null && window.hasRemaining()) {
+                return true;
+            }
+            if (position >= end) {
+                return false;
+            }
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, end - position));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.quarkus.storage;
+
+import com.google.common.collect.ImmutableMultimap;
+import io.minio.BucketExistsArgs;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.GetObjectArgs;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioAsyncClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.StatObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Object operations on the image bucket through {@link MinioAsyncClient}, bridged to Mutiny.
+ * No thread waits while a request is on the network: the returned {@link Uni} completes on
+ * the HTTP client's callback thread, and a virtual thread awaiting it is unmounted meanwhile.
+ * Every call is lazy and starts on subscription; failures, including MinIO error responses,
+ * are delivered through the {@link Uni} rather than thrown, with {@code NoSuchKey} responses
+ * mapped to {@link ObjectNotFoundException}.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "app.storage.backend", stringValue = "minio", enableIfMissing = true)
+public class MinioObjectStorage implements ObjectStorage {
+
+    @Inject
+    MinioAsyncClient minioAsyncClient;
+
+    @Inject
+    ParallelMultipartUploader multipartUploader;
+
+    @ConfigProperty(name = "app.minio.bucket")
+    String bucket;
+
+    @Override
+    public Uni<Void> initialize() {
+        return call(() -> minioAsyncClient.bucketExists(BucketExistsArgs.builder().bucket(bucket).build()))
+            .flatMap(exists -> exists
+                ? Uni.createFrom().voidItem()
+                : call(() -> minioAsyncClient.makeBucket(MakeBucketArgs.builder().bucket(bucket).build())));
+    }
+
+    @Override
+    public Uni<Void> ping() {
+        return call(() -> minioAsyncClient.bucketExists(BucketExistsArgs.builder().bucket(bucket).build()))
+            .flatMap(exists -> exists
+                ? Uni.createFrom().voidItem()
+                : Uni.createFrom().failure(new IllegalStateException("Bucket does not exist: " + bucket)));
+    }
+
+    @Override
+    public Uni<Void> put(String objectKey, byte[] data, String contentType) {
+        return call(() -> minioAsyncClient.putObject(
+            PutObjectArgs.builder()
+                .bucket(bucket)
+                .object(objectKey)
+                .stream(new ByteArrayInputStream(data), data.length, -1)
+                .contentType(contentType)
+                .build()
+        )).replaceWithVoid();
+    }
+
+    /**
+     * Upload through {@link ParallelMultipartUploader}, several parts in flight at once.
+     */
+    @Override
+    public Uni<Void> upload(String objectKey, InputStream inputStream, String contentType) {
+        return Uni.createFrom().emitter(emitter -> {
+            try {
+                multipartUploader.upload(objectKey, inputStream, contentType);
+                emitter.complete(null);
+            } catch (CompletionException e) {
+                emitter.fail(e.getCause() != null ? e.getCause() : e);
+            } catch (Exception e) {
+                emitter.fail(e);
+            }
+        });
+    }
+
+    @Override
+    public Uni<String> createMultipartUpload(String objectKey, String contentType) {
+        return call(() -> minioAsyncClient.createMultipartUploadAsync(
+            bucket, null, objectKey, ImmutableMultimap.of("Content-Type", contentType), null
+        )).map(response -> response.result().uploadId());
+    }
+
+    @Override
+    public Uni<String> uploadPart(String objectKey, String uploadId, int partNumber, byte[] data) {
+        return call(() -> minioAsyncClient.uploadPartAsync(
+            bucket, null, objectKey, data, data.length, uploadId, partNumber, null, null
+        )).map(response -> response.etag());
+    }
+
+    @Override
+    public Uni<Void> completeMultipartUpload(String objectKey, String uploadId, List<Part> parts) {
+        io.minio.messages.Part[] completed = parts.stream()
+            .map(part -> new io.minio.messages.Part(part.number(), part.etag()))
+            .toArray(io.minio.messages.Part[]::new);
+        return call(() -> minioAsyncClient.completeMultipartUploadAsync(
+            bucket, null, objectKey, uploadId, completed, null, null
+        )).replaceWithVoid();
+    }
+
+    @Override
+    public Uni<Void> abortMultipartUpload(String objectKey, String uploadId) {
+        return call(() -> minioAsyncClient.abortMultipartUploadAsync(bucket, null, objectKey, uploadId, null, null))
+            .replaceWithVoid();
+    }
+
+    /**
+     * Copy an object on the server side.
+     */
+    @Override
+    public Uni<Void> copy(String objectKey, String sourceKey) {
+        return call(() -> minioAsyncClient.copyObject(
+            CopyObjectArgs.builder()
+                .bucket(bucket)
+                .object(objectKey)
+                .source(CopySource.builder().bucket(bucket).object(sourceKey).build())
+                .build()
+        )).replaceWithVoid();
+    }
+
+    @Override
+    public Uni<ObjectInfo> stat(String objectKey) {
+        return call(() -> minioAsyncClient.statObject(StatObjectArgs.builder().bucket(bucket).object(objectKey).build()))
+            .map(stat -> new ObjectInfo(objectKey, stat.size(), stat.contentType(), stat.lastModified().toInstant()))
+            .onFailure().transform(e -> notFound(objectKey, e));
+    }
+
+    @Override
+    public Uni<InputStream> get(String objectKey) {
+        return call(() -> minioAsyncClient.getObject(GetObjectArgs.builder().bucket(bucket).object(objectKey).build()))
+            .<InputStream>map(response -> response)
+            .onFailure().transform(e -> notFound(objectKey, e));
+    }
+
+    /**
+     * Open a byte range of an object. The item arrives once the response headers did;
+     * the body is read from the returned stream.
+     */
+    @Override
+    public Uni<InputStream> get(String objectKey, ByteRange range) {
+        return call(() -> minioAsyncClient.getObject(
+            GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(objectKey)
+                .offset(range.start())
+                .length(range.length())
+                .build()
+        )).<InputStream>map(response -> response)
+            .onFailure().transform(e -> notFound(objectKey, e));
+    }
+
+    @Override
+    public Uni<Void> remove(String objectKey) {
+        return call(() -> minioAsyncClient.removeObject(RemoveObjectArgs.builder().bucket(bucket).object(objectKey).build()));
+    }
+
+    /**
+     * Remove the objects with a single batch delete request. The batch API of the async client
+     * reads its response while the result is iterated, so unlike the other operations this one
+     * runs on the subscribing thread.
+     */
+    @Override
+    public Uni<Map<String, String>> removeBatch(List<String> objectKeys) {
+        if (objectKeys.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " objects per batch, got " + objectKeys.size());
+        }
+        return Uni.createFrom().emitter(emitter -> {
+            try {
+                Map<String, String> failures = new LinkedHashMap<>();
+                Iterable<Result<DeleteError>> results = minioAsyncClient.removeObjects(
+                    RemoveObjectsArgs.builder()
+                        .bucket(bucket)
+                        .objects(objectKeys.stream().map(DeleteObject::new).toList())
+                        .build()
+                );
+                for (Result<DeleteError> result : results) {
+                    DeleteError error = result.get();
+                    failures.put(error.objectName(), error.code() + ": " + error.message());
+                }
+                emitter.complete(failures);
+            } catch (Exception e) {
+                emitter.fail(e);
+            }
+        });
+    }
+
+    /**
+     * Pages are fetched lazily while iterating, so memory stays constant however large the
+     * bucket is.
+     */
+    @Override
+    public Iterator<ObjectInfo> list() {
+        Iterator<Result<Item>> results = minioAsyncClient.listObjects(
+            ListObjectsArgs.builder().bucket(bucket).recursive(true).build()
+        ).iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return results.hasNext();
+            }
+
+            @Override
+            public ObjectInfo next() {
+                try {
+                    Item item = results.next().get();
+                    return new ObjectInfo(item.objectName(), item.size(), null, item.lastModified().toInstant());
+                } catch (Exception e) {
+                    throw new IllegalStateException("Failed to list bucket " + bucket, e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Signing is local once the bucket region is known, so the item is usually available on
+     * subscription.
+     */
+    @Override
+    public Uni<String> presign(String objectKey, Method method, int expiryMinutes) {
+        return call(() -> CompletableFuture.completedFuture(minioAsyncClient.getPresignedObjectUrl(
+            GetPresignedObjectUrlArgs.builder()
+                .bucket(bucket)
+                .object(objectKey)
+                .method(io.minio.http.Method.valueOf(method.name()))
+                .expiry(expiryMinutes, TimeUnit.MINUTES)
+                .build()
+        )));
+    }
+
+    private static Throwable notFound(String objectKey, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof ErrorResponseException e && e.errorResponse() != null
+                && "NoSuchKey".equals(e.errorResponse().code())) {
+            return new ObjectNotFoundException(objectKey, e);
+        }
+        return cause;
+    }
+
+    /**
+     * The async client declares checked exceptions for failures that happen before the request
+     * is sent; surface them through the returned {@link Uni} like every other failure.
+     */
+    private static <T> Uni<T> call(AsyncCall<T> call) {
+        return Uni.createFrom().deferred(() -> {
+            try {
+                return Uni.createFrom().completionStage(call.start());
+            } catch (Exception e) {
+                return Uni.createFrom().failure(e);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface AsyncCall<T> {
+        CompletableFuture<T> start() throws Exception;
+    }
+}
@@ -0,0 +1,14 @@
+package com.quarkus.storage;
+
+import java.time.Instant;
+
+/**
+ * Metadata of a stored object.
+ *
+ * @param objectKey Object key
+ * @param size Size in bytes
+ * @param contentType MIME type stored with the object; null in listings, which do not carry it
+ * @param lastModified Instant the object was last written
+ */
+public record ObjectInfo(String objectKey, long size, String contentType, Instant lastModified) {
+}
@@ -0,0 +1,18 @@
+package com.quarkus.storage;
+
+/**
+ * Failure of an {@link ObjectStorage} operation on an object that does not exist.
+ */
+public class ObjectNotFoundException extends RuntimeException {
+
+    private final String objectKey;
+
+    public ObjectNotFoundException(String objectKey, Throwable cause) {
+        super("Object not found: " + objectKey, cause);
+        this.objectKey = objectKey;
+    }
+
+    public String getObjectKey() {
+        return objectKey;
+    }
+}
@@ -0,0 +1,194 @@
+package com.quarkus.storage;
+
+import io.smallrye.mutiny.Uni;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Object operations on the image bucket ({@code app.minio.bucket}), independent of where the
+ * objects live. The backend is chosen at build time with {@code app.storage.backend}:
+ * {@code minio} ({@link MinioObjectStorage}) or {@code local} ({@link LocalObjectStorage}).
+ * <p>
+ * Every operation returning a {@link Uni} is lazy and starts on subscription; failures are
+ * delivered through the {@link Uni} rather than thrown, and a missing object always fails
+ * with {@link ObjectNotFoundException}.
+ */
+public interface ObjectStorage {
+
+    /**
+     * Most keys {@link #removeBatch} accepts, the limit of an S3 batch delete request.
+     */
+    int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * Smallest size of every part of a multipart upload but the last, the S3 minimum.
+     */
+    long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    /**
+     * Uploaded part of a multipart upload.
+     *
+     * @param number Part number, starting at 1
+     * @param etag ETag returned for the part
+     */
+    record Part(int number, String etag) {
+    }
+
+    /**
+     * HTTP method a presigned URL is valid for.
+     */
+    enum Method {
+        GET,
+        PUT
+    }
+
+    /**
+     * Make sure the bucket exists; runs once at startup.
+     *
+     * @return Completion once the bucket is usable
+     */
+    Uni<Void> initialize();
+
+    /**
+     * @return Completion if the backend is reachable and the bucket exists
+     */
+    Uni<Void> ping();
+
+    /**
+     * @param objectKey Object key
+     * @param data Object bytes
+     * @param contentType MIME type stored with the object
+     * @return Completion of the write
+     */
+    Uni<Void> put(String objectKey, byte[] data, String contentType);
+
+    /**
+     * Store a stream of unknown or large size. The stream is read on the subscribing thread,
+     * which blocks until the object is complete.
+     *
+     * @param objectKey Object key
+     * @param inputStream Object data, read sequentially
+     * @param contentType MIME type stored with the object
+     * @return Completion of the write; fails with the stream's IOException if reading it fails
+     */
+    Uni<Void> upload(String objectKey, InputStream inputStream, String contentType);
+
+    /**
+     * Start a multipart upload whose parts are sent one by one, possibly over several requests
+     * and hours. The object only appears once {@link #completeMultipartUpload} is called.
+     *
+     * @param objectKey Object key
+     * @param contentType MIME type stored with the object
+     * @return Upload ID identifying the upload in the other multipart operations
+     */
+    Uni<String> createMultipartUpload(String objectKey, String contentType);
+
+    /**
+     * Upload one part; uploading a part number again replaces the part.
+     *
+     * @param objectKey Object key of the upload
+     * @param uploadId Upload ID
+     * @param partNumber Part number, from 1 to 10000
+     * @param data Part bytes, at least {@link #MIN_PART_SIZE} unless it is the last part
+     * @return ETag of the part, needed to complete the upload
+     */
+    Uni<String> uploadPart(String objectKey, String uploadId, int partNumber, byte[] data);
+
+    /**
+     * Assemble the uploaded parts into the object.
+     *
+     * @param objectKey Object key of the upload
+     * @param uploadId Upload ID
+     * @param parts Parts in ascending part number order
+     * @return Completion once the object exists
+     */
+    Uni<Void> completeMultipartUpload(String objectKey, String uploadId, List<Part> parts);
+
+    /**
+     * Discard an unfinished multipart upload and its parts.
+     *
+     * @param objectKey Object key of the upload
+     * @param uploadId Upload ID
+     * @return Completion of the abort
+     */
+    Uni<Void> abortMultipartUpload(String objectKey, String uploadId);
+
+    /**
+     * Copy an object within the bucket, without passing its bytes through the caller.
+     *
+     * @param objectKey Target object key
+     * @param sourceKey Source object key
+     * @return Completion of the copy
+     */
+    Uni<Void> copy(String objectKey, String sourceKey);
+
+    /**
+     * @param objectKey Object key
+     * @return Object metadata
+     */
+    Uni<ObjectInfo> stat(String objectKey);
+
+    /**
+     * Open a whole object; the caller closes the stream.
+     *
+     * @param objectKey Object key
+     * @return Stream of the object bytes
+     */
+    Uni<InputStream> get(String objectKey);
+
+    /**
+     * Open a byte range of an object; the caller closes the stream.
+     *
+     * @param objectKey Object key
+     * @param range Bytes to read
+     * @return Stream of the requested bytes
+     */
+    Uni<InputStream> get(String objectKey, ByteRange range);
+
+    /**
+     * @param objectKey Object key; removing a missing object succeeds
+     * @return Completion of the removal
+     */
+    Uni<Void> remove(String objectKey);
+
+    /**
+     * Remove up to {@link #MAX_BATCH_SIZE} objects at once.
+     *
+     * @param objectKeys Object keys; missing objects count as removed
+     * @return Error message per object that could not be removed, empty if all were removed
+     * @throws IllegalArgumentException if more than {@link #MAX_BATCH_SIZE} keys are given
+     */
+    Uni<Map<String, String>> removeBatch(List<String> objectKeys);
+
+    /**
+     * List every object of the bucket in key order, as UTF-8 byte order like S3 does.
+     * Objects are fetched lazily while iterating, which blocks the iterating thread.
+     *
+     * @return Objects of the bucket, failing with IllegalStateException if they cannot be listed
+     */
+    Iterator<ObjectInfo> list();
+
+    /**
+     * Sign a URL that gives access to one object without further authentication.
+     *
+     * @param objectKey Object key
+     * @param method HTTP method the URL is valid for
+     * @param expiryMinutes Validity of the URL in minutes
+     * @return Presigned URL
+     */
+    Uni<String> presign(String objectKey, Method method, int expiryMinutes);
+
+    /**
+     * @param objectKey Object key
+     * @return File holding the object when the backend keeps objects on the local file system,
+     *         so it can be served without copying; empty for remote backends or missing objects
+     */
+    default Optional<Path> localFile(String objectKey) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,205 @@
+package com.quarkus.storage;
+
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteArgs;
+import io.minio.messages.Part;
+import io.minio.messages.Upload;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uploads large objects through the S3 multipart API with several parts in flight at once.
+ * The source stream is cut into parts of {@code app.minio.multipart.part-size} bytes; at most
+ * {@code app.minio.multipart.concurrency} parts are buffered and uploading at any time, each
+ * part is retried on its own, and the upload is aborted when a part finally fails so MinIO
+ * does not keep the orphaned parts. Used by {@link MinioObjectStorage#upload}.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "app.storage.backend", stringValue = "minio", enableIfMissing = true)
+public class ParallelMultipartUploader {
+
+    private static final Logger LOG = Logger.getLogger(ParallelMultipartUploader.class);
+
+    @Inject
+    MinioAsyncClient minioAsyncClient;
+
+    @ConfigProperty(name = "app.minio.multipart.part-size", defaultValue = "8388608")
+    long partSize;
+
+    @ConfigProperty(name = "app.minio.multipart.concurrency", defaultValue = "4")
+    int concurrency;
+
+    @ConfigProperty(name = "app.minio.multipart.max-attempts", defaultValue = "3")
+    int maxAttempts;
+
+    @ConfigProperty(name = "app.minio.multipart.retry-backoff", defaultValue = "PT0.2S")
+    Duration retryBackoff;
+
+    @ConfigProperty(name = "app.minio.multipart.stale-after", defaultValue = "PT24H")
+    Duration staleAfter;
+
+    @ConfigProperty(name = "app.minio.bucket")
+    String bucket;
+
+    /**
+     * Upload a stream of unknown or large size as a multipart object.
+     * Blocks the calling (virtual) thread until the object is complete.
+     *
+     * @param object Target object name
+     * @param inputStream Object data, read sequentially
+     * @param contentType MIME type stored with the object
+     * @throws IOException if reading the stream fails, e.g. because it exceeds a size limit
+     * @throws CompletionException if MinIO rejects the upload after all retries
+     */
+    public void upload(String object, InputStream inputStream, String contentType) throws IOException {
+        int size = (int) Math.max(partSize, ObjectWriteArgs.MIN_MULTIPART_SIZE);
+        Multimap<String, String> headers = ImmutableMultimap.of("Content-Type", contentType);
+        String uploadId = call(() -> minioAsyncClient.createMultipartUploadAsync(bucket, null, object, headers, null))
+            .join()
+            .result()
+            .uploadId();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<Part>> parts = new ArrayList<>();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        try {
+            int partNumber = 1;
+            while (failures.isEmpty()) {
+                // Acquire before reading so no more than `concurrency` part buffers exist at once
+                inFlight.acquire();
+                byte[] data;
+                try {
+                    data = inputStream.readNBytes(size);
+                } catch (IOException e) {
+                    inFlight.release();
+                    throw e;
+                }
+                if (data.length == 0 && partNumber > 1) {
+                    inFlight.release();
+                    break;
+                }
+
+                CompletableFuture<Part> part = uploadPart(object, uploadId, data, partNumber, 1);
+                part.whenComplete((result, error) -> {
+                    if (error != null) {
+                        failures.add(error);
+                    }
+                    inFlight.release();
+                });
+                parts.add(part);
+                partNumber++;
+
+                if (data.length < size) {
+                    break;
+                }
+            }
+
+            CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).join();
+            Part[] completed = parts.stream()
+                .map(CompletableFuture::join)
+                .sorted(Comparator.comparingInt(Part::partNumber))
+                .toArray(Part[]::new);
+            call(() -> minioAsyncClient.completeMultipartUploadAsync(bucket, null, object, uploadId, completed, null, null))
+                .join();
+            LOG.debugf("Completed multipart upload of %s in %d parts", object, completed.length);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(object, uploadId);
+            throw new IOException("Interrupted while uploading " + object, e);
+        } catch (IOException | RuntimeException e) {
+            abort(object, uploadId);
+            throw e;
+        }
+    }
+
+    /**
+     * Abort multipart uploads that were never completed, e.g. because the instance died mid-upload.
+     */
+    @Scheduled(every = "1h", delayed = "5m")
+    void abortStaleUploads() {
+        ZonedDateTime cutoff = ZonedDateTime.now().minus(staleAfter);
+        String keyMarker = null;
+        String uploadIdMarker = null;
+        try {
+            boolean truncated;
+            do {
+                String key = keyMarker;
+                String id = uploadIdMarker;
+                var result = call(() -> minioAsyncClient.listMultipartUploadsAsync(
+                    bucket, null, null, null, key, 1000, null, id, null, null)).join().result();
+                for (Upload upload : result.uploads()) {
+                    if (upload.initiated() != null && upload.initiated().isBefore(cutoff)) {
+                        LOG.infof("Aborting stale multipart upload of %s started at %s", upload.objectName(), upload.initiated());
+                        abort(upload.objectName(), upload.uploadId());
+                    }
+                }
+                truncated = result.isTruncated();
+                keyMarker = result.nextKeyMarker();
+                uploadIdMarker = result.nextUploadIdMarker();
+            } while (truncated);
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to list multipart uploads of bucket %s", bucket);
+        }
+    }
+
+    private CompletableFuture<Part> uploadPart(String object, String uploadId,
+                                               byte[] data, int partNumber, int attempt) {
+        return call(() -> minioAsyncClient.uploadPartAsync(
+                bucket, null, object, data, data.length, uploadId, partNumber, null, null))
+            .thenApply(response -> new Part(partNumber, response.etag()))
+            .exceptionallyCompose(error -> {
+                if (attempt >= maxAttempts) {
+                    return CompletableFuture.failedFuture(error);
+                }
+                LOG.warnf("Retrying part %d of %s (attempt %d): %s", partNumber, object, attempt + 1, error.getMessage());
+                long delay = retryBackoff.toMillis() * attempt;
+                return CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> uploadPart(object, uploadId, data, partNumber, attempt + 1));
+            });
+    }
+
+    private void abort(String object, String uploadId) {
+        try {
+            call(() -> minioAsyncClient.abortMultipartUploadAsync(bucket, null, object, uploadId, null, null)).join();
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to abort multipart upload %s of %s", uploadId, object);
+        }
+    }
+
+    /**
+     * The async client declares checked exceptions for failures that happen before the request
+     * is sent; surface them through the returned future like every other failure.
+     */
+    private static <T> CompletableFuture<T> call(AsyncCall<T> call) {
+        try {
+            return call.start();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface AsyncCall<T> {
+        CompletableFuture<T> start() throws Exception;
+    }
+}
@@ -0,0 +1,89 @@
+package com.quarkus.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes read from a stream of unknown length and fails as soon as they exceed a limit,
+ * so oversized uploads are rejected while streaming instead of after they were fully received.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxSize;
+    private long count;
+    private long mark;
+
+    public SizeLimitedInputStream(InputStream in, long maxSize) {
+        super(in);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return Number of bytes read so far
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            advance(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        super.mark(readLimit);
+        mark = count;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        super.reset();
+        count = mark;
+    }
+
+    private void advance(long n) throws SizeLimitExceededException {
+        count += n;
+        if (count > maxSize) {
+            throw new SizeLimitExceededException(maxSize);
+        }
+    }
+
+    /**
+     * Thrown from a read once more than the allowed number of bytes went through the stream.
+     */
+    public static class SizeLimitExceededException extends IOException {
+
+        private final long maxSize;
+
+        public SizeLimitExceededException(long maxSize) {
+            super("Stream exceeds the maximum allowed size of " + maxSize + " bytes");
+            this.maxSize = maxSize;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+    }
+}
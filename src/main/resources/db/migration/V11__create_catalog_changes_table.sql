@@ -0,0 +1,9 @@
+-- V11: Append-only change feed for incremental catalog synchronization
+CREATE TABLE catalog_changes (
+    seq BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL CHECK (entity_type IN ('ALBUM', 'ARTIST', 'IMAGE')),
+    entity_id BIGINT NOT NULL,
+    entity_key VARCHAR(255),
+    operation VARCHAR(20) NOT NULL CHECK (operation IN ('CREATED', 'UPDATED', 'DELETED')),
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,23 @@
+-- V12: Content-addressed image objects shared between album images
+
+-- MinIO object behind each album image; existing images keep their current key
+ALTER TABLE album_images ADD COLUMN object_key VARCHAR(255);
+UPDATE album_images SET object_key = hash;
+ALTER TABLE album_images ALTER COLUMN object_key SET NOT NULL;
+
+CREATE INDEX idx_album_images_object_key ON album_images(object_key);
+
+-- One row per stored object, counting the album images that reference it
+CREATE TABLE stored_objects (
+    object_key VARCHAR(255) PRIMARY KEY,
+    bucket VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    size BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL CHECK (ref_count >= 0),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO stored_objects (object_key, bucket, content_type, size, ref_count)
+SELECT object_key, MIN(bucket), MIN(content_type), MAX(size), COUNT(*)
+FROM album_images
+GROUP BY object_key;
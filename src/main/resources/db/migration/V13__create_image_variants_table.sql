@@ -0,0 +1,14 @@
+-- V13: Downscaled variants generated for album images
+CREATE TABLE image_variants (
+    id BIGSERIAL PRIMARY KEY,
+    album_image_id BIGINT NOT NULL,
+    width INTEGER NOT NULL,
+    object_key VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    size INTEGER NOT NULL,
+    CONSTRAINT fk_image_variants_album_image FOREIGN KEY (album_image_id) REFERENCES album_images(id) ON DELETE CASCADE,
+    CONSTRAINT uk_image_variants_image_width UNIQUE (album_image_id, width)
+);
+
+-- Variants are shared by images with the same content, looked up by object key
+CREATE INDEX idx_image_variants_object_key ON image_variants(object_key);
@@ -0,0 +1,7 @@
+-- V14: Images uploaded straight to MinIO stay PENDING until the client completes the upload
+
+ALTER TABLE album_images ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'READY';
+ALTER TABLE album_images ADD COLUMN created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- The reaper only ever scans uploads that were never completed
+CREATE INDEX idx_album_images_pending_created_at ON album_images(created_at) WHERE status = 'PENDING';
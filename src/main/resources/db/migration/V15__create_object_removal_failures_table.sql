@@ -0,0 +1,12 @@
+-- V15: Dead letters of MinIO objects that could not be removed after their last reference was dropped
+
+CREATE TABLE object_removal_failures (
+    object_key VARCHAR(255) PRIMARY KEY,
+    bucket VARCHAR(255) NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error TEXT,
+    failed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Dead letters are retried oldest first
+CREATE INDEX idx_object_removal_failures_failed_at ON object_removal_failures(failed_at);
@@ -0,0 +1,8 @@
+-- V16: Dimensions and a loading placeholder per image, so clients can lay out pages without
+-- downloading every image first. NULL while unknown: legacy rows, headers that could not be
+-- read, and placeholders of formats that cannot be decoded or are still being computed
+
+ALTER TABLE album_images ADD COLUMN width INTEGER;
+ALTER TABLE album_images ADD COLUMN height INTEGER;
+ALTER TABLE album_images ADD COLUMN blurhash VARCHAR(64);
+ALTER TABLE album_images ADD COLUMN dominant_color CHAR(7);
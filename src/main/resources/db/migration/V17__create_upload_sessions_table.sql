@@ -0,0 +1,32 @@
+-- V17: Resumable uploads. A session tracks how many bytes of an image arrived so far and the
+-- multipart upload in storage they were sent to, so an interrupted client continues where it
+-- stopped instead of starting over
+
+CREATE TABLE upload_sessions (
+    id VARCHAR(36) PRIMARY KEY,
+    album_id BIGINT NOT NULL,
+    filename VARCHAR(255),
+    content_type VARCHAR(255) NOT NULL,
+    upload_length BIGINT NOT NULL,
+    upload_offset BIGINT NOT NULL DEFAULT 0,
+    object_key VARCHAR(255) NOT NULL,
+    storage_upload_id VARCHAR(1024) NOT NULL,
+    image_hash VARCHAR(255),
+    lease_until TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_upload_sessions_album FOREIGN KEY (album_id) REFERENCES albums(id) ON DELETE CASCADE
+);
+
+-- Expired sessions are reaped oldest first
+CREATE INDEX idx_upload_sessions_expires_at ON upload_sessions(expires_at);
+
+-- Parts already uploaded to storage, needed to complete the multipart upload
+CREATE TABLE upload_session_parts (
+    session_id VARCHAR(36) NOT NULL,
+    part_number INTEGER NOT NULL,
+    etag VARCHAR(255) NOT NULL,
+    size BIGINT NOT NULL,
+    PRIMARY KEY (session_id, part_number),
+    CONSTRAINT fk_upload_session_parts_session FOREIGN KEY (session_id) REFERENCES upload_sessions(id) ON DELETE CASCADE
+);
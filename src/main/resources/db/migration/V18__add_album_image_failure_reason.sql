@@ -0,0 +1,7 @@
+-- V18: Uploads accepted for background processing stay PROCESSING until stored, or end up FAILED
+
+ALTER TABLE album_images ADD COLUMN failure_reason VARCHAR(255);
+
+-- The reaper only ever scans uploads whose processing is unfinished or failed
+CREATE INDEX idx_album_images_processing_created_at ON album_images(created_at)
+    WHERE status IN ('PROCESSING', 'FAILED');
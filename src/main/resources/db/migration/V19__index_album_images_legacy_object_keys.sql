@@ -0,0 +1,4 @@
+-- V19: Images whose object predates content addressing are re-keyed in the background
+
+-- The re-key job pages through them by ID; the index shrinks to nothing once all are moved
+CREATE INDEX idx_album_images_legacy_object_key ON album_images(id) WHERE object_key NOT LIKE 'sha256/%';
@@ -0,0 +1,34 @@
+-- V20: Storage usage counters, maintained as images are recorded and deleted instead of summed on demand
+
+-- Sizes of 2 GB and more no longer fit
+ALTER TABLE album_images ALTER COLUMN size TYPE BIGINT;
+
+-- Ready images of each album and their bytes, counted once per image even when the content is shared
+CREATE TABLE album_storage_usage (
+    album_id BIGINT PRIMARY KEY REFERENCES albums(id) ON DELETE CASCADE,
+    image_count BIGINT NOT NULL DEFAULT 0,
+    bytes BIGINT NOT NULL DEFAULT 0,
+    quota_bytes BIGINT CHECK (quota_bytes >= 0)
+);
+
+-- Stored objects of each bucket and their bytes, counted once per object; every upload that
+-- stores a new object updates one of a few slots, so uploads do not all wait for one row lock
+CREATE TABLE bucket_storage_usage (
+    bucket VARCHAR(255) NOT NULL,
+    slot INTEGER NOT NULL,
+    object_count BIGINT NOT NULL DEFAULT 0,
+    bytes BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket, slot)
+);
+
+INSERT INTO album_storage_usage (album_id, image_count, bytes)
+SELECT album_id, COUNT(*), SUM(size)
+FROM album_images
+WHERE status = 'READY'
+GROUP BY album_id;
+
+INSERT INTO bucket_storage_usage (bucket, slot, object_count, bytes)
+SELECT bucket, 0, COUNT(*), SUM(size)
+FROM stored_objects
+WHERE ref_count > 0
+GROUP BY bucket;
@@ -0,0 +1,8 @@
+-- V21: Failed uploads are kept for a while after they failed, whenever they were created
+
+ALTER TABLE album_images ADD COLUMN failed_at TIMESTAMP;
+
+-- Uploads that failed before now get their full retention from here on
+UPDATE album_images SET failed_at = CURRENT_TIMESTAMP WHERE status = 'FAILED';
+
+CREATE INDEX idx_album_images_failed_at ON album_images(failed_at) WHERE status = 'FAILED';
@@ -18,9 +18,13 @@ public class PostgresResource implements QuarkusTestResourceLifecycleManager {
                 .start();
 
         return Map.of(
-                "quarkus.datasource.jdbc.url", postgres.getJdbcUrl(),
-                "quarkus.datasource.username", postgres.getUsername(),
-                "quarkus.datasource.password", postgres.getPassword()
+                "quarkus.datasource.primary.jdbc.url", postgres.getJdbcUrl(),
+                "quarkus.datasource.primary.reactive.url", "postgresql://%s:%d/%s".formatted(
+                        postgres.getHost(),
+                        postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT),
+                        postgres.getDatabaseName()),
+                "quarkus.datasource.primary.username", postgres.getUsername(),
+                "quarkus.datasource.primary.password", postgres.getPassword()
         );
     }
 
@@ -0,0 +1,54 @@
+package com.quarkus.imaging;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeaderCapturingInputStreamTest {
+
+    @Test
+    void shouldCaptureOnlyTheFirstBytes() throws Exception {
+        // Given
+        HeaderCapturingInputStream stream = new HeaderCapturingInputStream(
+            new ByteArrayInputStream("0123456789".getBytes()), 4);
+
+        // When
+        byte[] all = stream.readAllBytes();
+
+        // Then
+        assertEquals("0123456789", new String(all));
+        assertEquals("0123", new String(stream.header()));
+    }
+
+    @Test
+    void shouldCaptureSkippedBytes() throws Exception {
+        // Given
+        HeaderCapturingInputStream stream = new HeaderCapturingInputStream(
+            new ByteArrayInputStream("0123456789".getBytes()), 6);
+
+        // When
+        stream.read();
+        stream.skip(3);
+        int next = stream.read();
+
+        // Then
+        assertEquals('4', next);
+        assertEquals("01234", new String(stream.header()));
+    }
+
+    @Test
+    void shouldKeepShortStreamsWhole() throws Exception {
+        // Given
+        InputStream source = new ByteArrayInputStream("ab".getBytes());
+        HeaderCapturingInputStream stream = new HeaderCapturingInputStream(source, 64);
+
+        // When
+        stream.readAllBytes();
+
+        // Then
+        assertEquals("ab", new String(stream.header()));
+    }
+}
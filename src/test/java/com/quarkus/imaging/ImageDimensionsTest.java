@@ -0,0 +1,65 @@
+package com.quarkus.imaging;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageDimensionsTest {
+
+    @Test
+    void shouldReadPngDimensions() throws Exception {
+        byte[] png = encode(300, 150, "png");
+        assertEquals(Optional.of(new ImageDimensions(300, 150)), ImageDimensions.read(png, png.length));
+    }
+
+    @Test
+    void shouldReadJpegDimensions() throws Exception {
+        byte[] jpeg = encode(321, 123, "jpeg");
+        assertEquals(Optional.of(new ImageDimensions(321, 123)), ImageDimensions.read(jpeg, jpeg.length));
+    }
+
+    @Test
+    void shouldReadLossyWebpDimensions() {
+        byte[] webp = HexFormat.of().parseHex(
+            "52494646" + "00000000" + "57454250" + "56503820" + "00000000" + "000000" + "9d012a" + "4001" + "f000");
+        assertEquals(Optional.of(new ImageDimensions(320, 240)), ImageDimensions.read(webp, webp.length));
+    }
+
+    @Test
+    void shouldReadLosslessWebpDimensions() {
+        // 14 bits of width - 1 = 99, then 14 bits of height - 1 = 49
+        int bits = 99 | 49 << 14;
+        byte[] webp = HexFormat.of().parseHex("52494646" + "00000000" + "57454250" + "5650384c" + "00000000" + "2f"
+            + HexFormat.of().toHexDigits(Integer.reverseBytes(bits)) + "0000000000");
+        assertEquals(Optional.of(new ImageDimensions(100, 50)), ImageDimensions.read(webp, webp.length));
+    }
+
+    @Test
+    void shouldReadExtendedWebpDimensions() {
+        byte[] webp = HexFormat.of().parseHex(
+            "52494646" + "00000000" + "57454250" + "56503858" + "0a000000" + "10000000" + "ff0700" + "ff0300" + "00");
+        assertEquals(Optional.of(new ImageDimensions(2048, 1024)), ImageDimensions.read(webp, webp.length));
+    }
+
+    @Test
+    void shouldNotGuessFromUnknownOrTruncatedData() throws Exception {
+        byte[] text = "test image data".getBytes();
+        assertTrue(ImageDimensions.read(text, text.length).isEmpty());
+
+        byte[] jpeg = encode(321, 123, "jpeg");
+        assertTrue(ImageDimensions.read(Arrays.copyOf(jpeg, 4), 4).isEmpty());
+    }
+
+    private static byte[] encode(int width, int height, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,42 @@
+package com.quarkus.imaging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static com.quarkus.util.TestImages.jpeg;
+import static com.quarkus.util.TestImages.png;
+import static com.quarkus.util.TestImages.webp;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageFormatTest {
+
+    @Test
+    void shouldSniffSignatures() {
+        assertEquals(Optional.of(ImageFormat.JPEG), sniff(jpeg("data")));
+        assertEquals(Optional.of(ImageFormat.PNG), sniff(png("data")));
+        assertEquals(Optional.of(ImageFormat.WEBP), sniff(webp("data")));
+    }
+
+    @Test
+    void shouldNotSniffOtherOrTruncatedContent() {
+        assertTrue(sniff("%PDF-1.7 document".getBytes()).isEmpty());
+        assertTrue(sniff(new byte[0]).isEmpty());
+        // A RIFF container that is not WebP, e.g. WAV
+        assertTrue(sniff("RIFF\0\0\0\0WAVEfmt ".getBytes()).isEmpty());
+        byte[] png = png("data");
+        assertTrue(ImageFormat.sniff(png, 4).isEmpty());
+    }
+
+    @Test
+    void shouldResolveContentTypesCaseInsensitively() {
+        assertEquals(Optional.of(ImageFormat.JPEG), ImageFormat.fromContentType("IMAGE/JPEG"));
+        assertEquals(".webp", ImageFormat.fromContentType("image/webp").orElseThrow().extension());
+        assertTrue(ImageFormat.fromContentType("image/gif").isEmpty());
+        assertTrue(ImageFormat.fromContentType(null).isEmpty());
+    }
+
+    private static Optional<ImageFormat> sniff(byte[] data) {
+        return ImageFormat.sniff(data, data.length);
+    }
+}
@@ -0,0 +1,59 @@
+package com.quarkus.imaging;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceholderTest {
+
+    @Test
+    void shouldEncodeSolidColor() {
+        // Given
+        BufferedImage image = filled(640, 480, new Color(0xFF, 0x00, 0x00));
+
+        // When
+        Placeholder placeholder = Placeholder.of(image);
+
+        // Then - size flag for 4x3, then after the AC maximum the DC color 0xff0000 in base 83
+        assertEquals(28, placeholder.blurhash().length());
+        assertEquals("L", placeholder.blurhash().substring(0, 1));
+        assertEquals("TI:j", placeholder.blurhash().substring(2, 6));
+        assertEquals("#ff0000", placeholder.dominantColor());
+    }
+
+    @Test
+    void shouldPickTheMostFrequentColor() {
+        // Given - three quarters blue, one quarter white
+        BufferedImage image = filled(400, 400, Color.BLUE);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 200, 200);
+        graphics.dispose();
+
+        // When
+        Placeholder placeholder = Placeholder.of(image);
+
+        // Then
+        assertEquals("#0000ff", placeholder.dominantColor());
+        assertEquals(28, placeholder.blurhash().length());
+    }
+
+    @Test
+    void shouldIgnoreTransparentPixelsForDominantColor() {
+        int[] pixels = {0x00FFFFFF, 0x00FFFFFF, 0xFF00FF00};
+        assertEquals("#00ff00", Placeholder.dominantColor(pixels));
+    }
+
+    private static BufferedImage filled(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,161 @@
+package com.quarkus.persistence;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.quarkus.arc.ManagedContext;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionManager;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.SecurityContext;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadOnlyInterceptorTest {
+
+    @Spy
+    DataSourceRouting routing = new DataSourceRouting();
+
+    @Mock
+    TransactionManager transactionManager;
+
+    @Mock
+    Session session;
+
+    @Mock
+    InvocationContext context;
+
+    @Mock
+    ManagedContext requestContext;
+
+    @InjectMocks
+    ReadOnlyInterceptor interceptor;
+
+    private MockedStatic<Arc> arc;
+
+    private ReadReplicaTenantResolver resolver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ArcContainer container = mock(ArcContainer.class);
+        arc = mockStatic(Arc.class);
+        arc.when(Arc::container).thenReturn(container);
+        lenient().when(container.requestContext()).thenReturn(requestContext);
+        lenient().when(requestContext.isActive()).thenReturn(true);
+        lenient().when(transactionManager.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        lenient().when(session.isDefaultReadOnly()).thenReturn(false);
+        lenient().when(session.getHibernateFlushMode()).thenReturn(FlushMode.AUTO);
+
+        resolver = new ReadReplicaTenantResolver();
+        resolver.routing = routing;
+        resolver.transactionManager = transactionManager;
+        resolver.replicaEnabled = true;
+    }
+
+    @AfterEach
+    void tearDown() {
+        arc.close();
+    }
+
+    @Test
+    void shouldRunReadOnlySessionAgainstReplica() throws Exception {
+        // Given
+        when(context.proceed()).thenAnswer(invocation -> resolver.resolveTenantId());
+
+        // When
+        Object tenant = interceptor.routeToReplica(context);
+
+        // Then
+        assertEquals(ReadReplicaTenantResolver.REPLICA, tenant);
+        InOrder inOrder = inOrder(session, context);
+        inOrder.verify(session).setDefaultReadOnly(true);
+        inOrder.verify(session).setHibernateFlushMode(FlushMode.MANUAL);
+        inOrder.verify(context).proceed();
+        inOrder.verify(session).setHibernateFlushMode(FlushMode.AUTO);
+        inOrder.verify(session).setDefaultReadOnly(false);
+        assertFalse(routing.isReadOnly());
+    }
+
+    @Test
+    void shouldReadFromPrimaryAfterCallerWrote() throws Exception {
+        // Given - the caller wrote within the sticky window
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker();
+        tracker.stickyWindow = Duration.ofMinutes(1);
+        tracker.markWrite("admin");
+        ReadYourWritesFilter filter = new ReadYourWritesFilter();
+        filter.tracker = tracker;
+        filter.routing = routing;
+        ContainerRequestContext request = mock(ContainerRequestContext.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(request.getSecurityContext()).thenReturn(securityContext);
+        when(securityContext.getUserPrincipal()).thenReturn(() -> "admin");
+        when(context.proceed()).thenAnswer(invocation -> resolver.resolveTenantId());
+
+        // When
+        filter.filter(request);
+        Object tenant = interceptor.routeToReplica(context);
+
+        // Then - the session is still read-only, but on the primary
+        assertTrue(routing.isPinnedToPrimary());
+        assertEquals(ReadReplicaTenantResolver.PRIMARY, tenant);
+        verify(session).setDefaultReadOnly(true);
+        verify(session).setHibernateFlushMode(FlushMode.MANUAL);
+    }
+
+    @Test
+    void shouldRestoreSessionWhenMethodFails() throws Exception {
+        // Given
+        when(context.proceed()).thenThrow(new IllegalStateException("Query failed"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> interceptor.routeToReplica(context));
+        verify(session).setHibernateFlushMode(FlushMode.AUTO);
+        verify(session).setDefaultReadOnly(false);
+        assertFalse(routing.isReadOnly());
+    }
+
+    @Test
+    void shouldLeaveSessionAloneInsideTransaction() throws Exception {
+        // Given
+        when(transactionManager.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+        when(context.proceed()).thenAnswer(invocation -> resolver.resolveTenantId());
+
+        // When
+        Object tenant = interceptor.routeToReplica(context);
+
+        // Then
+        assertEquals(ReadReplicaTenantResolver.PRIMARY, tenant);
+        verifyNoInteractions(session);
+        verify(routing, never()).enterReadOnly();
+    }
+
+    @Test
+    void shouldLeaveSessionAloneWithoutRequestContext() throws Exception {
+        // Given
+        when(requestContext.isActive()).thenReturn(false);
+
+        // When
+        interceptor.routeToReplica(context);
+
+        // Then
+        verify(context).proceed();
+        verifyNoInteractions(session, transactionManager);
+        verify(routing, never()).enterReadOnly();
+    }
+}
@@ -0,0 +1,96 @@
+package com.quarkus.persistence;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaTenantResolverTest {
+
+    @Spy
+    DataSourceRouting routing = new DataSourceRouting();
+
+    @Mock
+    TransactionManager transactionManager;
+
+    @InjectMocks
+    ReadReplicaTenantResolver resolver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        resolver.replicaEnabled = true;
+        lenient().when(transactionManager.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+    }
+
+    @Test
+    void shouldUsePrimaryOutsideReadOnlyMethods() {
+        assertEquals(ReadReplicaTenantResolver.PRIMARY, resolver.resolveTenantId());
+    }
+
+    @Test
+    void shouldUseReplicaInsideReadOnlyMethods() {
+        routing.enterReadOnly();
+
+        assertEquals(ReadReplicaTenantResolver.REPLICA, resolver.resolveTenantId());
+    }
+
+    @Test
+    void shouldUsePrimaryWhenTransactionIsActive() throws Exception {
+        routing.enterReadOnly();
+        when(transactionManager.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+
+        assertEquals(ReadReplicaTenantResolver.PRIMARY, resolver.resolveTenantId());
+    }
+
+    @Test
+    void shouldUsePrimaryWhenPinnedAfterWrite() {
+        routing.enterReadOnly();
+        routing.pinToPrimary();
+
+        assertEquals(ReadReplicaTenantResolver.PRIMARY, resolver.resolveTenantId());
+    }
+
+    @Test
+    void shouldUsePrimaryWhenReplicaDisabled() {
+        resolver.replicaEnabled = false;
+        routing.enterReadOnly();
+
+        assertEquals(ReadReplicaTenantResolver.PRIMARY, resolver.resolveTenantId());
+    }
+
+    @Test
+    void shouldUsePrimaryWhenTransactionStatusIsUnknown() throws Exception {
+        routing.enterReadOnly();
+        when(transactionManager.getStatus()).thenThrow(new SystemException("No transaction manager"));
+
+        assertEquals(ReadReplicaTenantResolver.PRIMARY, resolver.resolveTenantId());
+    }
+
+    @Test
+    void shouldStayOnReplicaUntilOutermostReadOnlyMethodReturns() {
+        routing.enterReadOnly();
+        routing.enterReadOnly();
+        routing.exitReadOnly();
+
+        assertEquals(ReadReplicaTenantResolver.REPLICA, resolver.resolveTenantId());
+
+        routing.exitReadOnly();
+
+        assertEquals(ReadReplicaTenantResolver.PRIMARY, resolver.resolveTenantId());
+    }
+
+    @Test
+    void shouldDefaultToPrimary() {
+        assertEquals(ReadReplicaTenantResolver.PRIMARY, resolver.getDefaultTenantId());
+    }
+}
@@ -0,0 +1,53 @@
+package com.quarkus.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesTrackerTest {
+
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker();
+        tracker.stickyWindow = Duration.ofMinutes(1);
+    }
+
+    @Test
+    void shouldKeepCallerStickyOnlyWithinWindow() {
+        tracker.markWrite("admin");
+
+        assertTrue(tracker.isSticky("admin"));
+        assertFalse(tracker.isSticky("user"));
+
+        tracker.stickyWindow = Duration.ofMillis(-1);
+        tracker.markWrite("admin");
+
+        assertFalse(tracker.isSticky("admin"));
+    }
+
+    @Test
+    void shouldNotTrackWritesWhenWindowIsZero() {
+        tracker.stickyWindow = Duration.ZERO;
+
+        tracker.markWrite("admin");
+
+        assertFalse(tracker.isSticky("admin"));
+    }
+
+    @Test
+    void shouldEvictExpiredCallersOnly() {
+        tracker.markWrite("admin");
+        tracker.stickyWindow = Duration.ofMillis(-1);
+        tracker.markWrite("user");
+
+        tracker.evictExpired();
+
+        assertTrue(tracker.isSticky("admin"));
+        assertFalse(tracker.isSticky("user"));
+    }
+}
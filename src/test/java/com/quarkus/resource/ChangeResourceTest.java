@@ -0,0 +1,105 @@
+package com.quarkus.resource;
+
+import com.quarkus.common.PostgresResource;
+import com.quarkus.util.TestTokenHelper;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@QuarkusTestResource(PostgresResource.class)
+class ChangeResourceTest {
+
+    @Test
+    void shouldRecordAlbumCreationInFeed() {
+        long since = currentCursor();
+
+        Integer artistId = given()
+                .auth().oauth2(TestTokenHelper.generateAdminToken())
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"name": "Change Feed Artist", "type": "BAND"}
+                        """)
+                .when()
+                .post("/api/v1/artists")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        Integer albumId = given()
+                .auth().oauth2(TestTokenHelper.generateAdminToken())
+                .contentType(ContentType.JSON)
+                .body("{\"title\": \"Change Feed Album\", \"year\": 2020, \"artistIds\": [" + artistId + "]}")
+                .when()
+                .post("/api/v1/albums")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        given()
+                .auth().oauth2(TestTokenHelper.generateUserToken())
+                .queryParam("since", since)
+                .when()
+                .get("/api/v1/changes")
+                .then()
+                .statusCode(200)
+                .body("changes", hasSize(2))
+                .body("changes[0].entityType", equalTo("ARTIST"))
+                .body("changes[0].entityId", equalTo(artistId))
+                .body("changes[0].operation", equalTo("CREATED"))
+                .body("changes[1].entityType", equalTo("ALBUM"))
+                .body("changes[1].entityId", equalTo(albumId))
+                .body("hasMore", equalTo(false));
+    }
+
+    @Test
+    void shouldReturnEmptyPageAfterWaitWhenNoChanges() {
+        long since = currentCursor();
+
+        given()
+                .auth().oauth2(TestTokenHelper.generateUserToken())
+                .queryParam("since", since)
+                .queryParam("wait", 1)
+                .when()
+                .get("/api/v1/changes")
+                .then()
+                .statusCode(200)
+                .body("changes", hasSize(0))
+                .body("nextSince", equalTo((int) since));
+    }
+
+    @Test
+    void shouldRequireAuthentication() {
+        given()
+                .when()
+                .get("/api/v1/changes")
+                .then()
+                .statusCode(401);
+    }
+
+    private long currentCursor() {
+        long since = 0;
+        boolean hasMore = true;
+        while (hasMore) {
+            var response = given()
+                    .auth().oauth2(TestTokenHelper.generateUserToken())
+                    .queryParam("since", since)
+                    .queryParam("limit", 1000)
+                    .when()
+                    .get("/api/v1/changes")
+                    .then()
+                    .statusCode(200)
+                    .extract();
+            since = ((Number) response.path("nextSince")).longValue();
+            hasMore = response.path("hasMore");
+        }
+        return since;
+    }
+}
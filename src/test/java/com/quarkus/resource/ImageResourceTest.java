@@ -4,6 +4,7 @@ import com.quarkus.common.MinioTestResource;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -13,7 +14,11 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.List;
 
+import static com.quarkus.util.TestImages.jpeg;
+import static com.quarkus.util.TestImages.png;
+import static com.quarkus.util.TestImages.webp;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -123,13 +128,114 @@ class ImageResourceTest {
                 .then()
                 .statusCode(201)
                 .body("hash", notNullValue())
-                .body("hash", matchesRegex("\\d{4}/\\d{2}/\\d{2}/[a-f0-9\\-]+\\.jpg"))
+                .body("hash", matchesRegex("[a-f0-9]{2}/[a-f0-9]{2}/[a-f0-9\\-]+\\.jpg"))
                 .body("message", equalTo("Image uploaded successfully"));
 
         // Cleanup
         tempFile.delete();
     }
 
+    @Test
+    void shouldUploadImageAsRawStream() {
+        // When & Then
+        given()
+                .auth().oauth2(adminToken)
+                .contentType("image/png")
+                .queryParam("filename", "cover.png")
+                .body(png("test image data"))
+                .when()
+                .post("/api/v1/albums/{albumId}/images", testAlbumId)
+                .then()
+                .statusCode(201)
+                .body("hash", matchesRegex("[a-f0-9]{2}/[a-f0-9]{2}/[a-f0-9\\-]+\\.png"))
+                .body("message", equalTo("Image uploaded successfully"));
+    }
+
+    @Test
+    void shouldProcessUploadInBackgroundWhenAsyncResponseIsPreferred() throws InterruptedException {
+        // Given
+        String location = given()
+                .auth().oauth2(adminToken)
+                .contentType("image/png")
+                .header("Prefer", "respond-async")
+                .body(png("background image data"))
+                .when()
+                .post("/api/v1/albums/{albumId}/images", testAlbumId)
+                .then()
+                .statusCode(202)
+                .header("Preference-Applied", "respond-async")
+                .body("status", equalTo("PROCESSING"))
+                .extract()
+                .header("Location");
+
+        // When - the client polls the status URL until processing has finished
+        Response progress = null;
+        String status = "PROCESSING";
+        for (int attempt = 0; attempt < 100 && status.equals("PROCESSING"); attempt++) {
+            Thread.sleep(100);
+            progress = given()
+                    .auth().oauth2(adminToken)
+                    .when()
+                    .get(location)
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .response();
+            status = progress.path("status");
+        }
+
+        // Then - the worker stored and recorded the image, which is now served like any other
+        assertThat(location, endsWith("/status"));
+        assertThat(progress.asString(), status, equalTo("READY"));
+        String hash = progress.path("hash");
+        given()
+                .auth().oauth2(adminToken)
+                .when()
+                .get("/api/v1/albums/{albumId}/images/{hash}", testAlbumId, hash)
+                .then()
+                .statusCode(200)
+                .body("url", startsWith("http"));
+    }
+
+    @Test
+    void shouldReturnSameHashWhenUploadingIdenticalContentTwice() {
+        // Given
+        String firstHash = given()
+                .auth().oauth2(adminToken)
+                .contentType("image/jpeg")
+                .body(jpeg("identical image data"))
+                .when()
+                .post("/api/v1/albums/{albumId}/images", testAlbumId)
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("hash");
+
+        // When & Then
+        given()
+                .auth().oauth2(adminToken)
+                .contentType("image/jpeg")
+                .body(jpeg("identical image data"))
+                .when()
+                .post("/api/v1/albums/{albumId}/images", testAlbumId)
+                .then()
+                .statusCode(201)
+                .body("hash", equalTo(firstHash));
+    }
+
+    @Test
+    void shouldRejectEmptyRawStream() {
+        // When & Then
+        given()
+                .auth().oauth2(adminToken)
+                .contentType("image/jpeg")
+                .body(new byte[0])
+                .when()
+                .post("/api/v1/albums/{albumId}/images", testAlbumId)
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     void shouldRejectUploadWithoutAdminRole() throws IOException {
         // Given
@@ -167,6 +273,19 @@ class ImageResourceTest {
         tempFile.delete();
     }
 
+    @Test
+    void shouldRejectStreamWhoseBytesAreNotOfItsType() {
+        // When & Then
+        given()
+                .auth().oauth2(adminToken)
+                .contentType("image/jpeg")
+                .body(png("a png declared as jpeg"))
+                .when()
+                .post("/api/v1/albums/{albumId}/images", testAlbumId)
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     void shouldRejectOversizedFile() throws IOException {
         // Given - Create a file larger than 50MB (simulate by setting appropriate size metadata)
@@ -214,7 +333,9 @@ class ImageResourceTest {
                 .body("hash", equalTo(hash))
                 .body("url", notNullValue())
                 .body("url", startsWith("http"))
-                .body("expiresInMinutes", equalTo(presignedUrlExpiry));
+                .body("expiresInMinutes", lessThanOrEqualTo(presignedUrlExpiry))
+                .body("expiresInMinutes", greaterThanOrEqualTo(presignedUrlExpiry - 1))
+                .body("expiresAt", notNullValue());
     }
 
     @Test
@@ -244,6 +365,207 @@ class ImageResourceTest {
                 .body("url", notNullValue());
     }
 
+    @Test
+    void shouldListAlbumImagesWithPresignedUrls() {
+        // Given
+        for (String content : List.of("first image", "second image", "third image")) {
+            given()
+                    .auth().oauth2(adminToken)
+                    .contentType("image/jpeg")
+                    .body(jpeg(content))
+                    .when()
+                    .post("/api/v1/albums/{albumId}/images", testAlbumId)
+                    .then()
+                    .statusCode(201);
+        }
+
+        // When & Then
+        given()
+                .auth().oauth2(userToken)
+                .queryParam("page", 0)
+                .queryParam("size", 2)
+                .when()
+                .get("/api/v1/albums/{albumId}/images", testAlbumId)
+                .then()
+                .statusCode(200)
+                .body("content.size()", equalTo(2))
+                .body("content[0].contentType", equalTo("image/jpeg"))
+                .body("content[0].size", equalTo(11))
+                .body("content[0].url", startsWith("http"))
+                .body("content[0].expiresAt", notNullValue())
+                .body("totalElements", equalTo(3))
+                .body("totalPages", equalTo(2));
+    }
+
+    @Test
+    void shouldReturn404WhenListingImagesOfNonExistentAlbum() {
+        // When & Then
+        given()
+                .auth().oauth2(userToken)
+                .when()
+                .get("/api/v1/albums/{albumId}/images", 99999L)
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void shouldUploadImageThroughPresignedPutUrl() {
+        // Given - Reserve the image and get an upload URL
+        var uploadUrl = given()
+                .auth().oauth2(adminToken)
+                .contentType(ContentType.JSON)
+                .body("""
+                        {
+                            "filename": "direct.png",
+                            "contentType": "image/png"
+                        }
+                        """)
+                .when()
+                .post("/api/v1/albums/{albumId}/images/upload-url", testAlbumId)
+                .then()
+                .statusCode(201)
+                .body("uploadUrl", startsWith("http"))
+                .body("expiresAt", notNullValue())
+                .extract()
+                .jsonPath();
+        String hash = uploadUrl.getString("hash");
+
+        // The image stays invisible until the upload is completed
+        given()
+                .auth().oauth2(userToken)
+                .when()
+                .get("/api/v1/albums/{albumId}/images/{hash}", testAlbumId, hash)
+                .then()
+                .statusCode(404);
+
+        // When - Upload straight to MinIO, then complete
+        given()
+                .urlEncodingEnabled(false)
+                .contentType("image/png")
+                .body(png("direct upload data"))
+                .when()
+                .put(uploadUrl.getString("uploadUrl"))
+                .then()
+                .statusCode(200);
+
+        given()
+                .auth().oauth2(adminToken)
+                .when()
+                .post("/api/v1/albums/{albumId}/images/{hash}/complete", testAlbumId, hash)
+                .then()
+                .statusCode(200)
+                .body("hash", equalTo(hash));
+
+        // Then
+        given()
+                .auth().oauth2(userToken)
+                .when()
+                .get("/api/v1/albums/{albumId}/images/{hash}", testAlbumId, hash)
+                .then()
+                .statusCode(200)
+                .body("url", startsWith("http"));
+    }
+
+    @Test
+    void shouldRejectCompletingUploadThatWasNotSent() {
+        // Given
+        String hash = given()
+                .auth().oauth2(adminToken)
+                .contentType(ContentType.JSON)
+                .body("""
+                        {
+                            "contentType": "image/jpeg"
+                        }
+                        """)
+                .when()
+                .post("/api/v1/albums/{albumId}/images/upload-url", testAlbumId)
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("hash");
+
+        // When & Then
+        given()
+                .auth().oauth2(adminToken)
+                .when()
+                .post("/api/v1/albums/{albumId}/images/{hash}/complete", testAlbumId, hash)
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void shouldStreamImageContentWithRanges() {
+        // Given
+        String hash = given()
+                .auth().oauth2(adminToken)
+                .contentType("image/png")
+                .queryParam("filename", "content.png")
+                .body(png("test image data"))
+                .when()
+                .post("/api/v1/albums/{albumId}/images", testAlbumId)
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("hash");
+        String contentPath = "/api/v1/albums/" + testAlbumId + "/images/" + hash + "/content";
+
+        // When & Then - whole object
+        Response whole = given()
+                .auth().oauth2(userToken)
+                .when()
+                .get(contentPath)
+                .then()
+                .statusCode(STATUS_OK)
+                .contentType("image/png")
+                .header("Accept-Ranges", "bytes")
+                .header("Cache-Control", containsString("max-age"))
+                .extract()
+                .response();
+        assertThat(whole.asByteArray(), equalTo(png("test image data")));
+        String etag = whole.header("ETag");
+
+        // When & Then - a single range
+        given()
+                .auth().oauth2(userToken)
+                .header("Range", "bytes=13-17")
+                .when()
+                .get(contentPath)
+                .then()
+                .statusCode(206)
+                .header("Content-Range", "bytes 13-17/23")
+                .body(equalTo("image"));
+
+        // When & Then - unchanged copy
+        given()
+                .auth().oauth2(userToken)
+                .header("If-None-Match", etag)
+                .when()
+                .get(contentPath)
+                .then()
+                .statusCode(304);
+
+        // When & Then - range past the end
+        given()
+                .auth().oauth2(userToken)
+                .header("Range", "bytes=100-")
+                .when()
+                .get(contentPath)
+                .then()
+                .statusCode(416)
+                .header("Content-Range", "bytes */23");
+    }
+
+    @Test
+    void shouldReturn404ForContentOfNonExistentImage() {
+        // When & Then
+        given()
+                .auth().oauth2(userToken)
+                .when()
+                .get("/api/v1/albums/{albumId}/images/2026/02/02/nonexistent.jpg/content", testAlbumId)
+                .then()
+                .statusCode(404);
+    }
+
     @Test
     void shouldReturn404ForNonExistentImage() {
         // When & Then
@@ -413,8 +735,14 @@ class ImageResourceTest {
 
         // Write some test data to the file
         try (FileOutputStream fos = new FileOutputStream(tempFile)) {
-            // Create a minimal valid image-like data
-            byte[] testData = "test image data for MinIO integration testing".getBytes();
+            // Test data behind the signature of the content type, so it passes magic-byte sniffing
+            String content = "test image data for MinIO integration testing";
+            byte[] testData = switch (contentType) {
+                case "image/jpeg" -> jpeg(content);
+                case "image/png" -> png(content);
+                case "image/webp" -> webp(content);
+                default -> content.getBytes();
+            };
             fos.write(testData);
         }
 
@@ -0,0 +1,112 @@
+package com.quarkus.resource;
+
+import com.quarkus.common.MinioTestResource;
+import com.quarkus.util.TestTokenHelper;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.quarkus.util.TestImages.png;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency benchmark: starts 500 uploads at once and reports latency percentiles and
+ * throughput. Every upload has distinct content, so each one stores its own object; with
+ * storage calls awaited on virtual threads the uploads overlap instead of queuing for
+ * worker threads.
+ */
+@QuarkusTest
+@QuarkusTestResource(MinioTestResource.class)
+class ImageUploadConcurrencyTest {
+
+    private static final Logger LOG = Logger.getLogger(ImageUploadConcurrencyTest.class);
+
+    private static final int UPLOADS = 500;
+
+    @TestHTTPResource("/api/v1/albums")
+    URL albumsUrl;
+
+    @Test
+    void shouldServeFiveHundredSimultaneousUploads() throws Exception {
+        // Given
+        String token = TestTokenHelper.generateAdminToken();
+        long albumId = createAlbum(token);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        // When
+        long start = System.nanoTime();
+        List<CompletableFuture<Long>> latencies = new ArrayList<>();
+        Set<Integer> statuses = new HashSet<>();
+        for (int i = 0; i < UPLOADS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(albumsUrl + "/" + albumId + "/images?filename=bench.png"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "image/png")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(png("benchmark image " + i)))
+                    .build();
+            long sent = System.nanoTime();
+            latencies.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> {
+                        synchronized (statuses) {
+                            statuses.add(response.statusCode());
+                        }
+                        return System.nanoTime() - sent;
+                    }));
+        }
+        CompletableFuture.allOf(latencies.toArray(CompletableFuture[]::new)).get(120, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - start;
+
+        // Then
+        assertEquals(Set.of(201), statuses);
+        List<Long> sorted = latencies.stream().map(CompletableFuture::join).sorted().toList();
+        LOG.infof("%d uploads in %d ms (%.0f/s), p50 %d ms, p99 %d ms, max %d ms",
+                UPLOADS, TimeUnit.NANOSECONDS.toMillis(elapsed), UPLOADS * 1e9 / elapsed,
+                TimeUnit.NANOSECONDS.toMillis(sorted.get(UPLOADS / 2)),
+                TimeUnit.NANOSECONDS.toMillis(sorted.get(UPLOADS * 99 / 100)),
+                TimeUnit.NANOSECONDS.toMillis(sorted.get(UPLOADS - 1)));
+    }
+
+    private long createAlbum(String token) {
+        long artistId = given()
+                .auth().oauth2(token)
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"name": "Benchmark Artist %d", "type": "BAND"}
+                        """.formatted(System.nanoTime()))
+                .when()
+                .post("/api/v1/artists")
+                .then()
+                .statusCode(201)
+                .extract()
+                .jsonPath()
+                .getLong("id");
+        return given()
+                .auth().oauth2(token)
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"title": "Benchmark Album", "year": 2024, "artistIds": [%d]}
+                        """.formatted(artistId))
+                .when()
+                .post("/api/v1/albums")
+                .then()
+                .statusCode(201)
+                .extract()
+                .jsonPath()
+                .getLong("id");
+    }
+}
@@ -0,0 +1,158 @@
+package com.quarkus.resource;
+
+import com.quarkus.common.MinioTestResource;
+import com.quarkus.util.TestTokenHelper;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.quarkus.util.TestImages.jpeg;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Holds more uploads open mid-transfer than the primary pool has connections and checks
+ * that catalog traffic still gets a connection, i.e. no upload keeps one while its bytes
+ * are on the way to storage.
+ */
+@QuarkusTest
+@QuarkusTestResource(MinioTestResource.class)
+class ImageUploadConnectionTest {
+
+    private static final int UPLOADS = 20; // more than quarkus.datasource.primary.jdbc.max-size
+
+    @TestHTTPResource("/api/v1/albums")
+    URL albumsUrl;
+
+    @Inject
+    @DataSource("primary")
+    AgroalDataSource primaryDataSource;
+
+    @Test
+    void shouldNotStarveCatalogWhileUploadsAreInFlight() throws Exception {
+        // Given
+        String token = TestTokenHelper.generateAdminToken();
+        long albumId = createAlbum(token);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch sending = new CountDownLatch(UPLOADS);
+        HttpClient client = HttpClient.newHttpClient();
+        List<CompletableFuture<HttpResponse<String>>> uploads = new ArrayList<>();
+        for (int i = 0; i < UPLOADS; i++) {
+            byte[] head = jpeg("held upload " + i + " ");
+            HttpRequest request = HttpRequest.newBuilder(URI.create(albumsUrl + "/" + albumId + "/images?filename=held.jpg"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "image/jpeg")
+                    // Chunked body: the first bytes arrive, the rest waits for the latch
+                    .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new SequenceInputStream(
+                            new ByteArrayInputStream(head), new HeldInputStream(sending, release))))
+                    .build();
+            uploads.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        try {
+            assertTrue(sending.await(30, TimeUnit.SECONDS), "uploads did not start");
+            // Give the server time to pick up every request and block on the body
+            Thread.sleep(1000);
+
+            // When & Then - connections and writes are still served promptly
+            assertTimeoutPreemptively(Duration.ofSeconds(3), () -> {
+                try (Connection connection = primaryDataSource.getConnection()) {
+                    assertTrue(connection.isValid(1));
+                }
+            });
+            assertTimeoutPreemptively(Duration.ofSeconds(3), () -> createArtist(token, "Starvation Test Writer"));
+        } finally {
+            release.countDown();
+        }
+
+        for (CompletableFuture<HttpResponse<String>> upload : uploads) {
+            assertEquals(201, upload.get(60, TimeUnit.SECONDS).statusCode());
+        }
+    }
+
+    private long createAlbum(String token) {
+        long artistId = createArtist(token, "Starvation Test Artist");
+        return given()
+                .auth().oauth2(token)
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"title": "Starvation Test Album", "year": 2024, "artistIds": [%d]}
+                        """.formatted(artistId))
+                .when()
+                .post("/api/v1/albums")
+                .then()
+                .statusCode(201)
+                .extract()
+                .jsonPath()
+                .getLong("id");
+    }
+
+    private long createArtist(String token, String name) {
+        return given()
+                .auth().oauth2(token)
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"name": "%s %d", "type": "SINGER"}
+                        """.formatted(name, System.nanoTime()))
+                .when()
+                .post("/api/v1/artists")
+                .then()
+                .statusCode(201)
+                .extract()
+                .jsonPath()
+                .getLong("id");
+    }
+
+    /**
+     * End of an upload body that only arrives once the test releases it.
+     */
+    private static final class HeldInputStream extends InputStream {
+
+        private final CountDownLatch sending;
+        private final CountDownLatch release;
+        private boolean started;
+
+        HeldInputStream(CountDownLatch sending, CountDownLatch release) {
+            this.sending = sending;
+            this.release = release;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!started) {
+                started = true;
+                sending.countDown();
+            }
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while holding upload", e);
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.quarkus.resource;
+
+import com.quarkus.common.MinioTestResource;
+import com.quarkus.util.TestTokenHelper;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static com.quarkus.util.TestImages.png;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@QuarkusTestResource(MinioTestResource.class)
+class ResumableUploadResourceTest {
+
+    private static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+    private String adminToken;
+    private long albumId;
+
+    @BeforeEach
+    void setUp() {
+        adminToken = TestTokenHelper.generateAdminToken();
+        long artistId = given()
+                .auth().oauth2(adminToken)
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"name": "Resumable Upload Artist %d", "type": "SINGER"}
+                        """.formatted(System.nanoTime()))
+                .when()
+                .post("/api/v1/artists")
+                .then()
+                .statusCode(201)
+                .extract()
+                .jsonPath()
+                .getLong("id");
+        albumId = given()
+                .auth().oauth2(adminToken)
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"title": "Resumable Upload Album", "year": 2024, "artistIds": [%d]}
+                        """.formatted(artistId))
+                .when()
+                .post("/api/v1/albums")
+                .then()
+                .statusCode(201)
+                .extract()
+                .jsonPath()
+                .getLong("id");
+    }
+
+    @Test
+    void shouldUploadImageInChunksAndResumeFromReportedOffset() {
+        // Given
+        byte[] image = png("resumable upload content");
+        String location = create(image.length);
+
+        // When - the first chunk arrives, then the client asks where to continue
+        given()
+                .auth().oauth2(adminToken)
+                .header("Tus-Resumable", "1.0.0")
+                .header("Upload-Offset", 0)
+                .contentType(OFFSET_OCTET_STREAM)
+                .body(Arrays.copyOfRange(image, 0, 10))
+                .when()
+                .patch(location)
+                .then()
+                .statusCode(204)
+                .header("Upload-Offset", "10");
+        String offset = given()
+                .auth().oauth2(adminToken)
+                .header("Tus-Resumable", "1.0.0")
+                .when()
+                .head(location)
+                .then()
+                .statusCode(200)
+                .header("Upload-Length", String.valueOf(image.length))
+                .header("Cache-Control", "no-store")
+                .extract()
+                .header("Upload-Offset");
+
+        // Then
+        given()
+                .auth().oauth2(adminToken)
+                .header("Tus-Resumable", "1.0.0")
+                .header("Upload-Offset", offset)
+                .contentType(OFFSET_OCTET_STREAM)
+                .body(Arrays.copyOfRange(image, Integer.parseInt(offset), image.length))
+                .when()
+                .patch(location)
+                .then()
+                .statusCode(204)
+                .header("Upload-Offset", String.valueOf(image.length))
+                .header("X-Image-Hash", matchesPattern("[a-f0-9]{2}/[a-f0-9]{2}/[a-f0-9\\-]+\\.png"));
+        given()
+                .auth().oauth2(adminToken)
+                .when()
+                .get("/api/v1/albums/" + albumId + "/images")
+                .then()
+                .statusCode(200)
+                .body("content.size()", is(1));
+    }
+
+    @Test
+    void shouldRejectChunkAtStaleOffset() {
+        // Given
+        String location = create(100);
+
+        // When & Then
+        given()
+                .auth().oauth2(adminToken)
+                .header("Tus-Resumable", "1.0.0")
+                .header("Upload-Offset", 50)
+                .contentType(OFFSET_OCTET_STREAM)
+                .body(new byte[10])
+                .when()
+                .patch(location)
+                .then()
+                .statusCode(409);
+    }
+
+    @Test
+    void shouldRejectUploadWithoutLength() {
+        // When & Then
+        given()
+                .auth().oauth2(adminToken)
+                .header("Tus-Resumable", "1.0.0")
+                .header("Upload-Metadata", metadata())
+                .when()
+                .post("/api/v1/albums/" + albumId + "/images/uploads")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void shouldForgetTerminatedUpload() {
+        // Given
+        String location = create(100);
+
+        // When
+        given()
+                .auth().oauth2(adminToken)
+                .header("Tus-Resumable", "1.0.0")
+                .when()
+                .delete(location)
+                .then()
+                .statusCode(204);
+
+        // Then
+        given()
+                .auth().oauth2(adminToken)
+                .header("Tus-Resumable", "1.0.0")
+                .when()
+                .head(location)
+                .then()
+                .statusCode(404);
+    }
+
+    private String create(long length) {
+        return given()
+                .auth().oauth2(adminToken)
+                .header("Tus-Resumable", "1.0.0")
+                .header("Upload-Length", length)
+                .header("Upload-Metadata", metadata())
+                .when()
+                .post("/api/v1/albums/" + albumId + "/images/uploads")
+                .then()
+                .statusCode(201)
+                .header("Upload-Offset", "0")
+                .extract()
+                .header("Location");
+    }
+
+    private static String metadata() {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return "filename " + encoder.encodeToString("cover.png".getBytes(StandardCharsets.UTF_8))
+                + ",filetype " + encoder.encodeToString("image/png".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,153 @@
+package com.quarkus.resource;
+
+import com.quarkus.common.MinioTestResource;
+import com.quarkus.util.TestTokenHelper;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.quarkus.util.TestImages.jpeg;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@QuarkusTestResource(MinioTestResource.class)
+class StorageUsageResourceTest {
+
+    private static final byte[] TEST_IMAGE = jpeg("storage usage");
+
+    private Long albumId;
+
+    @BeforeEach
+    void setUp() {
+        Integer artistId = given()
+                .auth().oauth2(TestTokenHelper.generateAdminToken())
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"name": "Storage Usage Artist", "type": "BAND"}
+                        """)
+                .when()
+                .post("/api/v1/artists")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        albumId = given()
+                .auth().oauth2(TestTokenHelper.generateAdminToken())
+                .contentType(ContentType.JSON)
+                .body("{\"title\": \"Storage Usage Album\", \"year\": 2020, \"artistIds\": [" + artistId + "]}")
+                .when()
+                .post("/api/v1/albums")
+                .then()
+                .statusCode(201)
+                .extract()
+                .jsonPath()
+                .getLong("id");
+    }
+
+    @Test
+    void shouldCountUploadedAndDeletedImages() {
+        String hash = upload()
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("hash");
+
+        given()
+                .auth().oauth2(TestTokenHelper.generateAdminToken())
+                .when()
+                .get("/api/v1/storage/usage/albums/{albumId}", albumId)
+                .then()
+                .statusCode(200)
+                .body("imageCount", equalTo(1))
+                .body("bytes", equalTo(TEST_IMAGE.length));
+
+        given()
+                .auth().oauth2(TestTokenHelper.generateAdminToken())
+                .when()
+                .get("/api/v1/storage/usage")
+                .then()
+                .statusCode(200)
+                .body("bucket", hasItem("album-images"));
+
+        given()
+                .auth().oauth2(TestTokenHelper.generateAdminToken())
+                .when()
+                .delete("/api/v1/albums/{albumId}/images/{hash}", albumId, hash)
+                .then()
+                .statusCode(204);
+
+        given()
+                .auth().oauth2(TestTokenHelper.generateAdminToken())
+                .when()
+                .get("/api/v1/storage/usage/albums/{albumId}", albumId)
+                .then()
+                .statusCode(200)
+                .body("imageCount", equalTo(0))
+                .body("bytes", equalTo(0));
+    }
+
+    @Test
+    void shouldRejectUploadBeyondAlbumQuota() {
+        given()
+                .auth().oauth2(TestTokenHelper.generateAdminToken())
+                .contentType(ContentType.JSON)
+                .body("{\"quotaBytes\": 10}")
+                .when()
+                .put("/api/v1/storage/usage/albums/{albumId}/quota", albumId)
+                .then()
+                .statusCode(200)
+                .body("quotaBytes", equalTo(10));
+
+        upload()
+                .then()
+                .statusCode(413);
+
+        // Clearing the quota falls back to the default, which is unlimited
+        given()
+                .auth().oauth2(TestTokenHelper.generateAdminToken())
+                .contentType(ContentType.JSON)
+                .body("{\"quotaBytes\": null}")
+                .when()
+                .put("/api/v1/storage/usage/albums/{albumId}/quota", albumId)
+                .then()
+                .statusCode(200)
+                .body("quotaBytes", nullValue());
+
+        upload()
+                .then()
+                .statusCode(201);
+    }
+
+    @Test
+    void shouldRequireAdminRole() {
+        given()
+                .auth().oauth2(TestTokenHelper.generateUserToken())
+                .when()
+                .get("/api/v1/storage/usage/albums/{albumId}", albumId)
+                .then()
+                .statusCode(403);
+    }
+
+    @Test
+    void shouldReturnNotFoundForUsageOfMissingAlbum() {
+        given()
+                .auth().oauth2(TestTokenHelper.generateAdminToken())
+                .when()
+                .get("/api/v1/storage/usage/albums/{albumId}", 999999)
+                .then()
+                .statusCode(404);
+    }
+
+    private Response upload() {
+        return given()
+                .auth().oauth2(TestTokenHelper.generateAdminToken())
+                .multiPart("file", "cover.jpg", TEST_IMAGE, "image/jpeg")
+                .when()
+                .post("/api/v1/albums/{albumId}/images", albumId);
+    }
+}
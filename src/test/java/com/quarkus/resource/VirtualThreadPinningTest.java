@@ -0,0 +1,82 @@
+package com.quarkus.resource;
+
+import com.quarkus.common.MinioTestResource;
+import com.quarkus.util.TestTokenHelper;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.virtual.ShouldNotPin;
+import io.quarkus.test.junit.virtual.VirtualThreadUnit;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import static com.quarkus.util.TestImages.jpeg;
+import static io.restassured.RestAssured.given;
+
+/**
+ * Fails when a request served on a virtual thread pins its carrier thread, e.g. by
+ * blocking inside a synchronized block of the JDBC driver or the MinIO/OkHttp client.
+ */
+@QuarkusTest
+@QuarkusTestResource(MinioTestResource.class)
+@VirtualThreadUnit
+@ShouldNotPin
+class VirtualThreadPinningTest {
+
+    @Test
+    void catalogReadsShouldNotPin() {
+        String token = TestTokenHelper.generateUserToken();
+
+        given().auth().oauth2(token).when().get("/api/v1/albums").then().statusCode(200);
+        given().auth().oauth2(token).when().get("/api/v1/artists").then().statusCode(200);
+        given().auth().oauth2(token).when().get("/api/v1/regionals").then().statusCode(200);
+        given().auth().oauth2(token).when().get("/api/v1/changes").then().statusCode(200);
+    }
+
+    @Test
+    void imageUploadAndPresignShouldNotPin() {
+        String token = TestTokenHelper.generateAdminToken();
+
+        Integer artistId = given()
+                .auth().oauth2(token)
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"name": "Pinning Test Artist", "type": "SINGER"}
+                        """)
+                .when()
+                .post("/api/v1/artists")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        Integer albumId = given()
+                .auth().oauth2(token)
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"title": "Pinning Test Album", "year": 2024, "artistIds": [%d]}
+                        """.formatted(artistId))
+                .when()
+                .post("/api/v1/albums")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        String hash = given()
+                .auth().oauth2(token)
+                .multiPart("file", "cover.jpg", jpeg("test image data"), "image/jpeg")
+                .when()
+                .post("/api/v1/albums/{albumId}/images", albumId)
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("hash");
+
+        given()
+                .auth().oauth2(token)
+                .when()
+                .get("/api/v1/albums/{albumId}/images/{hash}", albumId, hash)
+                .then()
+                .statusCode(200);
+    }
+}
@@ -4,13 +4,18 @@ import com.quarkus.dto.request.AlbumRequest;
 import com.quarkus.dto.response.AlbumResponse;
 import com.quarkus.dto.response.PageResponse;
 import com.quarkus.entity.Album;
+import com.quarkus.entity.AlbumImage;
 import com.quarkus.entity.Artist;
 import com.quarkus.entity.ArtistType;
+import com.quarkus.entity.CatalogEntityType;
+import com.quarkus.entity.ChangeOperation;
+import com.quarkus.repository.AlbumReadRepository;
 import com.quarkus.repository.AlbumRepository;
 import com.quarkus.repository.ArtistRepository;
 import com.quarkus.websocket.AlbumNotificationSocket;
-import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.event.Event;
 import jakarta.ws.rs.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +24,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -33,12 +39,24 @@ class AlbumServiceTest {
     @Mock
     AlbumRepository albumRepository;
 
+    @Mock
+    AlbumReadRepository albumReadRepository;
+
     @Mock
     ArtistRepository artistRepository;
 
     @Mock
     AlbumNotificationSocket notificationSocket;
 
+    @Mock
+    ChangeFeedService changeFeedService;
+
+    @Mock
+    ImageService imageService;
+
+    @Mock
+    Event<PresignedUrlCache.Evict> presignedUrlEvict;
+
     @InjectMocks
     AlbumService albumService;
 
@@ -62,13 +80,14 @@ class AlbumServiceTest {
     @Test
     void shouldFindAllAlbumsWithPagination() {
         // Given
-        List<Album> albums = List.of(album1);
-        when(albumRepository.findWithFilters(any(Page.class), any(Sort.class), isNull()))
-            .thenReturn(albums);
-        when(albumRepository.countWithFilters(isNull())).thenReturn(1L);
+        AlbumResponse response = AlbumResponse.from(album1);
+        when(albumReadRepository.findWithFilters(eq(0), eq(20), any(Sort.class), isNull()))
+            .thenReturn(Uni.createFrom().item(List.of(response)));
+        when(albumReadRepository.countWithFilters(isNull())).thenReturn(Uni.createFrom().item(1L));
 
         // When
-        PageResponse<AlbumResponse> result = albumService.findAll(0, 20, "title:asc", null);
+        PageResponse<AlbumResponse> result = albumService.findAllAsync(0, 20, "title:asc", null)
+            .await().indefinitely();
 
         // Then
         assertNotNull(result);
@@ -78,49 +97,49 @@ class AlbumServiceTest {
         assertEquals(1L, result.totalElements());
         assertEquals(1, result.totalPages());
         assertEquals("A Night at the Opera", result.content().get(0).title());
-
-        verify(albumRepository).findWithFilters(any(Page.class), any(Sort.class), isNull());
-        verify(albumRepository).countWithFilters(isNull());
     }
 
     @Test
-    void shouldCapPageSizeAt100() {
+    void shouldFindAllAlbumsAsyncWithCappedPageSize() {
         // Given
-        when(albumRepository.findWithFilters(any(Page.class), any(Sort.class), isNull()))
-            .thenReturn(List.of());
-        when(albumRepository.countWithFilters(isNull())).thenReturn(0L);
+        AlbumResponse response = AlbumResponse.from(album1);
+        when(albumReadRepository.findWithFilters(eq(0), eq(100), any(Sort.class), eq(ArtistType.BAND)))
+            .thenReturn(Uni.createFrom().item(List.of(response)));
+        when(albumReadRepository.countWithFilters(eq(ArtistType.BAND)))
+            .thenReturn(Uni.createFrom().item(101L));
 
         // When
-        albumService.findAll(0, 150, null, null);
+        PageResponse<AlbumResponse> result = albumService.findAllAsync(-1, 150, "year:desc", ArtistType.BAND)
+            .await().indefinitely();
 
         // Then
-        verify(albumRepository).findWithFilters(argThat(page -> page.size == 100), any(Sort.class), isNull());
+        assertEquals(List.of(response), result.content());
+        assertEquals(0, result.page());
+        assertEquals(100, result.size());
+        assertEquals(101L, result.totalElements());
+        assertEquals(2, result.totalPages());
+        verify(albumReadRepository).findWithFilters(eq(0), eq(100),
+            argThat(sort -> sort.getColumns().get(0).getName().equals("year")
+                && sort.getColumns().get(0).getDirection() == Sort.Direction.Descending),
+            eq(ArtistType.BAND));
     }
 
     @Test
-    void shouldFilterByArtistType() {
+    void shouldFailAsyncFindByIdWhenAlbumNotFound() {
         // Given
-        when(albumRepository.findWithFilters(any(Page.class), any(Sort.class), eq(ArtistType.BAND)))
-            .thenReturn(List.of(album1));
-        when(albumRepository.countWithFilters(eq(ArtistType.BAND))).thenReturn(1L);
-
-        // When
-        PageResponse<AlbumResponse> result = albumService.findAll(0, 20, null, ArtistType.BAND);
+        when(albumReadRepository.findById(999L)).thenReturn(Uni.createFrom().item(Optional.empty()));
 
-        // Then
-        assertNotNull(result);
-        assertEquals(1, result.content().size());
-        verify(albumRepository).findWithFilters(any(Page.class), any(Sort.class), eq(ArtistType.BAND));
-        verify(albumRepository).countWithFilters(eq(ArtistType.BAND));
+        // When/Then
+        assertThrows(NotFoundException.class, () -> albumService.findByIdAsync(999L).await().indefinitely());
     }
 
     @Test
     void shouldFindAlbumById() {
         // Given
-        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(album1));
+        when(albumReadRepository.findById(1L)).thenReturn(Uni.createFrom().item(Optional.of(AlbumResponse.from(album1))));
 
         // When
-        AlbumResponse result = albumService.findById(1L);
+        AlbumResponse result = albumService.findByIdAsync(1L).await().indefinitely();
 
         // Then
         assertNotNull(result);
@@ -130,15 +149,6 @@ class AlbumServiceTest {
         assertEquals(1, result.artists().size());
     }
 
-    @Test
-    void shouldThrowNotFoundExceptionWhenAlbumNotFound() {
-        // Given
-        when(albumRepository.findByIdOptional(999L)).thenReturn(Optional.empty());
-
-        // When & Then
-        assertThrows(NotFoundException.class, () -> albumService.findById(999L));
-    }
-
     @Test
     void shouldCreateAlbumWithArtists() {
         // Given
@@ -163,6 +173,7 @@ class AlbumServiceTest {
         verify(artistRepository).findByIdOptional(1L);
         verify(artistRepository).findByIdOptional(2L);
         verify(albumRepository).persist(any(Album.class));
+        verify(changeFeedService).record(CatalogEntityType.ALBUM, 10L, null, ChangeOperation.CREATED);
     }
 
     @Test
@@ -194,6 +205,7 @@ class AlbumServiceTest {
 
         verify(albumRepository).findByIdOptional(1L);
         verify(artistRepository).findByIdOptional(2L);
+        verify(changeFeedService).record(CatalogEntityType.ALBUM, 1L, null, ChangeOperation.UPDATED);
     }
 
     @Test
@@ -217,6 +229,25 @@ class AlbumServiceTest {
         // Then
         verify(albumRepository).findByIdOptional(1L);
         verify(albumRepository).delete(album1);
+        verify(changeFeedService).record(CatalogEntityType.ALBUM, 1L, null, ChangeOperation.DELETED);
+        verify(presignedUrlEvict).fire(new PresignedUrlCache.Evict(1L, null));
+    }
+
+    @Test
+    void shouldReleaseStoredObjectsWhenDeletingAlbum() {
+        // Given
+        album1.setImages(new ArrayList<>(List.of(
+            new AlbumImage(album1, "bucket", "2026/02/02/a.jpg", "image/jpeg", 10, "sha256/aa/aa.jpg"),
+            new AlbumImage(album1, "bucket", "2026/02/02/b.jpg", "image/jpeg", 10, "sha256/bb/bb.jpg")
+        )));
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(album1));
+
+        // When
+        albumService.delete(1L);
+
+        // Then
+        verify(changeFeedService).record(CatalogEntityType.IMAGE, 1L, "2026/02/02/a.jpg", ChangeOperation.DELETED);
+        verify(imageService).releaseStoredObjects(List.of("sha256/aa/aa.jpg", "sha256/bb/bb.jpg"));
     }
 
     @Test
@@ -231,17 +262,17 @@ class AlbumServiceTest {
     @Test
     void shouldParseSortParamCorrectly() {
         // Given
-        when(albumRepository.findWithFilters(any(Page.class), any(Sort.class), isNull()))
-            .thenReturn(List.of());
-        when(albumRepository.countWithFilters(isNull())).thenReturn(0L);
+        when(albumReadRepository.findWithFilters(anyInt(), anyInt(), any(Sort.class), isNull()))
+            .thenReturn(Uni.createFrom().item(List.of()));
+        when(albumReadRepository.countWithFilters(isNull())).thenReturn(Uni.createFrom().item(0L));
 
         // When - test various sort parameters
-        albumService.findAll(0, 20, "title:asc", null);
-        albumService.findAll(0, 20, "year:desc", null);
-        albumService.findAll(0, 20, null, null);
-        albumService.findAll(0, 20, "invalid", null);
+        albumService.findAllAsync(0, 20, "title:asc", null).await().indefinitely();
+        albumService.findAllAsync(0, 20, "year:desc", null).await().indefinitely();
+        albumService.findAllAsync(0, 20, null, null).await().indefinitely();
+        albumService.findAllAsync(0, 20, "invalid", null).await().indefinitely();
 
         // Then
-        verify(albumRepository, times(4)).findWithFilters(any(Page.class), any(Sort.class), isNull());
+        verify(albumReadRepository, times(4)).findWithFilters(eq(0), eq(20), any(Sort.class), isNull());
     }
 }
@@ -0,0 +1,182 @@
+package com.quarkus.service;
+
+import com.quarkus.imaging.ImageFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.InternalServerErrorException;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.quarkus.util.TestImages.jpeg;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncUploadServiceTest {
+
+    private static final byte[] TEST_IMAGE = jpeg("test image data");
+
+    private static final String HASH = "2026/02/02/uuid.jpg";
+
+    @TempDir
+    Path spoolDirectory;
+
+    @Mock
+    ImageService imageService;
+
+    @Mock
+    ImageUploadTransactions uploadTransactions;
+
+    @Mock
+    StorageUsageService storageUsageService;
+
+    AsyncUploadService asyncUploadService;
+
+    @BeforeEach
+    void setUp() {
+        AsyncUploadProcessor processor = new AsyncUploadProcessor();
+        processor.imageService = imageService;
+        processor.meterRegistry = new SimpleMeterRegistry();
+        processor.start();
+
+        asyncUploadService = new AsyncUploadService();
+        asyncUploadService.imageService = imageService;
+        asyncUploadService.processor = processor;
+        asyncUploadService.uploadTransactions = uploadTransactions;
+        asyncUploadService.storageUsageService = storageUsageService;
+        asyncUploadService.meterRegistry = new SimpleMeterRegistry();
+        asyncUploadService.workers = 1;
+        asyncUploadService.queueCapacity = 1;
+        asyncUploadService.spoolDirectory = spoolDirectory.toString();
+        asyncUploadService.retryAfter = Duration.ofSeconds(5);
+        asyncUploadService.maxFileSize = 1024;
+        asyncUploadService.start();
+
+        lenient().when(imageService.validateContentType("image/jpeg")).thenReturn(ImageFormat.JPEG);
+        lenient().when(imageService.requireFormat(any(), eq(ImageFormat.JPEG)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(imageService.reserveProcessing(1L, "cover.jpg", "image/jpeg")).thenReturn(HASH);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncUploadService.stop();
+    }
+
+    @Test
+    void shouldProcessAcceptedUploadInBackground() throws Exception {
+        // Given
+        CountDownLatch processed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            assertArrayEquals(TEST_IMAGE, invocation.<InputStream>getArgument(2).readAllBytes());
+            processed.countDown();
+            return null;
+        }).when(imageService).processUpload(eq(1L), eq(HASH), any(), eq(18L), eq("image/jpeg"));
+
+        // When
+        String hash = asyncUploadService.accept(1L, "cover.jpg", new ByteArrayInputStream(TEST_IMAGE), -1L, "image/jpeg");
+
+        // Then - the spooled bytes are stored and the spool file removed afterwards
+        assertEquals(HASH, hash);
+        assertTrue(processed.await(5, TimeUnit.SECONDS));
+        verify(imageService, never()).failProcessing(any(), any(), any());
+        awaitSpoolEmpty();
+    }
+
+    @Test
+    void shouldMarkUploadFailedWhenProcessingFails() throws Exception {
+        // Given
+        doThrow(new InternalServerErrorException("Failed to upload image"))
+                .when(imageService).processUpload(eq(1L), eq(HASH), any(), anyLong(), any());
+
+        // When
+        asyncUploadService.accept(1L, "cover.jpg", new ByteArrayInputStream(TEST_IMAGE), 18L, "image/jpeg");
+
+        // Then
+        verify(imageService, timeout(5000)).failProcessing(1L, HASH, "Failed to upload image");
+        awaitSpoolEmpty();
+    }
+
+    @Test
+    void shouldRejectOversizedBodyBeforeReservingImage() throws Exception {
+        // Given
+        asyncUploadService.maxFileSize = 10;
+        when(imageService.fileTooLarge()).thenReturn(new BadRequestException("File size exceeds maximum allowed size"));
+
+        // When & Then
+        assertThrows(BadRequestException.class, () ->
+                asyncUploadService.accept(1L, "cover.jpg", new ByteArrayInputStream(TEST_IMAGE), -1L, "image/jpeg"));
+        verify(imageService, never()).reserveProcessing(any(), any(), any());
+        awaitSpoolEmpty();
+    }
+
+    @Test
+    void shouldRejectUploadExceedingAlbumQuotaBeforeReadingIt() throws Exception {
+        // Given
+        doThrow(new ClientErrorException("Storage quota exceeded for album: 1", Response.Status.REQUEST_ENTITY_TOO_LARGE))
+                .when(storageUsageService).checkQuota(1L, 18L);
+        InputStream rejected = new ByteArrayInputStream(TEST_IMAGE);
+
+        // When & Then
+        assertThrows(ClientErrorException.class, () ->
+                asyncUploadService.accept(1L, "cover.jpg", rejected, 18L, "image/jpeg"));
+        assertEquals(TEST_IMAGE.length, rejected.available());
+        verify(imageService, never()).reserveProcessing(any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectUploadWhenProcessingQueueIsFull() throws Exception {
+        // Given - one upload is being processed and another one waits for the single worker
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(imageService).processUpload(any(), any(), any(), anyLong(), any());
+        asyncUploadService.accept(1L, "cover.jpg", new ByteArrayInputStream(TEST_IMAGE), 18L, "image/jpeg");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        asyncUploadService.accept(1L, "cover.jpg", new ByteArrayInputStream(TEST_IMAGE), 18L, "image/jpeg");
+        InputStream rejected = new ByteArrayInputStream(TEST_IMAGE);
+
+        // When & Then - the body is left unread
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class, () ->
+                asyncUploadService.accept(1L, "cover.jpg", rejected, 18L, "image/jpeg"));
+        assertEquals("5", exception.getResponse().getHeaderString("Retry-After"));
+        assertEquals(TEST_IMAGE.length, rejected.available());
+        release.countDown();
+    }
+
+    private void awaitSpoolEmpty() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try (Stream<Path> files = Files.list(spoolDirectory)) {
+                if (files.findAny().isEmpty()) {
+                    return;
+                }
+            }
+            assertTrue(System.nanoTime() < deadline, "spool file was not removed");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.quarkus.service;
+
+import com.quarkus.dto.response.ChangeFeedResponse;
+import com.quarkus.entity.CatalogChange;
+import com.quarkus.entity.CatalogEntityType;
+import com.quarkus.entity.ChangeOperation;
+import com.quarkus.repository.CatalogChangeRepository;
+import jakarta.enterprise.event.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+    @Mock
+    CatalogChangeRepository changeRepository;
+
+    @Mock
+    ChangeFeedNotifier notifier;
+
+    @Mock
+    Event<ChangeFeedService.ChangeRecorded> changeRecorded;
+
+    @InjectMocks
+    ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService.maxLimit = 1000;
+        changeFeedService.maxWaitSeconds = 30;
+    }
+
+    @Test
+    void shouldLockFeedBeforePersistingChange() {
+        // Given
+        doAnswer(invocation -> {
+            CatalogChange change = invocation.getArgument(0);
+            change.setSeq(7L);
+            return null;
+        }).when(changeRepository).persist(any(CatalogChange.class));
+
+        // When
+        changeFeedService.record(CatalogEntityType.ALBUM, 1L, null, ChangeOperation.CREATED);
+
+        // Then
+        InOrder inOrder = inOrder(changeRepository);
+        inOrder.verify(changeRepository).lockFeed();
+        inOrder.verify(changeRepository).persist(any(CatalogChange.class));
+        verify(changeRecorded).fire(new ChangeFeedService.ChangeRecorded(7L));
+    }
+
+    @Test
+    void shouldReturnChangesAfterSequence() throws Exception {
+        // Given
+        when(changeRepository.findSince(5L, 2)).thenReturn(List.of(change(6L), change(7L)));
+
+        // When
+        ChangeFeedResponse result = changeFeedService.changesSince(5L, 2, 10);
+
+        // Then
+        assertEquals(2, result.changes().size());
+        assertEquals(7L, result.nextSince());
+        assertTrue(result.hasMore());
+        verify(notifier, never()).awaitChangeAfter(anyLong(), any(Duration.class));
+    }
+
+    @Test
+    void shouldKeepCursorWhenNoChanges() throws Exception {
+        // Given
+        when(changeRepository.findSince(5L, 100)).thenReturn(List.of());
+
+        // When
+        ChangeFeedResponse result = changeFeedService.changesSince(5L, 100, 0);
+
+        // Then
+        assertTrue(result.changes().isEmpty());
+        assertEquals(5L, result.nextSince());
+        assertFalse(result.hasMore());
+        verify(notifier, never()).awaitChangeAfter(anyLong(), any(Duration.class));
+    }
+
+    @Test
+    void shouldLongPollAndReadAgainWhenNoChanges() throws Exception {
+        // Given
+        when(changeRepository.findSince(5L, 100))
+            .thenReturn(List.of())
+            .thenReturn(List.of(change(6L)));
+        when(notifier.awaitChangeAfter(5L, Duration.ofSeconds(30))).thenReturn(true);
+
+        // When
+        ChangeFeedResponse result = changeFeedService.changesSince(5L, 100, 120);
+
+        // Then
+        assertEquals(1, result.changes().size());
+        assertEquals(6L, result.nextSince());
+        verify(changeRepository, times(2)).findSince(5L, 100);
+    }
+
+    @Test
+    void shouldCapLimit() {
+        // Given
+        when(changeRepository.findSince(0L, 1000)).thenReturn(List.of());
+
+        // When
+        changeFeedService.changesSince(-1L, 5000, 0);
+
+        // Then
+        verify(changeRepository).findSince(0L, 1000);
+    }
+
+    private CatalogChange change(long seq) {
+        CatalogChange change = new CatalogChange(CatalogEntityType.ALBUM, 1L, null, ChangeOperation.UPDATED);
+        change.setSeq(seq);
+        return change;
+    }
+}
@@ -1,38 +1,90 @@
 package com.quarkus.service;
 
+import com.quarkus.dto.response.ImageResponse;
+import com.quarkus.dto.response.PageResponse;
 import com.quarkus.entity.Album;
 import com.quarkus.entity.AlbumImage;
+import com.quarkus.entity.CatalogEntityType;
+import com.quarkus.entity.ChangeOperation;
+import com.quarkus.entity.ImageStatus;
+import com.quarkus.entity.ImageVariant;
+import com.quarkus.entity.StoredObject;
 import com.quarkus.repository.AlbumImageRepository;
 import com.quarkus.repository.AlbumRepository;
-import io.minio.GetPresignedObjectUrlArgs;
-import io.minio.MinioClient;
-import io.minio.PutObjectArgs;
-import io.minio.RemoveObjectArgs;
+import com.quarkus.repository.ImageVariantRepository;
+import com.quarkus.repository.StoredObjectRepository;
+import com.quarkus.storage.ByteRange;
+import com.quarkus.storage.DiskObjectCache;
+import com.quarkus.storage.ImageKeyLayout;
+import com.quarkus.storage.ObjectInfo;
+import com.quarkus.storage.ObjectNotFoundException;
+import com.quarkus.storage.ObjectStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.panache.common.Page;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.event.Event;
 import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
 import jakarta.ws.rs.InternalServerErrorException;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import static com.quarkus.util.TestImages.jpeg;
+import static com.quarkus.util.TestImages.png;
+import static com.quarkus.util.TestImages.webp;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ImageServiceTest {
 
+    /**
+     * "test image data" behind a JPEG signature, 18 bytes.
+     */
+    private static final byte[] TEST_IMAGE = jpeg("test image data");
+
+    /**
+     * Content key of {@link #TEST_IMAGE}.
+     */
+    private static final String TEST_IMAGE_KEY =
+            "sha256/7e/7e4c3233cd1b1a6f41fc21c65733ad1757a7167d7e036d696bce1b4215d72fc7.jpg";
+
+    @Mock
+    ObjectStorage objectStorage;
+
     @Mock
-    MinioClient minioClient;
+    UploadAdmission uploadAdmission;
 
     @Mock
     AlbumRepository albumRepository;
@@ -40,6 +92,39 @@ class ImageServiceTest {
     @Mock
     AlbumImageRepository albumImageRepository;
 
+    @Mock
+    StoredObjectRepository storedObjectRepository;
+
+    @Mock
+    ChangeFeedService changeFeedService;
+
+    @Mock
+    StorageUsageService storageUsageService;
+
+    @Mock
+    ImageVariantRepository imageVariantRepository;
+
+    @Mock
+    ImageVariantService imageVariantService;
+
+    @Mock
+    Event<ImageService.ImageUploaded> imageUploaded;
+
+    @Mock
+    PresignedUrlCache presignedUrlCache;
+
+    @Mock
+    Event<PresignedUrlCache.Evict> presignedUrlEvict;
+
+    @Mock
+    DiskObjectCache diskObjectCache;
+
+    @Mock
+    Event<ObjectRemovalService.Requested> objectRemoval;
+
+    @Spy
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     ImageService imageService;
 
@@ -51,7 +136,10 @@ class ImageServiceTest {
         try {
             setField(imageService, "bucket", "test-bucket");
             setField(imageService, "presignedUrlExpiry", 30);
+            setField(imageService, "presignedUploadExpiry", 15);
             setField(imageService, "maxFileSize", 52428800L);
+            setField(imageService, "multipartThreshold", 16777216L);
+            setField(imageService, "keyLayout", ImageKeyLayout.HASHED);
         } catch (Exception e) {
             fail("Failed to initialize test fields", e);
         }
@@ -59,14 +147,38 @@ class ImageServiceTest {
         testAlbum = new Album("Test Album", 2024);
         testAlbum.setId(1L);
         testAlbum.setImages(new ArrayList<>());
+
+        // The upload transactions run for real against the same repository mocks
+        ImageUploadTransactions uploadTransactions = new ImageUploadTransactions();
+        uploadTransactions.albumRepository = albumRepository;
+        uploadTransactions.albumImageRepository = albumImageRepository;
+        uploadTransactions.storedObjectRepository = storedObjectRepository;
+        uploadTransactions.imageVariantRepository = imageVariantRepository;
+        uploadTransactions.changeFeedService = changeFeedService;
+        uploadTransactions.storageUsageService = storageUsageService;
+        uploadTransactions.imageUploaded = imageUploaded;
+        uploadTransactions.presignedUrlEvict = presignedUrlEvict;
+        imageService.uploadTransactions = uploadTransactions;
+
+        // Storage operations succeed by default
+        lenient().when(objectStorage.put(anyString(), any(), anyString())).thenReturn(Uni.createFrom().nullItem());
+        lenient().when(objectStorage.copy(anyString(), anyString())).thenReturn(Uni.createFrom().nullItem());
+        lenient().when(objectStorage.stat(anyString())).thenReturn(Uni.createFrom().nullItem());
+        lenient().when(objectStorage.remove(anyString())).thenReturn(Uni.createFrom().voidItem());
+
+        // Cache misses by default, so every lookup signs a new URL
+        lenient().when(presignedUrlCache.get(anyLong(), anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<ImageService.PresignedUrl>>getArgument(3).get());
     }
 
     @Test
     void shouldUploadImageSuccessfully() throws Exception {
         // Given
         when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(storedObjectRepository.acquire(eq(TEST_IMAGE_KEY), eq("test-bucket"), eq("image/jpeg"), eq(18L)))
+                .thenReturn(1);
 
-        InputStream inputStream = new ByteArrayInputStream("test image data".getBytes());
+        InputStream inputStream = new ByteArrayInputStream(TEST_IMAGE);
         String filename = "cover.jpg";
         long size = 1024L;
         String contentType = "image/jpeg";
@@ -76,9 +188,101 @@ class ImageServiceTest {
 
         // Then
         assertNotNull(hash);
-        assertTrue(hash.matches("\\d{4}/\\d{2}/\\d{2}/[a-f0-9\\-]+\\.jpg"));
-        verify(minioClient).putObject(any(PutObjectArgs.class));
-        verify(albumImageRepository).persist(any(AlbumImage.class));
+        assertTrue(hash.matches("[a-f0-9]{2}/[a-f0-9]{2}/[a-f0-9\\-]+\\.jpg"));
+        verify(objectStorage).put(eq(TEST_IMAGE_KEY), any(byte[].class), eq("image/jpeg"));
+        verify(albumImageRepository).persist(argThat((AlbumImage image) ->
+                image.getHash().equals(hash) && image.getObjectKey().equals(TEST_IMAGE_KEY)));
+        verify(changeFeedService).record(CatalogEntityType.IMAGE, 1L, hash, ChangeOperation.CREATED);
+        verify(imageUploaded).fire(new ImageService.ImageUploaded(null, TEST_IMAGE_KEY, contentType));
+
+        verify(storageUsageService).checkQuota(1L, size);
+        verify(storageUsageService).addImage(1L, 18L);
+    }
+
+    @Test
+    void shouldRejectUploadExceedingAlbumQuotaBeforeTransfer() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        doThrow(new ClientErrorException("Storage quota exceeded for album: 1", Response.Status.REQUEST_ENTITY_TOO_LARGE))
+                .when(storageUsageService).checkQuota(1L, 18L);
+
+        // When & Then - the body is not read
+        InputStream inputStream = new ByteArrayInputStream(TEST_IMAGE);
+        ClientErrorException exception = assertThrows(ClientErrorException.class, () ->
+                imageService.uploadImage(1L, "cover.jpg", inputStream, 18L, "image/jpeg"));
+        assertEquals(413, exception.getResponse().getStatus());
+        assertEquals(TEST_IMAGE.length, inputStream.available());
+        verifyNoInteractions(objectStorage, uploadAdmission);
+    }
+
+    @Test
+    void shouldDiscardStoredObjectWhenImageExceedsAlbumQuota() throws Exception {
+        // Given - the declared size passed the pre-check, but another upload filled the album meanwhile
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        doThrow(new ClientErrorException("Storage quota exceeded for album: 1", Response.Status.REQUEST_ENTITY_TOO_LARGE))
+                .when(storageUsageService).addImage(1L, 18L);
+        when(storedObjectRepository.forgetIfUnreferenced(TEST_IMAGE_KEY, "test-bucket", "image/jpeg", 18L))
+                .thenReturn(true);
+
+        // When & Then
+        assertThrows(ClientErrorException.class, () ->
+                imageService.uploadImage(1L, "cover.jpg", new ByteArrayInputStream(TEST_IMAGE), 18L, "image/jpeg"));
+        verify(storedObjectRepository, never()).acquire(anyString(), anyString(), anyString(), anyLong());
+        verify(albumImageRepository, never()).persist(any(AlbumImage.class));
+        verify(objectStorage).remove(TEST_IMAGE_KEY);
+    }
+
+    @Test
+    void shouldRecordDimensionsReadWhileUploading() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(storedObjectRepository.acquire(anyString(), eq("test-bucket"), eq("image/png"), anyLong())).thenReturn(1);
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(300, 150, BufferedImage.TYPE_INT_RGB), "png", png);
+
+        // When
+        imageService.uploadImage(1L, "cover.png", new ByteArrayInputStream(png.toByteArray()), png.size(), "image/png");
+
+        // Then
+        verify(albumImageRepository).persist(argThat((AlbumImage image) ->
+                image.getWidth() == 300 && image.getHeight() == 150 && image.getBlurhash() == null));
+    }
+
+    @Test
+    void shouldSkipUploadWhenContentIsAlreadyStored() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(storedObjectRepository.findByIdOptional(TEST_IMAGE_KEY)).thenReturn(Optional.of(new StoredObject()));
+        when(storedObjectRepository.acquire(eq(TEST_IMAGE_KEY), anyString(), anyString(), anyLong())).thenReturn(2);
+        InputStream inputStream = new ByteArrayInputStream(TEST_IMAGE);
+
+        // When
+        String hash = imageService.uploadImage(1L, "cover.jpg", inputStream, 18L, "image/jpeg");
+
+        // Then
+        verify(objectStorage, never()).put(anyString(), any(), anyString());
+        verify(albumImageRepository).persist(argThat((AlbumImage image) ->
+                image.getHash().equals(hash) && image.getObjectKey().equals(TEST_IMAGE_KEY)));
+    }
+
+    @Test
+    void shouldReturnExistingImageWhenAlbumAlreadyHasContent() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        AlbumImage existing = new AlbumImage(testAlbum, "test-bucket", "2026/02/02/uuid.jpg", "image/jpeg", 15, TEST_IMAGE_KEY);
+        when(storedObjectRepository.findByIdOptional(TEST_IMAGE_KEY)).thenReturn(Optional.of(new StoredObject()));
+        when(albumImageRepository.findByAlbumIdAndObjectKey(1L, TEST_IMAGE_KEY)).thenReturn(Optional.of(existing));
+        InputStream inputStream = new ByteArrayInputStream(TEST_IMAGE);
+
+        // When
+        String hash = imageService.uploadImage(1L, "cover.jpg", inputStream, 18L, "image/jpeg");
+
+        // Then
+        assertEquals("2026/02/02/uuid.jpg", hash);
+        verify(storedObjectRepository, never()).acquire(anyString(), anyString(), anyString(), anyLong());
+        verifyNoInteractions(objectStorage, changeFeedService);
+        verify(albumImageRepository, never()).persist(any(AlbumImage.class));
     }
 
     @Test
@@ -118,6 +322,158 @@ class ImageServiceTest {
         );
     }
 
+    @Test
+    void shouldStreamImageOfUnknownSizeAndStoreBytesRead() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(objectStorage.upload(anyString(), any(InputStream.class), anyString()))
+                .thenAnswer(invocation -> drain(invocation.getArgument(1)));
+        when(storedObjectRepository.acquire(anyString(), anyString(), anyString(), eq(27L))).thenReturn(1);
+        InputStream inputStream = new ByteArrayInputStream(png("streamed image data"));
+
+        // When
+        String hash = imageService.uploadImage(1L, null, inputStream, -1L, "image/png");
+
+        // Then - streamed to a temporary object, copied to its content key, temporary object removed
+        assertTrue(hash.endsWith(".png"));
+        verify(objectStorage).upload(startsWith("tmp/"), any(InputStream.class), eq("image/png"));
+        verify(objectStorage).copy(argThat((String key) -> key.startsWith("sha256/") && key.endsWith(".png")),
+                startsWith("tmp/"));
+        verify(objectStorage).remove(startsWith("tmp/"));
+        verify(objectStorage, never()).put(anyString(), any(), anyString());
+        verify(albumImageRepository).persist(argThat((AlbumImage image) -> image.getSize() == 27));
+    }
+
+    @Test
+    void shouldRejectStreamExceedingMaxSizeWhileReading() throws Exception {
+        // Given
+        setField(imageService, "maxFileSize", 8L);
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(objectStorage.upload(anyString(), any(InputStream.class), anyString()))
+                .thenAnswer(invocation -> drain(invocation.getArgument(1)));
+        InputStream inputStream = new ByteArrayInputStream(jpeg("more than eight bytes"));
+
+        // When & Then
+        assertThrows(BadRequestException.class, () ->
+                imageService.uploadImage(1L, "cover.jpg", inputStream, -1L, "image/jpeg")
+        );
+        verify(albumImageRepository, never()).persist(any(AlbumImage.class));
+    }
+
+    @Test
+    void shouldUseMultipartUploadForLargeFiles() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(storedObjectRepository.findByIdOptional(anyString())).thenReturn(Optional.of(new StoredObject()));
+        when(objectStorage.upload(anyString(), any(InputStream.class), anyString()))
+                .thenAnswer(invocation -> drain(invocation.getArgument(1)));
+        when(storedObjectRepository.acquire(anyString(), anyString(), anyString(), anyLong())).thenReturn(2);
+        InputStream inputStream = new ByteArrayInputStream(jpeg("large image data"));
+
+        // When
+        imageService.uploadImage(1L, "master.jpg", inputStream, 16777216L, "image/jpeg");
+
+        // Then - already stored content only drops the temporary object
+        verify(objectStorage).upload(startsWith("tmp/"), any(InputStream.class), eq("image/jpeg"));
+        verify(objectStorage, never()).put(anyString(), any(), anyString());
+        verify(objectStorage, never()).copy(anyString(), anyString());
+        verify(objectStorage).remove(startsWith("tmp/"));
+        verify(albumImageRepository).persist(argThat((AlbumImage image) -> image.getSize() == 19));
+    }
+
+    @Test
+    void shouldImportAssembledObjectUnderItsContentKey() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(objectStorage.get("tmp/resumable/upload"))
+                .thenReturn(Uni.createFrom().item(new ByteArrayInputStream(TEST_IMAGE)));
+        when(storedObjectRepository.acquire(eq(TEST_IMAGE_KEY), eq("test-bucket"), eq("image/jpeg"), eq(18L)))
+                .thenReturn(1);
+
+        // When
+        String hash = imageService.importUpload(1L, "cover.jpg", "tmp/resumable/upload", "image/jpeg");
+
+        // Then - the assembled object is copied like a large upload, never uploaded again
+        verify(objectStorage).copy(TEST_IMAGE_KEY, "tmp/resumable/upload");
+        verify(objectStorage, never()).upload(anyString(), any(InputStream.class), anyString());
+        verify(objectStorage).remove("tmp/resumable/upload");
+        verify(albumImageRepository).persist(argThat((AlbumImage image) ->
+                image.getHash().equals(hash) && image.getSize() == 18));
+    }
+
+    @Test
+    void shouldKeepAssembledObjectWhenImportFails() {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(objectStorage.get("tmp/resumable/upload"))
+                .thenReturn(Uni.createFrom().item(new ByteArrayInputStream(TEST_IMAGE)));
+        when(storedObjectRepository.acquire(anyString(), anyString(), anyString(), anyLong()))
+                .thenThrow(new IllegalStateException("Connection lost"));
+
+        // When & Then - the caller decides whether to retry or remove it
+        assertThrows(InternalServerErrorException.class,
+                () -> imageService.importUpload(1L, "cover.jpg", "tmp/resumable/upload", "image/jpeg"));
+        verify(objectStorage, never()).remove("tmp/resumable/upload");
+    }
+
+    @Test
+    void shouldRejectEmptyStreamOfUnknownSize() {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+
+        // When & Then
+        assertThrows(BadRequestException.class, () ->
+                imageService.uploadImage(1L, "cover.jpg", inputStream, -1L, "image/jpeg")
+        );
+        verifyNoInteractions(objectStorage);
+    }
+
+    @Test
+    void shouldRejectUploadWithoutReadingItWhenNotAdmitted() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(uploadAdmission.acquire(18L)).thenThrow(new ServiceUnavailableException("Upload capacity exhausted", 5L));
+        InputStream inputStream = new ByteArrayInputStream(TEST_IMAGE);
+
+        // When & Then
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class, () ->
+                imageService.uploadImage(1L, "cover.jpg", inputStream, 18L, "image/jpeg")
+        );
+        assertEquals("5", exception.getResponse().getHeaderString("Retry-After"));
+        assertEquals(TEST_IMAGE.length, inputStream.available());
+        verifyNoInteractions(objectStorage);
+    }
+
+    @Test
+    void shouldRejectContentNotMatchingDeclaredType() {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        InputStream inputStream = new ByteArrayInputStream(png("a png declared as jpeg"));
+
+        // When & Then
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                imageService.uploadImage(1L, "cover.jpg", inputStream, -1L, "image/jpeg")
+        );
+        assertTrue(exception.getMessage().contains("image/png"));
+        verifyNoInteractions(objectStorage);
+    }
+
+    @Test
+    void shouldRejectNonImageAfterReadingOnlyItsSignature() {
+        // Given - 50 MB of text declared as an image
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        byte[] text = "not an image ".repeat(4_000_000).getBytes();
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(text);
+
+        // When & Then
+        assertThrows(BadRequestException.class, () ->
+                imageService.uploadImage(1L, "cover.jpg", inputStream, text.length, "image/jpeg")
+        );
+        assertEquals(text.length - 12, inputStream.available());
+        verifyNoInteractions(objectStorage);
+    }
+
     @Test
     void shouldGeneratePresignedUrlSuccessfully() throws Exception {
         // Given
@@ -125,16 +481,198 @@ class ImageServiceTest {
         AlbumImage albumImage = new AlbumImage(testAlbum, "test-bucket", hash, "image/jpeg", 1024);
         when(albumImageRepository.findByAlbumIdAndHash(1L, hash))
                 .thenReturn(Optional.of(albumImage));
-        when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class)))
-                .thenReturn("https://minio.example.com/presigned-url");
+        when(objectStorage.presign(anyString(), eq(ObjectStorage.Method.GET), eq(30)))
+                .thenReturn(Uni.createFrom().item("https://minio.example.com/presigned-url"));
 
         // When
-        String url = imageService.getPresignedUrl(1L, hash);
+        ImageService.PresignedUrl url = imageService.getPresignedUrl(1L, hash, null);
 
         // Then
         assertNotNull(url);
-        assertEquals("https://minio.example.com/presigned-url", url);
-        verify(minioClient).getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class));
+        assertEquals("https://minio.example.com/presigned-url", url.url());
+        assertTrue(url.expiresAt().isAfter(Instant.now().plusSeconds(29 * 60)));
+        verify(objectStorage).presign(albumImage.getObjectKey(), ObjectStorage.Method.GET, 30);
+        assertEquals(1, meterRegistry.timer("images.presign").count());
+    }
+
+    @Test
+    void shouldServeCachedPresignedUrlWithoutLookupOrSigning() {
+        // Given
+        String hash = "2026/02/02/uuid.jpg";
+        ImageService.PresignedUrl cached = new ImageService.PresignedUrl(
+                "https://minio.example.com/cached-url", Instant.now().plusSeconds(20 * 60));
+        when(presignedUrlCache.get(eq(1L), eq(hash), eq(256), any())).thenReturn(cached);
+
+        // When
+        ImageService.PresignedUrl url = imageService.getPresignedUrl(1L, hash, 256);
+
+        // Then
+        assertSame(cached, url);
+        verifyNoInteractions(albumImageRepository, imageVariantRepository, objectStorage);
+    }
+
+    @Test
+    void shouldPresignSmallestVariantAtLeastRequestedSize() throws Exception {
+        // Given
+        String hash = "2026/02/02/uuid.jpg";
+        AlbumImage albumImage = new AlbumImage(testAlbum, "test-bucket", hash, "image/jpeg", 1024, TEST_IMAGE_KEY);
+        albumImage.setId(7L);
+        when(albumImageRepository.findByAlbumIdAndHash(1L, hash)).thenReturn(Optional.of(albumImage));
+        when(imageVariantRepository.findSmallestAtLeast(7L, 100)).thenReturn(Optional.of(
+                new ImageVariant(albumImage, 256, "variants/256/" + TEST_IMAGE_KEY, "image/jpeg", 100)));
+        when(objectStorage.presign(anyString(), eq(ObjectStorage.Method.GET), eq(30)))
+                .thenReturn(Uni.createFrom().item("https://minio.example.com/presigned-url"));
+
+        // When
+        imageService.getPresignedUrl(1L, hash, 100);
+
+        // Then
+        verify(objectStorage).presign("variants/256/" + TEST_IMAGE_KEY, ObjectStorage.Method.GET, 30);
+    }
+
+    @Test
+    void shouldPresignMasterWhenNoVariantIsLargeEnough() throws Exception {
+        // Given
+        String hash = "2026/02/02/uuid.jpg";
+        AlbumImage albumImage = new AlbumImage(testAlbum, "test-bucket", hash, "image/jpeg", 1024, TEST_IMAGE_KEY);
+        albumImage.setId(7L);
+        when(albumImageRepository.findByAlbumIdAndHash(1L, hash)).thenReturn(Optional.of(albumImage));
+        when(imageVariantRepository.findSmallestAtLeast(7L, 4096)).thenReturn(Optional.empty());
+        when(objectStorage.presign(anyString(), eq(ObjectStorage.Method.GET), eq(30)))
+                .thenReturn(Uni.createFrom().item("https://minio.example.com/presigned-url"));
+
+        // When
+        imageService.getPresignedUrl(1L, hash, 4096);
+
+        // Then
+        verify(objectStorage).presign(TEST_IMAGE_KEY, ObjectStorage.Method.GET, 30);
+    }
+
+    @Test
+    void shouldDescribeVariantContentWithStableEtag() {
+        // Given
+        String hash = "2026/02/02/uuid.jpg";
+        AlbumImage albumImage = new AlbumImage(testAlbum, "test-bucket", hash, "image/jpeg", 1024, TEST_IMAGE_KEY);
+        albumImage.setId(7L);
+        when(albumImageRepository.findByAlbumIdAndHash(1L, hash)).thenReturn(Optional.of(albumImage));
+        when(imageVariantRepository.findSmallestAtLeast(7L, 100)).thenReturn(Optional.of(
+                new ImageVariant(albumImage, 256, "variants/256/" + TEST_IMAGE_KEY, "image/jpeg", 100)));
+
+        // When
+        ImageService.ImageContent variant = imageService.getImageContent(1L, hash, 100);
+        ImageService.ImageContent master = imageService.getImageContent(1L, hash, null);
+
+        // Then
+        assertEquals("variants/256/" + TEST_IMAGE_KEY, variant.objectKey());
+        assertEquals(100, variant.size());
+        assertEquals(TEST_IMAGE_KEY, master.objectKey());
+        assertEquals(1024, master.size());
+        assertTrue(master.etag().matches("\"[a-f0-9]{64}\""));
+        assertNotEquals(master.etag(), variant.etag());
+        assertEquals(master.etag(), imageService.getImageContent(1L, hash, null).etag());
+    }
+
+    @Test
+    void shouldStreamRequestedRangeFromStorage() throws Exception {
+        // Given
+        ImageService.ImageContent content = new ImageService.ImageContent(TEST_IMAGE_KEY, "image/jpeg", 15, "\"etag\"");
+
+        // When
+        imageService.streamContent(content, new ByteRange(5, 9));
+
+        // Then
+        verify(objectStorage).get(TEST_IMAGE_KEY, new ByteRange(5, 9));
+    }
+
+    @Test
+    void shouldReturn404WhenContentIsMissingFromStorage() throws Exception {
+        // Given
+        ImageService.ImageContent content = new ImageService.ImageContent(TEST_IMAGE_KEY, "image/jpeg", 15, "\"etag\"");
+        when(objectStorage.get(eq(TEST_IMAGE_KEY), any()))
+                .thenReturn(Uni.createFrom().failure(new ObjectNotFoundException(TEST_IMAGE_KEY, null)));
+
+        // When & Then
+        assertThrows(NotFoundException.class, () -> imageService.streamContent(content, ByteRange.full(15)));
+    }
+
+    @Test
+    void shouldFallBackToStreamingWhenLocalCacheFails() throws Exception {
+        // Given
+        ImageService.ImageContent content = new ImageService.ImageContent(TEST_IMAGE_KEY, "image/jpeg", 15, "\"etag\"");
+        when(diskObjectCache.get(eq(TEST_IMAGE_KEY), eq(15L), any())).thenThrow(new IOException("disk full"));
+
+        // When & Then
+        assertTrue(imageService.cachedContent(content).isEmpty());
+    }
+
+    @Test
+    void shouldRejectNonPositiveWidth() {
+        // When & Then
+        String hash = "2026/02/02/uuid.jpg";
+        assertEquals("Width must be greater than 0", assertThrows(BadRequestException.class, () ->
+                imageService.getPresignedUrl(1L, hash, 0)).getMessage());
+        assertEquals("Width must be greater than 0", assertThrows(BadRequestException.class, () ->
+                imageService.getImageContent(1L, hash, -1)).getMessage());
+        assertEquals("Width must be greater than 0", assertThrows(BadRequestException.class, () ->
+                imageService.listImages(1L, 0, 20, 0)).getMessage());
+    }
+
+    @Test
+    void shouldListImagesWithPresignedUrls() throws Exception {
+        // Given
+        AlbumImage first = new AlbumImage(testAlbum, "test-bucket", "2026/02/02/a.jpg", "image/jpeg", 1024, "sha256/aa/aa.jpg");
+        first.setId(7L);
+        AlbumImage second = new AlbumImage(testAlbum, "test-bucket", "2026/02/02/b.png", "image/png", 2048, "sha256/bb/bb.png");
+        second.setId(8L);
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(albumImageRepository.findByAlbumId(eq(1L), any(Page.class))).thenReturn(List.of(first, second));
+        when(albumImageRepository.countByAlbumId(1L)).thenReturn(3L);
+        when(imageVariantRepository.findSmallestKeysAtLeast(List.of(7L, 8L), 256))
+                .thenReturn(Map.of(7L, "variants/256/sha256/aa/aa.jpg"));
+        when(objectStorage.presign(anyString(), eq(ObjectStorage.Method.GET), eq(30)))
+                .thenAnswer(invocation -> Uni.createFrom().item("https://minio.example.com/" + invocation.getArgument(0)));
+
+        // When
+        PageResponse<ImageResponse> response = imageService.listImages(1L, 0, 2, 256);
+
+        // Then
+        assertEquals(2, response.content().size());
+        assertEquals(3, response.totalElements());
+        assertEquals(2, response.totalPages());
+        assertEquals("2026/02/02/a.jpg", response.content().get(0).hash());
+        assertEquals("https://minio.example.com/variants/256/sha256/aa/aa.jpg", response.content().get(0).url());
+        assertEquals("image/png", response.content().get(1).contentType());
+        assertEquals(2048, response.content().get(1).size());
+        assertEquals("https://minio.example.com/sha256/bb/bb.png", response.content().get(1).url());
+        verify(albumImageRepository, never()).findByAlbumIdAndHash(anyLong(), anyString());
+    }
+
+    @Test
+    void shouldPropagateSigningFailureWhenListingImages() throws Exception {
+        // Given
+        AlbumImage image = new AlbumImage(testAlbum, "test-bucket", "2026/02/02/a.jpg", "image/jpeg", 1024, "sha256/aa/aa.jpg");
+        image.setId(7L);
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(albumImageRepository.findByAlbumId(eq(1L), any(Page.class))).thenReturn(List.of(image));
+        when(objectStorage.presign(anyString(), eq(ObjectStorage.Method.GET), eq(30)))
+                .thenReturn(Uni.createFrom().failure(new RuntimeException("MinIO unavailable")));
+
+        // When & Then
+        assertThrows(InternalServerErrorException.class, () ->
+                imageService.listImages(1L, 0, 20, null)
+        );
+    }
+
+    @Test
+    void shouldThrowNotFoundWhenListingImagesOfMissingAlbum() {
+        // Given
+        when(albumRepository.findByIdOptional(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(NotFoundException.class, () ->
+                imageService.listImages(99L, 0, 20, null)
+        );
+        verifyNoInteractions(albumImageRepository, objectStorage);
     }
 
     @Test
@@ -146,24 +684,414 @@ class ImageServiceTest {
 
         // When & Then
         assertThrows(NotFoundException.class, () ->
-                imageService.getPresignedUrl(1L, hash)
+                imageService.getPresignedUrl(1L, hash, null)
         );
     }
 
+    @Test
+    void shouldCreatePendingImageAndPresignedPutUrl() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(objectStorage.presign(anyString(), eq(ObjectStorage.Method.PUT), eq(15)))
+                .thenReturn(Uni.createFrom().item("https://minio.example.com/upload-url"));
+
+        // When
+        ImageService.UploadUrl uploadUrl = imageService.createUploadUrl(1L, "cover.png", "image/png");
+
+        // Then
+        assertTrue(uploadUrl.hash().matches("[a-f0-9]{2}/[a-f0-9]{2}/[a-f0-9\\-]+\\.png"));
+        assertEquals("https://minio.example.com/upload-url", uploadUrl.url());
+        verify(objectStorage).presign("uploads/" + uploadUrl.hash(), ObjectStorage.Method.PUT, 15);
+        verify(albumImageRepository).persist(argThat((AlbumImage image) ->
+                image.getStatus() == ImageStatus.PENDING && image.getObjectKey().equals("uploads/" + uploadUrl.hash())));
+        verifyNoInteractions(storedObjectRepository, changeFeedService);
+    }
+
+    @Test
+    void shouldCompleteDirectUpload() throws Exception {
+        // Given
+        String hash = "2026/02/02/uuid.png";
+        AlbumImage pending = pendingImage(hash);
+        when(albumImageRepository.findAnyByAlbumIdAndHash(1L, hash)).thenReturn(Optional.of(pending));
+        when(albumImageRepository.findPendingForUpdate(1L, hash)).thenReturn(Optional.of(pending));
+        ObjectInfo stat = new ObjectInfo("uploads/" + hash, 2048, "image/png", Instant.now());
+        when(objectStorage.stat(anyString())).thenReturn(Uni.createFrom().item(stat));
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(300, 150, BufferedImage.TYPE_INT_RGB), "png", png);
+        when(objectStorage.get(startsWith("direct/"), eq(new ByteRange(0, 2047)))).thenReturn(objectContent(png.toByteArray()));
+
+        // When
+        imageService.completeUpload(1L, hash);
+
+        // Then - a copy the upload URL cannot overwrite is checked before the upload is locked
+        String objectKey = pending.getObjectKey();
+        assertTrue(objectKey.startsWith("direct/"));
+        InOrder inOrder = inOrder(objectStorage, albumImageRepository);
+        inOrder.verify(objectStorage).copy(objectKey, "uploads/" + hash);
+        inOrder.verify(objectStorage).stat(objectKey);
+        inOrder.verify(objectStorage).get(objectKey, new ByteRange(0, 2047));
+        inOrder.verify(albumImageRepository).findPendingForUpdate(1L, hash);
+        inOrder.verify(objectStorage).remove("uploads/" + hash);
+        assertEquals(ImageStatus.READY, pending.getStatus());
+        assertEquals(2048, pending.getSize());
+        assertEquals(300, pending.getWidth());
+        assertEquals(150, pending.getHeight());
+        verify(storedObjectRepository).acquire(objectKey, "test-bucket", "image/png", 2048L);
+        verify(storageUsageService).addImage(1L, 2048L);
+        verify(changeFeedService).record(CatalogEntityType.IMAGE, 1L, hash, ChangeOperation.CREATED);
+        verify(imageUploaded).fire(new ImageService.ImageUploaded(7L, objectKey, "image/png"));
+    }
+
+    @Test
+    void shouldRemoveDirectUploadExceedingAlbumQuota() throws Exception {
+        // Given
+        String hash = "2026/02/02/uuid.png";
+        AlbumImage pending = pendingImage(hash);
+        when(albumImageRepository.findAnyByAlbumIdAndHash(1L, hash)).thenReturn(Optional.of(pending));
+        when(albumImageRepository.findPendingForUpdate(1L, hash)).thenReturn(Optional.of(pending));
+        ObjectInfo stat = new ObjectInfo("uploads/" + hash, 2048, "image/png", Instant.now());
+        when(objectStorage.stat(anyString())).thenReturn(Uni.createFrom().item(stat));
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(300, 150, BufferedImage.TYPE_INT_RGB), "png", png);
+        when(objectStorage.get(startsWith("direct/"), eq(new ByteRange(0, 2047)))).thenReturn(objectContent(png.toByteArray()));
+        doThrow(new ClientErrorException("Storage quota exceeded for album: 1", Response.Status.REQUEST_ENTITY_TOO_LARGE))
+                .when(storageUsageService).addImage(1L, 2048L);
+
+        // When & Then
+        assertThrows(ClientErrorException.class, () -> imageService.completeUpload(1L, hash));
+        verify(objectStorage).remove("uploads/" + hash);
+        verify(objectStorage).remove(startsWith("direct/"));
+        assertEquals(ImageStatus.PENDING, pending.getStatus());
+        verifyNoInteractions(storedObjectRepository, changeFeedService);
+    }
+
+    @Test
+    void shouldKeepObjectOfUploadCompletedConcurrently() throws Exception {
+        // Given - another request completes the upload while this one checks the object
+        String hash = "2026/02/02/uuid.png";
+        when(albumImageRepository.findAnyByAlbumIdAndHash(1L, hash)).thenReturn(Optional.of(pendingImage(hash)));
+        when(albumImageRepository.findPendingForUpdate(1L, hash)).thenReturn(Optional.empty());
+        when(albumImageRepository.findByAlbumIdAndHash(1L, hash)).thenReturn(Optional.of(
+                new AlbumImage(testAlbum, "test-bucket", hash, "image/png", 2048, "uploads/" + hash)));
+        ObjectInfo stat = new ObjectInfo("uploads/" + hash, 2048, "image/png", Instant.now());
+        when(objectStorage.stat(anyString())).thenReturn(Uni.createFrom().item(stat));
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(300, 150, BufferedImage.TYPE_INT_RGB), "png", png);
+        when(objectStorage.get(startsWith("direct/"), eq(new ByteRange(0, 2047)))).thenReturn(objectContent(png.toByteArray()));
+
+        // When
+        imageService.completeUpload(1L, hash);
+
+        // Then - only this request's own copy is removed
+        verify(objectStorage).remove(startsWith("direct/"));
+        verify(objectStorage, never()).remove("uploads/" + hash);
+        verifyNoInteractions(storageUsageService, storedObjectRepository, changeFeedService);
+    }
+
+    @Test
+    void shouldReserveProcessingImageWithoutStoredObject() {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+
+        // When
+        String hash = imageService.reserveProcessing(1L, "cover.jpg", "image/jpeg");
+
+        // Then
+        assertTrue(hash.matches("[a-f0-9]{2}/[a-f0-9]{2}/[a-f0-9\\-]+\\.jpg"));
+        verify(albumImageRepository).persist(argThat((AlbumImage image) ->
+                image.getStatus() == ImageStatus.PROCESSING && image.getHash().equals(hash)));
+        verifyNoInteractions(objectStorage, storedObjectRepository, changeFeedService);
+    }
+
+    @Test
+    void shouldStoreProcessingUploadUnderReservedHash() throws Exception {
+        // Given
+        String hash = "2026/02/02/uuid.jpg";
+        AlbumImage processing = new AlbumImage(testAlbum, "test-bucket", hash, "image/jpeg", 0, "processing/" + hash);
+        processing.setId(7L);
+        processing.setStatus(ImageStatus.PROCESSING);
+        when(albumImageRepository.findProcessingForUpdate(1L, hash)).thenReturn(Optional.of(processing));
+        when(storedObjectRepository.acquire(TEST_IMAGE_KEY, "test-bucket", "image/jpeg", 18L)).thenReturn(1);
+
+        // When
+        imageService.processUpload(1L, hash, new ByteArrayInputStream(TEST_IMAGE), 18L, "image/jpeg");
+
+        // Then - the reserved image becomes visible instead of a new one being recorded
+        assertEquals(ImageStatus.READY, processing.getStatus());
+        assertEquals(TEST_IMAGE_KEY, processing.getObjectKey());
+        assertEquals(18, processing.getSize());
+        verify(objectStorage).put(eq(TEST_IMAGE_KEY), any(), eq("image/jpeg"));
+        verify(albumImageRepository, never()).persist(any(AlbumImage.class));
+        verify(changeFeedService).record(CatalogEntityType.IMAGE, 1L, hash, ChangeOperation.CREATED);
+        verify(imageUploaded).fire(new ImageService.ImageUploaded(7L, TEST_IMAGE_KEY, "image/jpeg"));
+    }
+
+    @Test
+    void shouldDiscardStoredObjectWhenProcessingUploadWasRemoved() throws Exception {
+        // Given
+        String hash = "2026/02/02/uuid.jpg";
+        when(albumImageRepository.findProcessingForUpdate(1L, hash)).thenReturn(Optional.empty());
+        when(storedObjectRepository.forgetIfUnreferenced(TEST_IMAGE_KEY, "test-bucket", "image/jpeg", 18L))
+                .thenReturn(true);
+
+        // When & Then
+        assertThrows(NotFoundException.class, () ->
+                imageService.processUpload(1L, hash, new ByteArrayInputStream(TEST_IMAGE), 18L, "image/jpeg"));
+        verify(objectStorage).remove(TEST_IMAGE_KEY);
+    }
+
+    @Test
+    void shouldRecordWhyProcessingFailed() {
+        // Given
+        String hash = "2026/02/02/uuid.jpg";
+        AlbumImage processing = new AlbumImage(testAlbum, "test-bucket", hash, "image/jpeg", 0, "processing/" + hash);
+        processing.setStatus(ImageStatus.PROCESSING);
+        when(albumImageRepository.findProcessingForUpdate(1L, hash)).thenReturn(Optional.of(processing));
+        when(albumImageRepository.findAnyByAlbumIdAndHash(1L, hash)).thenReturn(Optional.of(processing));
+
+        // When
+        imageService.failProcessing(1L, hash, "Failed to upload image");
+        ImageService.UploadProgress progress = imageService.getUploadProgress(1L, hash);
+
+        // Then
+        assertEquals(ImageStatus.FAILED, progress.status());
+        assertEquals("Failed to upload image", progress.failureReason());
+    }
+
+    @Test
+    void shouldGenerateIdentifiersInConfiguredLayout() throws Exception {
+        // Given
+        setField(imageService, "keyLayout", ImageKeyLayout.ALBUM);
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(objectStorage.presign(anyString(), eq(ObjectStorage.Method.PUT), eq(15)))
+                .thenReturn(Uni.createFrom().item("https://minio.example.com/upload-url"));
+
+        // When
+        ImageService.UploadUrl uploadUrl = imageService.createUploadUrl(1L, "cover.png", "image/png");
+
+        // Then
+        assertTrue(uploadUrl.hash().matches("albums/1/[a-f0-9\\-]+\\.png"));
+        verify(objectStorage).presign("uploads/" + uploadUrl.hash(), ObjectStorage.Method.PUT, 15);
+    }
+
+    @Test
+    void shouldRekeyLegacyObjectToItsContentKey() throws Exception {
+        // Given
+        String legacyKey = "2024/01/15/uuid.jpg";
+        AlbumImage image = new AlbumImage(testAlbum, "test-bucket", legacyKey, "image/jpeg", 18);
+        image.setId(7L);
+        when(objectStorage.get(legacyKey)).thenReturn(Uni.createFrom().item(new ByteArrayInputStream(TEST_IMAGE)));
+        when(albumImageRepository.findById(eq(7L), any())).thenReturn(image);
+        when(storedObjectRepository.acquire(TEST_IMAGE_KEY, "test-bucket", "image/jpeg", 18L)).thenReturn(1);
+        when(imageVariantService.variantKeys(legacyKey)).thenReturn(List.of("variants/64/" + legacyKey));
+
+        // When
+        boolean rekeyed = imageService.rekeyObject(new ImageService.LegacyObject(7L, legacyKey, "image/jpeg"));
+
+        // Then - the copy is made on the server side and the old object released with its variants
+        assertTrue(rekeyed);
+        assertEquals(TEST_IMAGE_KEY, image.getObjectKey());
+        assertEquals(legacyKey, image.getHash());
+        verify(objectStorage).copy(TEST_IMAGE_KEY, legacyKey);
+        verify(objectStorage, never()).remove(legacyKey);
+        verify(imageVariantRepository).deleteByAlbumImageId(7L);
+        verify(storedObjectRepository).release(legacyKey);
+        verify(objectRemoval).fire(new ObjectRemovalService.Requested(List.of(legacyKey, "variants/64/" + legacyKey)));
+        verify(presignedUrlEvict).fire(new PresignedUrlCache.Evict(1L, legacyKey));
+        verify(imageUploaded).fire(new ImageService.ImageUploaded(7L, TEST_IMAGE_KEY, "image/jpeg"));
+    }
+
+    @Test
+    void shouldDiscardCopyWhenImageChangedDuringRekey() throws Exception {
+        // Given
+        String legacyKey = "2024/01/15/uuid.jpg";
+        when(objectStorage.get(legacyKey)).thenReturn(Uni.createFrom().item(new ByteArrayInputStream(TEST_IMAGE)));
+        when(albumImageRepository.findById(eq(7L), any())).thenReturn(null);
+        when(storedObjectRepository.forgetIfUnreferenced(TEST_IMAGE_KEY, "test-bucket", "image/jpeg", 18L))
+                .thenReturn(true);
+
+        // When
+        boolean rekeyed = imageService.rekeyObject(new ImageService.LegacyObject(7L, legacyKey, "image/jpeg"));
+
+        // Then
+        assertFalse(rekeyed);
+        verify(objectStorage).remove(TEST_IMAGE_KEY);
+        verify(storedObjectRepository, never()).release(anyString());
+        verifyNoInteractions(objectRemoval);
+    }
+
+    @Test
+    void shouldSkipRekeyOfMissingObject() {
+        // Given
+        when(objectStorage.get("2024/01/15/uuid.jpg"))
+                .thenReturn(Uni.createFrom().failure(new ObjectNotFoundException("2024/01/15/uuid.jpg", null)));
+
+        // When
+        boolean rekeyed = imageService.rekeyObject(new ImageService.LegacyObject(7L, "2024/01/15/uuid.jpg", "image/jpeg"));
+
+        // Then
+        assertFalse(rekeyed);
+        verify(objectStorage, never()).copy(anyString(), anyString());
+        verifyNoInteractions(storedObjectRepository);
+    }
+
+    @Test
+    void shouldRemoveDirectUploadWithWrongContentType() throws Exception {
+        // Given
+        String hash = "2026/02/02/uuid.png";
+        AlbumImage pending = pendingImage(hash);
+        when(albumImageRepository.findAnyByAlbumIdAndHash(1L, hash)).thenReturn(Optional.of(pending));
+        ObjectInfo stat = new ObjectInfo("uploads/" + hash, 2048, "application/octet-stream", Instant.now());
+        when(objectStorage.stat(anyString())).thenReturn(Uni.createFrom().item(stat));
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> imageService.completeUpload(1L, hash));
+        verify(objectStorage).remove("uploads/" + hash);
+        verify(objectStorage).remove(startsWith("direct/"));
+        assertEquals(ImageStatus.PENDING, pending.getStatus());
+        verifyNoInteractions(storedObjectRepository, changeFeedService);
+    }
+
+    @Test
+    void shouldRemoveDirectUploadWhoseBytesAreNotOfItsType() throws Exception {
+        // Given - declared and stored as PNG, but the bytes are a JPEG
+        String hash = "2026/02/02/uuid.png";
+        AlbumImage pending = pendingImage(hash);
+        when(albumImageRepository.findAnyByAlbumIdAndHash(1L, hash)).thenReturn(Optional.of(pending));
+        ObjectInfo stat = new ObjectInfo("uploads/" + hash, 18, "image/png", Instant.now());
+        when(objectStorage.stat(anyString())).thenReturn(Uni.createFrom().item(stat));
+        when(objectStorage.get(anyString(), any())).thenReturn(objectContent(TEST_IMAGE));
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> imageService.completeUpload(1L, hash));
+        verify(objectStorage).remove("uploads/" + hash);
+        verify(objectStorage).remove(startsWith("direct/"));
+        assertEquals(ImageStatus.PENDING, pending.getStatus());
+        verifyNoInteractions(storedObjectRepository, changeFeedService);
+    }
+
+    @Test
+    void shouldRejectCompletingUploadThatWasNotSent() throws Exception {
+        // Given
+        String hash = "2026/02/02/uuid.png";
+        when(albumImageRepository.findAnyByAlbumIdAndHash(1L, hash)).thenReturn(Optional.of(pendingImage(hash)));
+        when(objectStorage.copy(anyString(), eq("uploads/" + hash)))
+                .thenAnswer(invocation -> Uni.createFrom().failure(new ObjectNotFoundException(invocation.getArgument(1), null)));
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> imageService.completeUpload(1L, hash));
+        verifyNoInteractions(storedObjectRepository, changeFeedService);
+    }
+
+    @Test
+    void shouldTreatRepeatedCompletionAsNoOp() throws Exception {
+        // Given
+        String hash = "2026/02/02/uuid.png";
+        when(albumImageRepository.findAnyByAlbumIdAndHash(1L, hash)).thenReturn(Optional.of(
+                new AlbumImage(testAlbum, "test-bucket", hash, "image/png", 2048, "uploads/" + hash)));
+
+        // When
+        imageService.completeUpload(1L, hash);
+
+        // Then
+        verifyNoInteractions(objectStorage, storedObjectRepository, changeFeedService);
+    }
+
+    @Test
+    void shouldKeepUploadsMarkedFailedByTheReaperForTheRetention() {
+        // Given - an upload stuck long enough to be failed and removed if creation time counted
+        AlbumImage stuck = pendingImage("2026/02/02/stuck.png");
+        stuck.setStatus(ImageStatus.PROCESSING);
+        AlbumImage failed = pendingImage("2026/02/02/failed.png");
+        failed.setStatus(ImageStatus.FAILED);
+        LocalDateTime now = LocalDateTime.now();
+        when(albumImageRepository.findByStatusCreatedBefore(ImageStatus.PROCESSING, now.minusHours(1), 100))
+                .thenReturn(List.of(stuck));
+        when(albumImageRepository.findFailedBefore(now.minusHours(24), 100)).thenReturn(List.of(failed));
+
+        // When
+        int reaped = imageService.reapProcessingUploads(now.minusHours(1), now.minusHours(24), 100);
+
+        // Then - retention starts when the upload was marked failed
+        assertEquals(2, reaped);
+        assertEquals(ImageStatus.FAILED, stuck.getStatus());
+        assertEquals("Processing did not finish", stuck.getFailureReason());
+        assertFalse(stuck.getFailedAt().isBefore(now));
+        verify(albumImageRepository).delete(failed);
+        verify(albumImageRepository, never()).delete(stuck);
+    }
+
+    @Test
+    void shouldReapAbandonedUploads() throws Exception {
+        // Given
+        AlbumImage abandoned = pendingImage("2026/02/02/uuid.png");
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(1);
+        when(albumImageRepository.findPendingCreatedBefore(cutoff, 100)).thenReturn(List.of(abandoned));
+
+        // When
+        int reaped = imageService.reapPendingUploads(cutoff, 100);
+
+        // Then
+        assertEquals(1, reaped);
+        verify(albumImageRepository).delete(abandoned);
+        verify(objectRemoval).fire(new ObjectRemovalService.Requested(List.of("uploads/2026/02/02/uuid.png")));
+        verifyNoInteractions(objectStorage);
+    }
+
     @Test
     void shouldDeleteImageSuccessfully() throws Exception {
         // Given
         String hash = "2026/02/02/uuid.jpg";
-        AlbumImage albumImage = new AlbumImage(testAlbum, "test-bucket", hash, "image/jpeg", 1024);
+        AlbumImage albumImage = new AlbumImage(testAlbum, "test-bucket", hash, "image/jpeg", 1024, TEST_IMAGE_KEY);
         when(albumImageRepository.findByAlbumIdAndHash(1L, hash))
                 .thenReturn(Optional.of(albumImage));
+        when(storedObjectRepository.release(TEST_IMAGE_KEY)).thenReturn(0);
+        when(imageVariantService.variantKeys(TEST_IMAGE_KEY)).thenReturn(List.of("variants/64/" + TEST_IMAGE_KEY));
 
         // When
         imageService.deleteImage(1L, hash);
 
         // Then
-        verify(minioClient).removeObject(any(RemoveObjectArgs.class));
         verify(albumImageRepository).delete(albumImage);
+        verify(storageUsageService).removeImage(1L, 1024L);
+        verify(changeFeedService).record(CatalogEntityType.IMAGE, 1L, hash, ChangeOperation.DELETED);
+        verify(presignedUrlEvict).fire(new PresignedUrlCache.Evict(1L, hash));
+        // Object and variants go in one batch, after commit
+        verify(objectRemoval).fire(new ObjectRemovalService.Requested(
+                List.of(TEST_IMAGE_KEY, "variants/64/" + TEST_IMAGE_KEY)));
+        verifyNoInteractions(objectStorage);
+    }
+
+    @Test
+    void shouldKeepSharedObjectWhenDeletingImage() throws Exception {
+        // Given
+        String hash = "2026/02/02/uuid.jpg";
+        AlbumImage albumImage = new AlbumImage(testAlbum, "test-bucket", hash, "image/jpeg", 1024, TEST_IMAGE_KEY);
+        when(albumImageRepository.findByAlbumIdAndHash(1L, hash))
+                .thenReturn(Optional.of(albumImage));
+        when(storedObjectRepository.release(TEST_IMAGE_KEY)).thenReturn(1);
+
+        // When
+        imageService.deleteImage(1L, hash);
+
+        // Then
+        verify(albumImageRepository).delete(albumImage);
+        verifyNoInteractions(objectRemoval);
+    }
+
+    @Test
+    void shouldRemoveEachUnreferencedObjectOnceWhenReleasingSeveral() {
+        // Given - two images of the album share the first object
+        when(storedObjectRepository.release("sha256/aa/aa.jpg")).thenReturn(1, 0);
+        when(storedObjectRepository.release("sha256/bb/bb.jpg")).thenReturn(2);
+        when(imageVariantService.variantKeys("sha256/aa/aa.jpg")).thenReturn(List.of("variants/64/sha256/aa/aa.jpg"));
+
+        // When
+        imageService.releaseStoredObjects(List.of("sha256/aa/aa.jpg", "sha256/aa/aa.jpg", "sha256/bb/bb.jpg"));
+
+        // Then
+        verify(objectRemoval).fire(new ObjectRemovalService.Requested(
+                List.of("sha256/aa/aa.jpg", "variants/64/sha256/aa/aa.jpg")));
     }
 
     @Test
@@ -183,15 +1111,105 @@ class ImageServiceTest {
     void shouldThrowInternalServerErrorWhenMinioFails() throws Exception {
         // Given
         when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
-        when(minioClient.putObject(any(PutObjectArgs.class)))
-                .thenThrow(new RuntimeException("MinIO connection failed"));
+        when(objectStorage.put(anyString(), any(), anyString()))
+                .thenReturn(Uni.createFrom().failure(new RuntimeException("MinIO connection failed")));
 
-        InputStream inputStream = new ByteArrayInputStream("test".getBytes());
+        InputStream inputStream = new ByteArrayInputStream(jpeg("test"));
 
         // When & Then
         assertThrows(InternalServerErrorException.class, () ->
                 imageService.uploadImage(1L, "cover.jpg", inputStream, 1024L, "image/jpeg")
         );
+        verify(storedObjectRepository, never()).acquire(anyString(), anyString(), anyString(), anyLong());
+        verify(albumImageRepository, never()).persist(any(AlbumImage.class));
+    }
+
+    @Test
+    void shouldStoreContentBeforeRecordingImage() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(storedObjectRepository.acquire(anyString(), anyString(), anyString(), anyLong())).thenReturn(1);
+
+        // When
+        imageService.uploadImage(1L, "cover.jpg", new ByteArrayInputStream(TEST_IMAGE), 18L, "image/jpeg");
+
+        // Then - the transfer is over before the recording transaction takes its reference
+        InOrder inOrder = inOrder(objectStorage, storedObjectRepository, albumImageRepository);
+        inOrder.verify(objectStorage).put(anyString(), any(), anyString());
+        inOrder.verify(storedObjectRepository).acquire(TEST_IMAGE_KEY, "test-bucket", "image/jpeg", 18L);
+        inOrder.verify(albumImageRepository).persist(any(AlbumImage.class));
+    }
+
+    @Test
+    void shouldRemoveStoredContentWhenRecordingFails() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L))
+                .thenReturn(Optional.of(testAlbum))
+                .thenReturn(Optional.empty()); // album deleted while the bytes were transferred
+        when(storedObjectRepository.forgetIfUnreferenced(TEST_IMAGE_KEY, "test-bucket", "image/jpeg", 18L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(NotFoundException.class, () ->
+                imageService.uploadImage(1L, "cover.jpg", new ByteArrayInputStream(TEST_IMAGE), 18L, "image/jpeg")
+        );
+        verify(objectStorage).put(eq(TEST_IMAGE_KEY), any(byte[].class), eq("image/jpeg"));
+        verify(objectStorage).remove(TEST_IMAGE_KEY);
+        verify(albumImageRepository, never()).persist(any(AlbumImage.class));
+    }
+
+    @Test
+    void shouldKeepStoredContentReferencedByConcurrentUpload() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(storedObjectRepository.acquire(anyString(), anyString(), anyString(), anyLong())).thenReturn(2);
+        doThrow(new RuntimeException("Database unavailable")).when(albumImageRepository).persist(any(AlbumImage.class));
+        when(storedObjectRepository.forgetIfUnreferenced(TEST_IMAGE_KEY, "test-bucket", "image/jpeg", 18L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(InternalServerErrorException.class, () ->
+                imageService.uploadImage(1L, "cover.jpg", new ByteArrayInputStream(TEST_IMAGE), 18L, "image/jpeg")
+        );
+        verify(objectStorage, never()).remove(anyString());
+    }
+
+    @Test
+    void shouldStoreContentAgainWhenRemovedBeforeFirstReference() throws Exception {
+        // Given - registered when checked, but released and removed before this upload referenced it
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(storedObjectRepository.findByIdOptional(TEST_IMAGE_KEY)).thenReturn(Optional.of(new StoredObject()));
+        when(storedObjectRepository.acquire(anyString(), anyString(), anyString(), anyLong())).thenReturn(1);
+        when(objectStorage.stat(TEST_IMAGE_KEY))
+                .thenReturn(Uni.createFrom().failure(new ObjectNotFoundException(TEST_IMAGE_KEY, null)))
+                .thenReturn(Uni.createFrom().nullItem());
+
+        // When
+        imageService.uploadImage(1L, "cover.jpg", new ByteArrayInputStream(TEST_IMAGE), 18L, "image/jpeg");
+
+        // Then - the content is stored again between the check and a second attempt to record it
+        InOrder inOrder = inOrder(storedObjectRepository, objectStorage);
+        inOrder.verify(storedObjectRepository).acquire(TEST_IMAGE_KEY, "test-bucket", "image/jpeg", 18L);
+        inOrder.verify(objectStorage).stat(TEST_IMAGE_KEY);
+        inOrder.verify(objectStorage).put(eq(TEST_IMAGE_KEY), any(byte[].class), eq("image/jpeg"));
+        inOrder.verify(storedObjectRepository).acquire(TEST_IMAGE_KEY, "test-bucket", "image/jpeg", 18L);
+        inOrder.verify(objectStorage).stat(TEST_IMAGE_KEY);
+        verify(albumImageRepository).persist(any(AlbumImage.class));
+    }
+
+    @Test
+    void shouldFailUploadWhoseContentKeepsGoingMissing() throws Exception {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(testAlbum));
+        when(storedObjectRepository.findByIdOptional(TEST_IMAGE_KEY)).thenReturn(Optional.of(new StoredObject()));
+        when(storedObjectRepository.acquire(anyString(), anyString(), anyString(), anyLong())).thenReturn(1);
+        when(objectStorage.stat(anyString()))
+                .thenAnswer(invocation -> Uni.createFrom().failure(new ObjectNotFoundException(invocation.getArgument(0), null)));
+
+        // When & Then
+        assertThrows(InternalServerErrorException.class, () ->
+                imageService.uploadImage(1L, "cover.jpg", new ByteArrayInputStream(TEST_IMAGE), 18L, "image/jpeg")
+        );
+        verify(objectStorage, times(2)).put(eq(TEST_IMAGE_KEY), any(byte[].class), eq("image/jpeg"));
+        verify(albumImageRepository, never()).persist(any(AlbumImage.class));
     }
 
     @Test
@@ -201,19 +1219,19 @@ class ImageServiceTest {
 
         // Test JPEG
         assertDoesNotThrow(() -> {
-            InputStream stream = new ByteArrayInputStream("test".getBytes());
+            InputStream stream = new ByteArrayInputStream(jpeg("test"));
             imageService.uploadImage(1L, "image.jpg", stream, 1024L, "image/jpeg");
         });
 
         // Test PNG
         assertDoesNotThrow(() -> {
-            InputStream stream = new ByteArrayInputStream("test".getBytes());
+            InputStream stream = new ByteArrayInputStream(png("test"));
             imageService.uploadImage(1L, "image.png", stream, 1024L, "image/png");
         });
 
         // Test WebP
         assertDoesNotThrow(() -> {
-            InputStream stream = new ByteArrayInputStream("test".getBytes());
+            InputStream stream = new ByteArrayInputStream(webp("test"));
             imageService.uploadImage(1L, "image.webp", stream, 1024L, "image/webp");
         });
     }
@@ -221,6 +1239,31 @@ class ImageServiceTest {
     /**
      * Helper method to set private fields via reflection for testing.
      */
+    private static Uni<InputStream> objectContent(byte[] data) {
+        return Uni.createFrom().item(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Read an uploaded stream to its end on subscription, as a storage backend does.
+     */
+    private static Uni<Void> drain(InputStream stream) {
+        return Uni.createFrom().emitter(emitter -> {
+            try {
+                stream.readAllBytes();
+                emitter.complete(null);
+            } catch (IOException e) {
+                emitter.fail(e);
+            }
+        });
+    }
+
+    private AlbumImage pendingImage(String hash) {
+        AlbumImage image = new AlbumImage(testAlbum, "test-bucket", hash, "image/png", 0, "uploads/" + hash);
+        image.setId(7L);
+        image.setStatus(ImageStatus.PENDING);
+        return image;
+    }
+
     private void setField(Object target, String fieldName, Object value) throws Exception {
         var field = target.getClass().getDeclaredField(fieldName);
         field.setAccessible(true);
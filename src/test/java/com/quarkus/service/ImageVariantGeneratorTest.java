@@ -0,0 +1,121 @@
+package com.quarkus.service;
+
+import com.quarkus.entity.ImageVariant;
+import com.quarkus.imaging.Placeholder;
+import com.quarkus.storage.ObjectStorage;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageVariantGeneratorTest {
+
+    private static final String SOURCE_KEY = "sha256/ab/ab.png";
+
+    @Mock
+    ObjectStorage objectStorage;
+
+    @Mock
+    ImageVariantService variantService;
+
+    @InjectMocks
+    ImageVariantGenerator generator;
+
+    @Test
+    void shouldGenerateVariantsSmallerThanSource() throws Exception {
+        // Given - a 300x150 source, so only the 64 and 256 px variants apply
+        when(variantService.widths()).thenReturn(List.of(64, 256, 1024));
+        when(variantService.variantKey(eq(SOURCE_KEY), anyInt()))
+            .thenAnswer(invocation -> "variants/" + invocation.getArgument(1) + "/" + SOURCE_KEY);
+        when(objectStorage.get(SOURCE_KEY)).thenReturn(sourceImage(300, 150));
+        when(objectStorage.put(anyString(), any(byte[].class), eq("image/png"))).thenReturn(Uni.createFrom().voidItem());
+
+        // When
+        generator.generate(7L, SOURCE_KEY, "image/png");
+
+        // Then
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<byte[]> data = ArgumentCaptor.forClass(byte[].class);
+        verify(objectStorage, times(2)).put(keys.capture(), data.capture(), eq("image/png"));
+        assertEquals(List.of("variants/64/" + SOURCE_KEY, "variants/256/" + SOURCE_KEY), keys.getAllValues());
+
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(data.getAllValues().get(0)));
+        assertEquals(64, thumbnail.getWidth());
+        assertEquals(32, thumbnail.getHeight());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<ImageVariant>> recorded = ArgumentCaptor.forClass(Collection.class);
+        verify(variantService).recordVariants(eq(7L), recorded.capture());
+        assertEquals(List.of(64, 256), recorded.getValue().stream().map(ImageVariant::getWidth).toList());
+        verify(variantService).recordPlaceholder(eq(7L), eq(300), eq(150), any(Placeholder.class));
+    }
+
+    @Test
+    void shouldReuseVariantsOfIdenticalContent() throws Exception {
+        // Given
+        when(variantService.recordExistingVariants(7L, SOURCE_KEY)).thenReturn(true);
+        when(variantService.recordExistingPlaceholder(7L, SOURCE_KEY)).thenReturn(true);
+
+        // When
+        generator.generate(7L, SOURCE_KEY, "image/png");
+
+        // Then
+        verifyNoInteractions(objectStorage);
+        verify(variantService, never()).recordVariants(anyLong(), any());
+        verify(variantService, never()).recordPlaceholder(anyLong(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void shouldOnlyComputePlaceholderWhenVariantsAreReused() throws Exception {
+        // Given
+        when(variantService.recordExistingVariants(7L, SOURCE_KEY)).thenReturn(true);
+        when(variantService.widths()).thenReturn(List.of(64, 256, 1024));
+        when(objectStorage.get(SOURCE_KEY)).thenReturn(sourceImage(300, 150));
+
+        // When
+        generator.generate(7L, SOURCE_KEY, "image/png");
+
+        // Then
+        verify(variantService).recordPlaceholder(eq(7L), eq(300), eq(150), any(Placeholder.class));
+        verify(objectStorage, never()).put(anyString(), any(byte[].class), anyString());
+        verify(variantService, never()).recordVariants(anyLong(), any());
+    }
+
+    @Test
+    void shouldSkipFormatsImageIoCannotDecode() throws Exception {
+        // Given
+        when(variantService.widths()).thenReturn(List.of(64, 256, 1024));
+        when(objectStorage.get(SOURCE_KEY)).thenReturn(
+            Uni.createFrom().item(new ByteArrayInputStream("not an image".getBytes())));
+
+        // When
+        generator.generate(7L, SOURCE_KEY, "image/webp");
+
+        // Then
+        verify(objectStorage, never()).put(anyString(), any(byte[].class), anyString());
+        verify(variantService, never()).recordVariants(anyLong(), any());
+    }
+
+    private Uni<InputStream> sourceImage(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return Uni.createFrom().item(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
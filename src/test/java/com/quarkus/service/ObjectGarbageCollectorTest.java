@@ -0,0 +1,155 @@
+package com.quarkus.service;
+
+import com.quarkus.repository.StoredObjectRepository;
+import com.quarkus.repository.StoredObjectRepository.ReferencedKey;
+import com.quarkus.storage.ObjectInfo;
+import com.quarkus.storage.ObjectStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ObjectGarbageCollectorTest {
+
+    private static final Instant OLD = Instant.now().minus(Duration.ofDays(2));
+
+    @Mock
+    ObjectStorage objectStorage;
+
+    @Mock
+    StoredObjectRepository storedObjectRepository;
+
+    @Mock
+    ObjectRemover remover;
+
+    @InjectMocks
+    ObjectGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        collector.gracePeriod = Duration.ofHours(24);
+        collector.dryRun = false;
+    }
+
+    @Test
+    void shouldRemoveOldObjectsWithoutRows() {
+        // Given - "b" is referenced, "a" and "d" are orphans, "c" is an orphan inside the grace period
+        when(storedObjectRepository.streamReferencedKeys()).thenReturn(Stream.of(new ReferencedKey("b", true)));
+        List<ObjectInfo> items = List.of(item("a", OLD), item("b", OLD), item("c", Instant.now()), item("d", OLD));
+        when(objectStorage.list()).thenReturn(items.iterator());
+        when(storedObjectRepository.findReferenced(anyCollection())).thenReturn(Set.of());
+
+        // When
+        ObjectGarbageCollector.Summary summary = collector.collect();
+
+        // Then
+        verify(remover).remove(List.of("a", "d"));
+        assertEquals(new ObjectGarbageCollector.Summary(4, 2, 2, 0), summary);
+    }
+
+    @Test
+    void shouldKeepOrphansReferencedBeforeRemoval() {
+        // Given
+        when(storedObjectRepository.streamReferencedKeys()).thenReturn(Stream.empty());
+        List<ObjectInfo> items = List.of(item("a", OLD), item("b", OLD));
+        when(objectStorage.list()).thenReturn(items.iterator());
+        when(storedObjectRepository.findReferenced(List.of("a", "b"))).thenReturn(Set.of("a"));
+
+        // When
+        ObjectGarbageCollector.Summary summary = collector.collect();
+
+        // Then
+        verify(remover).remove(List.of("b"));
+        assertEquals(1, summary.removed());
+    }
+
+    @Test
+    void shouldCountMissingObjectsOfRequiredRowsOnly() {
+        // Given - "p" only belongs to a pending direct upload
+        when(storedObjectRepository.streamReferencedKeys()).thenReturn(Stream.of(
+            new ReferencedKey("a", true), new ReferencedKey("p", false), new ReferencedKey("z", true)));
+        List<ObjectInfo> items = List.of(item("a", OLD));
+        when(objectStorage.list()).thenReturn(items.iterator());
+
+        // When
+        ObjectGarbageCollector.Summary summary = collector.collect();
+
+        // Then
+        assertEquals(new ObjectGarbageCollector.Summary(1, 0, 0, 1), summary);
+        verifyNoInteractions(remover);
+    }
+
+    @Test
+    void shouldRemoveInBatchesOfAtMostOneThousand() {
+        // Given
+        List<ObjectInfo> items = IntStream.range(0, 2500).mapToObj(i -> item("k%05d".formatted(i), OLD)).toList();
+        when(storedObjectRepository.streamReferencedKeys()).thenReturn(Stream.empty());
+        when(objectStorage.list()).thenReturn(items.iterator());
+        when(storedObjectRepository.findReferenced(anyCollection())).thenReturn(Set.of());
+
+        // When
+        collector.collect();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> batches = ArgumentCaptor.forClass(List.class);
+        verify(remover, times(3)).remove(batches.capture());
+        assertEquals(List.of(1000, 1000, 500), batches.getAllValues().stream().map(List::size).toList());
+    }
+
+    @Test
+    void shouldOnlyCountOrphansOnDryRun() {
+        // Given
+        collector.dryRun = true;
+        when(storedObjectRepository.streamReferencedKeys()).thenReturn(Stream.empty());
+        List<ObjectInfo> items = List.of(item("a", OLD));
+        when(objectStorage.list()).thenReturn(items.iterator());
+        when(storedObjectRepository.findReferenced(anyCollection())).thenReturn(Set.of());
+
+        // When
+        ObjectGarbageCollector.Summary summary = collector.collect();
+
+        // Then
+        assertEquals(new ObjectGarbageCollector.Summary(1, 1, 0, 0), summary);
+        verifyNoInteractions(remover);
+    }
+
+    @Test
+    void shouldRejectListingOutOfOrder() {
+        // Given
+        when(storedObjectRepository.streamReferencedKeys()).thenReturn(Stream.empty());
+        List<ObjectInfo> items = List.of(item("b", OLD), item("a", OLD));
+        when(objectStorage.list()).thenReturn(items.iterator());
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> collector.collect());
+        verifyNoInteractions(remover);
+    }
+
+    @Test
+    void shouldCompareKeysByUtf8Bytes() {
+        // "Z" < "a" < "é" in byte order, while a collation-aware comparison would differ
+        assertTrue(ObjectGarbageCollector.compare("Z", "a") < 0);
+        assertTrue(ObjectGarbageCollector.compare("a", "é") < 0);
+        assertTrue(ObjectGarbageCollector.compare("￿", "😀") < 0);
+    }
+
+    private static ObjectInfo item(String objectKey, Instant lastModified) {
+        return new ObjectInfo(objectKey, 1, null, lastModified);
+    }
+}
@@ -0,0 +1,89 @@
+package com.quarkus.service;
+
+import com.quarkus.repository.StoredObjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ObjectRemovalServiceTest {
+
+    @Mock
+    StoredObjectRepository storedObjectRepository;
+
+    @InjectMocks
+    ObjectRemovalService removalService;
+
+    @BeforeEach
+    void setUp() {
+        removalService.bucket = "test-bucket";
+        lenient().when(storedObjectRepository.lockUnreferenced(anyString(), eq("test-bucket"))).thenReturn(true);
+    }
+
+    @Test
+    void shouldRemoveObjectsWhileTheirReferencesAreLocked() {
+        // Given
+        List<List<String>> removed = new ArrayList<>();
+
+        // When
+        Map<String, String> failures = removalService.removeIfUnreferenced(List.of("b", "a"), objectKeys -> {
+            removed.add(objectKeys);
+            return Map.of("a", "SlowDown: try again");
+        });
+
+        // Then - keys are locked in order, removed, and only then unlocked
+        assertEquals(Map.of("a", "SlowDown: try again"), failures);
+        assertEquals(List.of(List.of("b", "a")), removed);
+        InOrder inOrder = inOrder(storedObjectRepository);
+        inOrder.verify(storedObjectRepository).lockUnreferenced("a", "test-bucket");
+        inOrder.verify(storedObjectRepository).lockUnreferenced("b", "test-bucket");
+        inOrder.verify(storedObjectRepository).forgetUnreferenced(List.of("a", "b"));
+    }
+
+    @Test
+    void shouldKeepObjectsReferencedAgain() {
+        // Given - "a" was stored again by an upload, "b" is still used by a variant
+        when(storedObjectRepository.lockUnreferenced("a", "test-bucket")).thenReturn(false);
+        when(storedObjectRepository.findReferenced(List.of("b", "c"))).thenReturn(Set.of("b"));
+        List<List<String>> removed = new ArrayList<>();
+
+        // When
+        Map<String, String> failures = removalService.removeIfUnreferenced(List.of("a", "b", "c"), objectKeys -> {
+            removed.add(objectKeys);
+            return Map.of();
+        });
+
+        // Then
+        assertTrue(failures.isEmpty());
+        assertEquals(List.of(List.of("c")), removed);
+        verify(storedObjectRepository).forgetUnreferenced(List.of("b", "c"));
+    }
+
+    @Test
+    void shouldNotCallStorageWhenEverythingIsReferencedAgain() {
+        // Given
+        when(storedObjectRepository.lockUnreferenced("a", "test-bucket")).thenReturn(false);
+
+        // When
+        Map<String, String> failures = removalService.removeIfUnreferenced(List.of("a"), objectKeys -> {
+            throw new AssertionError("nothing to remove");
+        });
+
+        // Then
+        assertTrue(failures.isEmpty());
+        verify(storedObjectRepository).forgetUnreferenced(List.of());
+    }
+}
@@ -0,0 +1,164 @@
+package com.quarkus.service;
+
+import com.quarkus.storage.ObjectStorage;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ObjectRemoverTest {
+
+    @Mock
+    ObjectStorage objectStorage;
+
+    @Mock
+    ObjectRemovalService removalService;
+
+    @InjectMocks
+    ObjectRemover remover;
+
+    /**
+     * Keys the removal service finds referenced again when it locks them.
+     */
+    private final Set<String> referenced = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        remover.maxAttempts = 3;
+        remover.retryBackoff = Duration.ZERO;
+
+        lenient().when(removalService.removeIfUnreferenced(anyList(), any())).thenAnswer(invocation -> {
+            List<String> unreferenced = invocation.<List<String>>getArgument(0).stream()
+                    .filter(objectKey -> !referenced.contains(objectKey))
+                    .toList();
+            return unreferenced.isEmpty() ? Map.of()
+                    : invocation.<Function<List<String>, Map<String, String>>>getArgument(1).apply(unreferenced);
+        });
+    }
+
+    @Test
+    void shouldRemoveInBatchesOfAtMostOneThousand() {
+        // Given
+        List<String> keys = IntStream.range(0, 2500).mapToObj(i -> "sha256/" + i).toList();
+        when(objectStorage.removeBatch(anyList())).thenReturn(Uni.createFrom().item(Map.of()));
+
+        // When
+        remover.remove(keys);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> batches = ArgumentCaptor.forClass(List.class);
+        verify(objectStorage, times(3)).removeBatch(batches.capture());
+        assertEquals(List.of(1000, 1000, 500), batches.getAllValues().stream().map(List::size).toList());
+        verify(removalService, times(3)).settle(anyList(), eq(Map.of()), eq(3));
+    }
+
+    @Test
+    void shouldRetryOnlyFailedKeys() {
+        // Given
+        when(objectStorage.removeBatch(List.of("a", "b", "c")))
+                .thenReturn(Uni.createFrom().item(Map.of("b", "SlowDown: try again")));
+        when(objectStorage.removeBatch(List.of("b"))).thenReturn(Uni.createFrom().item(Map.of()));
+
+        // When
+        remover.remove(List.of("a", "b", "a", "c"));
+
+        // Then
+        verify(removalService).settle(List.of("a", "b", "c"), Map.of(), 3);
+    }
+
+    @Test
+    void shouldDeadLetterKeysStillFailingAfterLastAttempt() {
+        // Given
+        when(objectStorage.removeBatch(List.of("a", "b")))
+                .thenReturn(Uni.createFrom().item(Map.of("b", "AccessDenied: denied")));
+        when(objectStorage.removeBatch(List.of("b")))
+                .thenReturn(Uni.createFrom().item(Map.of("b", "AccessDenied: denied")));
+
+        // When
+        remover.remove(List.of("a", "b"));
+
+        // Then
+        verify(objectStorage, times(2)).removeBatch(List.of("b"));
+        verify(removalService).settle(List.of("a"), Map.of("b", "AccessDenied: denied"), 3);
+    }
+
+    @Test
+    void shouldDeadLetterWholeBatchWhenStorageIsUnreachable() {
+        // Given
+        when(objectStorage.removeBatch(anyList()))
+                .thenReturn(Uni.createFrom().failure(new IOException("connection refused")));
+
+        // When
+        remover.remove(List.of("a", "b"));
+
+        // Then
+        verify(objectStorage, times(3)).removeBatch(List.of("a", "b"));
+        verify(removalService).settle(eq(List.of()), argThat(failures ->
+                failures.keySet().equals(Set.of("a", "b"))
+                        && failures.get("a").contains("connection refused")), eq(3));
+    }
+
+    @Test
+    void shouldKeepObjectReferencedAgainBeforeRemoval() {
+        // Given - the same content was uploaded again between the release and the removal
+        referenced.add("b");
+        when(objectStorage.removeBatch(List.of("a"))).thenReturn(Uni.createFrom().item(Map.of()));
+
+        // When
+        remover.remove(List.of("a", "b"));
+
+        // Then
+        verify(objectStorage, never()).removeBatch(argThat((List<String> keys) -> keys.contains("b")));
+        verify(removalService).settle(List.of("a", "b"), Map.of(), 3);
+    }
+
+    @Test
+    void shouldNotRetryObjectReferencedAgainAfterFailedAttempt() {
+        // Given
+        when(objectStorage.removeBatch(List.of("a", "b"))).thenAnswer(invocation -> {
+            referenced.add("b");
+            return Uni.createFrom().item(Map.of("b", "SlowDown: try again"));
+        });
+
+        // When
+        remover.remove(List.of("a", "b"));
+
+        // Then
+        verify(objectStorage, times(1)).removeBatch(anyList());
+        verify(removalService).settle(List.of("a", "b"), Map.of(), 3);
+    }
+
+    @Test
+    void shouldDeadLetterBatchWhenReferencesCannotBeChecked() {
+        // Given
+        when(removalService.removeIfUnreferenced(anyList(), any())).thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        remover.remove(List.of("a", "b"));
+
+        // Then
+        verifyNoInteractions(objectStorage);
+        verify(removalService).settle(eq(List.of()), argThat(failures ->
+                failures.keySet().equals(Set.of("a", "b"))
+                        && failures.get("a").contains("database unavailable")), eq(3));
+    }
+}
@@ -0,0 +1,71 @@
+package com.quarkus.service;
+
+import com.quarkus.common.PostgresResource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@QuarkusTestResource(PostgresResource.class)
+@TestProfile(PresignedUrlCacheTest.ShortLivedCacheProfile.class)
+class PresignedUrlCacheTest {
+
+    public static class ShortLivedCacheProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.cache.caffeine.\"presigned-urls\".expire-after-write", "1S");
+        }
+    }
+
+    @Inject
+    PresignedUrlCache presignedUrlCache;
+
+    @Test
+    void shouldSignAgainOnceEntryHasExpired() throws Exception {
+        // Given
+        AtomicInteger signed = new AtomicInteger();
+        Long albumId = System.nanoTime();
+
+        // When
+        ImageService.PresignedUrl first = presignedUrlCache.get(albumId, "ab/cd/uuid.jpg", null, () -> sign(signed));
+        ImageService.PresignedUrl cached = presignedUrlCache.get(albumId, "ab/cd/uuid.jpg", null, () -> sign(signed));
+        Thread.sleep(1500);
+        ImageService.PresignedUrl renewed = presignedUrlCache.get(albumId, "ab/cd/uuid.jpg", null, () -> sign(signed));
+
+        // Then
+        assertSame(first, cached);
+        assertNotEquals(first, renewed);
+        assertEquals(2, signed.get());
+    }
+
+    @Test
+    void shouldSignAgainWhenCachedUrlExpiresTooSoon() {
+        // Given - the URLs expire well within the minimum remaining lifetime
+        AtomicInteger signed = new AtomicInteger();
+        Long albumId = System.nanoTime();
+        Supplier<ImageService.PresignedUrl> signer = () -> new ImageService.PresignedUrl(
+            "https://storage/url-" + signed.incrementAndGet(), Instant.now().plusSeconds(60));
+
+        // When
+        ImageService.PresignedUrl first = presignedUrlCache.get(albumId, "ab/cd/uuid.jpg", null, signer);
+        ImageService.PresignedUrl second = presignedUrlCache.get(albumId, "ab/cd/uuid.jpg", null, signer);
+
+        // Then - the cached URL is not handed out again
+        assertNotEquals(first, second);
+        assertEquals("https://storage/url-3", second.url());
+    }
+
+    private static ImageService.PresignedUrl sign(AtomicInteger signed) {
+        return new ImageService.PresignedUrl("https://storage/url-" + signed.incrementAndGet(), Instant.now().plusSeconds(1800));
+    }
+}
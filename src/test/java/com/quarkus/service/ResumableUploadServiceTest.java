@@ -0,0 +1,318 @@
+package com.quarkus.service;
+
+import com.quarkus.entity.UploadSession;
+import com.quarkus.entity.UploadSessionPart;
+import com.quarkus.imaging.ImageFormat;
+import com.quarkus.repository.UploadSessionRepository;
+import com.quarkus.storage.ObjectInfo;
+import com.quarkus.storage.ObjectStorage;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumableUploadServiceTest {
+
+    private static final int MIB = 1024 * 1024;
+
+    private static final String ID = "5f0e1c2a-8d3b-4f6e-9a7c-1b2d3e4f5a6b";
+
+    private static final String OBJECT_KEY = "tmp/resumable/" + ID;
+
+    @Mock
+    ObjectStorage objectStorage;
+
+    @Mock
+    UploadSessionTransactions sessions;
+
+    @Mock
+    ImageService imageService;
+
+    @Mock
+    ImageUploadTransactions uploadTransactions;
+
+    @Mock
+    UploadAdmission uploadAdmission;
+
+    @Mock
+    StorageUsageService storageUsageService;
+
+    @InjectMocks
+    ResumableUploadService resumableUploadService;
+
+    @BeforeEach
+    void setUp() {
+        resumableUploadService.partSize = 5L * MIB;
+        resumableUploadService.expireAfter = Duration.ofHours(12);
+        resumableUploadService.lease = Duration.ofMinutes(10);
+
+        // Content checks pass by default
+        lenient().when(imageService.validateContentType("image/png")).thenReturn(ImageFormat.PNG);
+        lenient().when(imageService.requireFormat(any(InputStream.class), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Storage operations succeed by default
+        lenient().when(objectStorage.put(anyString(), any(), anyString())).thenReturn(Uni.createFrom().voidItem());
+        lenient().when(objectStorage.uploadPart(anyString(), anyString(), anyInt(), any()))
+                .thenAnswer(invocation -> Uni.createFrom().item("etag-" + invocation.getArgument(2)));
+        lenient().when(objectStorage.completeMultipartUpload(anyString(), anyString(), any()))
+                .thenReturn(Uni.createFrom().voidItem());
+        lenient().when(objectStorage.abortMultipartUpload(anyString(), anyString())).thenReturn(Uni.createFrom().voidItem());
+        lenient().when(objectStorage.remove(anyString())).thenReturn(Uni.createFrom().voidItem());
+    }
+
+    @Test
+    void shouldCreateSessionBackedByMultipartUpload() {
+        // Given
+        when(objectStorage.createMultipartUpload(startsWith("tmp/resumable/"), eq("image/png")))
+                .thenReturn(Uni.createFrom().item("upload-1"));
+
+        // When
+        ResumableUploadService.UploadStatus status = resumableUploadService.create(1L, "cover.png", "image/png", 12L * MIB);
+
+        // Then
+        verify(uploadTransactions).requireAlbum(1L);
+        verify(imageService).validateFileSize(12L * MIB);
+        verify(storageUsageService).checkQuota(1L, 12L * MIB);
+        ArgumentCaptor<UploadSession> created = ArgumentCaptor.forClass(UploadSession.class);
+        verify(sessions).create(created.capture());
+        UploadSession session = created.getValue();
+        assertEquals("tmp/resumable/" + status.id(), session.getObjectKey());
+        assertEquals("upload-1", session.getStorageUploadId());
+        assertEquals(session.getCreatedAt().plusHours(12), session.getExpiresAt());
+        assertEquals(0, status.offset());
+        assertEquals(12L * MIB, status.length());
+    }
+
+    @Test
+    void shouldKeepBytesShortOfAPartPendingUntilTheNextChunk() {
+        // Given
+        UploadSession session = session(0, 12L * MIB);
+        when(sessions.claim(eq(1L), eq(ID), eq(0L), any())).thenReturn(session);
+
+        // When
+        ResumableUploadService.UploadStatus status = resumableUploadService.append(1L, ID, 0, chunk(3 * MIB, 1), 3L * MIB);
+
+        // Then
+        assertEquals(3L * MIB, status.offset());
+        verify(objectStorage).put(eq(OBJECT_KEY + ".pending"), argThat((byte[] data) -> data.length == 3 * MIB), eq("image/png"));
+        verify(objectStorage, never()).uploadPart(anyString(), anyString(), anyInt(), any());
+        verify(sessions).recordOffset(ID, 3L * MIB);
+        verify(sessions).release(ID);
+    }
+
+    @Test
+    void shouldPrependPendingBytesToTheNextPart() {
+        // Given - 3 MiB pending, then a 4 MiB chunk: one 5 MiB part and 2 MiB pending again
+        UploadSession session = session(3L * MIB, 12L * MIB);
+        when(sessions.claim(eq(1L), eq(ID), eq(3L * MIB), any())).thenReturn(session);
+        when(objectStorage.get(OBJECT_KEY + ".pending"))
+                .thenReturn(Uni.createFrom().item(chunk(3 * MIB, 1)));
+
+        // When
+        ResumableUploadService.UploadStatus status = resumableUploadService.append(1L, ID, 3L * MIB, chunk(4 * MIB, 2), 4L * MIB);
+
+        // Then
+        assertEquals(7L * MIB, status.offset());
+        verify(objectStorage).uploadPart(eq(OBJECT_KEY), eq("upload-1"), eq(1), argThat((byte[] data) ->
+                data.length == 5 * MIB && data[0] == 1 && data[3 * MIB - 1] == 1 && data[3 * MIB] == 2));
+        verify(sessions).recordPart(eq(ID), argThat(part -> part.getPartNumber() == 1 && part.getSize() == 5L * MIB),
+                eq(5L * MIB), any());
+        verify(objectStorage).put(eq(OBJECT_KEY + ".pending"), argThat((byte[] data) -> data.length == 2 * MIB), eq("image/png"));
+        verify(sessions).recordOffset(ID, 7L * MIB);
+    }
+
+    @Test
+    void shouldCompleteAndImportUploadWithTheLastChunk() {
+        // Given
+        UploadSession session = session(5L * MIB, 6L * MIB);
+        session.getParts().add(new UploadSessionPart(1, "etag-1", 5L * MIB));
+        when(sessions.claim(eq(1L), eq(ID), eq(5L * MIB), any())).thenReturn(session);
+        when(imageService.importUpload(1L, "cover.png", OBJECT_KEY, "image/png")).thenReturn("2026/10/19/cover.png");
+
+        // When
+        ResumableUploadService.UploadStatus status = resumableUploadService.append(1L, ID, 5L * MIB, chunk(MIB, 3), MIB);
+
+        // Then
+        assertEquals(6L * MIB, status.offset());
+        assertEquals("2026/10/19/cover.png", status.imageHash());
+        verify(objectStorage).uploadPart(eq(OBJECT_KEY), eq("upload-1"), eq(2), argThat((byte[] data) -> data.length == MIB));
+        verify(objectStorage).completeMultipartUpload(OBJECT_KEY, "upload-1",
+                List.of(new ObjectStorage.Part(1, "etag-1"), new ObjectStorage.Part(2, "etag-2")));
+        verify(sessions).complete(ID, "2026/10/19/cover.png");
+        verify(sessions, never()).release(anyString());
+    }
+
+    @Test
+    void shouldEndSessionWhenImportRejectsContent() {
+        // Given
+        UploadSession session = session(0, MIB);
+        when(sessions.claim(eq(1L), eq(ID), eq(0L), any())).thenReturn(session);
+        when(imageService.importUpload(anyLong(), any(), anyString(), anyString()))
+                .thenThrow(new BadRequestException("File content is not an image"));
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> resumableUploadService.append(1L, ID, 0, chunk(MIB, 1), MIB));
+        verify(objectStorage).remove(OBJECT_KEY);
+        verify(sessions).delete(List.of(ID));
+    }
+
+    @Test
+    void shouldKeepSessionAndAssembledObjectWhenImportFails() {
+        // Given
+        UploadSession session = session(0, MIB);
+        when(sessions.claim(eq(1L), eq(ID), eq(0L), any())).thenReturn(session);
+        when(imageService.importUpload(anyLong(), any(), anyString(), anyString()))
+                .thenThrow(new ServiceUnavailableException("Storage unavailable"));
+
+        // When & Then
+        assertThrows(ServiceUnavailableException.class, () -> resumableUploadService.append(1L, ID, 0, chunk(MIB, 1), MIB));
+        verify(objectStorage, never()).remove(OBJECT_KEY);
+        verify(sessions, never()).delete(any());
+        verify(sessions).release(ID);
+        assertEquals(MIB, session.getUploadOffset());
+    }
+
+    @Test
+    void shouldRetryImportWithEmptyChunkAtFullOffset() {
+        // Given - the upload was assembled before the import failed
+        UploadSession session = session(MIB, MIB);
+        session.getParts().add(new UploadSessionPart(1, "etag-1", (long) MIB));
+        when(sessions.claim(eq(1L), eq(ID), eq((long) MIB), any())).thenReturn(session);
+        when(objectStorage.stat(OBJECT_KEY))
+                .thenReturn(Uni.createFrom().item(new ObjectInfo(OBJECT_KEY, MIB, "image/png", Instant.now())));
+        when(imageService.importUpload(1L, "cover.png", OBJECT_KEY, "image/png")).thenReturn("2026/10/19/cover.png");
+
+        // When
+        ResumableUploadService.UploadStatus status = resumableUploadService.append(1L, ID, MIB,
+                new ByteArrayInputStream(new byte[0]), 0);
+
+        // Then
+        assertEquals("2026/10/19/cover.png", status.imageHash());
+        verify(objectStorage, never()).completeMultipartUpload(anyString(), anyString(), any());
+        verify(sessions).complete(ID, "2026/10/19/cover.png");
+    }
+
+    @Test
+    void shouldRejectChunkRunningPastUploadLengthBeforeReadingIt() throws Exception {
+        // Given
+        UploadSession session = session(0, MIB);
+        when(sessions.claim(eq(1L), eq(ID), eq(0L), any())).thenReturn(session);
+        InputStream chunk = chunk(2 * MIB, 1);
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> resumableUploadService.append(1L, ID, 0, chunk, 2L * MIB));
+        assertEquals(2 * MIB, chunk.available());
+        verifyNoInteractions(uploadAdmission, objectStorage);
+        verify(sessions).release(ID);
+    }
+
+    @Test
+    void shouldKeepRecordedPartsWhenClientGoesAway() {
+        // Given - one whole part arrives before the connection breaks
+        UploadSession session = session(0, 12L * MIB);
+        when(sessions.claim(eq(1L), eq(ID), eq(0L), any())).thenReturn(session);
+        InputStream broken = new SequenceInputStream(chunk(6 * MIB, 1), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> resumableUploadService.append(1L, ID, 0, broken, -1));
+        verify(sessions).recordPart(eq(ID), any(UploadSessionPart.class), eq(5L * MIB), any());
+        verify(sessions, never()).recordOffset(anyString(), anyLong());
+        verify(sessions).release(ID);
+    }
+
+    @Test
+    void shouldRejectAppendAtStaleOffsetAndWhileLeased() {
+        // Given - the lease check runs against the repository
+        UploadSessionRepository repository = mock(UploadSessionRepository.class);
+        UploadSessionTransactions transactions = new UploadSessionTransactions();
+        transactions.uploadSessionRepository = repository;
+        when(repository.findByIdOptional(ID)).thenReturn(Optional.of(session(MIB, 12L * MIB)));
+        when(repository.claim(eq(ID), any(), any())).thenReturn(true, false);
+        LocalDateTime leaseUntil = LocalDateTime.now().plusMinutes(10);
+
+        // When & Then
+        ClientErrorException stale = assertThrows(ClientErrorException.class,
+                () -> transactions.claim(1L, ID, 0, leaseUntil));
+        assertEquals(409, stale.getResponse().getStatus());
+        ClientErrorException locked = assertThrows(ClientErrorException.class,
+                () -> transactions.claim(1L, ID, MIB, leaseUntil));
+        assertEquals(423, locked.getResponse().getStatus());
+    }
+
+    @Test
+    void shouldReapExpiredSessionsAndAbortUnfinishedUploads() {
+        // Given
+        UploadSession unfinished = session(MIB, 12L * MIB);
+        UploadSession completed = session(MIB, MIB);
+        completed.setId("completed");
+        completed.setImageHash("2026/10/19/cover.png");
+        LocalDateTime now = LocalDateTime.now();
+        when(sessions.findExpired(now, 100)).thenReturn(List.of(unfinished, completed));
+
+        // When
+        int reaped = resumableUploadService.reapExpired(now, 100);
+
+        // Then
+        assertEquals(2, reaped);
+        verify(objectStorage).abortMultipartUpload(OBJECT_KEY, "upload-1");
+        verify(objectStorage).remove(OBJECT_KEY + ".pending");
+        verify(objectStorage, times(1)).abortMultipartUpload(anyString(), anyString());
+        verify(sessions).delete(List.of(ID, "completed"));
+    }
+
+    private static UploadSession session(long offset, long length) {
+        UploadSession session = new UploadSession();
+        session.setId(ID);
+        session.setAlbumId(1L);
+        session.setFilename("cover.png");
+        session.setContentType("image/png");
+        session.setUploadLength(length);
+        session.setUploadOffset(offset);
+        session.setObjectKey(OBJECT_KEY);
+        session.setStorageUploadId("upload-1");
+        session.setCreatedAt(LocalDateTime.now());
+        session.setExpiresAt(session.getCreatedAt().plusHours(12));
+        return session;
+    }
+
+    private static InputStream chunk(int size, int value) {
+        byte[] data = new byte[size];
+        Arrays.fill(data, (byte) value);
+        return new ByteArrayInputStream(data);
+    }
+}
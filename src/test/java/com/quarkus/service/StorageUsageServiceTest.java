@@ -0,0 +1,169 @@
+package com.quarkus.service;
+
+import com.quarkus.dto.response.AlbumStorageUsageResponse;
+import com.quarkus.dto.response.BucketUsageResponse;
+import com.quarkus.entity.Album;
+import com.quarkus.entity.AlbumStorageUsage;
+import com.quarkus.repository.AlbumRepository;
+import com.quarkus.repository.AlbumStorageUsageRepository;
+import com.quarkus.repository.StoredObjectRepository;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageUsageServiceTest {
+
+    @Mock
+    AlbumStorageUsageRepository albumUsageRepository;
+
+    @Mock
+    AlbumRepository albumRepository;
+
+    @Mock
+    StoredObjectRepository storedObjectRepository;
+
+    @InjectMocks
+    StorageUsageService storageUsageService;
+
+    @BeforeEach
+    void setUp() {
+        storageUsageService.albumMaxBytes = Optional.of(1000L);
+    }
+
+    @Test
+    void shouldCountImageWithinDefaultQuota() {
+        // Given
+        when(albumUsageRepository.addImage(1L, 200L, 1000L)).thenReturn(true);
+
+        // When & Then
+        assertDoesNotThrow(() -> storageUsageService.addImage(1L, 200L));
+    }
+
+    @Test
+    void shouldRejectImageBeyondQuotaWith413() {
+        // Given
+        when(albumUsageRepository.addImage(1L, 200L, 1000L)).thenReturn(false);
+
+        // When & Then
+        ClientErrorException exception = assertThrows(ClientErrorException.class, () -> storageUsageService.addImage(1L, 200L));
+        assertEquals(413, exception.getResponse().getStatus());
+    }
+
+    @Test
+    void shouldCountWithoutLimitWhenNoDefaultQuotaIsConfigured() {
+        // Given
+        storageUsageService.albumMaxBytes = Optional.empty();
+        when(albumUsageRepository.addImage(1L, 200L, Long.MAX_VALUE)).thenReturn(true);
+
+        // When
+        storageUsageService.addImage(1L, 200L);
+
+        // Then
+        verify(albumUsageRepository).addImage(1L, 200L, Long.MAX_VALUE);
+    }
+
+    @Test
+    void shouldCheckDeclaredSizeAgainstAlbumsOwnQuota() {
+        // Given - the album may take more than the default
+        when(albumUsageRepository.findByIdOptional(1L)).thenReturn(Optional.of(usage(1L, 3, 1500L, 2000L)));
+
+        // When & Then
+        assertDoesNotThrow(() -> storageUsageService.checkQuota(1L, 500L));
+        assertThrows(ClientErrorException.class, () -> storageUsageService.checkQuota(1L, 501L));
+    }
+
+    @Test
+    void shouldCheckDeclaredSizeAgainstDefaultQuotaForAlbumWithoutImages() {
+        // Given
+        when(albumUsageRepository.findByIdOptional(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertDoesNotThrow(() -> storageUsageService.checkQuota(1L, 1000L));
+        assertThrows(ClientErrorException.class, () -> storageUsageService.checkQuota(1L, 1001L));
+    }
+
+    @Test
+    void shouldReportEmptyUsageForAlbumWithoutImages() {
+        // Given
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(new Album("Test Album", 2024)));
+        when(albumUsageRepository.findByIdOptional(1L)).thenReturn(Optional.empty());
+
+        // When
+        AlbumStorageUsageResponse usage = storageUsageService.getAlbumUsage(1L);
+
+        // Then
+        assertEquals(new AlbumStorageUsageResponse(1L, 0, 0, 1000L), usage);
+    }
+
+    @Test
+    void shouldThrowNotFoundForUsageOfMissingAlbum() {
+        // Given
+        when(albumRepository.findByIdOptional(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(NotFoundException.class, () -> storageUsageService.getAlbumUsage(99L));
+        verifyNoInteractions(albumUsageRepository);
+    }
+
+    @Test
+    void shouldFallBackToDefaultQuotaWhenAlbumQuotaIsCleared() {
+        // Given
+        AlbumStorageUsage usage = usage(1L, 3, 1500L, 2000L);
+        when(albumRepository.findByIdOptional(1L)).thenReturn(Optional.of(new Album("Test Album", 2024)));
+        when(albumUsageRepository.findOrCreateForUpdate(1L)).thenReturn(usage);
+
+        // When
+        AlbumStorageUsageResponse response = storageUsageService.setQuota(1L, null);
+
+        // Then
+        assertNull(usage.getQuotaBytes());
+        assertEquals(1000L, response.quotaBytes());
+        assertEquals(1500L, response.bytes());
+    }
+
+    @Test
+    void shouldCapLimitOfLargestAlbums() {
+        // Given
+        when(albumUsageRepository.findLargest(100)).thenReturn(List.of(usage(2L, 1, 500L, null)));
+
+        // When
+        List<AlbumStorageUsageResponse> largest = storageUsageService.listLargestAlbums(5000);
+
+        // Then
+        assertEquals(List.of(new AlbumStorageUsageResponse(2L, 1, 500L, 1000L)), largest);
+    }
+
+    @Test
+    void shouldReportUsageOfEachBucket() {
+        // Given
+        when(storedObjectRepository.usageByBucket())
+                .thenReturn(List.of(new StoredObjectRepository.BucketUsage("album-images", 3, 4096L)));
+
+        // When
+        List<BucketUsageResponse> usage = storageUsageService.getBucketUsage();
+
+        // Then
+        assertEquals(List.of(BucketUsageResponse.of("album-images", 3, 4096L)), usage);
+    }
+
+    private static AlbumStorageUsage usage(Long albumId, long imageCount, long bytes, Long quotaBytes) {
+        AlbumStorageUsage usage = new AlbumStorageUsage();
+        usage.setAlbumId(albumId);
+        usage.setImageCount(imageCount);
+        usage.setBytes(bytes);
+        usage.setQuotaBytes(quotaBytes);
+        return usage;
+    }
+}
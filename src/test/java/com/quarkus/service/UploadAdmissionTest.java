@@ -0,0 +1,119 @@
+package com.quarkus.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadAdmissionTest {
+
+    MeterRegistry meterRegistry;
+
+    UploadAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        admission = new UploadAdmission();
+        admission.meterRegistry = meterRegistry;
+        admission.maxConcurrent = 2;
+        admission.maxInFlightBytes = 100;
+        admission.maxQueued = 1;
+        admission.maxWait = Duration.ofSeconds(5);
+        admission.retryAfter = Duration.ofSeconds(7);
+        admission.maxFileSize = 60;
+        admission.init();
+    }
+
+    @Test
+    void shouldAdmitUploadsUpToTheConcurrencyLimit() {
+        // When
+        admission.acquire(10);
+        admission.acquire(10);
+
+        // Then
+        assertEquals(2, gauge("images.uploads.active"));
+        assertEquals(20, gauge("images.uploads.in-flight-bytes"));
+    }
+
+    @Test
+    void shouldQueueUntilAPermitIsReleased() throws Exception {
+        // Given
+        UploadAdmission.Permit first = admission.acquire(10);
+        admission.acquire(10);
+
+        // When
+        CompletableFuture<UploadAdmission.Permit> queued = CompletableFuture.supplyAsync(() -> admission.acquire(10));
+        awaitGauge("images.uploads.queued", 1);
+        first.close();
+
+        // Then
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(0, gauge("images.uploads.queued"));
+        assertEquals(2, gauge("images.uploads.active"));
+    }
+
+    @Test
+    void shouldRejectWithRetryAfterWhenTheQueueIsFull() throws Exception {
+        // Given - both slots taken and the only queue entry waiting
+        admission.acquire(10);
+        admission.acquire(10);
+        CompletableFuture.runAsync(() -> admission.acquire(10));
+        awaitGauge("images.uploads.queued", 1);
+
+        // When
+        ServiceUnavailableException rejected = assertThrows(ServiceUnavailableException.class, () -> admission.acquire(10));
+
+        // Then
+        assertEquals(503, rejected.getResponse().getStatus());
+        assertEquals("7", rejected.getResponse().getHeaderString("Retry-After"));
+        assertEquals(1, meterRegistry.counter("images.uploads.rejected").count());
+    }
+
+    @Test
+    void shouldRejectWhenNotAdmittedWithinMaxWait() {
+        // Given
+        admission.maxWait = Duration.ofMillis(50);
+        admission.acquire(10);
+        admission.acquire(10);
+
+        // When & Then
+        assertThrows(ServiceUnavailableException.class, () -> admission.acquire(10));
+        assertEquals(0, gauge("images.uploads.queued"));
+    }
+
+    @Test
+    void shouldReserveMaxFileSizeForUnknownSizesWithinTheByteBudget() {
+        // Given - an unknown size reserves 60 of the 100 byte budget
+        admission.maxWait = Duration.ofMillis(50);
+        UploadAdmission.Permit chunked = admission.acquire(-1);
+
+        // When & Then
+        assertEquals(60, gauge("images.uploads.in-flight-bytes"));
+        assertThrows(ServiceUnavailableException.class, () -> admission.acquire(50));
+        chunked.close();
+        chunked.close();
+        assertEquals(0, gauge("images.uploads.in-flight-bytes"));
+        admission.acquire(1000);
+        assertEquals(100, gauge("images.uploads.in-flight-bytes"));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private void awaitGauge(String name, double value) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gauge(name) != value) {
+            assertTrue(System.nanoTime() < deadline, name + " never reached " + value);
+            Thread.sleep(10);
+        }
+    }
+}
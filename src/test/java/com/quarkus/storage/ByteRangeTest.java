@@ -0,0 +1,52 @@
+package com.quarkus.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteRangeTest {
+
+    @Test
+    void shouldParseClosedRange() {
+        // When
+        Optional<ByteRange> range = ByteRange.parse("bytes=5-9", 15);
+
+        // Then
+        assertEquals(Optional.of(new ByteRange(5, 9)), range);
+        assertEquals(5, range.get().length());
+        assertEquals("bytes 5-9/15", range.get().contentRange(15));
+    }
+
+    @Test
+    void shouldParseOpenAndSuffixRanges() {
+        // When & Then
+        assertEquals(Optional.of(new ByteRange(10, 14)), ByteRange.parse("bytes=10-", 15));
+        assertEquals(Optional.of(new ByteRange(11, 14)), ByteRange.parse("bytes=-4", 15));
+        assertEquals(Optional.of(new ByteRange(0, 14)), ByteRange.parse("bytes=-100", 15));
+    }
+
+    @Test
+    void shouldClampEndToObjectSize() {
+        // When & Then
+        assertEquals(Optional.of(new ByteRange(10, 14)), ByteRange.parse("bytes=10-100", 15));
+    }
+
+    @Test
+    void shouldIgnoreMissingMalformedAndMultipleRanges() {
+        // When & Then - the whole object is served instead
+        assertTrue(ByteRange.parse(null, 15).isEmpty());
+        assertTrue(ByteRange.parse("items=0-5", 15).isEmpty());
+        assertTrue(ByteRange.parse("bytes=abc", 15).isEmpty());
+        assertTrue(ByteRange.parse("bytes=9-5", 15).isEmpty());
+        assertTrue(ByteRange.parse("bytes=0-1,5-6", 15).isEmpty());
+    }
+
+    @Test
+    void shouldRejectRangesOutsideTheObject() {
+        // When & Then
+        assertThrows(ByteRange.NotSatisfiableException.class, () -> ByteRange.parse("bytes=15-", 15));
+        assertThrows(ByteRange.NotSatisfiableException.class, () -> ByteRange.parse("bytes=-0", 15));
+    }
+}
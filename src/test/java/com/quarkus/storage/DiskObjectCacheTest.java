@@ -0,0 +1,104 @@
+package com.quarkus.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskObjectCacheTest {
+
+    @TempDir
+    Path directory;
+
+    DiskObjectCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DiskObjectCache();
+        cache.meterRegistry = new SimpleMeterRegistry();
+        cache.enabled = true;
+        cache.directory = directory.toString();
+        cache.maxBytes = 10;
+        cache.maxObjectBytes = 6;
+        cache.init();
+    }
+
+    @Test
+    void shouldLoadOnceAndServeFromDisk() throws IOException {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        DiskObjectCache.ObjectLoader loader = () -> {
+            loads.incrementAndGet();
+            return new ByteArrayInputStream("abcd".getBytes());
+        };
+
+        // When
+        Optional<Path> first = cache.get("sha256/ab/abcd.jpg", 4, loader);
+        Optional<Path> second = cache.get("sha256/ab/abcd.jpg", 4, loader);
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(first, second);
+        assertEquals("abcd", Files.readString(first.orElseThrow()));
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBeyondMaxBytes() throws IOException {
+        // Given
+        Path a = cache.get("a", 4, () -> new ByteArrayInputStream("aaaa".getBytes())).orElseThrow();
+        Path b = cache.get("b", 4, () -> new ByteArrayInputStream("bbbb".getBytes())).orElseThrow();
+        cache.get("a", 4, () -> fail("a is cached"));
+
+        // When - 12 bytes exceed the limit of 10, b was used least recently
+        cache.get("c", 4, () -> new ByteArrayInputStream("cccc".getBytes()));
+
+        // Then
+        assertTrue(Files.exists(a));
+        assertFalse(Files.exists(b));
+        assertEquals(8, cache.size());
+    }
+
+    @Test
+    void shouldNotCacheObjectsAboveMaxObjectBytes() throws IOException {
+        // When
+        Optional<Path> file = cache.get("large", 7, () -> fail("large objects are streamed"));
+
+        // Then
+        assertTrue(file.isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldDeleteFileOnEvict() throws IOException {
+        // Given
+        Path file = cache.get("a", 4, () -> new ByteArrayInputStream("aaaa".getBytes())).orElseThrow();
+
+        // When
+        cache.evict("a");
+
+        // Then
+        assertFalse(Files.exists(file));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldLeaveNothingBehindWhenLoadFails() throws IOException {
+        // When & Then
+        assertThrows(IOException.class, () -> cache.get("a", 4, () -> {
+            throw new IllegalStateException("storage down");
+        }));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
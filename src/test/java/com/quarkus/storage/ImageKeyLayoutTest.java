@@ -0,0 +1,43 @@
+package com.quarkus.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageKeyLayoutTest {
+
+    @Test
+    void shouldFanOutHashedKeysByTheirUuid() {
+        // When
+        String key = ImageKeyLayout.HASHED.generate(42L, ".jpg");
+
+        // Then
+        assertTrue(key.matches("[a-f0-9]{2}/[a-f0-9]{2}/[a-f0-9\\-]{36}\\.jpg"), key);
+        String uuid = key.substring(6);
+        assertEquals(uuid.substring(0, 2) + "/" + uuid.substring(2, 4) + "/", key.substring(0, 6));
+    }
+
+    @Test
+    void shouldPartitionKeysByAlbum() {
+        // When
+        String key = ImageKeyLayout.ALBUM.generate(42L, ".png");
+
+        // Then
+        assertTrue(key.matches("albums/42/[a-f0-9\\-]{36}\\.png"), key);
+    }
+
+    @Test
+    void shouldStillGenerateDateBasedKeys() {
+        // When
+        String key = ImageKeyLayout.DATE.generate(42L, ".webp");
+
+        // Then
+        assertTrue(key.matches("\\d{4}/\\d{2}/\\d{2}/[a-f0-9\\-]{36}\\.webp"), key);
+    }
+
+    @Test
+    void shouldNeverRepeatKeys() {
+        // When & Then
+        assertNotEquals(ImageKeyLayout.HASHED.generate(1L, ".jpg"), ImageKeyLayout.HASHED.generate(1L, ".jpg"));
+    }
+}
@@ -0,0 +1,223 @@
+package com.quarkus.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalObjectStorageTest {
+
+    @TempDir
+    Path root;
+
+    LocalObjectStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalObjectStorage();
+        storage.directory = root.toString();
+        storage.publicUrl = "http://localhost:8080";
+        storage.signingKey = Optional.of("test-signing-key");
+        storage.bucket = "test-bucket";
+        storage.init();
+        storage.initialize().await().indefinitely();
+    }
+
+    @Test
+    void shouldStoreAndReadObjectWithItsContentType() throws Exception {
+        // When
+        storage.put("sha256/ab/ab.png", bytes("image bytes"), "image/png").await().indefinitely();
+
+        // Then
+        ObjectInfo info = storage.stat("sha256/ab/ab.png").await().indefinitely();
+        assertEquals(11, info.size());
+        assertEquals("image/png", info.contentType());
+        assertEquals("image bytes", read(storage.get("sha256/ab/ab.png").await().indefinitely()));
+        assertEquals(Optional.of(root.resolve("test-bucket/sha256/ab/ab.png")), storage.localFile("sha256/ab/ab.png"));
+    }
+
+    @Test
+    void shouldReadByteRangeThroughMemoryMap() throws Exception {
+        // Given
+        storage.put("key", bytes("0123456789"), "image/jpeg").await().indefinitely();
+
+        // When
+        InputStream in = storage.get("key", new ByteRange(3, 6)).await().indefinitely();
+
+        // Then
+        assertEquals("3456", read(in));
+    }
+
+    @Test
+    void shouldUploadStreamAndCopyWithContentType() throws Exception {
+        // Given
+        storage.upload("tmp/upload", new ByteArrayInputStream(bytes("streamed")), "image/webp").await().indefinitely();
+
+        // When
+        storage.copy("sha256/cd/cd.webp", "tmp/upload").await().indefinitely();
+
+        // Then
+        ObjectInfo copy = storage.stat("sha256/cd/cd.webp").await().indefinitely();
+        assertEquals("image/webp", copy.contentType());
+        assertEquals("streamed", read(storage.get("sha256/cd/cd.webp").await().indefinitely()));
+        try (var staged = Files.list(root.resolve(".staging"))) {
+            assertEquals(0, staged.count());
+        }
+    }
+
+    @Test
+    void shouldAssembleMultipartUploadFromItsParts() throws Exception {
+        // Given
+        String uploadId = storage.createMultipartUpload("tmp/resumable/a", "image/png").await().indefinitely();
+        String second = storage.uploadPart("tmp/resumable/a", uploadId, 2, bytes(" world")).await().indefinitely();
+        String first = storage.uploadPart("tmp/resumable/a", uploadId, 1, bytes("hello")).await().indefinitely();
+        assertFalse(storage.localFile("tmp/resumable/a").isPresent());
+
+        // When
+        storage.completeMultipartUpload("tmp/resumable/a", uploadId,
+                List.of(new ObjectStorage.Part(1, first), new ObjectStorage.Part(2, second))).await().indefinitely();
+
+        // Then
+        assertEquals("hello world", read(storage.get("tmp/resumable/a").await().indefinitely()));
+        assertEquals("image/png", storage.stat("tmp/resumable/a").await().indefinitely().contentType());
+        try (var uploads = Files.list(root.resolve(".multipart"))) {
+            assertEquals(0, uploads.count());
+        }
+    }
+
+    @Test
+    void shouldDiscardPartsOfAbortedMultipartUpload() {
+        // Given
+        String uploadId = storage.createMultipartUpload("tmp/resumable/b", "image/png").await().indefinitely();
+        storage.uploadPart("tmp/resumable/b", uploadId, 1, bytes("part")).await().indefinitely();
+
+        // When
+        storage.abortMultipartUpload("tmp/resumable/b", uploadId).await().indefinitely();
+
+        // Then
+        assertFalse(Files.exists(root.resolve(".multipart").resolve(uploadId)));
+        assertThrows(Exception.class, () -> storage.uploadPart("tmp/resumable/b", uploadId, 2, bytes("late"))
+                .await().indefinitely());
+        assertThrows(IllegalArgumentException.class, () -> storage.abortMultipartUpload("tmp/resumable/b", "../x")
+                .await().indefinitely());
+    }
+
+    @Test
+    void shouldFailWithObjectNotFoundForMissingObjects() {
+        // When & Then
+        ObjectNotFoundException stat = assertThrows(ObjectNotFoundException.class,
+                () -> storage.stat("missing").await().indefinitely());
+        assertEquals("missing", stat.getObjectKey());
+        assertThrows(ObjectNotFoundException.class, () -> storage.get("missing", new ByteRange(0, 1)).await().indefinitely());
+        assertThrows(ObjectNotFoundException.class, () -> storage.copy("target", "missing").await().indefinitely());
+        assertTrue(storage.localFile("missing").isEmpty());
+    }
+
+    @Test
+    void shouldRejectKeysLeavingTheBucket() {
+        // When & Then
+        for (String key : List.of("../outside", "a/../../outside", "/absolute", "a//b", "a/./b", "dir/")) {
+            assertThrows(IllegalArgumentException.class, () -> storage.put(key, new byte[1], "image/png").await().indefinitely(),
+                    key);
+        }
+        assertFalse(Files.exists(root.resolve("outside")));
+    }
+
+    @Test
+    void shouldListKeysInUtf8ByteOrder() {
+        // Given - '-' sorts before '/', so "a-c" precedes everything under "a/"
+        for (String key : List.of("a/b", "a-c", "a/a/z", "b", "~", "A")) {
+            storage.put(key, new byte[1], "image/png").await().indefinitely();
+        }
+
+        // When
+        List<String> keys = new ArrayList<>();
+        Iterator<ObjectInfo> objects = storage.list();
+        objects.forEachRemaining(object -> keys.add(object.objectKey()));
+
+        // Then
+        assertEquals(List.of("A", "a-c", "a/a/z", "a/b", "b", "~"), keys);
+    }
+
+    @Test
+    void shouldRemoveObjectsAndPruneEmptyDirectories() {
+        // Given
+        storage.put("sha256/ab/ab.png", new byte[1], "image/png").await().indefinitely();
+        storage.put("sha256/cd/cd.png", new byte[1], "image/png").await().indefinitely();
+
+        // When
+        storage.remove("sha256/ab/ab.png").await().indefinitely();
+        Map<String, String> failures = storage.removeBatch(List.of("sha256/cd/cd.png", "missing", "../x"))
+                .await().indefinitely();
+
+        // Then
+        assertEquals(List.of("../x"), List.copyOf(failures.keySet()));
+        assertFalse(Files.exists(root.resolve("test-bucket/sha256")));
+        assertFalse(storage.list().hasNext());
+    }
+
+    @Test
+    void shouldSignUrlsForOneObjectAndMethod() throws Exception {
+        // Given
+        String url = storage.presign("uploads/2026/02/02/a b.png", ObjectStorage.Method.PUT, 15).await().indefinitely();
+        URI uri = URI.create(url);
+        Map<String, String> query = new HashMap<>();
+        for (String parameter : uri.getRawQuery().split("&")) {
+            String[] pair = parameter.split("=", 2);
+            query.put(pair[0], pair[1]);
+        }
+        long expires = Long.parseLong(query.get("expires"));
+        String signature = query.get("signature");
+
+        // When & Then
+        assertEquals("/storage/uploads/2026/02/02/a%20b.png", uri.getRawPath());
+        assertTrue(storage.verify("uploads/2026/02/02/a b.png", ObjectStorage.Method.PUT, expires, signature));
+        assertFalse(storage.verify("uploads/2026/02/02/a b.png", ObjectStorage.Method.GET, expires, signature));
+        assertFalse(storage.verify("uploads/2026/02/02/other.png", ObjectStorage.Method.PUT, expires, signature));
+        assertFalse(storage.verify("uploads/2026/02/02/a b.png", ObjectStorage.Method.PUT, expires + 1, signature));
+        assertFalse(storage.verify("uploads/2026/02/02/a b.png", ObjectStorage.Method.PUT, 1, signature));
+    }
+
+    @Test
+    void shouldDeliverStreamFailuresOfUploadsAsFailures() {
+        // Given
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("client went away");
+            }
+        };
+
+        // When & Then
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> storage.upload("tmp/failed", failing, "image/png").await().indefinitely());
+        assertEquals("client went away", failure.getCause().getMessage());
+        assertTrue(storage.localFile("tmp/failed").isEmpty());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(InputStream in) throws Exception {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.quarkus.storage;
+
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.StatObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InsufficientDataException;
+import io.minio.messages.DeleteError;
+import io.minio.messages.ErrorResponse;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MinioObjectStorageTest {
+
+    @Mock
+    MinioAsyncClient minioAsyncClient;
+
+    MinioObjectStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new MinioObjectStorage();
+        storage.minioAsyncClient = minioAsyncClient;
+        storage.bucket = "test-bucket";
+    }
+
+    @Test
+    void shouldNotCallMinioBeforeSubscription() throws Exception {
+        // Given
+        ObjectWriteResponse written = mock(ObjectWriteResponse.class);
+        when(minioAsyncClient.putObject(any(PutObjectArgs.class))).thenReturn(CompletableFuture.completedFuture(written));
+
+        // When
+        Uni<Void> put = storage.put("sha256/ab/ab.jpg", "data".getBytes(), "image/jpeg");
+
+        // Then
+        verifyNoInteractions(minioAsyncClient);
+        put.await().indefinitely();
+        verify(minioAsyncClient).putObject(argThat(args ->
+                args.bucket().equals("test-bucket") && args.object().equals("sha256/ab/ab.jpg")));
+    }
+
+    @Test
+    void shouldCompleteWhenTheFutureCompletes() throws Exception {
+        // Given
+        CompletableFuture<Void> removal = new CompletableFuture<>();
+        when(minioAsyncClient.removeObject(any(RemoveObjectArgs.class))).thenReturn(removal);
+
+        // When
+        UniAssertSubscriber<Void> subscriber = storage.remove("sha256/ab/ab.jpg")
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then - nothing waits for the response, the item arrives once MinIO answered
+        subscriber.assertNotTerminated();
+        removal.complete(null);
+        subscriber.assertCompleted();
+    }
+
+    @Test
+    void shouldDeliverErrorResponsesAsFailures() throws Exception {
+        // Given
+        ErrorResponseException noSuchKey = mock(ErrorResponseException.class);
+        when(minioAsyncClient.statObject(any(StatObjectArgs.class))).thenReturn(CompletableFuture.failedFuture(noSuchKey));
+
+        // When
+        UniAssertSubscriber<?> subscriber = storage.stat("missing")
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        assertSame(noSuchKey, subscriber.assertFailed().getFailure());
+    }
+
+    @Test
+    void shouldMapMissingObjectsToObjectNotFound() throws Exception {
+        // Given
+        ErrorResponse response = mock(ErrorResponse.class);
+        when(response.code()).thenReturn("NoSuchKey");
+        ErrorResponseException noSuchKey = mock(ErrorResponseException.class);
+        when(noSuchKey.errorResponse()).thenReturn(response);
+        when(minioAsyncClient.statObject(any(StatObjectArgs.class))).thenReturn(CompletableFuture.failedFuture(noSuchKey));
+
+        // When
+        UniAssertSubscriber<?> subscriber = storage.stat("missing")
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        ObjectNotFoundException failure = (ObjectNotFoundException) subscriber.assertFailed().getFailure();
+        assertEquals("missing", failure.getObjectKey());
+        assertSame(noSuchKey, failure.getCause());
+    }
+
+    @Test
+    void shouldDeliverFailuresBeforeSendingAsFailures() throws Exception {
+        // Given
+        InsufficientDataException failure = new InsufficientDataException("short stream");
+        when(minioAsyncClient.putObject(any(PutObjectArgs.class))).thenThrow(failure);
+
+        // When
+        UniAssertSubscriber<?> subscriber = storage.put("key", new byte[1], "image/png")
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        assertSame(failure, subscriber.assertFailed().getFailure());
+    }
+
+    @Test
+    void shouldReportKeysTheBatchCouldNotRemove() throws Exception {
+        // Given
+        DeleteError denied = mock(DeleteError.class);
+        when(denied.objectName()).thenReturn("b");
+        when(denied.code()).thenReturn("AccessDenied");
+        when(denied.message()).thenReturn("Access Denied.");
+        when(minioAsyncClient.removeObjects(any(RemoveObjectsArgs.class))).thenReturn(List.of(new Result<>(denied)));
+
+        // When
+        Map<String, String> failures = storage.removeBatch(List.of("a", "b")).await().indefinitely();
+
+        // Then
+        assertEquals(Map.of("b", "AccessDenied: Access Denied."), failures);
+    }
+
+    @Test
+    void shouldRejectBatchesAboveTheS3Limit() {
+        // When & Then
+        List<String> keys = Collections.nCopies(MinioObjectStorage.MAX_BATCH_SIZE + 1, "key");
+        assertThrows(IllegalArgumentException.class, () -> storage.removeBatch(keys));
+    }
+
+    @Test
+    void shouldPresignWithMethodAndExpiry() throws Exception {
+        // Given
+        when(minioAsyncClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class)))
+                .thenReturn("https://minio.example.com/signed");
+
+        // When
+        String url = storage.presign("uploads/2026/02/02/uuid.png", ObjectStorage.Method.PUT, 15).await().indefinitely();
+
+        // Then
+        assertEquals("https://minio.example.com/signed", url);
+        verify(minioAsyncClient).getPresignedObjectUrl(argThat(args ->
+                args.method() == io.minio.http.Method.PUT && args.object().equals("uploads/2026/02/02/uuid.png")
+                        && args.expiry() == 15 * 60));
+    }
+}
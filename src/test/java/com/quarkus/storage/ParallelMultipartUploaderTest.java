@@ -0,0 +1,130 @@
+package com.quarkus.storage;
+
+import io.minio.CreateMultipartUploadResponse;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.UploadPartResponse;
+import io.minio.messages.Part;
+import okhttp3.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelMultipartUploaderTest {
+
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    @Mock
+    MinioAsyncClient minioAsyncClient;
+
+    ParallelMultipartUploader uploader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        uploader = new ParallelMultipartUploader();
+        uploader.minioAsyncClient = minioAsyncClient;
+        uploader.bucket = "test-bucket";
+        uploader.partSize = PART_SIZE;
+        uploader.concurrency = 2;
+        uploader.maxAttempts = 3;
+        uploader.retryBackoff = Duration.ZERO;
+        uploader.staleAfter = Duration.ofHours(24);
+
+        CreateMultipartUploadResponse created = mock(CreateMultipartUploadResponse.class, RETURNS_DEEP_STUBS);
+        when(created.result().uploadId()).thenReturn("upload-1");
+        when(minioAsyncClient.createMultipartUploadAsync(eq("test-bucket"), isNull(), eq("object"), any(), isNull()))
+            .thenReturn(CompletableFuture.completedFuture(created));
+    }
+
+    @Test
+    void shouldUploadPartsAndCompleteInOrder() throws Exception {
+        // Given - two full parts and a partial last part
+        byte[] data = new byte[PART_SIZE * 2 + 10];
+        when(minioAsyncClient.uploadPartAsync(any(), any(), any(), any(), anyLong(), any(), anyInt(), any(), any()))
+            .thenAnswer(invocation -> partUploaded(invocation.getArgument(6)));
+        when(minioAsyncClient.completeMultipartUploadAsync(any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(mock(ObjectWriteResponse.class)));
+
+        // When
+        uploader.upload("object", new ByteArrayInputStream(data), "image/jpeg");
+
+        // Then
+        verify(minioAsyncClient).uploadPartAsync(any(), any(), eq("object"), any(), eq((long) PART_SIZE), eq("upload-1"), eq(1), any(), any());
+        verify(minioAsyncClient).uploadPartAsync(any(), any(), eq("object"), any(), eq((long) PART_SIZE), eq("upload-1"), eq(2), any(), any());
+        verify(minioAsyncClient).uploadPartAsync(any(), any(), eq("object"), any(), eq(10L), eq("upload-1"), eq(3), any(), any());
+
+        ArgumentCaptor<Part[]> parts = ArgumentCaptor.forClass(Part[].class);
+        verify(minioAsyncClient).completeMultipartUploadAsync(eq("test-bucket"), isNull(), eq("object"), eq("upload-1"), parts.capture(), isNull(), isNull());
+        assertEquals(3, parts.getValue().length);
+        assertEquals("etag-1", parts.getValue()[0].etag());
+        assertEquals(3, parts.getValue()[2].partNumber());
+        verify(minioAsyncClient, never()).abortMultipartUploadAsync(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldRetryFailedPart() throws Exception {
+        // Given
+        when(minioAsyncClient.uploadPartAsync(any(), any(), any(), any(), anyLong(), any(), anyInt(), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IOException("connection reset")))
+            .thenAnswer(invocation -> partUploaded(invocation.getArgument(6)));
+        when(minioAsyncClient.completeMultipartUploadAsync(any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(mock(ObjectWriteResponse.class)));
+
+        // When
+        uploader.upload("object", new ByteArrayInputStream(new byte[10]), "image/jpeg");
+
+        // Then
+        verify(minioAsyncClient, times(2)).uploadPartAsync(any(), any(), any(), any(), anyLong(), any(), eq(1), any(), any());
+        verify(minioAsyncClient).completeMultipartUploadAsync(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldAbortUploadWhenPartKeepsFailing() throws Exception {
+        // Given
+        when(minioAsyncClient.uploadPartAsync(any(), any(), any(), any(), anyLong(), any(), anyInt(), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IOException("connection reset")));
+        when(minioAsyncClient.abortMultipartUploadAsync(any(), any(), any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When & Then
+        assertThrows(CompletionException.class, () ->
+            uploader.upload("object", new ByteArrayInputStream(new byte[10]), "image/jpeg")
+        );
+        verify(minioAsyncClient, times(3)).uploadPartAsync(any(), any(), any(), any(), anyLong(), any(), eq(1), any(), any());
+        verify(minioAsyncClient).abortMultipartUploadAsync("test-bucket", null, "object", "upload-1", null, null);
+        verify(minioAsyncClient, never()).completeMultipartUploadAsync(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldAbortUploadWhenStreamFails() throws Exception {
+        // Given
+        when(minioAsyncClient.abortMultipartUploadAsync(any(), any(), any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+        SizeLimitedInputStream tooLarge = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[10]), 5);
+
+        // When & Then
+        assertThrows(SizeLimitedInputStream.SizeLimitExceededException.class, () ->
+            uploader.upload("object", tooLarge, "image/jpeg")
+        );
+        verify(minioAsyncClient).abortMultipartUploadAsync("test-bucket", null, "object", "upload-1", null, null);
+    }
+
+    private CompletableFuture<UploadPartResponse> partUploaded(int partNumber) {
+        return CompletableFuture.completedFuture(new UploadPartResponse(
+            Headers.of(), "test-bucket", null, "object", "upload-1", partNumber, "etag-" + partNumber));
+    }
+}
@@ -0,0 +1,36 @@
+package com.quarkus.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Arbitrary test content behind the signature of an image format, so it passes the
+ * magic-byte check of uploads without being a real image.
+ */
+public class TestImages {
+
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+
+    private static final byte[] WEBP_SIGNATURE = {'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P'};
+
+    public static byte[] jpeg(String content) {
+        return concat(JPEG_SIGNATURE, content);
+    }
+
+    public static byte[] png(String content) {
+        return concat(PNG_SIGNATURE, content);
+    }
+
+    public static byte[] webp(String content) {
+        return concat(WEBP_SIGNATURE, content);
+    }
+
+    private static byte[] concat(byte[] signature, String content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(signature);
+        out.writeBytes(content.getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+}